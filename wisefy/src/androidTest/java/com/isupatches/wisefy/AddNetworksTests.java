@@ -0,0 +1,165 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import com.isupatches.wisefy.callbacks.AddNetworksCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import com.isupatches.wisefy.util.WifiConfigurationUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static com.isupatches.wisefy.base.TestUtils.OPEN_NETWORK_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_NETWORK_ID;
+import static com.isupatches.wisefy.base.TestUtils.WPA2_NETWORK_PASSWORD;
+import static com.isupatches.wisefy.base.TestUtils.WPA2_NETWORK_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class AddNetworksTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void sync_failure_nullNetworksParam() {
+        assertNull(mWiseFy.addNetworks(null));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_failure_emptyNetworksParam() {
+        assertNull(mWiseFy.addNetworks(new ArrayList<WifiConfiguration>()));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisites() {
+        missingPrerequisite();
+        assertNull(mWiseFy.addNetworks(getNetworks()));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_failure_wifiManager() {
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(WiseFy.WIFI_MANAGER_FAILURE);
+
+        WiseFyBatchResult results = mWiseFy.addNetworks(getNetworks());
+        assertEquals(2, results.size());
+        assertEquals(0, results.getSuccessCount());
+        assertEquals(WiseFy.WIFI_MANAGER_FAILURE, results.getResultCode(0));
+        assertEquals(WiseFy.WIFI_MANAGER_FAILURE, results.getResultCode(1));
+    }
+
+    @Test
+    public void sync_success() {
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        WiseFyBatchResult results = mWiseFy.addNetworks(getNetworks());
+        assertEquals(2, results.size());
+        assertEquals(2, results.getSuccessCount());
+        assertEquals(OPEN_NETWORK_SSID, results.getSSID(0));
+        assertEquals(WPA2_NETWORK_SSID, results.getSSID(1));
+        assertEquals(TEST_NETWORK_ID, results.getResultCode(0));
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(2)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_success_skipsSavedAndDuplicateNetworks() {
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(Arrays.asList(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(OPEN_NETWORK_SSID)));
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        List<WifiConfiguration> networks = getNetworks();
+        networks.add(WifiConfigurationUtil.getInstance().generateWPA2NetworkConfiguration(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD));
+
+        WiseFyBatchResult results = mWiseFy.addNetworks(networks);
+        assertEquals(3, results.size());
+        assertEquals(WiseFyCodes.NETWORK_ALREADY_CONFIGURED, results.getResultCode(0));
+        assertEquals(TEST_NETWORK_ID, results.getResultCode(1));
+        assertEquals(WiseFyCodes.NETWORK_ALREADY_CONFIGURED, results.getResultCode(2));
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(1)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_nullNetworksParam() {
+        AddNetworksCallbacks mockCallbacks = mock(AddNetworksCallbacks.class);
+        mWiseFy.addNetworks(null, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).addNetworksWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_nullNetworksParam_nullCallback() {
+        try {
+            mWiseFy.addNetworks(null, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites() {
+        missingPrerequisite();
+        AddNetworksCallbacks mockCallbacks = mock(AddNetworksCallbacks.class);
+        mWiseFy.addNetworks(getNetworks(), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).addNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.addNetworks(getNetworks(), null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success() {
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        AddNetworksCallbacks mockCallbacks = mock(AddNetworksCallbacks.class);
+        mWiseFy.addNetworks(getNetworks(), mockCallbacks);
+
+        ArgumentCaptor<WiseFyBatchResult> captor = ArgumentCaptor.forClass(WiseFyBatchResult.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).networksAdded(captor.capture());
+        assertEquals(2, captor.getValue().getSuccessCount());
+        verify(mMockWiFiManager, times(2)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        try {
+            mWiseFy.addNetworks(getNetworks(), null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT).times(2)).addNetwork(any(WifiConfiguration.class));
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<WifiConfiguration> getNetworks() {
+        List<WifiConfiguration> networks = new ArrayList<>();
+        networks.add(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(OPEN_NETWORK_SSID));
+        networks.add(WifiConfigurationUtil.getInstance().generateWPA2NetworkConfiguration(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD));
+        return networks;
+    }
+}
@@ -63,6 +63,8 @@ public abstract class BaseAndroidJUnit4TestClass {
         WiseFyPrerequisites mockPrereqs = mock(WiseFyPrerequisites.class);
         mWiseFy.mWiseFyPrerequisites = mockPrereqs;
         mWiseFy.mWiseFySearch.mWiseFyPrerequisites = mockPrereqs;
+        mWiseFy.mWiseFyProvisioning.mWiseFyPrerequisites = mockPrereqs;
+        mWiseFy.mWiseFyProvisioning.mWiseFySearch = mWiseFy.mWiseFySearch;
         when(mockPrereqs.hasPrerequisites()).thenReturn(true);
         when(mockPrereqs.getWifiManager()).thenReturn(mMockWiFiManager);
         when(mockPrereqs.getConnectivityManager()).thenReturn(mMockConnectivityManager);
@@ -0,0 +1,88 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import com.isupatches.wisefy.constants.Bands;
+import com.isupatches.wisefy.constants.Capabilities;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class ClassifyAccessPointsTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void list_failure_nullAccessPoints() {
+        assertEquals(null, mWiseFy.classifyAccessPoints((List<ScanResult>) null, 5));
+    }
+
+    @Test
+    public void list_failure_invalidNumberOfBars() {
+        assertEquals(null, mWiseFy.classifyAccessPoints(createScanResults(), 0));
+        assertEquals(null, mWiseFy.classifyAccessPoints(createScanResults(), 65));
+    }
+
+    @Test
+    public void list_success() {
+        List<ScanResult> scanResults = createScanResults();
+        scanResults.add(null);
+
+        WiseFyScanClassification classification = mWiseFy.classifyAccessPoints(scanResults, 5);
+        assertEquals(3, classification.getAccessPointCount());
+
+        assertEquals(true, classification.isSecure(0));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK, classification.getCapabilityFlags(0));
+        assertEquals(Bands.GHZ_2_4, classification.getBand(0));
+        assertEquals(6, classification.getChannel(0));
+        assertEquals(mWiseFy.calculateBars(-35, 5), classification.getBars(0));
+
+        assertEquals(false, classification.isSecure(1));
+        assertEquals(Bands.GHZ_5, classification.getBand(1));
+        assertEquals(36, classification.getChannel(1));
+        assertEquals(mWiseFy.calculateBars(-70, 5), classification.getBars(1));
+
+        assertEquals(0, classification.getRecord(2));
+    }
+
+    @Test
+    public void table_failure_nullTable() {
+        assertEquals(null, mWiseFy.classifyAccessPoints((WiseFyScanTable) null, 5));
+    }
+
+    @Test
+    public void table_success() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        WiseFyScanClassification classification = mWiseFy.classifyAccessPoints(mWiseFy.getNearbyAccessPointTable(false), 4);
+        assertEquals(2, classification.getAccessPointCount());
+        assertEquals(4, classification.getTargetNumberOfBars());
+        assertEquals(Bands.GHZ_2_4, classification.getBand(0));
+        assertEquals(mWiseFy.calculateBars(-70, 4), classification.getBars(1));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<ScanResult> createScanResults() {
+        List<ScanResult> scanResults = new ArrayList<>();
+        ScanResult scanResult1 = mock(ScanResult.class);
+        scanResult1.SSID = TEST_SSID;
+        scanResult1.capabilities = "[WPA2-PSK-CCMP][ESS]";
+        scanResult1.frequency = 2437;
+        scanResult1.level = -35;
+        scanResults.add(scanResult1);
+        ScanResult scanResult2 = mock(ScanResult.class);
+        scanResult2.SSID = TEST_SSID2;
+        scanResult2.capabilities = "[ESS]";
+        scanResult2.frequency = 5180;
+        scanResult2.level = -70;
+        scanResults.add(scanResult2);
+        return scanResults;
+    }
+}
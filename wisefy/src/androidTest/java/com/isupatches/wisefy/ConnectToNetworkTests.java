@@ -3,8 +3,11 @@ package com.isupatches.wisefy;
 
 import android.net.wifi.WifiConfiguration;
 import com.isupatches.wisefy.callbacks.ConnectToNetworkCallbacks;
+import com.isupatches.wisefy.callbacks.EnableWifiCallbacks;
 import com.isupatches.wisefy.constants.WiseFyCodes;
 import org.junit.Test;
+import org.mockito.InOrder;
+import static com.isupatches.wisefy.base.TestUtils.TEST_NETWORK_ID;
 import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
 import static com.isupatches.wisefy.base.TestUtils.TEST_TIMEOUT;
 import static org.junit.Assert.assertEquals;
@@ -13,8 +16,11 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +33,13 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
         verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).enableNetwork(anyInt(), anyBoolean());
     }
 
+    @Test
+    public void sync_failure_regexNotSupported() {
+        assertEquals(false, mWiseFy.connectToNetwork("(?=Test)Test.*", TEST_TIMEOUT));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(0)).enableNetwork(anyInt(), anyBoolean());
+    }
+
     @Test
     public void sync_failure_missingPrerequisites() {
         missingPrerequisite();
@@ -94,6 +107,14 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
         }
     }
 
+    @Test
+    public void async_failure_regexNotSupported() {
+        ConnectToNetworkCallbacks mockCallbacks = mock(ConnectToNetworkCallbacks.class);
+        mWiseFy.connectToNetwork("(?=Test)Test.*", TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).connectToNetworkWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).enableNetwork(anyInt(), anyBoolean());
+    }
+
     @Test
     public void async_failure_missingPrerequisites() {
         missingPrerequisite();
@@ -150,7 +171,7 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
 
         WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
         mWiseFy.mWiseFyConnection = mockWiseFyConnection;
-        when(mockWiseFyConnection.waitToConnectToSSID(anyString(), anyInt())).thenReturn(false);
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(false);
 
         ConnectToNetworkCallbacks mockCallbacks = mock(ConnectToNetworkCallbacks.class);
         mWiseFy.connectToNetwork(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
@@ -168,7 +189,7 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
 
         WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
         mWiseFy.mWiseFyConnection = mockWiseFyConnection;
-        when(mockWiseFyConnection.waitToConnectToSSID(anyString(), anyInt())).thenReturn(false);
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(false);
 
         try {
             mWiseFy.connectToNetwork(TEST_SSID, TEST_TIMEOUT, null);
@@ -188,7 +209,7 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
 
         WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
         mWiseFy.mWiseFyConnection = mockWiseFyConnection;
-        when(mockWiseFyConnection.waitToConnectToSSID(anyString(), anyInt())).thenReturn(true);
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(true);
 
         ConnectToNetworkCallbacks mockCallbacks = mock(ConnectToNetworkCallbacks.class);
         mWiseFy.connectToNetwork(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
@@ -206,7 +227,7 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
 
         WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
         mWiseFy.mWiseFyConnection = mockWiseFyConnection;
-        when(mockWiseFyConnection.waitToConnectToSSID(anyString(), anyInt())).thenReturn(true);
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(true);
 
         try {
             mWiseFy.connectToNetwork(TEST_SSID, TEST_TIMEOUT, null);
@@ -215,4 +236,93 @@ public class ConnectToNetworkTests extends BaseAndroidJUnit4TestClass {
             fail();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void async_success_afterPollingForConnection() {
+        WifiConfiguration wiFiConfiguration = new WifiConfiguration();
+        wiFiConfiguration.SSID = TEST_SSID;
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.findSavedNetworkByRegex(anyString())).thenReturn(wiFiConfiguration);
+
+        WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
+        mWiseFy.mWiseFyConnection = mockWiseFyConnection;
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(false, true);
+
+        ConnectToNetworkCallbacks mockCallbacks = mock(ConnectToNetworkCallbacks.class);
+        mWiseFy.connectToNetwork(TEST_SSID, VERIFICATION_SUCCESS_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).connectedToNetwork();
+        verify(mockWiseFyConnection, times(2)).isCurrentNetworkConnectedToSSID(TEST_SSID);
+        verify(mockCallbacks, never()).failureConnectingToNetwork();
+    }
+
+    @Test
+    public void async_stepsRunInOrder() {
+        WifiConfiguration wiFiConfiguration = new WifiConfiguration();
+        wiFiConfiguration.SSID = TEST_SSID;
+        wiFiConfiguration.networkId = TEST_NETWORK_ID;
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.findSavedNetworkByRegex(anyString())).thenReturn(wiFiConfiguration);
+
+        WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
+        mWiseFy.mWiseFyConnection = mockWiseFyConnection;
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(true);
+
+        ConnectToNetworkCallbacks mockCallbacks = mock(ConnectToNetworkCallbacks.class);
+        mWiseFy.connectToNetwork(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).connectedToNetwork();
+
+        InOrder inOrder = inOrder(mMockWiFiManager, mockWiseFyConnection);
+        inOrder.verify(mMockWiFiManager).disconnect();
+        inOrder.verify(mMockWiFiManager).enableNetwork(TEST_NETWORK_ID, true);
+        inOrder.verify(mMockWiFiManager).reconnect();
+        inOrder.verify(mockWiseFyConnection).isCurrentNetworkConnectedToSSID(TEST_SSID);
+    }
+
+    @Test
+    public void async_otherOperationsRunWhileAssociating() {
+        WifiConfiguration wiFiConfiguration = new WifiConfiguration();
+        wiFiConfiguration.SSID = TEST_SSID;
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.findSavedNetworkByRegex(anyString())).thenReturn(wiFiConfiguration);
+
+        WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
+        mWiseFy.mWiseFyConnection = mockWiseFyConnection;
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(false);
+
+        ConnectToNetworkCallbacks mockConnectCallbacks = mock(ConnectToNetworkCallbacks.class);
+        mWiseFy.connectToNetwork(TEST_SSID, VERIFICATION_SUCCESS_TIMEOUT * 2, mockConnectCallbacks);
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).reconnect();
+
+        EnableWifiCallbacks mockEnableWifiCallbacks = mock(EnableWifiCallbacks.class);
+        when(mMockWiFiManager.setWifiEnabled(true)).thenReturn(true);
+        mWiseFy.enableWifi(mockEnableWifiCallbacks);
+        verify(mockEnableWifiCallbacks, timeout(VERIFICATION_FAILURE_TIMEOUT)).wifiEnabled();
+        verify(mockConnectCallbacks, never()).failureConnectingToNetwork();
+        verify(mockConnectCallbacks, never()).connectedToNetwork();
+    }
+
+    @Test
+    public void async_newConnectionCancelsPrevious() {
+        WifiConfiguration wiFiConfiguration = new WifiConfiguration();
+        wiFiConfiguration.SSID = TEST_SSID;
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.findSavedNetworkByRegex(anyString())).thenReturn(wiFiConfiguration);
+
+        WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
+        mWiseFy.mWiseFyConnection = mockWiseFyConnection;
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(false);
+
+        ConnectToNetworkCallbacks mockFirstCallbacks = mock(ConnectToNetworkCallbacks.class);
+        mWiseFy.connectToNetwork(TEST_SSID, VERIFICATION_SUCCESS_TIMEOUT * 2, mockFirstCallbacks);
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).reconnect();
+
+        ConnectToNetworkCallbacks mockSecondCallbacks = mock(ConnectToNetworkCallbacks.class);
+        mWiseFy.connectToNetwork(TEST_SSID, TEST_TIMEOUT, mockSecondCallbacks);
+        verify(mockFirstCallbacks, timeout(VERIFICATION_FAILURE_TIMEOUT)).failureConnectingToNetwork();
+        verify(mockSecondCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureConnectingToNetwork();
+    }
+}
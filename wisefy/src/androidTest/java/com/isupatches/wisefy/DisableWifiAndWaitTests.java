@@ -0,0 +1,158 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.WifiManager;
+import com.isupatches.wisefy.callbacks.DisableWifiCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class DisableWifiAndWaitTests extends BaseAndroidJUnit4TestClass {
+
+    private static final int TIMEOUT = 1000;
+
+    private WiseFyBroadcastHub mMockBroadcastHub;
+
+    @Before
+    public void setUpBroadcastHub() {
+        mMockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mWiseFy.mWiseFyBroadcastHub = mMockBroadcastHub;
+    }
+
+    @Test
+    public void sync_failure() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(false);
+        assertEquals(false, mWiseFy.disableWifiAndWait(TIMEOUT));
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(false);
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(false, mWiseFy.disableWifiAndWait(TIMEOUT));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(false);
+    }
+
+    @Test
+    public void sync_failure_timeout() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        assertEquals(false, mWiseFy.disableWifiAndWait(TIMEOUT));
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(false);
+    }
+
+    @Test
+    public void sync_success_alreadyInState() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        assertEquals(true, mWiseFy.disableWifiAndWait(TIMEOUT));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(false);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).startScan();
+    }
+
+    @Test
+    public void async_failure() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(false);
+        DisableWifiCallbacks mockCallbacks = mock(DisableWifiCallbacks.class);
+        mWiseFy.disableWifiAndWait(TIMEOUT, mockCallbacks);
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(false);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureDisablingWifi();
+    }
+
+    @Test
+    public void async_failure_nullCallback() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(false);
+        try {
+            mWiseFy.disableWifiAndWait(TIMEOUT, null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(false);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        DisableWifiCallbacks mockCallbacks = mock(DisableWifiCallbacks.class);
+        mWiseFy.disableWifiAndWait(TIMEOUT, mockCallbacks);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(false);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).disableWifiWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.disableWifiAndWait(TIMEOUT, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(false);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_timeout() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        DisableWifiCallbacks mockCallbacks = mock(DisableWifiCallbacks.class);
+        mWiseFy.disableWifiAndWait(TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(TIMEOUT + VERIFICATION_SUCCESS_TIMEOUT)).disableWifiWiseFyFailure(WiseFyCodes.TIMEOUT_EXCEEDED);
+    }
+
+    @Test
+    public void async_success() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        DisableWifiCallbacks mockCallbacks = mock(DisableWifiCallbacks.class);
+        mWiseFy.disableWifiAndWait(TIMEOUT, mockCallbacks);
+        broadcastWifiState(WifiManager.WIFI_STATE_DISABLED);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).wifiDisabled();
+    }
+
+    @Test
+    public void async_success_alreadyInState() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        DisableWifiCallbacks mockCallbacks = mock(DisableWifiCallbacks.class);
+        mWiseFy.disableWifiAndWait(TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).wifiDisabled();
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(false);
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        try {
+            mWiseFy.disableWifiAndWait(TIMEOUT, null);
+            broadcastWifiState(WifiManager.WIFI_STATE_DISABLED);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void broadcastWifiState(int wifiState) {
+        ArgumentCaptor<WiseFyBroadcastHub.Listener> listener = ArgumentCaptor.forClass(WiseFyBroadcastHub.Listener.class);
+        verify(mMockBroadcastHub, timeout(VERIFICATION_SUCCESS_TIMEOUT)).register(eq(WifiManager.WIFI_STATE_CHANGED_ACTION), listener.capture());
+        Intent intent = new Intent(WifiManager.WIFI_STATE_CHANGED_ACTION);
+        intent.putExtra(WifiManager.EXTRA_WIFI_STATE, wifiState);
+        listener.getValue().onReceive(intent);
+    }
+}
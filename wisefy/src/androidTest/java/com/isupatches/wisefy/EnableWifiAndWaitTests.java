@@ -0,0 +1,176 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.WifiManager;
+import com.isupatches.wisefy.callbacks.EnableWifiCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class EnableWifiAndWaitTests extends BaseAndroidJUnit4TestClass {
+
+    private static final int TIMEOUT = 1000;
+
+    private WiseFyBroadcastHub mMockBroadcastHub;
+
+    @Before
+    public void setUpBroadcastHub() {
+        mMockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mWiseFy.mWiseFyBroadcastHub = mMockBroadcastHub;
+    }
+
+    @Test
+    public void sync_failure() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(false);
+        assertEquals(false, mWiseFy.enableWifiAndWait(TIMEOUT, false));
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(true);
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(false, mWiseFy.enableWifiAndWait(TIMEOUT, false));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(true);
+    }
+
+    @Test
+    public void sync_failure_timeout() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        assertEquals(false, mWiseFy.enableWifiAndWait(TIMEOUT, false));
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(true);
+    }
+
+    @Test
+    public void sync_success_alreadyInState() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        assertEquals(true, mWiseFy.enableWifiAndWait(TIMEOUT, false));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(true);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).startScan();
+    }
+
+    @Test
+    public void sync_success_prefetchScan() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        assertEquals(true, mWiseFy.enableWifiAndWait(TIMEOUT, true));
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).startScan();
+    }
+
+    @Test
+    public void async_success_prefetchScan() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        EnableWifiCallbacks mockCallbacks = mock(EnableWifiCallbacks.class);
+        mWiseFy.enableWifiAndWait(TIMEOUT, true, mockCallbacks);
+        broadcastWifiState(WifiManager.WIFI_STATE_ENABLED);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).wifiEnabled();
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).startScan();
+    }
+
+    @Test
+    public void async_failure() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(false);
+        EnableWifiCallbacks mockCallbacks = mock(EnableWifiCallbacks.class);
+        mWiseFy.enableWifiAndWait(TIMEOUT, false, mockCallbacks);
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(true);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureEnablingWifi();
+    }
+
+    @Test
+    public void async_failure_nullCallback() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(false);
+        try {
+            mWiseFy.enableWifiAndWait(TIMEOUT, false, null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(true);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        EnableWifiCallbacks mockCallbacks = mock(EnableWifiCallbacks.class);
+        mWiseFy.enableWifiAndWait(TIMEOUT, false, mockCallbacks);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(true);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).enableWifiWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.enableWifiAndWait(TIMEOUT, false, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(true);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_timeout() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        EnableWifiCallbacks mockCallbacks = mock(EnableWifiCallbacks.class);
+        mWiseFy.enableWifiAndWait(TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(TIMEOUT + VERIFICATION_SUCCESS_TIMEOUT)).enableWifiWiseFyFailure(WiseFyCodes.TIMEOUT_EXCEEDED);
+    }
+
+    @Test
+    public void async_success() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        EnableWifiCallbacks mockCallbacks = mock(EnableWifiCallbacks.class);
+        mWiseFy.enableWifiAndWait(TIMEOUT, false, mockCallbacks);
+        broadcastWifiState(WifiManager.WIFI_STATE_ENABLED);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).wifiEnabled();
+    }
+
+    @Test
+    public void async_success_alreadyInState() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        EnableWifiCallbacks mockCallbacks = mock(EnableWifiCallbacks.class);
+        mWiseFy.enableWifiAndWait(TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).wifiEnabled();
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(true);
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(anyBoolean())).thenReturn(true);
+        try {
+            mWiseFy.enableWifiAndWait(TIMEOUT, false, null);
+            broadcastWifiState(WifiManager.WIFI_STATE_ENABLED);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void broadcastWifiState(int wifiState) {
+        ArgumentCaptor<WiseFyBroadcastHub.Listener> listener = ArgumentCaptor.forClass(WiseFyBroadcastHub.Listener.class);
+        verify(mMockBroadcastHub, timeout(VERIFICATION_SUCCESS_TIMEOUT)).register(eq(WifiManager.WIFI_STATE_CHANGED_ACTION), listener.capture());
+        Intent intent = new Intent(WifiManager.WIFI_STATE_CHANGED_ACTION);
+        intent.putExtra(WifiManager.EXTRA_WIFI_STATE, wifiState);
+        listener.getValue().onReceive(intent);
+    }
+}
@@ -0,0 +1,218 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiManager;
+import com.isupatches.wisefy.callbacks.ExecutePipelineCallbacks;
+import com.isupatches.wisefy.constants.PipelineSteps;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static com.isupatches.wisefy.base.TestUtils.*;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ExecutePipelineTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void async_failure_nullPipelineParam() {
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(null, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).executePipelineWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+    }
+
+    @Test
+    public void async_failure_nullPipelineParam_nullCallback() {
+        try {
+            mWiseFy.executePipeline(null, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(anyBoolean());
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_emptyPipeline() {
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(new WiseFyPipeline.Builder().build(), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).executePipelineWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(new WiseFyPipeline.Builder().enableWifi().build(), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).executePipelineWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(anyBoolean());
+    }
+
+    @Test
+    public void async_failure_missingStepParameter_noStepsRun() {
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .enableWifi()
+                .addWPA2Network(WPA2_NETWORK_SSID, null)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureExecutingPipelineStep(1, PipelineSteps.ADD_WPA2_NETWORK, WiseFyCodes.MISSING_PARAMETER);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).setWifiEnabled(anyBoolean());
+    }
+
+    @Test
+    public void async_failure_enableWifi() {
+        when(mMockWiFiManager.setWifiEnabled(true)).thenReturn(false);
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .enableWifi()
+                .addWPA2Network(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureExecutingPipelineStep(0, PipelineSteps.ENABLE_WIFI, WiseFy.WIFI_MANAGER_FAILURE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_enableWifi_notEnabledWithinTimeout() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_DISABLED);
+        when(mMockWiFiManager.setWifiEnabled(true)).thenReturn(true);
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .enableWifi()
+                .addWPA2Network(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD)
+                .timeout(TEST_TIMEOUT * 100)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureExecutingPipelineStep(0, PipelineSteps.ENABLE_WIFI, WiseFyCodes.TIMEOUT_EXCEEDED);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+        verify(mockCallbacks, never()).pipelineExecuted();
+    }
+
+    @Test
+    public void async_failure_addNetwork() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(true)).thenReturn(true);
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(WiseFy.WIFI_MANAGER_FAILURE);
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .enableWifi()
+                .addWPA2Network(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD)
+                .connectToNetwork(WPA2_NETWORK_SSID)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureExecutingPipelineStep(1, PipelineSteps.ADD_WPA2_NETWORK, WiseFy.WIFI_MANAGER_FAILURE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).enableNetwork(anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void async_failure_connectNetworkNotFound() {
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(new ArrayList<WifiConfiguration>());
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .connectToNetwork(TEST_SSID)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureExecutingPipelineStep(0, PipelineSteps.CONNECT_TO_NETWORK, WiseFyCodes.NETWORK_NOT_FOUND);
+    }
+
+    @Test
+    public void async_failure_notConnectedWithinTimeout() {
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks(TEST_SSID));
+        WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
+        mWiseFy.mWiseFyConnection = mockWiseFyConnection;
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(false);
+
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .connectToNetwork(TEST_SSID)
+                .isDeviceConnectedToSSID(TEST_SSID)
+                .timeout(TEST_TIMEOUT * 100)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureExecutingPipelineStep(0, PipelineSteps.CONNECT_TO_NETWORK, WiseFyCodes.NETWORK_NOT_CONNECTED);
+        verify(mockCallbacks, never()).pipelineExecuted();
+    }
+
+    @Test
+    public void async_success_onboarding() {
+        when(mMockWiFiManager.getWifiState()).thenReturn(WifiManager.WIFI_STATE_ENABLED);
+        when(mMockWiFiManager.setWifiEnabled(true)).thenReturn(true);
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(new ArrayList<WifiConfiguration>());
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+        WiseFyConnection mockWiseFyConnection = mock(WiseFyConnection.class);
+        mWiseFy.mWiseFyConnection = mockWiseFyConnection;
+        when(mockWiseFyConnection.isCurrentNetworkConnectedToSSID(anyString())).thenReturn(true);
+
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .enableWifi()
+                .addWPA2Network(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD)
+                .connectToNetwork(WPA2_NETWORK_SSID)
+                .isDeviceConnectedToSSID(WPA2_NETWORK_SSID)
+                .build();
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).pipelineExecuted();
+        verify(mMockWiFiManager).enableNetwork(TEST_NETWORK_ID, true);
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        verify(mockCallbacks, never()).failureExecutingPipelineStep(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void async_success_alreadyConfigured() {
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks(WPA2_NETWORK_SSID));
+        WiseFyPipeline pipeline = new WiseFyPipeline.Builder()
+                .addWPA2Network(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD)
+                .removeNetwork(WPA2_NETWORK_SSID)
+                .build();
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        ExecutePipelineCallbacks mockCallbacks = mock(ExecutePipelineCallbacks.class);
+        mWiseFy.executePipeline(pipeline, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).pipelineExecuted();
+        verify(mMockWiFiManager, never()).addNetwork(any(WifiConfiguration.class));
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        when(mMockWiFiManager.setWifiEnabled(true)).thenReturn(true);
+        try {
+            mWiseFy.executePipeline(new WiseFyPipeline.Builder().enableWifi().build(), null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).setWifiEnabled(true);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /*
+     * HELPERS
+     */
+
+    private List<WifiConfiguration> savedNetworks(String ssid) {
+        WifiConfiguration wifiConfiguration = new WifiConfiguration();
+        wifiConfiguration.SSID = ssid;
+        wifiConfiguration.networkId = TEST_NETWORK_ID;
+        List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        savedNetworks.add(wifiConfiguration);
+        return savedNetworks;
+    }
+}
@@ -0,0 +1,111 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class FindSSIDsTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void failure_nullTextParam() {
+        WiseFySearch mockWiseFySearch = mockWiseFySearch();
+
+        assertEquals(null, mWiseFy.findSSIDsByPrefix(null));
+        assertEquals(null, mWiseFy.findSSIDsContaining(null));
+        assertEquals(null, mWiseFy.findSimilarSSIDs(null, 1));
+        verify(mockWiseFySearch, never()).getSSIDIndex();
+    }
+
+    @Test
+    public void failure_invalidMaxEdits() {
+        WiseFySearch mockWiseFySearch = mockWiseFySearch();
+
+        assertEquals(null, mWiseFy.findSimilarSSIDs(TEST_SSID, -1));
+        assertEquals(null, mWiseFy.findSimilarSSIDs(TEST_SSID, WiseFySSIDIndex.MAX_EDITS + 1));
+        verify(mockWiseFySearch, never()).getSSIDIndex();
+    }
+
+    @Test
+    public void failure_missingPrerequisite() {
+        missingPrerequisite();
+        WiseFySearch mockWiseFySearch = mockWiseFySearch();
+
+        assertEquals(null, mWiseFy.findSSIDsByPrefix("Test"));
+        assertEquals(null, mWiseFy.findSSIDsContaining("Network"));
+        assertEquals(null, mWiseFy.findSimilarSSIDs(TEST_SSID, 1));
+        verify(mockWiseFySearch, never()).getSSIDIndex();
+    }
+
+    @Test
+    public void failure_noMatches() {
+        mockWiseFySearch();
+
+        assertEquals(null, mWiseFy.findSSIDsByPrefix("Other"));
+        assertEquals(null, mWiseFy.findSSIDsContaining("Other"));
+        assertEquals(null, mWiseFy.findSimilarSSIDs("Other Network", 1));
+    }
+
+    @Test
+    public void success() {
+        mockWiseFySearch();
+
+        assertEquals(Arrays.asList(TEST_SSID, TEST_SSID2), mWiseFy.findSSIDsByPrefix("test"));
+        assertEquals(Arrays.asList(TEST_SSID2), mWiseFy.findSSIDsContaining("network 2"));
+        assertEquals(Arrays.asList(TEST_SSID), mWiseFy.findSimilarSSIDs("Test Netwrk", 2));
+    }
+
+    @Test
+    public void success_savedNetworksReadOnWiseFyThread() {
+        WifiConfiguration savedNetwork = new WifiConfiguration();
+        savedNetwork.SSID = "\"" + TEST_SSID2 + "\"";
+        final List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        savedNetworks.add(savedNetwork);
+        final List<Thread> readingThreads = new CopyOnWriteArrayList<>();
+        when(mMockWiFiManager.getConfiguredNetworks()).thenAnswer(new Answer<List<WifiConfiguration>>() {
+            @Override
+            public List<WifiConfiguration> answer(InvocationOnMock invocation) {
+                readingThreads.add(Thread.currentThread());
+                return savedNetworks;
+            }
+        });
+
+        mWiseFy.findSSIDsByPrefix("test");
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).getConfiguredNetworks();
+        synchronized (mWiseFy.getWiseFyLock()) {
+            assertEquals(Arrays.asList(TEST_SSID2), mWiseFy.findSSIDsByPrefix("test"));
+        }
+        assertEquals(1, readingThreads.size());
+        assertFalse(readingThreads.contains(Thread.currentThread()));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFySearch mockWiseFySearch() {
+        WiseFySSIDIndex index = new WiseFySSIDIndex();
+        index.update(WiseFySSIDIndex.SOURCE_SCAN, Arrays.asList(TEST_SSID));
+        index.update(WiseFySSIDIndex.SOURCE_SAVED, Arrays.asList(TEST_SSID2));
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getSSIDIndex()).thenReturn(index);
+        return mockWiseFySearch;
+    }
+}
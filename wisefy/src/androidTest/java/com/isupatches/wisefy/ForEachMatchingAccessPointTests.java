@@ -0,0 +1,134 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import com.isupatches.wisefy.callbacks.AccessPointVisitor;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ForEachMatchingAccessPointTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void failure_nullRegexParam() {
+        assertEquals(WiseFyCodes.MISSING_PARAMETER, mWiseFy.forEachMatchingAccessPoint(null, false, mock(AccessPointVisitor.class)));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void failure_nullVisitorParam() {
+        assertEquals(WiseFyCodes.MISSING_PARAMETER, mWiseFy.forEachMatchingAccessPoint(TEST_SSID, false, null));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void failure_regexNotSupported() {
+        assertEquals(WiseFyCodes.REGEX_NOT_SUPPORTED, mWiseFy.forEachMatchingAccessPoint("(a+)\\1", false, mock(AccessPointVisitor.class)));
+        assertEquals(WiseFyCodes.REGEX_NOT_SUPPORTED, mWiseFy.countMatchingAccessPoints("(a+)\\1", false));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(WiseFyCodes.MISSING_PREREQUISITE, mWiseFy.forEachMatchingAccessPoint(TEST_SSID, false, mock(AccessPointVisitor.class)));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void failure_nullScanResults() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(null);
+        AccessPointVisitor mockVisitor = mock(AccessPointVisitor.class);
+        assertEquals(0, mWiseFy.forEachMatchingAccessPoint(TEST_SSID, false, mockVisitor));
+        verify(mockVisitor, never()).visitAccessPoint(any(ScanResult.class));
+    }
+
+    @Test
+    public void success_visitsEveryMatch() {
+        List<ScanResult> scanResults = createScanResults();
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+        AccessPointVisitor mockVisitor = mock(AccessPointVisitor.class);
+        when(mockVisitor.visitAccessPoint(any(ScanResult.class))).thenReturn(true);
+
+        assertEquals(2, mWiseFy.forEachMatchingAccessPoint(TEST_SSID, false, mockVisitor));
+        verify(mockVisitor).visitAccessPoint(scanResults.get(0));
+        verify(mockVisitor).visitAccessPoint(scanResults.get(2));
+        verify(mockVisitor, never()).visitAccessPoint(scanResults.get(1));
+    }
+
+    @Test
+    public void success_filterDuplicates() {
+        List<ScanResult> scanResults = createScanResults();
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+        AccessPointVisitor mockVisitor = mock(AccessPointVisitor.class);
+        when(mockVisitor.visitAccessPoint(any(ScanResult.class))).thenReturn(true);
+
+        assertEquals(1, mWiseFy.forEachMatchingAccessPoint(TEST_SSID, true, mockVisitor));
+        verify(mockVisitor).visitAccessPoint(scanResults.get(2));
+    }
+
+    @Test
+    public void success_stopsEarly() {
+        List<ScanResult> scanResults = createScanResults();
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+        AccessPointVisitor mockVisitor = mock(AccessPointVisitor.class);
+        when(mockVisitor.visitAccessPoint(any(ScanResult.class))).thenReturn(false);
+
+        assertEquals(1, mWiseFy.forEachMatchingAccessPoint(TEST_SSID, false, mockVisitor));
+        verify(mockVisitor, times(1)).visitAccessPoint(any(ScanResult.class));
+        verify(mockVisitor).visitAccessPoint(scanResults.get(0));
+    }
+
+    @Test
+    public void count_failure_nullRegexParam() {
+        assertEquals(WiseFyCodes.MISSING_PARAMETER, mWiseFy.countMatchingAccessPoints(null, false));
+    }
+
+    @Test
+    public void count_failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(WiseFyCodes.MISSING_PREREQUISITE, mWiseFy.countMatchingAccessPoints(TEST_SSID, false));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void count_success() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+        assertEquals(2, mWiseFy.countMatchingAccessPoints(TEST_SSID, false));
+        assertEquals(1, mWiseFy.countMatchingAccessPoints(TEST_SSID, true));
+        assertEquals(1, mWiseFy.countMatchingAccessPoints(TEST_SSID2, false));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<ScanResult> createScanResults() {
+        List<ScanResult> scanResults = new ArrayList<>();
+        ScanResult scanResult1 = mock(ScanResult.class);
+        scanResult1.SSID = TEST_SSID;
+        scanResult1.level = -70;
+        scanResults.add(scanResult1);
+        ScanResult scanResult2 = mock(ScanResult.class);
+        scanResult2.SSID = TEST_SSID2;
+        scanResult2.level = -60;
+        scanResults.add(scanResult2);
+        ScanResult scanResult3 = mock(ScanResult.class);
+        scanResult3.SSID = TEST_SSID;
+        scanResult3.level = -35;
+        scanResults.add(scanResult3);
+        return scanResults;
+    }
+}
@@ -0,0 +1,111 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import com.isupatches.wisefy.callbacks.SavedNetworkVisitor;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ForEachMatchingSavedNetworkTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void failure_nullRegexParam() {
+        assertEquals(WiseFyCodes.MISSING_PARAMETER, mWiseFy.forEachMatchingSavedNetwork(null, mock(SavedNetworkVisitor.class)));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void failure_nullVisitorParam() {
+        assertEquals(WiseFyCodes.MISSING_PARAMETER, mWiseFy.forEachMatchingSavedNetwork(TEST_SSID, null));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(WiseFyCodes.MISSING_PREREQUISITE, mWiseFy.forEachMatchingSavedNetwork(TEST_SSID, mock(SavedNetworkVisitor.class)));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void failure_nullSavedNetworks() {
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(null);
+        SavedNetworkVisitor mockVisitor = mock(SavedNetworkVisitor.class);
+        assertEquals(0, mWiseFy.forEachMatchingSavedNetwork(TEST_SSID, mockVisitor));
+        verify(mockVisitor, never()).visitSavedNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void success_visitsEveryMatch() {
+        List<WifiConfiguration> savedNetworks = createSavedNetworks();
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks);
+        SavedNetworkVisitor mockVisitor = mock(SavedNetworkVisitor.class);
+        when(mockVisitor.visitSavedNetwork(any(WifiConfiguration.class))).thenReturn(true);
+
+        assertEquals(2, mWiseFy.forEachMatchingSavedNetwork(TEST_SSID + ".*", mockVisitor));
+        verify(mockVisitor).visitSavedNetwork(savedNetworks.get(0));
+        verify(mockVisitor).visitSavedNetwork(savedNetworks.get(2));
+        verify(mockVisitor, never()).visitSavedNetwork(savedNetworks.get(1));
+    }
+
+    @Test
+    public void success_stopsEarly() {
+        List<WifiConfiguration> savedNetworks = createSavedNetworks();
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks);
+        SavedNetworkVisitor mockVisitor = mock(SavedNetworkVisitor.class);
+        when(mockVisitor.visitSavedNetwork(any(WifiConfiguration.class))).thenReturn(false);
+
+        assertEquals(1, mWiseFy.forEachMatchingSavedNetwork(TEST_SSID + ".*", mockVisitor));
+        verify(mockVisitor, times(1)).visitSavedNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void count_failure_nullRegexParam() {
+        assertEquals(WiseFyCodes.MISSING_PARAMETER, mWiseFy.countMatchingSavedNetworks(null));
+    }
+
+    @Test
+    public void count_failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(WiseFyCodes.MISSING_PREREQUISITE, mWiseFy.countMatchingSavedNetworks(TEST_SSID));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void count_success() {
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(createSavedNetworks());
+        assertEquals(1, mWiseFy.countMatchingSavedNetworks(TEST_SSID));
+        assertEquals(2, mWiseFy.countMatchingSavedNetworks(TEST_SSID + ".*"));
+        assertEquals(1, mWiseFy.countMatchingSavedNetworks("Other Network"));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<WifiConfiguration> createSavedNetworks() {
+        List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        WifiConfiguration savedNetwork1 = new WifiConfiguration();
+        savedNetwork1.SSID = "\"" + TEST_SSID + "\"";
+        savedNetworks.add(savedNetwork1);
+        WifiConfiguration savedNetwork2 = new WifiConfiguration();
+        savedNetwork2.SSID = "\"Other Network\"";
+        savedNetworks.add(savedNetwork2);
+        WifiConfiguration savedNetwork3 = new WifiConfiguration();
+        savedNetwork3.SSID = "\"" + TEST_SSID + "5G\"";
+        savedNetworks.add(savedNetwork3);
+        return savedNetworks;
+    }
+}
@@ -0,0 +1,133 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.WifiInfo;
+import android.net.wifi.WifiManager;
+import android.os.Handler;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static com.isupatches.wisefy.base.TestUtils.TEST_NETWORK_ID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class GetCurrentNetworkStatsTests extends BaseAndroidJUnit4TestClass {
+
+    private static final int INTERVAL = 1000;
+
+    private static final String TEST_BSSID = "00:11:22:33:44:55";
+
+    private static final String TEST_OTHER_BSSID = "66:77:88:99:aa:bb";
+
+    private WiseFyBroadcastHub mMockBroadcastHub;
+
+    private Handler mMockHandler;
+
+    @Before
+    public void setUpBroadcastHub() {
+        mMockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mMockHandler = mock(Handler.class);
+        when(mMockBroadcastHub.getEventHandler()).thenReturn(mMockHandler);
+        mWiseFy.mWiseFyBroadcastHub = mMockBroadcastHub;
+    }
+
+    @Test
+    public void failure_invalidParams() {
+        assertEquals(false, mWiseFy.startSamplingCurrentNetwork(0, 10));
+        assertEquals(false, mWiseFy.startSamplingCurrentNetwork(INTERVAL, 0));
+        assertNull(mWiseFy.getCurrentNetworkStats());
+    }
+
+    @Test
+    public void failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(false, mWiseFy.startSamplingCurrentNetwork(INTERVAL, 10));
+        assertNull(mWiseFy.getCurrentNetworkStats());
+    }
+
+    @Test
+    public void failure_notConnected() {
+        assertEquals(true, mWiseFy.startSamplingCurrentNetwork(INTERVAL, 10));
+        runScheduledSample();
+        assertNull(mWiseFy.getCurrentNetworkStats());
+    }
+
+    @Test
+    public void failure_notSampling() {
+        assertNull(mWiseFy.getCurrentNetworkStats());
+    }
+
+    @Test
+    public void success() {
+        assertEquals(true, mWiseFy.startSamplingCurrentNetwork(INTERVAL, 2));
+        connectedTo(TEST_BSSID, -70, 54);
+        Runnable sample = runScheduledSample();
+        connectedTo(TEST_BSSID, -60, 72);
+        sample.run();
+        connectedTo(TEST_BSSID, -50, 144);
+        mWiseFy.mWiseFyLinkSampler.onReceive(new Intent(WifiManager.RSSI_CHANGED_ACTION));
+
+        WiseFyLinkStats stats = mWiseFy.getCurrentNetworkStats();
+        assertEquals(TEST_BSSID, stats.getBSSID());
+        assertEquals(2, stats.getRSSI().getCount());
+        assertEquals(-50, stats.getRSSI().getLatest());
+        assertEquals(-60, stats.getRSSI().getMin());
+        assertEquals(-50, stats.getRSSI().getMax());
+        assertEquals(-55.0, stats.getRSSI().getMean(), 0.0001);
+        assertEquals(144, stats.getLinkSpeed().getLatest());
+        verify(mMockWiFiManager, never()).startScan();
+    }
+
+    @Test
+    public void success_accessPointChanged() {
+        assertEquals(true, mWiseFy.startSamplingCurrentNetwork(INTERVAL, 10));
+        connectedTo(TEST_BSSID, -70, 54);
+        Runnable sample = runScheduledSample();
+        connectedTo(TEST_OTHER_BSSID, -40, 300);
+        sample.run();
+
+        WiseFyLinkStats stats = mWiseFy.getCurrentNetworkStats();
+        assertEquals(TEST_OTHER_BSSID, stats.getBSSID());
+        assertEquals(1, stats.getRSSI().getCount());
+        assertEquals(-40, stats.getRSSI().getLatest());
+    }
+
+    @Test
+    public void stop() {
+        assertEquals(true, mWiseFy.startSamplingCurrentNetwork(INTERVAL, 10));
+        Runnable sample = runScheduledSample();
+        WiseFyLinkSampler wiseFyLinkSampler = mWiseFy.mWiseFyLinkSampler;
+        mWiseFy.stopSamplingCurrentNetwork();
+        verify(mMockHandler).removeCallbacks(sample);
+        verify(mMockBroadcastHub).unregister(WifiManager.RSSI_CHANGED_ACTION, wiseFyLinkSampler);
+        assertNull(mWiseFy.getCurrentNetworkStats());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void connectedTo(String bssid, int rssi, int linkSpeed) {
+        WifiInfo mockWifiInfo = mock(WifiInfo.class);
+        when(mockWifiInfo.getNetworkId()).thenReturn(TEST_NETWORK_ID);
+        when(mockWifiInfo.getBSSID()).thenReturn(bssid);
+        when(mockWifiInfo.getRssi()).thenReturn(rssi);
+        when(mockWifiInfo.getLinkSpeed()).thenReturn(linkSpeed);
+        when(mMockWiFiManager.getConnectionInfo()).thenReturn(mockWifiInfo);
+    }
+
+    private Runnable runScheduledSample() {
+        ArgumentCaptor<Runnable> sample = ArgumentCaptor.forClass(Runnable.class);
+        verify(mMockHandler).post(sample.capture());
+        sample.getValue().run();
+        verify(mMockHandler).postDelayed(eq(sample.getValue()), eq((long) INTERVAL));
+        return sample.getValue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import com.isupatches.wisefy.callbacks.GetNearbyAccessPointTableCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import java.util.ArrayList;
+import java.util.List;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class GetNearbyAccessPointTableTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void sync_failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(null, mWiseFy.getNearbyAccessPointTable(false));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void sync_failure_nullScanResults() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(null);
+        assertEquals(null, mWiseFy.getNearbyAccessPointTable(false));
+    }
+
+    @Test
+    public void sync_success_filterDuplicates_false() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        WiseFyScanTable table = mWiseFy.getNearbyAccessPointTable(false);
+        assertEquals(3, table.getAccessPointCount());
+        assertEquals(2, table.getSSIDPoolSize());
+        assertEquals(TEST_SSID2, table.getSSID(1));
+        assertEquals(-70, table.getLevel(1));
+    }
+
+    @Test
+    public void sync_success_filterDuplicates_true() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        WiseFyScanTable table = mWiseFy.getNearbyAccessPointTable(true);
+        assertEquals(2, table.getAccessPointCount());
+        assertEquals(TEST_SSID, table.getSSID(0));
+        assertEquals(-35, table.getLevel(0));
+        assertEquals(TEST_SSID2, table.getSSID(1));
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        GetNearbyAccessPointTableCallbacks mockCallbacks = mock(GetNearbyAccessPointTableCallbacks.class);
+        mWiseFy.getNearbyAccessPointTable(false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).getNearbyAccessPointTableWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.getNearbyAccessPointTable(false, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success_filterDuplicates_true() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        GetNearbyAccessPointTableCallbacks mockCallbacks = mock(GetNearbyAccessPointTableCallbacks.class);
+        mWiseFy.getNearbyAccessPointTable(true, mockCallbacks);
+        ArgumentCaptor<WiseFyScanTable> captor = ArgumentCaptor.forClass(WiseFyScanTable.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).retrievedNearbyAccessPointTable(captor.capture());
+        assertEquals(2, captor.getValue().getAccessPointCount());
+        assertEquals(-35, captor.getValue().getLevel(0));
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+        try {
+            mWiseFy.getNearbyAccessPointTable(false, null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).getScanResults();
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<ScanResult> createScanResults() {
+        List<ScanResult> scanResults = new ArrayList<>();
+        ScanResult scanResult1 = mock(ScanResult.class);
+        scanResult1.SSID = TEST_SSID;
+        scanResult1.level = -35;
+        scanResults.add(scanResult1);
+        ScanResult scanResult2 = mock(ScanResult.class);
+        scanResult2.SSID = TEST_SSID2;
+        scanResult2.level = -70;
+        scanResults.add(scanResult2);
+        ScanResult scanResult3 = mock(ScanResult.class);
+        scanResult3.SSID = TEST_SSID.toUpperCase();
+        scanResult3.level = -80;
+        scanResults.add(scanResult3);
+        return scanResults;
+    }
+}
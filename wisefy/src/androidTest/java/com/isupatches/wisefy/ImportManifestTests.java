@@ -0,0 +1,168 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import com.isupatches.wisefy.callbacks.ImportManifestCallbacks;
+import com.isupatches.wisefy.constants.ManifestFormats;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static com.isupatches.wisefy.base.TestUtils.OPEN_NETWORK_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_NETWORK_ID;
+import static com.isupatches.wisefy.base.TestUtils.WEP_NETWORK_PASSWORD;
+import static com.isupatches.wisefy.base.TestUtils.WEP_NETWORK_SSID;
+import static com.isupatches.wisefy.base.TestUtils.WPA2_NETWORK_PASSWORD;
+import static com.isupatches.wisefy.base.TestUtils.WPA2_NETWORK_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ImportManifestTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void sync_failure_nullManifestParam() {
+        assertNull(mWiseFy.importManifest(null, ManifestFormats.CSV));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_failure_unsupportedFormat() throws IOException {
+        assertNull(mWiseFy.importManifest(writeManifest(), -1));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisites() throws IOException {
+        missingPrerequisite();
+        assertNull(mWiseFy.importManifest(writeManifest(), ManifestFormats.CSV));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_failure_missingFile() {
+        assertNull(mWiseFy.importManifest(new File("missing_manifest.csv"), ManifestFormats.CSV));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void sync_success() throws IOException {
+        List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        WifiConfiguration savedNetwork = new WifiConfiguration();
+        savedNetwork.SSID = "\"" + OPEN_NETWORK_SSID + "\"";
+        savedNetworks.add(savedNetwork);
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks);
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        WiseFyImportResult result = mWiseFy.importManifest(writeManifest(), ManifestFormats.CSV);
+        assertEquals(4, result.getProcessedCount());
+        assertEquals(2, result.getAddedCount());
+        assertEquals(1, result.getSkippedCount());
+        assertEquals(1, result.getFailedCount());
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(2)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_nullManifestParam() {
+        ImportManifestCallbacks mockCallbacks = mock(ImportManifestCallbacks.class);
+        mWiseFy.importManifest(null, ManifestFormats.CSV, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).importManifestWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_nullManifestParam_nullCallback() {
+        try {
+            mWiseFy.importManifest(null, ManifestFormats.CSV, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites() throws IOException {
+        missingPrerequisite();
+        ImportManifestCallbacks mockCallbacks = mock(ImportManifestCallbacks.class);
+        mWiseFy.importManifest(writeManifest(), ManifestFormats.CSV, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).importManifestWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_missingFile() {
+        ImportManifestCallbacks mockCallbacks = mock(ImportManifestCallbacks.class);
+        mWiseFy.importManifest(new File("missing_manifest.csv"), ManifestFormats.CSV, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).failureReadingManifest();
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_failure_missingFile_nullCallback() {
+        try {
+            mWiseFy.importManifest(new File("missing_manifest.csv"), ManifestFormats.CSV, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).addNetwork(any(WifiConfiguration.class));
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success() throws IOException {
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        ImportManifestCallbacks mockCallbacks = mock(ImportManifestCallbacks.class);
+        mWiseFy.importManifest(writeManifest(), ManifestFormats.CSV, mockCallbacks);
+
+        ArgumentCaptor<WiseFyImportResult> captor = ArgumentCaptor.forClass(WiseFyImportResult.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).manifestImported(captor.capture());
+        assertEquals(3, captor.getValue().getAddedCount());
+        verify(mockCallbacks, times(1)).manifestImportProgress(any(WiseFyImportResult.class));
+        verify(mMockWiFiManager, times(3)).addNetwork(any(WifiConfiguration.class));
+    }
+
+    @Test
+    public void async_success_nullCallback() throws IOException {
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+
+        try {
+            mWiseFy.importManifest(writeManifest(), ManifestFormats.CSV, null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT).times(3)).addNetwork(any(WifiConfiguration.class));
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private File writeManifest() throws IOException {
+        File manifest = File.createTempFile("manifest", ".csv");
+        manifest.deleteOnExit();
+        FileWriter writer = new FileWriter(manifest);
+        try {
+            writer.write("ssid,security,password\n");
+            writer.write(OPEN_NETWORK_SSID + ",OPEN,\n");
+            writer.write(WEP_NETWORK_SSID + ",WEP," + WEP_NETWORK_PASSWORD + "\n");
+            writer.write(WPA2_NETWORK_SSID + ",WPA2," + WPA2_NETWORK_PASSWORD + "\n");
+            writer.write("Missing Password,WPA2,\n");
+        } finally {
+            writer.close();
+        }
+        return manifest;
+    }
+}
@@ -0,0 +1,50 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import org.junit.Test;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+
+public class IsNetworkOWETests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void failure_differentCapability() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "Other";
+        assertEquals(false, mWiseFy.isNetworkOWE(scanResult));
+    }
+
+    @Test
+    public void failure_wpa2Capability() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[RSN-PSK-CCMP][ESS]";
+        assertEquals(false, mWiseFy.isNetworkOWE(scanResult));
+    }
+
+    @Test
+    public void failure_emptyCapabilities() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "";
+        assertEquals(false, mWiseFy.isNetworkOWE(scanResult));
+    }
+
+    @Test
+    public void failure_nullCapabilities() {
+        ScanResult scanResult = mock(ScanResult.class);
+        assertEquals(false, mWiseFy.isNetworkOWE(scanResult));
+    }
+
+    @Test
+    public void failure_nullScanResult() {
+        assertEquals(false, mWiseFy.isNetworkOWE(null));
+    }
+
+    @Test
+    public void success() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[RSN-OWE-CCMP][ESS]";
+        assertEquals(true, mWiseFy.isNetworkOWE(scanResult));
+    }
+}
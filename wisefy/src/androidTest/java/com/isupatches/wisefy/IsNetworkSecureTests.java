@@ -63,6 +63,20 @@ public class IsNetworkSecureTests extends BaseAndroidJUnit4TestClass {
         assertEquals(true, mWiseFy.isNetworkSecure(scanResult));
     }
 
+    @Test
+    public void success_withSAE() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[RSN-SAE-CCMP][ESS]";
+        assertEquals(true, mWiseFy.isNetworkSecure(scanResult));
+    }
+
+    @Test
+    public void failure_openNetwork() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[ESS][WPS]";
+        assertEquals(false, mWiseFy.isNetworkSecure(scanResult));
+    }
+
     @Test
     public void failure_otherCapabilities() {
         ScanResult scanResult = mock(ScanResult.class);
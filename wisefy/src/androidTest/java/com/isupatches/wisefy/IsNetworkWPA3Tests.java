@@ -0,0 +1,50 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import org.junit.Test;
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+
+public class IsNetworkWPA3Tests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void failure_differentCapability() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "Other";
+        assertEquals(false, mWiseFy.isNetworkWPA3(scanResult));
+    }
+
+    @Test
+    public void failure_wpa2Capability() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[RSN-PSK-CCMP][ESS]";
+        assertEquals(false, mWiseFy.isNetworkWPA3(scanResult));
+    }
+
+    @Test
+    public void failure_emptyCapabilities() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "";
+        assertEquals(false, mWiseFy.isNetworkWPA3(scanResult));
+    }
+
+    @Test
+    public void failure_nullCapabilities() {
+        ScanResult scanResult = mock(ScanResult.class);
+        assertEquals(false, mWiseFy.isNetworkWPA3(scanResult));
+    }
+
+    @Test
+    public void failure_nullScanResult() {
+        assertEquals(false, mWiseFy.isNetworkWPA3(null));
+    }
+
+    @Test
+    public void success() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[RSN-PSK+SAE-CCMP][ESS]";
+        assertEquals(true, mWiseFy.isNetworkWPA3(scanResult));
+    }
+}
@@ -17,6 +17,13 @@ public class IsNetworkWPATests extends BaseAndroidJUnit4TestClass {
         assertEquals(false, mWiseFy.isNetworkWPA(scanResult));
     }
 
+    @Test
+    public void failure_wpa2Capability() {
+        ScanResult scanResult = mock(ScanResult.class);
+        scanResult.capabilities = "[WPA2-PSK-CCMP][ESS]";
+        assertEquals(false, mWiseFy.isNetworkWPA(scanResult));
+    }
+
     @Test
     public void failure_emptyCapabilities() {
         ScanResult scanResult = mock(ScanResult.class);
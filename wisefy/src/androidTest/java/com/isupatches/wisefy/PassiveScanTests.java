@@ -0,0 +1,141 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiManager;
+import android.support.test.InstrumentationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class PassiveScanTests extends BaseAndroidJUnit4TestClass {
+
+    private static final int TEST_WINDOW = 30000;
+
+    @Test
+    public void builder_consumePassiveScans() {
+        WiseFy wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).consumePassiveScans(TEST_WINDOW).getSmarts();
+        assertNotNull(wiseFy.mWiseFyPassiveScanner);
+        assertNotNull(wiseFy.mWiseFySearch.mWiseFyPassiveScanner);
+        wiseFy.dump();
+        assertNull(wiseFy.mWiseFyPassiveScanner);
+        assertNull(wiseFy.mWiseFySearch.mWiseFyPassiveScanner);
+    }
+
+    @Test
+    public void disabled() {
+        assertNull(mWiseFy.getScanStats());
+        scanReturns();
+        mWiseFy.getNearbyAccessPoints(false);
+        mWiseFy.getNearbyAccessPoints(false);
+        verify(mMockWiFiManager, times(2)).startScan();
+    }
+
+    @Test
+    public void shouldStartScan_noResults() {
+        WiseFyPassiveScanner scanner = new WiseFyPassiveScanner(mock(WiseFyBroadcastHub.class), TEST_WINDOW);
+        assertTrue(scanner.shouldStartScan(1000));
+        assertEquals(1, scanner.getStats().getActiveScanCount());
+        assertEquals(0, scanner.getStats().getAvoidedScanCount());
+    }
+
+    @Test
+    public void shouldStartScan_freshResults() {
+        WiseFyPassiveScanner scanner = new WiseFyPassiveScanner(mock(WiseFyBroadcastHub.class), TEST_WINDOW);
+        scanner.onScanResults(1000, true);
+        assertFalse(scanner.shouldStartScan(1000 + TEST_WINDOW - 1));
+        assertEquals(0, scanner.getStats().getActiveScanCount());
+        assertEquals(1, scanner.getStats().getAvoidedScanCount());
+        assertEquals(1, scanner.getStats().getResultsDeliveredCount());
+    }
+
+    @Test
+    public void shouldStartScan_staleResults() {
+        WiseFyPassiveScanner scanner = new WiseFyPassiveScanner(mock(WiseFyBroadcastHub.class), TEST_WINDOW);
+        scanner.onScanResults(1000, true);
+        assertTrue(scanner.shouldStartScan(1000 + TEST_WINDOW));
+    }
+
+    @Test
+    public void shouldStartScan_resultsNotUpdated() {
+        WiseFyPassiveScanner scanner = new WiseFyPassiveScanner(mock(WiseFyBroadcastHub.class), TEST_WINDOW);
+        scanner.onScanResults(1000, false);
+        assertTrue(scanner.shouldStartScan(2000));
+        assertEquals(0, scanner.getStats().getResultsDeliveredCount());
+    }
+
+    @Test
+    public void shouldStartScan_activeScanAlreadyStarted() {
+        WiseFyPassiveScanner scanner = new WiseFyPassiveScanner(mock(WiseFyBroadcastHub.class), TEST_WINDOW);
+        assertTrue(scanner.shouldStartScan(1000));
+        assertFalse(scanner.shouldStartScan(2000));
+        assertTrue(scanner.shouldStartScan(1000 + TEST_WINDOW));
+        assertEquals(2, scanner.getStats().getActiveScanCount());
+        assertEquals(1, scanner.getStats().getAvoidedScanCount());
+    }
+
+    @Test
+    public void scan_usesDeliveredResults() {
+        WiseFyPassiveScanner scanner = enablePassiveScans();
+        scanReturns();
+        scanner.onReceive(new Intent(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION));
+
+        mWiseFy.getNearbyAccessPoints(false);
+        mWiseFy.getNearbyAccessPoints(false);
+        verify(mMockWiFiManager, never()).startScan();
+        verify(mMockWiFiManager, times(2)).getScanResults();
+
+        WiseFyScanStats stats = mWiseFy.getScanStats();
+        assertEquals(0, stats.getActiveScanCount());
+        assertEquals(2, stats.getAvoidedScanCount());
+        assertEquals(1, stats.getResultsDeliveredCount());
+    }
+
+    @Test
+    public void scan_fallsBackToActiveScan() {
+        enablePassiveScans();
+        scanReturns();
+
+        mWiseFy.getNearbyAccessPoints(false);
+        mWiseFy.getNearbyAccessPoints(false);
+        verify(mMockWiFiManager, times(1)).startScan();
+
+        WiseFyScanStats stats = mWiseFy.getScanStats();
+        assertEquals(1, stats.getActiveScanCount());
+        assertEquals(1, stats.getAvoidedScanCount());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyPassiveScanner enablePassiveScans() {
+        WiseFyPassiveScanner scanner = new WiseFyPassiveScanner(mWiseFy.getBroadcastHub(), TEST_WINDOW);
+        mWiseFy.mWiseFyPassiveScanner = scanner;
+        mWiseFy.mWiseFySearch.mWiseFyPassiveScanner = scanner;
+        return scanner;
+    }
+
+    private void scanReturns() {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+        accessPoint.level = -60;
+
+        List<ScanResult> scanResults = new ArrayList<>();
+        scanResults.add(accessPoint);
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
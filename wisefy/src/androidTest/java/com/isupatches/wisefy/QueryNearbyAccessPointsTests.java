@@ -0,0 +1,174 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import com.isupatches.wisefy.callbacks.QueryNearbyAccessPointsCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import java.util.ArrayList;
+import java.util.List;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class QueryNearbyAccessPointsTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void sync_failure_nullQuery() {
+        assertEquals(null, mWiseFy.queryNearbyAccessPoints(null));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(null, mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().build()));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void sync_failure_nullScanResults() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(null);
+        assertEquals(null, mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().build()));
+    }
+
+    @Test
+    public void sync_failure_noMatches() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+        assertEquals(null, mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().minRSSI(-20).build()));
+    }
+
+    @Test
+    public void sync_success() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        WiseFyScanTable accessPoints = mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().minRSSI(-75).build());
+        assertEquals(2, accessPoints.getAccessPointCount());
+        assertEquals(TEST_SSID, accessPoints.getSSID(0));
+        assertEquals(TEST_SSID2, accessPoints.getSSID(1));
+    }
+
+    @Test
+    public void sync_success_limit() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        WiseFyScanTable accessPoints = mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().limit(1).build());
+        assertEquals(1, accessPoints.getAccessPointCount());
+        assertEquals(-35, accessPoints.getLevel(0));
+    }
+
+    @Test
+    public void sync_queryLastKnownScan_nullQuery() {
+        assertEquals(null, mWiseFy.queryLastKnownScan(null));
+    }
+
+    @Test
+    public void sync_queryLastKnownScan_noScan() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScanTable()).thenReturn(null);
+
+        assertEquals(null, mWiseFy.queryLastKnownScan(new WiseFyQuery.Builder().build()));
+    }
+
+    @Test
+    public void sync_queryLastKnownScan_success() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScanTable()).thenReturn(new WiseFyScanTable.Builder(2)
+                .add(0x001122334455L, TEST_SSID, -50, 2437, 0, System.currentTimeMillis(), 0)
+                .add(0x001122334456L, TEST_SSID2, -70, 5180, 0, System.currentTimeMillis(), 1)
+                .build(System.currentTimeMillis()));
+
+        WiseFyScanTable accessPoints = mWiseFy.queryLastKnownScan(new WiseFyQuery.Builder().ssid(TEST_SSID2).build());
+        assertEquals(1, accessPoints.getAccessPointCount());
+        assertEquals(-70, accessPoints.getLevel(0));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).startScan();
+    }
+
+    @Test
+    public void async_failure_nullQuery() {
+        QueryNearbyAccessPointsCallbacks mockCallbacks = mock(QueryNearbyAccessPointsCallbacks.class);
+        mWiseFy.queryNearbyAccessPoints(null, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).queryNearbyAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+    }
+
+    @Test
+    public void async_failure_nullQuery_nullCallback() {
+        try {
+            mWiseFy.queryNearbyAccessPoints(null, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        QueryNearbyAccessPointsCallbacks mockCallbacks = mock(QueryNearbyAccessPointsCallbacks.class);
+        mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().build(), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).queryNearbyAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getScanResults();
+    }
+
+    @Test
+    public void async_failure_noMatches() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+        QueryNearbyAccessPointsCallbacks mockCallbacks = mock(QueryNearbyAccessPointsCallbacks.class);
+        mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().minRSSI(-20).build(), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).noAccessPointsFound();
+    }
+
+    @Test
+    public void async_success() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+
+        QueryNearbyAccessPointsCallbacks mockCallbacks = mock(QueryNearbyAccessPointsCallbacks.class);
+        mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().ssid(TEST_SSID2).build(), mockCallbacks);
+        ArgumentCaptor<WiseFyScanTable> captor = ArgumentCaptor.forClass(WiseFyScanTable.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).foundAccessPoints(captor.capture());
+        assertEquals(1, captor.getValue().getAccessPointCount());
+        assertEquals(-70, captor.getValue().getLevel(0));
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        when(mMockWiFiManager.getScanResults()).thenReturn(createScanResults());
+        try {
+            mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().build(), null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).getScanResults();
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<ScanResult> createScanResults() {
+        List<ScanResult> scanResults = new ArrayList<>();
+        ScanResult scanResult1 = mock(ScanResult.class);
+        scanResult1.SSID = TEST_SSID;
+        scanResult1.level = -35;
+        scanResults.add(scanResult1);
+        ScanResult scanResult2 = mock(ScanResult.class);
+        scanResult2.SSID = TEST_SSID2;
+        scanResult2.level = -70;
+        scanResults.add(scanResult2);
+        ScanResult scanResult3 = mock(ScanResult.class);
+        scanResult3.SSID = TEST_SSID.toUpperCase();
+        scanResult3.level = -80;
+        scanResults.add(scanResult3);
+        return scanResults;
+    }
+}
@@ -13,6 +13,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +26,13 @@ public class RemoveNetworkTests extends BaseAndroidJUnit4TestClass {
         verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
     }
 
+    @Test
+    public void sync_failure_regexNotSupported() {
+        assertEquals(false, mWiseFy.removeNetwork("(?=Test)Test.*"));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(0)).removeNetwork(anyInt());
+    }
+
     @Test
     public void sync_failure_missingPrerequisites() {
         missingPrerequisite();
@@ -89,6 +97,14 @@ public class RemoveNetworkTests extends BaseAndroidJUnit4TestClass {
         }
     }
 
+    @Test
+    public void async_failure_regexNotSupported() {
+        RemoveNetworkCallbacks mockCallbacks = mock(RemoveNetworkCallbacks.class);
+        mWiseFy.removeNetwork("(?=Test)Test.*", mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).removeNetworkWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+    }
+
     @Test
     public void async_failure_missingPrerequisites() {
         missingPrerequisite();
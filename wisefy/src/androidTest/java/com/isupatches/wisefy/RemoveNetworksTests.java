@@ -0,0 +1,172 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import com.isupatches.wisefy.callbacks.RemoveNetworksCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID3;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class RemoveNetworksTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void sync_failure_nullSSIDsParam() {
+        assertNull(mWiseFy.removeNetworks(null));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+    }
+
+    @Test
+    public void sync_failure_emptySSIDsParam() {
+        assertNull(mWiseFy.removeNetworks(new ArrayList<String>()));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisites() {
+        missingPrerequisite();
+        assertNull(mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2)));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+    }
+
+    @Test
+    public void sync_failure_noSavedNetworks() {
+        WiseFyBatchResult results = mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2));
+        assertEquals(2, results.size());
+        assertEquals(WiseFyCodes.NETWORK_NOT_FOUND, results.getResultCode(0));
+        assertEquals(WiseFyCodes.NETWORK_NOT_FOUND, results.getResultCode(1));
+        verify(mMockWiFiManager, times(0)).disconnect();
+        verify(mMockWiFiManager, times(0)).reconnect();
+        verify(mMockWiFiManager, times(0)).removeNetwork(anyInt());
+    }
+
+    @Test
+    public void sync_failure_wifiManager() {
+        savedNetworks();
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(false);
+
+        WiseFyBatchResult results = mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2));
+        assertEquals(0, results.getSuccessCount());
+        assertEquals(WiseFy.WIFI_MANAGER_FAILURE, results.getResultCode(0));
+        verify(mMockWiFiManager, times(1)).reconnect();
+    }
+
+    @Test
+    public void sync_success_singleReconnect() {
+        savedNetworks();
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        WiseFyBatchResult results = mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2, TEST_SSID3));
+        assertEquals(3, results.size());
+        assertEquals(1, results.getResultCode(0));
+        assertEquals(2, results.getResultCode(1));
+        assertEquals(WiseFyCodes.NETWORK_NOT_FOUND, results.getResultCode(2));
+
+        InOrder inOrder = inOrder(mMockWiFiManager);
+        inOrder.verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        inOrder.verify(mMockWiFiManager, times(1)).disconnect();
+        inOrder.verify(mMockWiFiManager, times(2)).removeNetwork(anyInt());
+        inOrder.verify(mMockWiFiManager, times(1)).reconnect();
+    }
+
+    @Test
+    public void async_failure_nullSSIDsParam() {
+        RemoveNetworksCallbacks mockCallbacks = mock(RemoveNetworksCallbacks.class);
+        mWiseFy.removeNetworks(null, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).removeNetworksWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+    }
+
+    @Test
+    public void async_failure_nullSSIDsParam_nullCallback() {
+        try {
+            mWiseFy.removeNetworks(null, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites() {
+        missingPrerequisite();
+        RemoveNetworksCallbacks mockCallbacks = mock(RemoveNetworksCallbacks.class);
+        mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).removeNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2), null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).removeNetwork(anyInt());
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success() {
+        savedNetworks();
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        RemoveNetworksCallbacks mockCallbacks = mock(RemoveNetworksCallbacks.class);
+        mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2), mockCallbacks);
+
+        ArgumentCaptor<WiseFyBatchResult> captor = ArgumentCaptor.forClass(WiseFyBatchResult.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).networksRemoved(captor.capture());
+        assertEquals(2, captor.getValue().getSuccessCount());
+        verify(mMockWiFiManager, times(1)).disconnect();
+        verify(mMockWiFiManager, times(1)).reconnect();
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        savedNetworks();
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        try {
+            mWiseFy.removeNetworks(Arrays.asList(TEST_SSID, TEST_SSID2), null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT).times(2)).removeNetwork(anyInt());
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void savedNetworks() {
+        List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        WifiConfiguration wiFiConfiguration1 = new WifiConfiguration();
+        wiFiConfiguration1.SSID = TEST_SSID;
+        wiFiConfiguration1.networkId = 1;
+        savedNetworks.add(wiFiConfiguration1);
+        WifiConfiguration wiFiConfiguration2 = new WifiConfiguration();
+        wiFiConfiguration2.SSID = TEST_SSID2;
+        wiFiConfiguration2.networkId = 2;
+        savedNetworks.add(wiFiConfiguration2);
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks);
+    }
+}
@@ -0,0 +1,111 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import android.support.test.InstrumentationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static com.isupatches.wisefy.base.TestUtils.TEST_TIMEOUT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ScanAccumulationTests extends BaseAndroidJUnit4TestClass {
+
+    private static final String TEST_BSSID = "00:11:22:aa:bb:cc";
+
+    private static final String TEST_BSSID2 = "00:11:22:aa:bb:cd";
+
+    @Test
+    public void builder_accumulateScans() {
+        WiseFy wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).accumulateScans(2).getSmarts();
+        assertNotNull(wiseFy.mWiseFySearch.mWiseFyScanAccumulator);
+        wiseFy.dump();
+
+        wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).accumulateScans(0).getSmarts();
+        assertNull(wiseFy.mWiseFySearch.mWiseFyScanAccumulator);
+        wiseFy.dump();
+    }
+
+    @Test
+    public void disabled() {
+        assertNull(mWiseFy.getAccumulatedScan());
+    }
+
+    @Test
+    public void getNearbyAccessPoints_includesMissedAccessPoint() {
+        enableAccumulation(2);
+        scanReturns(createAccessPoint(TEST_SSID, TEST_BSSID), createAccessPoint(TEST_SSID2, TEST_BSSID2));
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(createAccessPoint(TEST_SSID, TEST_BSSID));
+
+        assertEquals(2, mWiseFy.getNearbyAccessPoints(false).size());
+
+        WiseFyAccumulatedScan scan = mWiseFy.getAccumulatedScan();
+        assertEquals(2, scan.getAccessPointCount());
+        for (int i = 0; i < scan.getAccessPointCount(); i++) {
+            if (TEST_BSSID2.equals(scan.getAccessPoint(i).BSSID)) {
+                assertEquals(1, scan.getMissCount(i));
+                assertEquals(0.5f, scan.getConfidence(i), 0.0001f);
+            } else {
+                assertEquals(0, scan.getMissCount(i));
+                assertEquals(1f, scan.getConfidence(i), 0.0001f);
+            }
+        }
+    }
+
+    @Test
+    public void getNearbyAccessPoints_agesOut() {
+        enableAccumulation(1);
+        scanReturns(createAccessPoint(TEST_SSID, TEST_BSSID), createAccessPoint(TEST_SSID2, TEST_BSSID2));
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(createAccessPoint(TEST_SSID, TEST_BSSID));
+        mWiseFy.getNearbyAccessPoints(false);
+
+        assertEquals(1, mWiseFy.getNearbyAccessPoints(false).size());
+    }
+
+    @Test
+    public void searchForSSID_findsMissedAccessPoint() {
+        enableAccumulation(2);
+        scanReturns(createAccessPoint(TEST_SSID, TEST_BSSID), createAccessPoint(TEST_SSID2, TEST_BSSID2));
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(createAccessPoint(TEST_SSID, TEST_BSSID));
+
+        assertEquals(TEST_SSID2, mWiseFy.searchForSSID(TEST_SSID2, TEST_TIMEOUT));
+        verify(mMockWiFiManager, times(2)).startScan();
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void enableAccumulation(int maxMisses) {
+        mWiseFy.mWiseFySearch.mWiseFyScanAccumulator = new WiseFyScanAccumulator<>(maxMisses,
+                WiseFyScanAccumulator.DEFAULT_CAPACITY);
+    }
+
+    private ScanResult createAccessPoint(String ssid, String bssid) {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = ssid;
+        accessPoint.BSSID = bssid;
+        accessPoint.level = -60;
+        return accessPoint;
+    }
+
+    private void scanReturns(ScanResult... accessPoints) {
+        List<ScanResult> scanResults = new ArrayList<>();
+        for (ScanResult accessPoint : accessPoints) {
+            scanResults.add(accessPoint);
+        }
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
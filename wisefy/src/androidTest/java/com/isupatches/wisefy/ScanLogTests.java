@@ -0,0 +1,131 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import android.support.test.InstrumentationRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class ScanLogTests extends BaseAndroidJUnit4TestClass {
+
+    private static final String TEST_BSSID = "00:11:22:aa:bb:cc";
+
+    private File mDirectory;
+
+    @Before
+    public void setUpDirectory() {
+        mDirectory = new File(InstrumentationRegistry.getContext().getCacheDir(), "wisefy-scan-log-tests");
+        deleteDirectory();
+    }
+
+    @After
+    public void tearDownDirectory() {
+        deleteDirectory();
+    }
+
+    @Test
+    public void builder_logScans() {
+        WiseFy wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).logScans(mDirectory, 4096, 2).getSmarts();
+        assertNotNull(wiseFy.mWiseFySearch.mWiseFyScanLog);
+        wiseFy.dump();
+        assertNull(wiseFy.mWiseFySearch.mWiseFyScanLog);
+    }
+
+    @Test
+    public void disabled() {
+        scanReturns(-60);
+        mWiseFy.getNearbyAccessPoints(false);
+        assertFalse(mDirectory.exists());
+    }
+
+    @Test
+    public void enabled_getNearbyAccessPoints() throws IOException {
+        mWiseFy.mWiseFySearch.mWiseFyScanLog = new WiseFyScanLog(mDirectory, 4096, 2);
+        scanReturns(-60);
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(-70);
+        mWiseFy.searchForAccessPoint(TEST_SSID, 1, false);
+        mWiseFy.dump();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        try {
+            assertTrue(reader.next());
+            assertEquals(TEST_BSSID, reader.getBSSID(0));
+            assertEquals(TEST_SSID, reader.getSSID(0));
+            assertEquals(-60, reader.getLevel(0));
+            assertEquals(2412, reader.getFrequency(0));
+            assertTrue(reader.next());
+            assertEquals(-70, reader.getLevel(0));
+            assertFalse(reader.next());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void enabled_unchangedResultsNotLoggedAgain() throws IOException {
+        mWiseFy.mWiseFySearch.mWiseFyScanLog = new WiseFyScanLog(mDirectory, 4096, 2);
+        scanReturns(-60, 1000000L);
+        mWiseFy.getNearbyAccessPoints(false);
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(-70, 2000000L);
+        mWiseFy.getNearbyAccessPoints(false);
+        mWiseFy.dump();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        try {
+            assertTrue(reader.next());
+            assertEquals(-60, reader.getLevel(0));
+            assertTrue(reader.next());
+            assertEquals(-70, reader.getLevel(0));
+            assertFalse(reader.next());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void deleteDirectory() {
+        File[] files = mDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        mDirectory.delete();
+    }
+
+    private void scanReturns(int level) {
+        scanReturns(level, 0);
+    }
+
+    private void scanReturns(int level, long timestamp) {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+        accessPoint.BSSID = TEST_BSSID;
+        accessPoint.level = level;
+        accessPoint.frequency = 2412;
+        accessPoint.timestamp = timestamp;
+
+        List<ScanResult> scanResults = new ArrayList<>();
+        scanResults.add(accessPoint);
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
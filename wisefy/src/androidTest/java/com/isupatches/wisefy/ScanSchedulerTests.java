@@ -0,0 +1,167 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiManager;
+import android.os.Handler;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class ScanSchedulerTests extends BaseAndroidJUnit4TestClass {
+
+    private static final int MIN_INTERVAL = 10000;
+
+    private static final int MAX_INTERVAL = 300000;
+
+    private static final String TEST_BSSID = "00:11:22:33:44:55";
+
+    private WiseFyBroadcastHub mMockBroadcastHub;
+
+    private Handler mMockHandler;
+
+    @Before
+    public void setUpBroadcastHub() {
+        mMockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mMockHandler = mock(Handler.class);
+        when(mMockBroadcastHub.getEventHandler()).thenReturn(mMockHandler);
+        mWiseFy.mWiseFyBroadcastHub = mMockBroadcastHub;
+    }
+
+    @Test
+    public void failure_invalidParams() {
+        assertEquals(false, mWiseFy.startScanScheduler(0, MAX_INTERVAL));
+        assertEquals(false, mWiseFy.startScanScheduler(MIN_INTERVAL, MIN_INTERVAL - 1));
+        assertNull(mWiseFy.getScanSchedulerStats());
+    }
+
+    @Test
+    public void failure_missingPrerequisite() {
+        missingPrerequisite();
+        assertEquals(false, mWiseFy.startScanScheduler(MIN_INTERVAL, MAX_INTERVAL));
+        assertNull(mWiseFy.getScanSchedulerStats());
+    }
+
+    @Test
+    public void failure_notRunning() {
+        assertNull(mWiseFy.getScanSchedulerStats());
+    }
+
+    @Test
+    public void success() {
+        scanReturns();
+        assertEquals(true, mWiseFy.startScanScheduler(MIN_INTERVAL, MAX_INTERVAL));
+        verify(mMockBroadcastHub).register(Intent.ACTION_SCREEN_OFF, mWiseFy.mWiseFyScanScheduler);
+        verify(mMockBroadcastHub).register(Intent.ACTION_POWER_CONNECTED, mWiseFy.mWiseFyScanScheduler);
+        verify(mMockBroadcastHub).register(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, mWiseFy.mWiseFyScanScheduler);
+
+        Runnable scan = runScheduledScan();
+        verify(mMockHandler).postDelayed(eq(scan), anyLong());
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT).times(1)).startScan();
+        verify(mMockWiFiManager, never()).getScanResults();
+
+        deliverScanResults(scan, 2);
+        WiseFyScanSnapshot lastScan = mWiseFy.getLastKnownScan();
+        assertNotNull(lastScan);
+        assertEquals(TEST_SSID, lastScan.getSSID(0));
+
+        WiseFyScanSchedulerStats stats = mWiseFy.getScanSchedulerStats();
+        assertEquals(1, stats.getScanCount());
+        assertEquals(MIN_INTERVAL, stats.getIntervalInMillis());
+        assertTrue(stats.getDutyCycle() > 0f);
+    }
+
+    @Test
+    public void success_notDueYet() {
+        scanReturns();
+        assertEquals(true, mWiseFy.startScanScheduler(MIN_INTERVAL, MAX_INTERVAL));
+        Runnable scan = runScheduledScan();
+        scan.run();
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(1)).startScan();
+        assertEquals(1, mWiseFy.getScanSchedulerStats().getScanCount());
+    }
+
+    @Test
+    public void success_unchangedResultsBackOff() {
+        scanReturns();
+        assertEquals(true, mWiseFy.startScanScheduler(MIN_INTERVAL, MAX_INTERVAL));
+        Runnable scan = runScheduledScan();
+        deliverScanResults(scan, 2);
+        assertEquals(MIN_INTERVAL, mWiseFy.getScanSchedulerStats().getIntervalInMillis());
+
+        deliverScanResults(scan, 3);
+        assertEquals(2 * MIN_INTERVAL, mWiseFy.getScanSchedulerStats().getIntervalInMillis());
+        assertEquals(1, mWiseFy.getScanSchedulerStats().getScanCount());
+    }
+
+    @Test
+    public void success_screenOffStretchesInterval() {
+        scanReturns();
+        assertEquals(true, mWiseFy.startScanScheduler(MIN_INTERVAL, MAX_INTERVAL));
+        runScheduledScan();
+        mWiseFy.mWiseFyScanScheduler.onReceive(new Intent(Intent.ACTION_POWER_DISCONNECTED));
+        mWiseFy.mWiseFyScanScheduler.onReceive(new Intent(Intent.ACTION_SCREEN_OFF));
+        assertEquals(WiseFyScanPolicy.SCREEN_OFF_MULTIPLIER * MIN_INTERVAL, mWiseFy.getScanSchedulerStats().getIntervalInMillis());
+
+        mWiseFy.mWiseFyScanScheduler.onReceive(new Intent(Intent.ACTION_SCREEN_ON));
+        assertEquals(MIN_INTERVAL, mWiseFy.getScanSchedulerStats().getIntervalInMillis());
+    }
+
+    @Test
+    public void stop() {
+        assertEquals(true, mWiseFy.startScanScheduler(MIN_INTERVAL, MAX_INTERVAL));
+        ArgumentCaptor<Runnable> scan = ArgumentCaptor.forClass(Runnable.class);
+        verify(mMockHandler).post(scan.capture());
+        WiseFyScanScheduler wiseFyScanScheduler = mWiseFy.mWiseFyScanScheduler;
+        mWiseFy.stopScanScheduler();
+        verify(mMockHandler).removeCallbacks(scan.getValue());
+        verify(mMockBroadcastHub).unregister(Intent.ACTION_SCREEN_ON, wiseFyScanScheduler);
+        verify(mMockBroadcastHub).unregister(Intent.ACTION_POWER_DISCONNECTED, wiseFyScanScheduler);
+        verify(mMockBroadcastHub).unregister(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, wiseFyScanScheduler);
+        assertNull(mWiseFy.getScanSchedulerStats());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void deliverScanResults(Runnable scan, int expectedReschedules) {
+        mWiseFy.mWiseFyScanScheduler.onReceive(new Intent(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION));
+        verify(mMockHandler, timeout(VERIFICATION_SUCCESS_TIMEOUT).times(expectedReschedules)).postDelayed(eq(scan), anyLong());
+    }
+
+    private Runnable runScheduledScan() {
+        ArgumentCaptor<Runnable> scan = ArgumentCaptor.forClass(Runnable.class);
+        verify(mMockHandler).post(scan.capture());
+        scan.getValue().run();
+        return scan.getValue();
+    }
+
+    private void scanReturns() {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+        accessPoint.BSSID = TEST_BSSID;
+        accessPoint.level = -60;
+
+        List<ScanResult> scanResults = new ArrayList<>();
+        scanResults.add(accessPoint);
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
@@ -0,0 +1,212 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiManager;
+import com.isupatches.wisefy.callbacks.SearchForAccessPointWithRevalidationCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_TIMEOUT;
+import static junit.framework.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class SearchForAccessPointWithRevalidationTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void async_failure_nullSSIDParam() {
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(null, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).searchForAccessPointWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+    }
+
+    @Test
+    public void async_failure_nullSSIDParam_nullCallback() {
+        try {
+            mWiseFy.searchForAccessPointWithRevalidation(null, TEST_TIMEOUT, false, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).searchForAccessPointWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_noLastKnownScan() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(null);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).accessPointNotFound();
+        verify(mockCallbacks, never()).cachedAccessPointFound(any(WiseFyScanSnapshot.class), anyInt());
+        verify(mockCallbacks, never()).cachedAccessPointNotFound(any(WiseFyScanSnapshot.class));
+    }
+
+    @Test
+    public void async_failure_cachedNotFound() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(-1);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).accessPointNotFound();
+
+        InOrder inOrder = inOrder(mockCallbacks);
+        inOrder.verify(mockCallbacks).cachedAccessPointNotFound(lastScan);
+        inOrder.verify(mockCallbacks).accessPointNotFound();
+    }
+
+    @Test
+    public void async_failure_nullCallback() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(createSnapshot());
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        try {
+            mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success_cachedFound() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(0);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(accessPoint);
+
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).accessPointFound(accessPoint);
+
+        InOrder inOrder = inOrder(mockCallbacks);
+        inOrder.verify(mockCallbacks).cachedAccessPointFound(lastScan, 0);
+        inOrder.verify(mockCallbacks).accessPointFound(accessPoint);
+    }
+
+    @Test
+    public void async_success_cachedFound_notFoundAfterRevalidation() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(0);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).accessPointNotFound();
+
+        InOrder inOrder = inOrder(mockCallbacks);
+        inOrder.verify(mockCallbacks).cachedAccessPointFound(lastScan, 0);
+        inOrder.verify(mockCallbacks).accessPointNotFound();
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(createSnapshot());
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(accessPoint);
+
+        try {
+            mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success_cachedFoundOnCallingThread() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(0);
+
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, TEST_TIMEOUT, false, mockCallbacks);
+        verify(mockCallbacks).cachedAccessPointFound(lastScan, 0);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).accessPointNotFound();
+    }
+
+    @Test
+    public void async_success_waitsForScanResults() {
+        WiseFyBroadcastHub mockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mWiseFy.mWiseFyBroadcastHub = mockBroadcastHub;
+        when(mMockWiFiManager.startScan()).thenReturn(true);
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(accessPoint);
+
+        SearchForAccessPointWithRevalidationCallbacks mockCallbacks = mock(SearchForAccessPointWithRevalidationCallbacks.class);
+        mWiseFy.searchForAccessPointWithRevalidation(TEST_SSID, VERIFICATION_SUCCESS_TIMEOUT, false, mockCallbacks);
+        ArgumentCaptor<WiseFyBroadcastHub.Listener> listenerCaptor = ArgumentCaptor.forClass(WiseFyBroadcastHub.Listener.class);
+        verify(mockBroadcastHub, timeout(VERIFICATION_SUCCESS_TIMEOUT)).register(eq(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION),
+                listenerCaptor.capture());
+        verify(mockWiseFySearch, after(VERIFICATION_FAILURE_TIMEOUT).never()).findAccessPointInScanResults(anyString(), anyBoolean());
+
+        listenerCaptor.getValue().onReceive(new Intent(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION));
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).accessPointFound(accessPoint);
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyScanSnapshot createSnapshot() {
+        return new WiseFyScanSnapshot(System.currentTimeMillis(), true, new String[] {"00:11:22:33:44:55"},
+                new String[] {TEST_SSID}, new int[] {-50}, new int[] {2437}, new String[] {"[WPA2-PSK-CCMP][ESS]"});
+    }
+}
@@ -13,6 +13,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -25,6 +26,15 @@ public class SearchForSSIDTests extends BaseAndroidJUnit4TestClass {
         assertEquals(null, mWiseFy.searchForSSID(null, TEST_TIMEOUT));
     }
 
+    @Test
+    public void sync_failure_regexNotSupported() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+
+        assertEquals(null, mWiseFy.searchForSSID("(?=Test)Test.*", TEST_TIMEOUT));
+        verify(mockWiseFySearch, never()).findAccessPointByRegex(anyString(), anyInt(), anyBoolean());
+    }
+
     @Test
     public void sync_failure_missingPrerequisite() {
         missingPrerequisite();
@@ -69,6 +79,13 @@ public class SearchForSSIDTests extends BaseAndroidJUnit4TestClass {
         }
     }
 
+    @Test
+    public void async_failure_regexNotSupported() {
+        SearchForSSIDCallbacks mockCallbacks = mock(SearchForSSIDCallbacks.class);
+        mWiseFy.searchForSSID("(?=Test)Test.*", TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).searchForSSIDWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+    }
+
     @Test
     public void async_failure_missingPrerequisite() {
         missingPrerequisite();
@@ -0,0 +1,194 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiManager;
+import com.isupatches.wisefy.callbacks.SearchForSSIDWithRevalidationCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID2;
+import static com.isupatches.wisefy.base.TestUtils.TEST_TIMEOUT;
+import static junit.framework.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class SearchForSSIDWithRevalidationTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void async_failure_nullSSIDParam() {
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(null, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).searchForSSIDWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+    }
+
+    @Test
+    public void async_failure_nullSSIDParam_nullCallback() {
+        try {
+            mWiseFy.searchForSSIDWithRevalidation(null, TEST_TIMEOUT, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).searchForSSIDWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_noLastKnownScan() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(null);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).ssidNotFound();
+        verify(mockCallbacks, never()).cachedSSIDFound(anyString(), any(WiseFyScanSnapshot.class));
+        verify(mockCallbacks, never()).cachedSSIDNotFound(any(WiseFyScanSnapshot.class));
+    }
+
+    @Test
+    public void async_failure_cachedNotFound() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(-1);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).ssidNotFound();
+
+        InOrder inOrder = inOrder(mockCallbacks);
+        inOrder.verify(mockCallbacks).cachedSSIDNotFound(lastScan);
+        inOrder.verify(mockCallbacks).ssidNotFound();
+    }
+
+    @Test
+    public void async_failure_nullCallback() {
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(createSnapshot());
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(null);
+
+        try {
+            mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success_cachedFound() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID2;
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(0);
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(accessPoint);
+
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).ssidFound(TEST_SSID2);
+
+        InOrder inOrder = inOrder(mockCallbacks);
+        inOrder.verify(mockCallbacks).cachedSSIDFound(TEST_SSID, lastScan);
+        inOrder.verify(mockCallbacks).ssidFound(TEST_SSID2);
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(createSnapshot());
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(accessPoint);
+
+        try {
+            mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, null);
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success_cachedFoundOnCallingThread() {
+        WiseFyScanSnapshot lastScan = createSnapshot();
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.getLastKnownScan()).thenReturn(lastScan);
+        when(mockWiseFySearch.findAccessPointInSnapshot(any(WiseFyScanSnapshot.class), anyString(), anyBoolean())).thenReturn(0);
+
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, TEST_TIMEOUT, mockCallbacks);
+        verify(mockCallbacks).cachedSSIDFound(TEST_SSID, lastScan);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).ssidNotFound();
+    }
+
+    @Test
+    public void async_success_waitsForScanResults() {
+        WiseFyBroadcastHub mockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mWiseFy.mWiseFyBroadcastHub = mockBroadcastHub;
+        when(mMockWiFiManager.startScan()).thenReturn(true);
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+
+        WiseFySearch mockWiseFySearch = mock(WiseFySearch.class);
+        mWiseFy.mWiseFySearch = mockWiseFySearch;
+        when(mockWiseFySearch.findAccessPointInScanResults(anyString(), anyBoolean())).thenReturn(accessPoint);
+
+        SearchForSSIDWithRevalidationCallbacks mockCallbacks = mock(SearchForSSIDWithRevalidationCallbacks.class);
+        mWiseFy.searchForSSIDWithRevalidation(TEST_SSID, VERIFICATION_SUCCESS_TIMEOUT, mockCallbacks);
+        ArgumentCaptor<WiseFyBroadcastHub.Listener> listenerCaptor = ArgumentCaptor.forClass(WiseFyBroadcastHub.Listener.class);
+        verify(mockBroadcastHub, timeout(VERIFICATION_SUCCESS_TIMEOUT)).register(eq(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION),
+                listenerCaptor.capture());
+        verify(mockWiseFySearch, after(VERIFICATION_FAILURE_TIMEOUT).never()).findAccessPointInScanResults(anyString(), anyBoolean());
+
+        listenerCaptor.getValue().onReceive(new Intent(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION));
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).ssidFound(TEST_SSID);
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyScanSnapshot createSnapshot() {
+        return new WiseFyScanSnapshot(System.currentTimeMillis(), true, new String[] {"00:11:22:33:44:55"},
+                new String[] {TEST_SSID}, new int[] {-50}, new int[] {2437}, new String[] {"[WPA2-PSK-CCMP][ESS]"});
+    }
+}
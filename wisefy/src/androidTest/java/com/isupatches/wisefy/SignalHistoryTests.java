@@ -0,0 +1,97 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import android.os.SystemClock;
+import com.isupatches.wisefy.constants.SignalFilters;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class SignalHistoryTests extends BaseAndroidJUnit4TestClass {
+
+    private static final String TEST_BSSID = "00:11:22:aa:bb:cc";
+
+    private static final int WINDOW = 60000;
+
+    @Test
+    public void disabled() {
+        scanReturns(-60, 1);
+        mWiseFy.getNearbyAccessPoints(false);
+        assertNull(mWiseFy.getSignalHistory(TEST_BSSID, WINDOW));
+        assertNull(mWiseFy.getSignalHistoryForSSID(TEST_SSID, WINDOW));
+    }
+
+    @Test
+    public void enabled_getNearbyAccessPoints() {
+        enableHistory();
+        scanReturns(-60, 2);
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(-70, 1);
+        mWiseFy.getNearbyAccessPoints(false);
+
+        WiseFySignalHistogram history = mWiseFy.getSignalHistory(TEST_BSSID, WINDOW);
+        assertEquals(2, history.getSampleCount());
+        assertEquals(-70, history.getPercentile(50));
+        assertEquals(-60, history.getPercentile(95));
+        assertEquals(2, mWiseFy.getSignalHistoryForSSID(TEST_SSID, WINDOW).getSampleCount());
+    }
+
+    @Test
+    public void enabled_recordsMeasuredLevelWhenSmoothing() {
+        enableHistory();
+        mWiseFy.mWiseFySearch.mWiseFySignalSmoother = new WiseFySignalSmoother(SignalFilters.EMA, WiseFySignalSmoother.DEFAULT_CAPACITY);
+        try {
+            scanReturns(-60, 2);
+            mWiseFy.getNearbyAccessPoints(false);
+            scanReturns(-80, 1);
+            mWiseFy.getNearbyAccessPoints(false);
+            assertEquals(-80, mWiseFy.getSignalHistory(TEST_BSSID, WINDOW).getMin());
+        } finally {
+            mWiseFy.mWiseFySearch.mWiseFySignalSmoother = null;
+        }
+    }
+
+    @Test
+    public void enabled_searchForAccessPoint() {
+        enableHistory();
+        scanReturns(-60, 1);
+        mWiseFy.searchForAccessPoint(TEST_SSID, 1, false);
+        assertEquals(-60, mWiseFy.getSignalHistory(TEST_BSSID, WINDOW).getMax());
+    }
+
+    @Test
+    public void getSignalHistory_invalidBSSID() {
+        enableHistory();
+        assertNull(mWiseFy.getSignalHistory(null, WINDOW));
+        assertNull(mWiseFy.getSignalHistory("not a bssid", WINDOW));
+        assertNull(mWiseFy.getSignalHistoryForSSID(null, WINDOW));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void enableHistory() {
+        mWiseFy.mWiseFySearch.mWiseFySignalHistory = new WiseFySignalHistory(WiseFySignalHistory.DEFAULT_MEMORY_CAP_IN_BYTES,
+                WiseFySignalHistory.DEFAULT_SAMPLES_PER_BSSID);
+    }
+
+    private void scanReturns(int level, int secondsAgo) {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+        accessPoint.BSSID = TEST_BSSID;
+        accessPoint.level = level;
+        accessPoint.timestamp = (SystemClock.elapsedRealtime() - secondsAgo * 1000L) * 1000;
+
+        List<ScanResult> scanResults = new ArrayList<>();
+        scanResults.add(accessPoint);
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
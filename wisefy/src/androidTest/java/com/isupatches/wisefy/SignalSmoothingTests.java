@@ -0,0 +1,96 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import com.isupatches.wisefy.constants.SignalFilters;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+
+public class SignalSmoothingTests extends BaseAndroidJUnit4TestClass {
+
+    private static final String TEST_BSSID = "00:11:22:aa:bb:cc";
+
+    @Test
+    public void disabled() {
+        scanReturns(-60, 1);
+        assertEquals(-60, mWiseFy.getNearbyAccessPoints(false).get(0).level);
+        scanReturns(-80, 2);
+        assertEquals(-80, mWiseFy.getNearbyAccessPoints(false).get(0).level);
+        assertNull(mWiseFy.getSmoothedRSSI(TEST_BSSID));
+    }
+
+    @Test
+    public void enabled_getNearbyAccessPoints() {
+        enableSmoothing();
+        scanReturns(-60, 1);
+        assertEquals(-60, mWiseFy.getNearbyAccessPoints(false).get(0).level);
+        scanReturns(-70, 2);
+        assertEquals(-63, mWiseFy.getNearbyAccessPoints(false).get(0).level);
+        assertEquals(Integer.valueOf(-63), mWiseFy.getSmoothedRSSI(TEST_BSSID));
+    }
+
+    @Test
+    public void enabled_searchForAccessPoint() {
+        enableSmoothing();
+        scanReturns(-60, 1);
+        mWiseFy.searchForAccessPoint(TEST_SSID, 1, false);
+        scanReturns(-70, 2);
+        assertEquals(-63, mWiseFy.searchForAccessPoint(TEST_SSID, 1, false).level);
+    }
+
+    @Test
+    public void enabled_calculateBars() {
+        enableSmoothing();
+        scanReturns(-55, 1);
+        mWiseFy.getNearbyAccessPoints(false);
+
+        ScanResult accessPoint = accessPoint(-90, 2);
+        assertEquals(mWiseFy.calculateBars(-55, 5), mWiseFy.calculateBars(accessPoint, 5));
+    }
+
+    @Test
+    public void enabled_sameScanCountedOnce() {
+        enableSmoothing();
+        scanReturns(-60, 1);
+        mWiseFy.getNearbyAccessPoints(false);
+        scanReturns(-70, 1);
+        assertEquals(-60, mWiseFy.getNearbyAccessPoints(false).get(0).level);
+    }
+
+    @Test
+    public void getSmoothedRSSI_invalidBSSID() {
+        enableSmoothing();
+        assertNull(mWiseFy.getSmoothedRSSI(null));
+        assertNull(mWiseFy.getSmoothedRSSI("not a bssid"));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private ScanResult accessPoint(int level, long timestamp) {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+        accessPoint.BSSID = TEST_BSSID;
+        accessPoint.level = level;
+        accessPoint.timestamp = timestamp;
+        return accessPoint;
+    }
+
+    private void enableSmoothing() {
+        mWiseFy.mWiseFySearch.mWiseFySignalSmoother = new WiseFySignalSmoother(SignalFilters.EMA, WiseFySignalSmoother.DEFAULT_CAPACITY);
+    }
+
+    private void scanReturns(int level, long timestamp) {
+        List<ScanResult> scanResults = new ArrayList<>();
+        scanResults.add(accessPoint(level, timestamp));
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
@@ -0,0 +1,82 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import com.isupatches.wisefy.callbacks.SubscribeToEventsCallbacks;
+import com.isupatches.wisefy.constants.EventTypes;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import static com.isupatches.wisefy.base.TestUtils.OPEN_NETWORK_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class SubscribeToEventsTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void async_failure_missingEventTypes() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFy.subscribeToEvents(0, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).subscribeToEventsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+        verify(mockCallbacks, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).subscribedToEvents();
+    }
+
+    @Test
+    public void async_failure_missingPrerequisite() {
+        missingPrerequisite();
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFy.subscribeToEvents(EventTypes.ALL, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).subscribeToEventsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mockCallbacks, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).subscribedToEvents();
+    }
+
+    @Test
+    public void async_failure_nullCallback() {
+        try {
+            mWiseFy.subscribeToEvents(EventTypes.ALL, null);
+            Thread.sleep(VERIFICATION_FAILURE_TIMEOUT);
+        } catch (NullPointerException npe) {
+            fail();
+        } catch (InterruptedException ie) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFy.subscribeToEvents(EventTypes.SAVED_NETWORKS_CHANGED, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).subscribedToEvents();
+        assertTrue(mWiseFy.unsubscribeFromEvents(mockCallbacks));
+        assertFalse(mWiseFy.unsubscribeFromEvents(mockCallbacks));
+    }
+
+    @Test
+    public void async_success_savedNetworksChanged() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFy.subscribeToEvents(EventTypes.SAVED_NETWORKS_CHANGED, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).subscribedToEvents();
+
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(0);
+        mWiseFy.addOpenNetwork(OPEN_NETWORK_SSID);
+        ArgumentCaptor<WiseFyEvent> event = ArgumentCaptor.forClass(WiseFyEvent.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).eventReceived(event.capture());
+        assertEquals(EventTypes.SAVED_NETWORKS_CHANGED, event.getValue().getType());
+        mWiseFy.unsubscribeFromEvents(mockCallbacks);
+    }
+
+    @Test
+    public void sync_unsubscribe_notSubscribed() {
+        assertFalse(mWiseFy.unsubscribeFromEvents(mock(SubscribeToEventsCallbacks.class)));
+        assertFalse(mWiseFy.unsubscribeFromEvents(null));
+    }
+}
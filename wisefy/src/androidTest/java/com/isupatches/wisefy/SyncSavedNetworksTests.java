@@ -0,0 +1,206 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiInfo;
+import com.isupatches.wisefy.callbacks.SyncSavedNetworksCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import com.isupatches.wisefy.util.WifiConfigurationUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import static com.isupatches.wisefy.base.TestUtils.OPEN_NETWORK_SSID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_NETWORK_ID;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static com.isupatches.wisefy.base.TestUtils.WPA2_NETWORK_PASSWORD;
+import static com.isupatches.wisefy.base.TestUtils.WPA2_NETWORK_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class SyncSavedNetworksTests extends BaseAndroidJUnit4TestClass {
+
+    private static final int OPEN_NETWORK_ID = 1;
+
+    private static final int WPA2_NETWORK_ID = 2;
+
+    private static final int TEST_SSID_NETWORK_ID = 3;
+
+    @Test
+    public void sync_failure_nullDesiredNetworksParam() {
+        assertNull(mWiseFy.syncSavedNetworks(null));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void sync_failure_missingPrerequisites() {
+        missingPrerequisite();
+        assertNull(mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>()));
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void sync_success_noChanges() {
+        savedNetworks(WiseFy.WIFI_MANAGER_FAILURE);
+
+        List<WifiConfiguration> desiredNetworks = new ArrayList<>();
+        desiredNetworks.add(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(OPEN_NETWORK_SSID));
+        desiredNetworks.add(WifiConfigurationUtil.getInstance().generateWPA2NetworkConfiguration(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD));
+        desiredNetworks.add(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(TEST_SSID));
+
+        WiseFySyncResult result = mWiseFy.syncSavedNetworks(desiredNetworks);
+        assertEquals(3, result.getUnchangedCount());
+        assertEquals(0, result.getAdded().size());
+        assertEquals(0, result.getUpdated().size());
+        assertEquals(0, result.getRemoved().size());
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(0)).addNetwork(any(WifiConfiguration.class));
+        verify(mMockWiFiManager, times(0)).updateNetwork(any(WifiConfiguration.class));
+        verify(mMockWiFiManager, times(0)).removeNetwork(anyInt());
+        verify(mMockWiFiManager, times(0)).disconnect();
+    }
+
+    @Test
+    public void sync_success_minimalDiff() {
+        savedNetworks(WiseFy.WIFI_MANAGER_FAILURE);
+        when(mMockWiFiManager.addNetwork(any(WifiConfiguration.class))).thenReturn(TEST_NETWORK_ID);
+        when(mMockWiFiManager.updateNetwork(any(WifiConfiguration.class))).thenReturn(TEST_SSID_NETWORK_ID);
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        List<WifiConfiguration> desiredNetworks = new ArrayList<>();
+        desiredNetworks.add(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(OPEN_NETWORK_SSID));
+        desiredNetworks.add(WifiConfigurationUtil.getInstance().generateWPA2NetworkConfiguration(TEST_SSID, WPA2_NETWORK_PASSWORD));
+        desiredNetworks.add(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration("New Network"));
+
+        WiseFySyncResult result = mWiseFy.syncSavedNetworks(desiredNetworks);
+        assertEquals(1, result.getUnchangedCount());
+        assertEquals(1, result.getAdded().size());
+        assertEquals(TEST_NETWORK_ID, result.getAdded().getResultCode(0));
+        assertEquals(1, result.getUpdated().size());
+        assertEquals(TEST_SSID, result.getUpdated().getSSID(0));
+        assertEquals(1, result.getRemoved().size());
+        assertEquals(WPA2_NETWORK_SSID, result.getRemoved().getSSID(0));
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+        verify(mMockWiFiManager, times(1)).removeNetwork(WPA2_NETWORK_ID);
+        verify(mMockWiFiManager, times(0)).disconnect();
+        verify(mMockWiFiManager, times(0)).reconnect();
+    }
+
+    @Test
+    public void sync_success_connectedNetworkRemovedLast() {
+        savedNetworks(OPEN_NETWORK_ID);
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        WiseFySyncResult result = mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>());
+        assertEquals(3, result.getRemoved().getSuccessCount());
+        assertEquals(OPEN_NETWORK_SSID, result.getRemoved().getSSID(2));
+
+        InOrder inOrder = inOrder(mMockWiFiManager);
+        inOrder.verify(mMockWiFiManager).removeNetwork(WPA2_NETWORK_ID);
+        inOrder.verify(mMockWiFiManager).removeNetwork(TEST_SSID_NETWORK_ID);
+        inOrder.verify(mMockWiFiManager).removeNetwork(OPEN_NETWORK_ID);
+        inOrder.verify(mMockWiFiManager).reconnect();
+        verify(mMockWiFiManager, times(0)).disconnect();
+    }
+
+    @Test
+    public void async_failure_nullDesiredNetworksParam() {
+        SyncSavedNetworksCallbacks mockCallbacks = mock(SyncSavedNetworksCallbacks.class);
+        mWiseFy.syncSavedNetworks(null, mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).syncSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void async_failure_nullDesiredNetworksParam_nullCallback() {
+        try {
+            mWiseFy.syncSavedNetworks(null, null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites() {
+        missingPrerequisite();
+        SyncSavedNetworksCallbacks mockCallbacks = mock(SyncSavedNetworksCallbacks.class);
+        mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>(), mockCallbacks);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).syncSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+        verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+    }
+
+    @Test
+    public void async_failure_missingPrerequisites_nullCallback() {
+        missingPrerequisite();
+        try {
+            mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>(), null);
+            verify(mMockWiFiManager, after(VERIFICATION_FAILURE_TIMEOUT).times(0)).getConfiguredNetworks();
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    @Test
+    public void async_success() {
+        savedNetworks(WiseFy.WIFI_MANAGER_FAILURE);
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        SyncSavedNetworksCallbacks mockCallbacks = mock(SyncSavedNetworksCallbacks.class);
+        mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>(), mockCallbacks);
+
+        ArgumentCaptor<WiseFySyncResult> captor = ArgumentCaptor.forClass(WiseFySyncResult.class);
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).savedNetworksSynced(captor.capture());
+        assertEquals(3, captor.getValue().getRemoved().getSuccessCount());
+    }
+
+    @Test
+    public void async_success_nullCallback() {
+        savedNetworks(WiseFy.WIFI_MANAGER_FAILURE);
+        when(mMockWiFiManager.removeNetwork(anyInt())).thenReturn(true);
+
+        try {
+            mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>(), null);
+            verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT).times(3)).removeNetwork(anyInt());
+        } catch (NullPointerException npe) {
+            fail();
+        }
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void savedNetworks(int connectedNetworkId) {
+        List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        savedNetworks.add(savedNetwork(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(OPEN_NETWORK_SSID), OPEN_NETWORK_ID));
+        savedNetworks.add(savedNetwork(WifiConfigurationUtil.getInstance().generateWPA2NetworkConfiguration(WPA2_NETWORK_SSID, WPA2_NETWORK_PASSWORD), WPA2_NETWORK_ID));
+        savedNetworks.add(savedNetwork(WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(TEST_SSID), TEST_SSID_NETWORK_ID));
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(savedNetworks);
+
+        WifiInfo mockWifiInfo = mock(WifiInfo.class);
+        when(mockWifiInfo.getNetworkId()).thenReturn(connectedNetworkId);
+        when(mMockWiFiManager.getConnectionInfo()).thenReturn(mockWifiInfo);
+    }
+
+    private WifiConfiguration savedNetwork(WifiConfiguration wifiConfiguration, int networkId) {
+        wifiConfiguration.networkId = networkId;
+        // Saved keys are masked when read back from the system
+        if (wifiConfiguration.preSharedKey != null) {
+            wifiConfiguration.preSharedKey = "*";
+        }
+        return wifiConfiguration;
+    }
+}
@@ -0,0 +1,187 @@
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiConfiguration;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import static com.isupatches.wisefy.base.TestUtils.TEST_SSID;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class WarmStartTests extends BaseAndroidJUnit4TestClass {
+
+    private static final String TEST_BSSID = "00:11:22:aa:bb:cc";
+
+    private File mFile;
+
+    @Before
+    public void setUpFile() {
+        mFile = new File(InstrumentationRegistry.getContext().getCacheDir(), "wisefy-warm-start-tests");
+        mFile.delete();
+    }
+
+    @After
+    public void tearDownFile() {
+        mFile.delete();
+    }
+
+    @Test
+    public void builder_warmStart() {
+        WiseFy wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).warmStart(mFile, 0).getSmarts();
+        assertNotNull(wiseFy.mWiseFyWarmStart);
+        assertNotNull(wiseFy.mWiseFySearch.mWiseFyWarmStartStore);
+        wiseFy.dump();
+        assertNull(wiseFy.mWiseFyWarmStart);
+        assertNull(wiseFy.mWiseFySearch.mWiseFyWarmStartStore);
+    }
+
+    @Test
+    public void disabled() {
+        assertNull(mWiseFy.getLastKnownScan());
+        assertNull(mWiseFy.getLastKnownSavedSSIDs());
+    }
+
+    @Test
+    public void getLastKnownScan_fromThisProcess() {
+        enableWarmStart();
+        scanReturns(-60);
+        mWiseFy.getNearbyAccessPoints(false);
+
+        WiseFyScanSnapshot scan = mWiseFy.getLastKnownScan();
+        assertFalse(scan.isRestored());
+        assertEquals(1, scan.getAccessPointCount());
+        assertEquals(TEST_SSID, scan.getSSID(0));
+        assertEquals(-60, scan.getLevel(0));
+        verify(mMockWiFiManager, times(1)).startScan();
+    }
+
+    @Test
+    public void getLastKnownScan_restoredThenRefreshed() throws IOException {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        store.updateScan(new WiseFyScanSnapshot(System.currentTimeMillis() - 60000, false, new String[] {TEST_BSSID},
+                new String[] {TEST_SSID}, new int[] {-70}, new int[] {2412}, new String[] {null}));
+        store.save();
+
+        enableWarmStart();
+        scanReturns(-50);
+        WiseFyScanSnapshot scan = mWiseFy.getLastKnownScan();
+        assertTrue(scan.isRestored());
+        assertEquals(-70, scan.getLevel(0));
+        assertTrue(scan.getAgeInMillis() >= 60000);
+
+        verify(mMockWiFiManager, timeout(VERIFICATION_SUCCESS_TIMEOUT)).getScanResults();
+        synchronized (mWiseFy.getWiseFyLock()) {
+            WiseFyScanSnapshot refreshed = mWiseFy.getLastKnownScan();
+            assertFalse(refreshed.isRestored());
+            assertEquals(-50, refreshed.getLevel(0));
+        }
+    }
+
+    @Test
+    public void dump_savesSavedSSIDs() {
+        enableWarmStart();
+        WifiConfiguration savedNetwork = new WifiConfiguration();
+        savedNetwork.SSID = "\"" + TEST_SSID + "\"";
+        final List<WifiConfiguration> savedNetworks = new ArrayList<>();
+        savedNetworks.add(savedNetwork);
+        final Thread callingThread = Thread.currentThread();
+        final List<Thread> savingThreads = new CopyOnWriteArrayList<>();
+        when(mMockWiFiManager.getConfiguredNetworks()).thenAnswer(new Answer<List<WifiConfiguration>>() {
+            @Override
+            public List<WifiConfiguration> answer(InvocationOnMock invocation) {
+                savingThreads.add(Thread.currentThread());
+                return savedNetworks;
+            }
+        });
+
+        mWiseFy.dump();
+        waitForFile();
+        assertEquals(Collections.singletonList(TEST_SSID), new WiseFyWarmStartStore(mFile).getSavedSSIDs());
+        assertEquals(1, savingThreads.size());
+        assertFalse(savingThreads.contains(callingThread));
+    }
+
+    @Test
+    public void start_savesOnWiseFyThread() {
+        WifiConfiguration savedNetwork = new WifiConfiguration();
+        savedNetwork.SSID = "\"" + TEST_SSID + "\"";
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(Collections.singletonList(savedNetwork));
+
+        WiseFyBroadcastHub mockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        Handler mockEventHandler = mock(Handler.class);
+        Handler mockWiseFyHandler = mock(Handler.class);
+        when(mockBroadcastHub.getEventHandler()).thenReturn(mockEventHandler);
+        WiseFyWarmStart wiseFyWarmStart = new WiseFyWarmStart(mockBroadcastHub, mockWiseFyHandler, new Object(),
+                mWiseFy.mWiseFyPrerequisites, mWiseFy.mWiseFySearch, new WiseFyWarmStartStore(mFile), 1000);
+        wiseFyWarmStart.start();
+
+        ArgumentCaptor<Runnable> scheduleSave = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockEventHandler).postDelayed(scheduleSave.capture(), eq(1000L));
+        scheduleSave.getValue().run();
+        verify(mMockWiFiManager, never()).getConfiguredNetworks();
+        verify(mockEventHandler, times(2)).postDelayed(scheduleSave.getValue(), 1000L);
+
+        ArgumentCaptor<Runnable> save = ArgumentCaptor.forClass(Runnable.class);
+        verify(mockWiseFyHandler).post(save.capture());
+        save.getValue().run();
+        verify(mMockWiFiManager).getConfiguredNetworks();
+        assertEquals(Collections.singletonList(TEST_SSID), new WiseFyWarmStartStore(mFile).getSavedSSIDs());
+
+        wiseFyWarmStart.stop();
+        verify(mockWiseFyHandler).removeCallbacks(save.getValue());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void enableWarmStart() {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        mWiseFy.mWiseFySearch.mWiseFyWarmStartStore = store;
+        mWiseFy.mWiseFyWarmStart = new WiseFyWarmStart(mWiseFy.getBroadcastHub(), null, new Object(),
+                mWiseFy.mWiseFyPrerequisites, mWiseFy.mWiseFySearch, store, 0);
+    }
+
+    private void waitForFile() {
+        long endTime = System.currentTimeMillis() + VERIFICATION_SUCCESS_TIMEOUT;
+        while (!mFile.isFile() && System.currentTimeMillis() < endTime) {
+            SystemClock.sleep(10);
+        }
+    }
+
+    private void scanReturns(int level) {
+        ScanResult accessPoint = mock(ScanResult.class);
+        accessPoint.SSID = TEST_SSID;
+        accessPoint.BSSID = TEST_BSSID;
+        accessPoint.level = level;
+
+        List<ScanResult> scanResults = new ArrayList<>();
+        scanResults.add(accessPoint);
+        when(mMockWiFiManager.getScanResults()).thenReturn(scanResults);
+    }
+}
@@ -0,0 +1,98 @@
+package com.isupatches.wisefy;
+
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.wifi.WifiManager;
+import android.os.Handler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+
+public class WiseFyBroadcastHubTests extends BaseAndroidJUnit4TestClass {
+
+    private Context mMockContext;
+
+    private WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    @Before
+    public void setUpHub() {
+        mMockContext = mock(Context.class);
+        mWiseFyBroadcastHub = new WiseFyBroadcastHub(mMockContext);
+    }
+
+    @After
+    public void releaseHub() {
+        mWiseFyBroadcastHub.release(null);
+    }
+
+    @Test
+    public void register_secondAction_noReplayToFirstListener() {
+        WiseFyBroadcastHub.Listener firstListener = mock(WiseFyBroadcastHub.Listener.class);
+        WiseFyBroadcastHub.Listener secondListener = mock(WiseFyBroadcastHub.Listener.class);
+        mWiseFyBroadcastHub.register(WifiManager.WIFI_STATE_CHANGED_ACTION, firstListener);
+        mWiseFyBroadcastHub.register(WifiManager.NETWORK_STATE_CHANGED_ACTION, secondListener);
+
+        List<BroadcastReceiver> receivers = captureRegisteredReceivers(2);
+        verify(mMockContext, never()).unregisterReceiver(any(BroadcastReceiver.class));
+
+        Intent intent = new Intent(WifiManager.NETWORK_STATE_CHANGED_ACTION);
+        receivers.get(1).onReceive(mMockContext, intent);
+        verify(secondListener).onReceive(intent);
+        verify(firstListener, never()).onReceive(any(Intent.class));
+    }
+
+    @Test
+    public void register_existingAction_receiverNotRegisteredAgain() {
+        WiseFyBroadcastHub.Listener firstListener = mock(WiseFyBroadcastHub.Listener.class);
+        WiseFyBroadcastHub.Listener secondListener = mock(WiseFyBroadcastHub.Listener.class);
+        mWiseFyBroadcastHub.register(WifiManager.WIFI_STATE_CHANGED_ACTION, firstListener);
+        mWiseFyBroadcastHub.register(WifiManager.WIFI_STATE_CHANGED_ACTION, secondListener);
+
+        List<BroadcastReceiver> receivers = captureRegisteredReceivers(1);
+        Intent intent = new Intent(WifiManager.WIFI_STATE_CHANGED_ACTION);
+        receivers.get(0).onReceive(mMockContext, intent);
+        verify(firstListener).onReceive(intent);
+        verify(secondListener).onReceive(intent);
+    }
+
+    @Test
+    public void unregister_otherAction_firstReceiverKept() {
+        WiseFyBroadcastHub.Listener firstListener = mock(WiseFyBroadcastHub.Listener.class);
+        WiseFyBroadcastHub.Listener secondListener = mock(WiseFyBroadcastHub.Listener.class);
+        mWiseFyBroadcastHub.register(WifiManager.WIFI_STATE_CHANGED_ACTION, firstListener);
+        mWiseFyBroadcastHub.register(WifiManager.NETWORK_STATE_CHANGED_ACTION, secondListener);
+        mWiseFyBroadcastHub.unregister(WifiManager.NETWORK_STATE_CHANGED_ACTION, secondListener);
+
+        List<BroadcastReceiver> receivers = captureRegisteredReceivers(2);
+        verify(mMockContext, times(1)).unregisterReceiver(any(BroadcastReceiver.class));
+        verify(mMockContext).unregisterReceiver(receivers.get(1));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<BroadcastReceiver> captureRegisteredReceivers(int expectedCount) {
+        ArgumentCaptor<BroadcastReceiver> receiverCaptor = ArgumentCaptor.forClass(BroadcastReceiver.class);
+        ArgumentCaptor<IntentFilter> filterCaptor = ArgumentCaptor.forClass(IntentFilter.class);
+        verify(mMockContext, times(expectedCount)).registerReceiver(receiverCaptor.capture(), filterCaptor.capture(),
+                (String) isNull(), any(Handler.class));
+        for (IntentFilter intentFilter : filterCaptor.getAllValues()) {
+            assertEquals(1, intentFilter.countActions());
+        }
+        return receiverCaptor.getAllValues();
+    }
+}
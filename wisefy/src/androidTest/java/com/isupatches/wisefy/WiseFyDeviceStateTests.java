@@ -0,0 +1,108 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.NetworkInfo;
+import android.net.wifi.WifiInfo;
+import android.net.wifi.WifiManager;
+import android.support.test.InstrumentationRegistry;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+public class WiseFyDeviceStateTests extends BaseAndroidJUnit4TestClass {
+
+    @Test
+    public void builder_cacheDeviceStateTrue() {
+        WiseFy wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).cacheDeviceState(true).getSmarts();
+        assertNotNull(wiseFy.mWiseFyDeviceState);
+        assertNotNull(wiseFy.mWiseFyDeviceState.getSnapshot());
+        wiseFy.dump();
+        assertNull(wiseFy.mWiseFyDeviceState);
+        assertNull(wiseFy.mWiseFyBroadcastHub);
+    }
+
+    @Test
+    public void builder_cacheDeviceStateFalse() {
+        WiseFy wiseFy = new WiseFy.brains(InstrumentationRegistry.getContext()).cacheDeviceState(false).getSmarts();
+        assertNull(wiseFy.mWiseFyDeviceState);
+        wiseFy.dump();
+    }
+
+    @Test
+    public void getters_readFromCache() {
+        NetworkInfo mockNetworkInfo = mock(NetworkInfo.class);
+        when(mockNetworkInfo.isRoaming()).thenReturn(true);
+        WifiInfo mockWifiInfo = mock(WifiInfo.class);
+        when(mMockConnectivityManager.getActiveNetworkInfo()).thenReturn(mockNetworkInfo);
+        when(mMockWiFiManager.getConnectionInfo()).thenReturn(mockWifiInfo);
+        when(mMockWiFiManager.isWifiEnabled()).thenReturn(true);
+        startCache();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(true, mWiseFy.isDeviceRoaming());
+            assertEquals(true, mWiseFy.isWifiEnabled());
+            assertEquals(mockWifiInfo, mWiseFy.getCurrentNetwork());
+        }
+        verify(mMockConnectivityManager, times(1)).getActiveNetworkInfo();
+        verify(mMockWiFiManager, times(1)).getConnectionInfo();
+        verify(mMockWiFiManager, times(1)).isWifiEnabled();
+    }
+
+    @Test
+    public void onReceive_wifiStateChanged() {
+        when(mMockWiFiManager.isWifiEnabled()).thenReturn(true);
+        startCache();
+        assertEquals(true, mWiseFy.isWifiEnabled());
+
+        Intent intent = new Intent(WifiManager.WIFI_STATE_CHANGED_ACTION);
+        intent.putExtra(WifiManager.EXTRA_WIFI_STATE, WifiManager.WIFI_STATE_DISABLED);
+        mWiseFy.mWiseFyDeviceState.onReceive(intent);
+        assertEquals(false, mWiseFy.isWifiEnabled());
+        verify(mMockWiFiManager, times(1)).isWifiEnabled();
+    }
+
+    @Test
+    public void onReceive_networkStateChanged() {
+        startCache();
+        assertNull(mWiseFy.getCurrentNetwork());
+
+        WifiInfo mockWifiInfo = mock(WifiInfo.class);
+        when(mMockWiFiManager.getConnectionInfo()).thenReturn(mockWifiInfo);
+        mWiseFy.mWiseFyDeviceState.onReceive(new Intent(WifiManager.NETWORK_STATE_CHANGED_ACTION));
+        assertEquals(mockWifiInfo, mWiseFy.getCurrentNetwork());
+    }
+
+    @Test
+    public void refreshDeviceState() {
+        startCache();
+        assertEquals(false, mWiseFy.isWifiEnabled());
+
+        when(mMockWiFiManager.isWifiEnabled()).thenReturn(true);
+        assertEquals(false, mWiseFy.isWifiEnabled());
+        mWiseFy.refreshDeviceState();
+        assertEquals(true, mWiseFy.isWifiEnabled());
+    }
+
+    @Test
+    public void refreshDeviceState_cacheDisabled() {
+        mWiseFy.refreshDeviceState();
+        verify(mMockWiFiManager, times(0)).isWifiEnabled();
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void startCache() {
+        WiseFyBroadcastHub mockHub = mock(WiseFyBroadcastHub.class);
+        mWiseFy.mWiseFyDeviceState = new WiseFyDeviceState(mockHub, mWiseFy.mWiseFyPrerequisites);
+        mWiseFy.mWiseFyDeviceState.start();
+    }
+}
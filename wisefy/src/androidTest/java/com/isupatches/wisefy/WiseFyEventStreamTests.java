@@ -0,0 +1,169 @@
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.ConnectivityManager;
+import android.net.wifi.WifiManager;
+import android.os.Handler;
+import com.isupatches.wisefy.callbacks.SubscribeToEventsCallbacks;
+import com.isupatches.wisefy.constants.EventTypes;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+
+public class WiseFyEventStreamTests extends BaseAndroidJUnit4TestClass {
+
+    private WiseFyBroadcastHub mMockBroadcastHub;
+
+    private Handler mMockHandler;
+
+    private WiseFyEventStream mWiseFyEventStream;
+
+    @Before
+    public void setUpEventStream() {
+        mMockBroadcastHub = mock(WiseFyBroadcastHub.class);
+        mMockHandler = mock(Handler.class);
+        mWiseFyEventStream = new WiseFyEventStream(mMockBroadcastHub, mMockHandler);
+    }
+
+    @Test
+    public void subscribe_sharesRegistrations() {
+        mWiseFyEventStream.subscribe(EventTypes.ALL, mock(SubscribeToEventsCallbacks.class));
+        mWiseFyEventStream.subscribe(EventTypes.RSSI_CHANGED, mock(SubscribeToEventsCallbacks.class));
+        verify(mMockBroadcastHub, times(1)).register(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, mWiseFyEventStream);
+        verify(mMockBroadcastHub, times(1)).register(ConnectivityManager.CONNECTIVITY_ACTION, mWiseFyEventStream);
+        verify(mMockBroadcastHub, times(1)).register(WifiManager.WIFI_STATE_CHANGED_ACTION, mWiseFyEventStream);
+        verify(mMockBroadcastHub, times(1)).register(WifiManager.RSSI_CHANGED_ACTION, mWiseFyEventStream);
+    }
+
+    @Test
+    public void unsubscribe_releasesRegistrationsWhenLastSubscriberLeaves() {
+        SubscribeToEventsCallbacks first = mock(SubscribeToEventsCallbacks.class);
+        SubscribeToEventsCallbacks second = mock(SubscribeToEventsCallbacks.class);
+        mWiseFyEventStream.subscribe(EventTypes.RSSI_CHANGED, first);
+        mWiseFyEventStream.subscribe(EventTypes.RSSI_CHANGED, second);
+
+        assertTrue(mWiseFyEventStream.unsubscribe(first));
+        verify(mMockBroadcastHub, never()).unregister(anyString(), any(WiseFyBroadcastHub.Listener.class));
+        assertTrue(mWiseFyEventStream.unsubscribe(second));
+        verify(mMockBroadcastHub, times(1)).unregister(WifiManager.RSSI_CHANGED_ACTION, mWiseFyEventStream);
+        assertFalse(mWiseFyEventStream.unsubscribe(second));
+        assertFalse(mWiseFyEventStream.hasSubscribers());
+    }
+
+    @Test
+    public void onReceive_onlyDeliversSubscribedTypes() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFyEventStream.subscribe(EventTypes.WIFI_STATE_CHANGED, mockCallbacks);
+        mWiseFyEventStream.onReceive(rssiChanged(-50));
+        verify(mMockHandler, never()).post(any(Runnable.class));
+
+        mWiseFyEventStream.onReceive(wifiStateChanged(WifiManager.WIFI_STATE_ENABLED));
+        WiseFyEvent event = deliver(mockCallbacks, 1).get(0);
+        assertEquals(EventTypes.WIFI_STATE_CHANGED, event.getType());
+        assertEquals(Integer.valueOf(WifiManager.WIFI_STATE_ENABLED), event.getWifiState());
+        assertNull(event.getRSSI());
+    }
+
+    @Test
+    public void onReceive_conflatesToLatestValue() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFyEventStream.subscribe(EventTypes.ALL, mockCallbacks);
+        mWiseFyEventStream.onReceive(rssiChanged(-70));
+        mWiseFyEventStream.onReceive(rssiChanged(-60));
+        mWiseFyEventStream.onReceive(rssiChanged(-50));
+        mWiseFyEventStream.onReceive(wifiStateChanged(WifiManager.WIFI_STATE_ENABLED));
+
+        List<WiseFyEvent> events = deliver(mockCallbacks, 2);
+        assertEquals(EventTypes.WIFI_STATE_CHANGED, events.get(0).getType());
+        assertEquals(0, events.get(0).getConflatedCount());
+        assertEquals(EventTypes.RSSI_CHANGED, events.get(1).getType());
+        assertEquals(Integer.valueOf(-50), events.get(1).getRSSI());
+        assertEquals(2, events.get(1).getConflatedCount());
+    }
+
+    @Test
+    public void publishSavedNetworksChanged() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFyEventStream.subscribe(EventTypes.SAVED_NETWORKS_CHANGED, mockCallbacks);
+        verify(mMockBroadcastHub, never()).register(anyString(), any(WiseFyBroadcastHub.Listener.class));
+
+        mWiseFyEventStream.publishSavedNetworksChanged();
+        assertEquals(EventTypes.SAVED_NETWORKS_CHANGED, deliver(mockCallbacks, 1).get(0).getType());
+    }
+
+    @Test
+    public void unsubscribe_dropsPendingEvents() {
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        mWiseFyEventStream.subscribe(EventTypes.ALL, mockCallbacks);
+        mWiseFyEventStream.onReceive(rssiChanged(-50));
+        mWiseFyEventStream.unsubscribe(mockCallbacks);
+
+        ArgumentCaptor<Runnable> delivery = ArgumentCaptor.forClass(Runnable.class);
+        verify(mMockHandler, times(1)).post(delivery.capture());
+        delivery.getValue().run();
+        verify(mockCallbacks, never()).eventReceived(any(WiseFyEvent.class));
+    }
+
+    @Test
+    public void publish_deliversOnDeliveryThread() {
+        WiseFyEventStream wiseFyEventStream = new WiseFyEventStream(mMockBroadcastHub);
+        final AtomicReference<String> deliveryThreadName = new AtomicReference<>();
+        SubscribeToEventsCallbacks mockCallbacks = mock(SubscribeToEventsCallbacks.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                deliveryThreadName.set(Thread.currentThread().getName());
+                return null;
+            }
+        }).when(mockCallbacks).eventReceived(any(WiseFyEvent.class));
+        wiseFyEventStream.subscribe(EventTypes.SAVED_NETWORKS_CHANGED, mockCallbacks);
+
+        wiseFyEventStream.publishSavedNetworksChanged();
+        verify(mockCallbacks, timeout(VERIFICATION_SUCCESS_TIMEOUT)).eventReceived(any(WiseFyEvent.class));
+        assertEquals("WiseFyEventDeliveryThread", deliveryThreadName.get());
+        wiseFyEventStream.release();
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private List<WiseFyEvent> deliver(SubscribeToEventsCallbacks mockCallbacks, int expectedEvents) {
+        ArgumentCaptor<Runnable> delivery = ArgumentCaptor.forClass(Runnable.class);
+        verify(mMockHandler, times(1)).post(delivery.capture());
+        delivery.getValue().run();
+        ArgumentCaptor<WiseFyEvent> events = ArgumentCaptor.forClass(WiseFyEvent.class);
+        verify(mockCallbacks, times(expectedEvents)).eventReceived(events.capture());
+        return events.getAllValues();
+    }
+
+    private Intent rssiChanged(int rssi) {
+        Intent intent = new Intent(WifiManager.RSSI_CHANGED_ACTION);
+        intent.putExtra(WifiManager.EXTRA_NEW_RSSI, rssi);
+        return intent;
+    }
+
+    private Intent wifiStateChanged(int wifiState) {
+        Intent intent = new Intent(WifiManager.WIFI_STATE_CHANGED_ACTION);
+        intent.putExtra(WifiManager.EXTRA_WIFI_STATE, wifiState);
+        return intent;
+    }
+}
@@ -12,6 +12,8 @@ import static com.isupatches.wisefy.base.TestUtils.TEST_SSID3;
 import static com.isupatches.wisefy.base.TestUtils.TEST_TIMEOUT;
 import static junit.framework.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
@@ -471,6 +473,40 @@ public class WiseFySearchTests extends BaseAndroidJUnit4TestClass {
         assertEquals(expectedResults, mWiseFy.mWiseFySearch.findAccessPointsMatchingRegex(TEST_SSID, true));
     }
 
+    /*
+     * findAccessPointInSnapshot tests
+     */
+
+    @Test
+    public void findAccessPointInSnapshot_failure_emptySnapshot() {
+        WiseFyScanSnapshot scan = createSnapshot(new String[] {}, new int[] {});
+        assertEquals(-1, mWiseFy.mWiseFySearch.findAccessPointInSnapshot(scan, TEST_SSID, false));
+    }
+
+    @Test
+    public void findAccessPointInSnapshot_failure_nullSSID() {
+        WiseFyScanSnapshot scan = createSnapshot(new String[] {null}, new int[] {-35});
+        assertEquals(-1, mWiseFy.mWiseFySearch.findAccessPointInSnapshot(scan, TEST_SSID, false));
+    }
+
+    @Test
+    public void findAccessPointInSnapshot_failure_nonMatchingSSID() {
+        WiseFyScanSnapshot scan = createSnapshot(new String[] {TEST_SSID2, TEST_SSID3}, new int[] {-35, -70});
+        assertEquals(-1, mWiseFy.mWiseFySearch.findAccessPointInSnapshot(scan, TEST_SSID, true));
+    }
+
+    @Test
+    public void findAccessPointInSnapshot_success_takeHighest_false() {
+        WiseFyScanSnapshot scan = createSnapshot(new String[] {TEST_SSID2, TEST_SSID, TEST_SSID}, new int[] {-35, -70, -50});
+        assertEquals(1, mWiseFy.mWiseFySearch.findAccessPointInSnapshot(scan, TEST_SSID, false));
+    }
+
+    @Test
+    public void findAccessPointInSnapshot_success_takeHighest_true() {
+        WiseFyScanSnapshot scan = createSnapshot(new String[] {TEST_SSID2, TEST_SSID, TEST_SSID}, new int[] {-35, -70, -50});
+        assertEquals(2, mWiseFy.mWiseFySearch.findAccessPointInSnapshot(scan, TEST_SSID, true));
+    }
+
     /*
      * findSavedNetworkByRegex tests
      */
@@ -563,6 +599,68 @@ public class WiseFySearchTests extends BaseAndroidJUnit4TestClass {
         assertEquals(mWiFiConfiguration1, mWiseFy.mWiseFySearch.findSavedNetworkByRegex(TEST_SSID));
     }
 
+    @Test
+    public void findSavedNetworkByRegex_success_ssidWithMetacharacters() {
+        List<WifiConfiguration> wifiList = new ArrayList<>();
+
+        WifiConfiguration mWiFiConfiguration1 = new WifiConfiguration();
+        mWiFiConfiguration1.SSID = "\"Cafe (Guest)\"";
+        wifiList.add(mWiFiConfiguration1);
+
+        WifiConfiguration mWiFiConfiguration2 = new WifiConfiguration();
+        mWiFiConfiguration2.SSID = "\"Store+1\"";
+        wifiList.add(mWiFiConfiguration2);
+
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(wifiList);
+        assertEquals(mWiFiConfiguration1, mWiseFy.mWiseFySearch.findSavedNetworkByRegex("Cafe (Guest)"));
+        assertEquals(mWiFiConfiguration2, mWiseFy.mWiseFySearch.findSavedNetworkByRegex("Store+1"));
+        assertEquals(null, mWiseFy.mWiseFySearch.findSavedNetworkByRegex("Cafe (Guest"));
+    }
+
+    @Test
+    public void findSavedNetworkByRegex_success_ssidWithMetacharactersMatchesOnlyEqualSSID() {
+        List<WifiConfiguration> wifiList = new ArrayList<>();
+
+        WifiConfiguration mWiFiConfiguration1 = new WifiConfiguration();
+        mWiFiConfiguration1.SSID = "\"Storee1\"";
+        wifiList.add(mWiFiConfiguration1);
+
+        WifiConfiguration mWiFiConfiguration2 = new WifiConfiguration();
+        mWiFiConfiguration2.SSID = "\"Store+1\"";
+        wifiList.add(mWiFiConfiguration2);
+
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(wifiList);
+        assertEquals(mWiFiConfiguration2, mWiseFy.mWiseFySearch.findSavedNetworkByRegex("Store+1"));
+        assertEquals(1, mWiseFy.mWiseFySearch.findSavedNetworksMatchingRegex("Store+1").size());
+    }
+
+    @Test
+    public void findSavedNetworkByRegex_success_usesIndexedSavedNetworks() {
+        List<WifiConfiguration> wifiList = new ArrayList<>();
+
+        WifiConfiguration mWiFiConfiguration1 = new WifiConfiguration();
+        mWiFiConfiguration1.SSID = TEST_SSID;
+        wifiList.add(mWiFiConfiguration1);
+
+        when(mMockWiFiManager.getConfiguredNetworks()).thenReturn(wifiList);
+        assertEquals(mWiFiConfiguration1, mWiseFy.mWiseFySearch.findSavedNetworkByRegex(TEST_SSID));
+        assertEquals(mWiFiConfiguration1, mWiseFy.mWiseFySearch.findSavedNetworkByRegex(TEST_SSID));
+        verify(mMockWiFiManager, times(1)).getConfiguredNetworks();
+
+        WifiConfiguration mWiFiConfiguration2 = new WifiConfiguration();
+        mWiFiConfiguration2.SSID = TEST_SSID2;
+        wifiList.add(mWiFiConfiguration2);
+
+        assertEquals(mWiFiConfiguration2, mWiseFy.mWiseFySearch.findSavedNetworkByRegex(TEST_SSID2));
+        verify(mMockWiFiManager, times(2)).getConfiguredNetworks();
+
+        wifiList.remove(mWiFiConfiguration1);
+        mWiseFy.mWiseFySearch.invalidateSavedSSIDs();
+
+        assertEquals(null, mWiseFy.mWiseFySearch.findSavedNetworkByRegex(TEST_SSID));
+        verify(mMockWiFiManager, times(3)).getConfiguredNetworks();
+    }
+
     /*
      * findSavedNetworksMatchingRegex tests
      */
@@ -854,4 +952,20 @@ public class WiseFySearchTests extends BaseAndroidJUnit4TestClass {
 
         assertEquals(expectedResults , mWiseFy.mWiseFySearch.removeEntriesWithLowerSignalStrength(accessPoints));
     }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyScanSnapshot createSnapshot(String[] ssids, int[] levels) {
+        String[] bssids = new String[ssids.length];
+        int[] frequencies = new int[ssids.length];
+        String[] capabilities = new String[ssids.length];
+        for (int i = 0; i < ssids.length; i++) {
+            bssids[i] = String.format("00:11:22:33:44:%02x", i);
+            frequencies[i] = 2437;
+            capabilities[i] = "[ESS]";
+        }
+        return new WiseFyScanSnapshot(System.currentTimeMillis(), false, bssids, ssids, levels, frequencies, capabilities);
+    }
 }
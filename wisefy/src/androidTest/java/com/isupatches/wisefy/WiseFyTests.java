@@ -23,6 +23,19 @@ public class WiseFyTests extends BaseAndroidJUnit4TestClass {
         assertEquals(true, wiseFy.isLoggingEnabled());
     }
 
+    @Test
+    public void builder_scanFeaturesNotShared() {
+        WiseFy first = new WiseFy.brains(InstrumentationRegistry.getContext()).accumulateScans(2).getSmarts();
+        WiseFy second = new WiseFy.brains(InstrumentationRegistry.getContext()).getSmarts();
+        assertNotSame(first.mWiseFySearch, second.mWiseFySearch);
+        assertNotNull(first.mWiseFySearch.mWiseFyScanAccumulator);
+        assertNull(second.mWiseFySearch.mWiseFyScanAccumulator);
+
+        second.dump();
+        assertNotNull(first.mWiseFySearch.mWiseFyScanAccumulator);
+        first.dump();
+    }
+
     @Test
     public void calculateBars() {
         int result = mWiseFy.calculateBars(-35, 5);
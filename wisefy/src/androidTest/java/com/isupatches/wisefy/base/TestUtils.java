@@ -30,6 +30,8 @@ public class TestUtils {
 
     public static final int TEST_NETWORK_FREQUENCY_5GHZ = 5000;
 
+    public static final int TEST_NETWORK_ID = 7;
+
     public static final int TEST_RSSI_LEVEL = -60;
 
     public static final int TEST_TIMEOUT = 1;
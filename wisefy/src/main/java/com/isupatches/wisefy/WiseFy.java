@@ -34,6 +34,8 @@ import com.isupatches.wisefy.annotations.PublicAPI;
 import com.isupatches.wisefy.annotations.Sync;
 import com.isupatches.wisefy.annotations.WaitsForTimeout;
 import com.isupatches.wisefy.annotations.WiseFyThread;
+import com.isupatches.wisefy.callbacks.AccessPointVisitor;
+import com.isupatches.wisefy.callbacks.AddNetworksCallbacks;
 import com.isupatches.wisefy.callbacks.AddOpenNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.AddWEPNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.AddWPA2NetworkCallbacks;
@@ -41,24 +43,41 @@ import com.isupatches.wisefy.callbacks.ConnectToNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.DisableWifiCallbacks;
 import com.isupatches.wisefy.callbacks.DisconnectFromCurrentNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.EnableWifiCallbacks;
+import com.isupatches.wisefy.callbacks.ExecutePipelineCallbacks;
 import com.isupatches.wisefy.callbacks.GetCurrentNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.GetFrequencyCallbacks;
+import com.isupatches.wisefy.callbacks.GetNearbyAccessPointTableCallbacks;
 import com.isupatches.wisefy.callbacks.GetNearbyAccessPointsCallbacks;
 import com.isupatches.wisefy.callbacks.GetRSSICallbacks;
 import com.isupatches.wisefy.callbacks.GetSavedNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.GetSavedNetworksCallbacks;
+import com.isupatches.wisefy.callbacks.ImportManifestCallbacks;
+import com.isupatches.wisefy.callbacks.QueryNearbyAccessPointsCallbacks;
 import com.isupatches.wisefy.callbacks.RemoveNetworkCallbacks;
+import com.isupatches.wisefy.callbacks.RemoveNetworksCallbacks;
+import com.isupatches.wisefy.callbacks.SavedNetworkVisitor;
 import com.isupatches.wisefy.callbacks.SearchForAccessPointCallbacks;
+import com.isupatches.wisefy.callbacks.SearchForAccessPointWithRevalidationCallbacks;
 import com.isupatches.wisefy.callbacks.SearchForAccessPointsCallbacks;
 import com.isupatches.wisefy.callbacks.SearchForSSIDCallbacks;
+import com.isupatches.wisefy.callbacks.SearchForSSIDWithRevalidationCallbacks;
 import com.isupatches.wisefy.callbacks.SearchForSSIDsCallbacks;
+import com.isupatches.wisefy.callbacks.SubscribeToEventsCallbacks;
+import com.isupatches.wisefy.callbacks.SyncSavedNetworksCallbacks;
 import com.isupatches.wisefy.constants.Capabilities;
+import com.isupatches.wisefy.constants.EventTypes;
+import com.isupatches.wisefy.constants.ManifestFormats;
 import com.isupatches.wisefy.constants.NetworkTypes;
+import com.isupatches.wisefy.constants.PipelineSteps;
+import com.isupatches.wisefy.constants.SignalFilters;
 import com.isupatches.wisefy.constants.WiseFyCodes;
 import com.isupatches.wisefy.threads.WiseFyHandlerThread;
+import com.isupatches.wisefy.util.CapabilitiesUtil;
 import com.isupatches.wisefy.util.LogUtil;
 import com.isupatches.wisefy.util.ManagerUtil;
 import com.isupatches.wisefy.util.WifiConfigurationUtil;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 
@@ -86,12 +105,32 @@ public class WiseFy {
 
     private Handler mWiseFyHandler;
 
+    private WiseFyConnectStateMachine mWiseFyConnectStateMachine;
+
+    private final Context mContext;
+
+    WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    WiseFyDeviceState mWiseFyDeviceState;
+
+    volatile WiseFyEventStream mWiseFyEventStream;
+
+    volatile WiseFyLinkSampler mWiseFyLinkSampler;
+
+    WiseFyPassiveScanner mWiseFyPassiveScanner;
+
+    volatile WiseFyScanScheduler mWiseFyScanScheduler;
+
+    WiseFyWarmStart mWiseFyWarmStart;
+
     WiseFyConnection mWiseFyConnection;
 
     WiseFyConfiguration mWiseFyConfiguration;
 
     WiseFyPrerequisites mWiseFyPrerequisites;
 
+    WiseFyProvisioning mWiseFyProvisioning;
+
     WiseFySearch mWiseFySearch;
 
     private final WiseFyLock mWiseFyLock = new WiseFyLock();
@@ -103,23 +142,82 @@ public class WiseFy {
         this.mWiseFyConfiguration = WiseFyConfiguration.getInstance();
         this.mWiseFyConnection = WiseFyConnection.getInstance();
         this.mWiseFyPrerequisites = WiseFyPrerequisites.getInstance();
-        this.mWiseFySearch = WiseFySearch.getInstance();
+        this.mWiseFyProvisioning = WiseFyProvisioning.getInstance();
+        this.mWiseFySearch = new WiseFySearch();
         mWiseFyConfiguration.setLoggingEnabled(brains.loggingEnabled);
         mWiseFyPrerequisites.setConnectivityManager(ManagerUtil.getInstance().getConnectivityManager(brains.context));
         mWiseFyPrerequisites.setWifiManager(ManagerUtil.getInstance().getWiFiManager(brains.context));
+        this.mContext = brains.context;
+        if (brains.signalFilter != SignalFilters.NONE) {
+            mWiseFySearch.mWiseFySignalSmoother = new WiseFySignalSmoother(brains.signalFilter, WiseFySignalSmoother.DEFAULT_CAPACITY);
+        }
+        if (brains.scanLogDirectory != null) {
+            mWiseFySearch.mWiseFyScanLog = new WiseFyScanLog(brains.scanLogDirectory, brains.scanLogMaxFileSizeInBytes,
+                    brains.scanLogMaxFiles);
+        }
+        if (brains.signalHistoryMemoryCapInBytes > 0) {
+            mWiseFySearch.mWiseFySignalHistory = new WiseFySignalHistory(brains.signalHistoryMemoryCapInBytes,
+                    WiseFySignalHistory.DEFAULT_SAMPLES_PER_BSSID);
+        }
+        if (brains.scanAccumulationMaxMisses > 0) {
+            mWiseFySearch.mWiseFyScanAccumulator = new WiseFyScanAccumulator<>(brains.scanAccumulationMaxMisses,
+                    WiseFyScanAccumulator.DEFAULT_CAPACITY);
+        }
+        if (brains.deviceStateCacheEnabled && mWiseFyPrerequisites.hasPrerequisites()) {
+            mWiseFyDeviceState = new WiseFyDeviceState(getBroadcastHub(), mWiseFyPrerequisites);
+            mWiseFyDeviceState.start();
+        }
+        if (brains.passiveScanWindowInMillis > 0 && mWiseFyPrerequisites.hasPrerequisites()) {
+            mWiseFyPassiveScanner = new WiseFyPassiveScanner(getBroadcastHub(), brains.passiveScanWindowInMillis);
+            mWiseFyPassiveScanner.start();
+            mWiseFySearch.mWiseFyPassiveScanner = mWiseFyPassiveScanner;
+        }
+        if (brains.warmStartFile != null) {
+            WiseFyWarmStartStore wiseFyWarmStartStore = new WiseFyWarmStartStore(brains.warmStartFile);
+            mWiseFySearch.mWiseFyWarmStartStore = wiseFyWarmStartStore;
+            if (brains.warmStartSaveIntervalInMillis > 0 && mWiseFyHandler == null) {
+                setupWiseFyThread();
+            }
+            mWiseFyWarmStart = new WiseFyWarmStart(getBroadcastHub(), mWiseFyHandler, mWiseFyLock, mWiseFyPrerequisites,
+                    mWiseFySearch, wiseFyWarmStartStore, brains.warmStartSaveIntervalInMillis);
+            mWiseFyWarmStart.start();
+        }
     }
 
     /**
      * Static class for builder pattern
      *
-     * Implements builder interfaces #{@link Logging} #{@link GetSmarts}
+     * Implements builder interfaces #{@link Logging} #{@link DeviceStateCache} #{@link SignalSmoothing}
+     * #{@link SignalHistory} #{@link ScanLogging} #{@link WarmStart} #{@link PassiveScans} #{@link ScanAccumulation}
+     * #{@link GetSmarts}
      */
-    public static class brains implements Logging, GetSmarts {
+    public static class brains implements Logging, DeviceStateCache, SignalSmoothing, SignalHistory, ScanLogging,
+            WarmStart, PassiveScans, ScanAccumulation, GetSmarts {
 
         private Context context;
 
         private boolean loggingEnabled;
 
+        private boolean deviceStateCacheEnabled;
+
+        private int signalFilter = SignalFilters.NONE;
+
+        private int signalHistoryMemoryCapInBytes;
+
+        private File scanLogDirectory;
+
+        private int scanLogMaxFileSizeInBytes;
+
+        private int scanLogMaxFiles;
+
+        private File warmStartFile;
+
+        private int warmStartSaveIntervalInMillis;
+
+        private int passiveScanWindowInMillis;
+
+        private int scanAccumulationMaxMisses;
+
         /**
          * Mandatory - The public constructor for the builder that requires a context
          *
@@ -158,6 +256,156 @@ public class WiseFy {
             this.loggingEnabled = loggingEnabled;
             return this;
         }
+
+        /**
+         * Optional - Builder method that enables/disables caching of the device's connectivity, Wifi
+         * enabled state, and current network for a WiseFy instance
+         *
+         * *NOTE* When enabled the cache is kept up to date from system events and the related getters
+         * no longer make a call to the system.  Must be cleaned!! {@link WiseFy#dump()}
+         *
+         * @param deviceStateCacheEnabled If the device state cache is enabled or disabled for an instance
+         *
+         * @see DeviceStateCache
+         * @see WiseFy#refreshDeviceState()
+         *
+         * @return brains - The builder with updated device state cache setting
+         */
+        @Override
+        public brains cacheDeviceState(boolean deviceStateCacheEnabled) {
+            this.deviceStateCacheEnabled = deviceStateCacheEnabled;
+            return this;
+        }
+
+        /**
+         * Optional - Builder method that smooths the signal strength of each access point across scans
+         * for a WiseFy instance
+         *
+         * *NOTE* When enabled the level of every ScanResult returned by the search APIs, getNearbyAccessPoints,
+         * and getRSSI is the smoothed signal strength of its access point instead of the single measurement
+         * from the latest scan
+         *
+         * @param signalFilter The filter to smooth with (SignalFilters.NONE to disable)
+         *
+         * @see SignalFilters
+         * @see SignalSmoothing
+         * @see WiseFy#getSmoothedRSSI(String)
+         *
+         * @return brains - The builder with updated signal smoothing setting
+         */
+        @Override
+        public brains smoothSignal(int signalFilter) {
+            this.signalFilter = signalFilter;
+            return this;
+        }
+
+        /**
+         * Optional - Builder method that keeps the recent signal strength samples of each access point
+         * seen by a scan for a WiseFy instance
+         *
+         * *NOTE* The memory for the history is allocated once up front and never grows.  When it is full
+         * the access point that was seen or queried the longest time ago is dropped.
+         *
+         * @param memoryCapInBytes The maximum number of bytes to use for the history (0 to disable)
+         *
+         * @see SignalHistory
+         * @see WiseFy#getSignalHistory(String, int)
+         * @see WiseFy#getSignalHistoryForSSID(String, int)
+         *
+         * @return brains - The builder with updated signal history setting
+         */
+        @Override
+        public brains recordSignalHistory(int memoryCapInBytes) {
+            this.signalHistoryMemoryCapInBytes = memoryCapInBytes;
+            return this;
+        }
+
+        /**
+         * Optional - Builder method that appends every scan to a compact binary log for a WiseFy instance
+         *
+         * *NOTE* Each log file is memory-mapped at its maximum size and a new file is started when a scan
+         * does not fit.  Only the newest files are kept.  Must be cleaned!! {@link WiseFy#dump()}
+         *
+         * @param directory The directory to write the log files to (null to disable)
+         * @param maxFileSizeInBytes The maximum size of each log file
+         * @param maxFiles The number of log files to keep
+         *
+         * @see ScanLogging
+         * @see WiseFyScanLogReader
+         *
+         * @return brains - The builder with updated scan logging setting
+         */
+        @Override
+        public brains logScans(File directory, int maxFileSizeInBytes, int maxFiles) {
+            this.scanLogDirectory = directory;
+            this.scanLogMaxFileSizeInBytes = maxFileSizeInBytes;
+            this.scanLogMaxFiles = maxFiles;
+            return this;
+        }
+
+        /**
+         * Optional - Builder method that keeps the last scan and the SSIDs of the saved networks in a file
+         * so a new process can answer queries before its first scan for a WiseFy instance
+         *
+         * *NOTE* The file is written on the save interval and when the instance is dumped, and is only read
+         * the first time the warm state is queried.  Must be cleaned!! {@link WiseFy#dump()}
+         *
+         * @param file The file to keep the warm state in (null to disable)
+         * @param saveIntervalInMillis The amount of time between saves (0 to only save on dump)
+         *
+         * @see WarmStart
+         * @see WiseFy#getLastKnownSavedSSIDs()
+         * @see WiseFy#getLastKnownScan()
+         *
+         * @return brains - The builder with updated warm start setting
+         */
+        @Override
+        public brains warmStart(File file, int saveIntervalInMillis) {
+            this.warmStartFile = file;
+            this.warmStartSaveIntervalInMillis = saveIntervalInMillis;
+            return this;
+        }
+
+        /**
+         * Optional - Builder method that reuses the results of scans started by the system or other apps
+         * instead of starting a scan for every search for a WiseFy instance
+         *
+         * *NOTE* A scan is only started when no new results were delivered within the window and WiseFy
+         * has not already started one within the window.  Must be cleaned!! {@link WiseFy#dump()}
+         *
+         * @param freshnessWindowInMillis How long delivered results are used before a scan is started (0 to disable)
+         *
+         * @see PassiveScans
+         * @see WiseFy#getScanStats()
+         *
+         * @return brains - The builder with updated passive scan setting
+         */
+        @Override
+        public brains consumePassiveScans(int freshnessWindowInMillis) {
+            this.passiveScanWindowInMillis = freshnessWindowInMillis;
+            return this;
+        }
+
+        /**
+         * Optional - Builder method that merges consecutive scans so access points that a single scan
+         * missed are still found for a WiseFy instance
+         *
+         * *NOTE* When enabled the search APIs and getNearbyAccessPoints return every access point that has
+         * not been missing from more than the given number of scans in a row.  An access point that was
+         * missed keeps the ScanResult (and level) from the last scan it was seen in.
+         *
+         * @param maxMisses The number of scans in a row an access point can be missing from before it is dropped (0 to disable)
+         *
+         * @see ScanAccumulation
+         * @see WiseFy#getAccumulatedScan()
+         *
+         * @return brains - The builder with updated scan accumulation setting
+         */
+        @Override
+        public brains accumulateScans(int maxMisses) {
+            this.scanAccumulationMaxMisses = maxMisses;
+            return this;
+        }
     }
 
     /**
@@ -167,6 +415,55 @@ public class WiseFy {
         brains logging(boolean loggingEnabled);
     }
 
+    /**
+     * An interface that enables/disables the device state cache for a WiseFy instance
+     */
+    interface DeviceStateCache {
+        brains cacheDeviceState(boolean deviceStateCacheEnabled);
+    }
+
+    /**
+     * An interface that enables/disables signal smoothing for a WiseFy instance
+     */
+    interface SignalSmoothing {
+        brains smoothSignal(int signalFilter);
+    }
+
+    /**
+     * An interface that enables/disables signal history for a WiseFy instance
+     */
+    interface SignalHistory {
+        brains recordSignalHistory(int memoryCapInBytes);
+    }
+
+    /**
+     * An interface that enables/disables scan logging for a WiseFy instance
+     */
+    interface ScanLogging {
+        brains logScans(File directory, int maxFileSizeInBytes, int maxFiles);
+    }
+
+    /**
+     * An interface that enables/disables warm start for a WiseFy instance
+     */
+    interface WarmStart {
+        brains warmStart(File file, int saveIntervalInMillis);
+    }
+
+    /**
+     * An interface that enables/disables passive scans for a WiseFy instance
+     */
+    interface PassiveScans {
+        brains consumePassiveScans(int freshnessWindowInMillis);
+    }
+
+    /**
+     * An interface that enables/disables scan accumulation for a WiseFy instance
+     */
+    interface ScanAccumulation {
+        brains accumulateScans(int maxMisses);
+    }
+
     /**
      * An interface that builds a WiseFy instance
      */
@@ -174,6 +471,87 @@ public class WiseFy {
         WiseFy getSmarts();
     }
 
+    /**
+     * To add a list of networks to the user's configured network list at once
+     *
+     * *NOTE* Networks are compared by their exact SSID against one snapshot of the saved networks and
+     * any that are already saved are skipped
+     *
+     * @param networks The network configurations to add (i.e. from WifiConfigurationUtil)
+     *
+     * @see WifiConfigurationUtil
+     * @see WiseFyBatchResult
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyProvisioning#addNetworks(List)
+     *
+     * @return WiseFyBatchResult|null - The network id or failure code for each network or null if
+     * the list is missing or the instance is missing a prerequisite
+     */
+    @Sync
+    @CallingThread
+    public WiseFyBatchResult addNetworks(List<WifiConfiguration> networks) {
+        if (networks == null || networks.isEmpty() || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+        WiseFyBatchResult results = mWiseFyProvisioning.addNetworks(networks);
+        if (results.getSuccessCount() > 0) {
+            notifySavedNetworksChanged();
+        }
+        return results;
+    }
+
+    /**
+     * To add a list of networks to the user's configured network list at once
+     *
+     * *NOTE* Networks are compared by their exact SSID against one snapshot of the saved networks and
+     * any that are already saved are skipped
+     *
+     * @param networks The network configurations to add (i.e. from WifiConfigurationUtil)
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see AddNetworksCallbacks
+     * @see WifiConfigurationUtil
+     * @see WiseFyBatchResult
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyProvisioning#addNetworks(List)
+     */
+    @Async
+    @WiseFyThread
+    public void addNetworks(final List<WifiConfiguration> networks, final AddNetworksCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (networks == null || networks.isEmpty()) {
+                        if (callbacks != null) {
+                            callbacks.addNetworksWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.addNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    WiseFyBatchResult results = mWiseFyProvisioning.addNetworks(networks);
+                    if (results.getSuccessCount() > 0) {
+                        notifySavedNetworksChanged();
+                    }
+                    if (callbacks != null) {
+                        callbacks.networksAdded(results);
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
     /**
      * To add an open network to the user's configured network list
      *
@@ -484,6 +862,95 @@ public class WiseFy {
         return WifiManager.calculateSignalLevel(rssiLevel, targetNumberOfBars);
     }
 
+    /**
+     * To convert the signal strength of an access point to a number of bars
+     *
+     * *NOTE* Uses the smoothed signal strength of the access point if signal smoothing is enabled so the
+     * number of bars does not flap between scans
+     *
+     * @param accessPoint The access point to calculate the bars for
+     * @param targetNumberOfBars How many bars or levels there will be total
+     *
+     * @see #calculateBars(int, int)
+     * @see WiseFySearch#getSmoothedSignalLevel(String)
+     *
+     * @return int - The number of bars for the access point
+     */
+    @Sync
+    @CallingThread
+    public int calculateBars(ScanResult accessPoint, int targetNumberOfBars) {
+        Integer smoothedLevel = mWiseFySearch.getSmoothedSignalLevel(accessPoint.BSSID);
+        return calculateBars(smoothedLevel != null ? smoothedLevel : accessPoint.level, targetNumberOfBars);
+    }
+
+    /**
+     * To classify every access point in a list in one pass
+     *
+     * *NOTE* Each access point gets one packed record with its security capabilities, band, channel, and number
+     * of bars.  The index of each record is the index of the access point in the list (null access points are
+     * classified as unknown).  The number of bars is read from a lookup table instead of calculated per access
+     * point, and uses the level of each access point as it is (already smoothed for scans made by a WiseFy
+     * instance with signal smoothing enabled).
+     *
+     * @param accessPoints The access points to classify
+     * @param targetNumberOfBars How many bars or levels there will be total (1 to 64)
+     *
+     * @see CapabilitiesUtil#toFlags(String)
+     * @see WiseFyScanClassification
+     * @see WiseFyScanClassifier#classify(int, int, int)
+     *
+     * @return WiseFyScanClassification|null - The record of each access point or null if the list is null or the
+     * target number of bars is out of range
+     */
+    @Sync
+    @CallingThread
+    public WiseFyScanClassification classifyAccessPoints(List<ScanResult> accessPoints, int targetNumberOfBars) {
+        if (accessPoints == null || targetNumberOfBars < 1 || targetNumberOfBars > WiseFyScanClassifier.MAX_BARS) {
+            return null;
+        }
+
+        WiseFyScanClassifier classifier = new WiseFyScanClassifier(targetNumberOfBars);
+        CapabilitiesUtil capabilitiesUtil = CapabilitiesUtil.getInstance();
+        int[] records = new int[accessPoints.size()];
+        for (int i = 0; i < records.length; i++) {
+            ScanResult accessPoint = accessPoints.get(i);
+            if (accessPoint != null) {
+                records[i] = classifier.classify(capabilitiesUtil.toFlags(accessPoint.capabilities), accessPoint.frequency, accessPoint.level);
+            }
+        }
+        return new WiseFyScanClassification(records, targetNumberOfBars);
+    }
+
+    /**
+     * To classify every access point in a scan table in one pass
+     *
+     * *NOTE* The index of each record is the index of the access point in the table
+     *
+     * @param scanTable The access points to classify
+     * @param targetNumberOfBars How many bars or levels there will be total (1 to 64)
+     *
+     * @see #getNearbyAccessPointTable(boolean)
+     * @see WiseFyScanClassification
+     * @see WiseFyScanClassifier#classify(int, int, int)
+     *
+     * @return WiseFyScanClassification|null - The record of each access point or null if the table is null or
+     * the target number of bars is out of range
+     */
+    @Sync
+    @CallingThread
+    public WiseFyScanClassification classifyAccessPoints(WiseFyScanTable scanTable, int targetNumberOfBars) {
+        if (scanTable == null || targetNumberOfBars < 1 || targetNumberOfBars > WiseFyScanClassifier.MAX_BARS) {
+            return null;
+        }
+
+        WiseFyScanClassifier classifier = new WiseFyScanClassifier(targetNumberOfBars);
+        int[] records = new int[scanTable.getAccessPointCount()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = classifier.classify(scanTable.getCapabilityFlags(i), scanTable.getFrequency(i), scanTable.getLevel(i));
+        }
+        return new WiseFyScanClassification(records, targetNumberOfBars);
+    }
+
     /**
      * To compare the signal strength of two networks
      *
@@ -500,61 +967,124 @@ public class WiseFy {
     }
 
     /**
-     * Used to connect to a network
+     * To count the nearby access points that match a given regex without building a list of them
      *
-     * Gets a list of saved networks, connects to the given ssid if found, and verifies connectivity
+     * *NOTE* Setting filterDuplicates to true will only count the access point with the highest RSSI for each SSID
      *
-     * @param ssidToConnectTo The ssid to connect/reconnect to
-     * @param timeoutInMillis The number of milliseconds to continue waiting for the device to connect to the given SSID
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
      *
-     * @see WiseFyConfiguration#isLoggingEnabled()
-     * @see WiseFyConnection#waitToConnectToSSID(String, int)
-     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFyCodes
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     * @see WiseFySearch#countAccessPointsMatchingRegex(String, boolean)
      *
-     * @return boolean - If the network was successfully reconnected
+     * @return int - The number of matching access points or a WiseFy error code
      */
     @Sync
     @CallingThread
-    @WaitsForTimeout
-    public boolean connectToNetwork(String ssidToConnectTo, int timeoutInMillis) {
-        if (TextUtils.isEmpty(ssidToConnectTo) || !mWiseFyPrerequisites.hasPrerequisites()) {
-            return false;
+    public int countMatchingAccessPoints(String regexForSSID, boolean filterDuplicates) {
+        if (TextUtils.isEmpty(regexForSSID)) {
+            return WiseFyCodes.MISSING_PARAMETER;
         }
 
-        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-            Log.d(TAG, String.format("Waiting %d to connect to network with ssid %s", timeoutInMillis, ssidToConnectTo));
+        if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+            return WiseFyCodes.REGEX_NOT_SUPPORTED;
         }
 
-        WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToConnectTo);
-        if (wifiConfiguration != null) {
-            mWiseFyPrerequisites.getWifiManager().disconnect();
-            mWiseFyPrerequisites.getWifiManager().enableNetwork(wifiConfiguration.networkId, true);
-            mWiseFyPrerequisites.getWifiManager().reconnect();
-            return mWiseFyConnection.waitToConnectToSSID(ssidToConnectTo, timeoutInMillis);
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return WiseFyCodes.MISSING_PREREQUISITE;
         }
 
-        return false;
+        return mWiseFySearch.countAccessPointsMatchingRegex(regexForSSID, filterDuplicates);
     }
 
     /**
-     * Used to connect to a network
+     * To count the saved networks that match a given regex without building a list of them
      *
-     * Gets a list of saved networks, connects to the given ssid if found, and verifies connectivity
-     *
-     * @param ssidToConnectTo The ssid to connect/reconnect to
-     * @param timeoutInMillis The number of milliseconds to continue waiting for the device to connect to the given SSID
-     * @param callbacks The listener to return results to
+     * @param regexForSSID The regex to use while searching for saved configurations
      *
-     * @see #execute(Runnable)
-     * @see ConnectToNetworkCallbacks
      * @see WiseFyCodes
-     * @see WiseFyConnection#waitToConnectToSSID(String, int)
-     * @see WiseFyConfiguration#isLoggingEnabled()
-     * @see WiseFyPrerequisites#getWifiManager()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     * @see WiseFySearch#countSavedNetworksMatchingRegex(String)
+     *
+     * @return int - The number of matching saved networks or a WiseFy error code
+     */
+    @Sync
+    @CallingThread
+    public int countMatchingSavedNetworks(String regexForSSID) {
+        if (TextUtils.isEmpty(regexForSSID)) {
+            return WiseFyCodes.MISSING_PARAMETER;
+        }
+
+        if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+            return WiseFyCodes.REGEX_NOT_SUPPORTED;
+        }
+
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return WiseFyCodes.MISSING_PREREQUISITE;
+        }
+
+        return mWiseFySearch.countSavedNetworksMatchingRegex(regexForSSID);
+    }
+
+    /**
+     * Used to connect to a network
+     *
+     * Gets a list of saved networks, connects to the given ssid if found, and verifies connectivity
+     *
+     * @param ssidToConnectTo The ssid to connect/reconnect to
+     * @param timeoutInMillis The number of milliseconds to continue waiting for the device to connect to the given SSID
+     *
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyConnection#waitToConnectToSSID(String, int)
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     *
+     * @return boolean - If the network was successfully reconnected
+     */
+    @Sync
+    @CallingThread
+    @WaitsForTimeout
+    public boolean connectToNetwork(String ssidToConnectTo, int timeoutInMillis) {
+        if (TextUtils.isEmpty(ssidToConnectTo) || !WiseFySSIDMatcher.isSupported(ssidToConnectTo) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Waiting %d to connect to network with ssid %s", timeoutInMillis, ssidToConnectTo));
+        }
+
+        WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToConnectTo);
+        if (wifiConfiguration != null) {
+            mWiseFyPrerequisites.getWifiManager().disconnect();
+            mWiseFyPrerequisites.getWifiManager().enableNetwork(wifiConfiguration.networkId, true);
+            mWiseFyPrerequisites.getWifiManager().reconnect();
+            return mWiseFyConnection.waitToConnectToSSID(ssidToConnectTo, timeoutInMillis);
+        }
+
+        return false;
+    }
+
+    /**
+     * Used to connect to a network
+     *
+     * Gets a list of saved networks, connects to the given ssid if found, and verifies connectivity
+     *
+     * *NOTE* The WiseFy thread is not blocked while the device is associating so other asynchronous
+     * operations will continue to run.  Starting a new connection will cancel one that is still in progress.
+     *
+     * @param ssidToConnectTo The ssid to connect/reconnect to
+     * @param timeoutInMillis The number of milliseconds to continue waiting for the device to connect to the given SSID
+     * @param callbacks The listener to return results to
+     *
+     * @see #connect(WifiConfiguration, String, int, ConnectToNetworkCallbacks)
+     * @see #execute(Runnable)
+     * @see ConnectToNetworkCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
      */
     @Async
     @WiseFyThread
@@ -571,6 +1101,13 @@ public class WiseFy {
                         return;
                     }
 
+                    if (!WiseFySSIDMatcher.isSupported(ssidToConnectTo)) {
+                        if (callbacks != null) {
+                            callbacks.connectToNetworkWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
                     if (!mWiseFyPrerequisites.hasPrerequisites()) {
                         if (callbacks != null) {
                             callbacks.connectToNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
@@ -584,17 +1121,7 @@ public class WiseFy {
 
                     WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToConnectTo);
                     if (wifiConfiguration != null) {
-                        mWiseFyPrerequisites.getWifiManager().disconnect();
-                        mWiseFyPrerequisites.getWifiManager().enableNetwork(wifiConfiguration.networkId, true);
-                        mWiseFyPrerequisites.getWifiManager().reconnect();
-                        boolean connected = mWiseFyConnection.waitToConnectToSSID(ssidToConnectTo, timeoutInMillis);
-                        if (callbacks != null) {
-                            if (connected) {
-                                callbacks.connectedToNetwork();
-                            } else {
-                                callbacks.failureConnectingToNetwork();
-                            }
-                        }
+                        connect(wifiConfiguration, ssidToConnectTo, timeoutInMillis, callbacks);
                         return;
                     }
 
@@ -660,6 +1187,84 @@ public class WiseFy {
         execute(runnable);
     }
 
+    /**
+     * To disable Wifi on a user's device and wait for the device to finish disabling it
+     *
+     * *NOTE* Waits for WIFI_STATE_CHANGED_ACTION to report WIFI_STATE_DISABLED
+     *
+     * @param timeoutInMillis The amount of time to wait for the state change
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyWifiStateWaiter
+     *
+     * @return boolean - True if Wifi was disabled before the timeout
+     */
+    @Sync
+    @CallingThread
+    @WaitsForTimeout
+    public boolean disableWifiAndWait(int timeoutInMillis) {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        WiseFyWifiStateWaiter waiter = new WiseFyWifiStateWaiter(getBroadcastHub(), mWiseFyPrerequisites, false, false);
+        return waiter.startAndAwait(timeoutInMillis) == WiseFyWifiStateWaiter.OUTCOME_REACHED;
+    }
+
+    /**
+     * To disable Wifi on a user's device and wait for the device to finish disabling it
+     *
+     * *NOTE* Waits for WIFI_STATE_CHANGED_ACTION to report WIFI_STATE_DISABLED without blocking the WiseFy thread
+     *
+     * @param timeoutInMillis The amount of time to wait for the state change
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see DisableWifiCallbacks
+     * @see WiseFyCodes#TIMEOUT_EXCEEDED
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyWifiStateWaiter
+     */
+    @Async
+    @WiseFyThread
+    public void disableWifiAndWait(final int timeoutInMillis, final DisableWifiCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.disableWifiWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    final WiseFyWifiStateWaiter waiter = new WiseFyWifiStateWaiter(getBroadcastHub(), mWiseFyPrerequisites, false, false);
+                    waiter.start(mWiseFyHandler, timeoutInMillis, new Runnable() {
+                        @Override
+                        public void run() {
+                            if (callbacks == null) {
+                                return;
+                            }
+                            switch (waiter.getOutcome()) {
+                                case WiseFyWifiStateWaiter.OUTCOME_REACHED:
+                                    callbacks.wifiDisabled();
+                                    break;
+                                case WiseFyWifiStateWaiter.OUTCOME_REJECTED:
+                                    callbacks.failureDisablingWifi();
+                                    break;
+                                default:
+                                    callbacks.disableWifiWiseFyFailure(WiseFyCodes.TIMEOUT_EXCEEDED);
+                                    break;
+                            }
+                        }
+                    });
+                }
+            }
+        };
+        execute(runnable);
+    }
+
     /**
      * To disconnect the user from their current network
      *
@@ -716,9 +1321,52 @@ public class WiseFy {
     /**
      * Used to cleanup the thread started by WiseFy
      *
+     * *NOTE* If warm start is enabled, it is saved one last time on the WiseFy thread before the thread stops
+     *
      * @see WiseFyConfiguration#isLoggingEnabled()
      */
     public void dump() {
+        if (mWiseFyConnectStateMachine != null) {
+            mWiseFyConnectStateMachine.abandon();
+            mWiseFyConnectStateMachine = null;
+        }
+        if (mWiseFyLinkSampler != null) {
+            mWiseFyLinkSampler.stop();
+            mWiseFyLinkSampler = null;
+        }
+        stopScanScheduler();
+        if (mWiseFyPassiveScanner != null) {
+            mWiseFyPassiveScanner.stop();
+            mWiseFyPassiveScanner = null;
+            mWiseFySearch.mWiseFyPassiveScanner = null;
+        }
+        mWiseFySearch.closeScanLog();
+        if (mWiseFyWarmStart != null) {
+            final WiseFyWarmStart wiseFyWarmStart = mWiseFyWarmStart;
+            mWiseFyWarmStart = null;
+            mWiseFySearch.mWiseFyWarmStartStore = null;
+            wiseFyWarmStart.stop();
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (mWiseFyLock) {
+                        wiseFyWarmStart.save();
+                    }
+                }
+            });
+        }
+        if (mWiseFyEventStream != null) {
+            mWiseFyEventStream.release();
+            mWiseFyEventStream = null;
+        }
+        if (mWiseFyDeviceState != null) {
+            mWiseFyDeviceState.stop();
+            mWiseFyDeviceState = null;
+        }
+        if (mWiseFyBroadcastHub != null) {
+            mWiseFyBroadcastHub.release(mWiseFyPrerequisites.getConnectivityManager());
+            mWiseFyBroadcastHub = null;
+        }
         if (mWiseFyHandlerThread != null) {
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
                 mWiseFyHandlerThread.quitSafely();
@@ -796,50 +1444,79 @@ public class WiseFy {
     }
 
     /**
-     * To retrieve the user's current network
+     * To enable Wifi on a user's device and wait for the device to finish enabling it
+     *
+     * *NOTE* Waits for WIFI_STATE_CHANGED_ACTION to report WIFI_STATE_ENABLED
+     *
+     * @param timeoutInMillis The amount of time to wait for the state change
+     * @param prefetchScan If a scan should be started as soon as Wifi is enabled so nearby access points are ready sooner
      *
-     * @see WiseFyPrerequisites#getWifiManager()
      * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyWifiStateWaiter
      *
-     * @return WifiInfo|null - The user's current network information
+     * @return boolean - True if Wifi was enabled before the timeout
      */
     @Sync
     @CallingThread
-    public WifiInfo getCurrentNetwork() {
+    @WaitsForTimeout
+    public boolean enableWifiAndWait(int timeoutInMillis, boolean prefetchScan) {
         if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return null;
+            return false;
         }
-        return mWiseFyPrerequisites.getWifiManager().getConnectionInfo();
+
+        WiseFyWifiStateWaiter waiter = new WiseFyWifiStateWaiter(getBroadcastHub(), mWiseFyPrerequisites, true, prefetchScan);
+        return waiter.startAndAwait(timeoutInMillis) == WiseFyWifiStateWaiter.OUTCOME_REACHED;
     }
 
     /**
-     * To retrieve the user's current network
+     * To enable Wifi on a user's device and wait for the device to finish enabling it
      *
+     * *NOTE* Waits for WIFI_STATE_CHANGED_ACTION to report WIFI_STATE_ENABLED without blocking the WiseFy thread
+     *
+     * @param timeoutInMillis The amount of time to wait for the state change
+     * @param prefetchScan If a scan should be started as soon as Wifi is enabled so nearby access points are ready sooner
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see GetCurrentNetworkCallbacks
-     * @see WiseFyCodes
-     * @see WiseFyPrerequisites#getWifiManager()
+     * @see EnableWifiCallbacks
+     * @see WiseFyCodes#TIMEOUT_EXCEEDED
      * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyWifiStateWaiter
      */
     @Async
     @WiseFyThread
-    public void getCurrentNetwork(final GetCurrentNetworkCallbacks callbacks) {
+    public void enableWifiAndWait(final int timeoutInMillis, final boolean prefetchScan, final EnableWifiCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
                     if (!mWiseFyPrerequisites.hasPrerequisites()) {
                         if (callbacks != null) {
-                            callbacks.getCurrentNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                            callbacks.enableWifiWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
                         }
                         return;
                     }
 
-                    if (callbacks != null) {
-                        callbacks.retrievedCurrentNetwork(mWiseFyPrerequisites.getWifiManager().getConnectionInfo());
-                    }
+                    final WiseFyWifiStateWaiter waiter = new WiseFyWifiStateWaiter(getBroadcastHub(), mWiseFyPrerequisites, true, prefetchScan);
+                    waiter.start(mWiseFyHandler, timeoutInMillis, new Runnable() {
+                        @Override
+                        public void run() {
+                            if (callbacks == null) {
+                                return;
+                            }
+                            switch (waiter.getOutcome()) {
+                                case WiseFyWifiStateWaiter.OUTCOME_REACHED:
+                                    callbacks.wifiEnabled();
+                                    break;
+                                case WiseFyWifiStateWaiter.OUTCOME_REJECTED:
+                                    callbacks.failureEnablingWifi();
+                                    break;
+                                default:
+                                    callbacks.enableWifiWiseFyFailure(WiseFyCodes.TIMEOUT_EXCEEDED);
+                                    break;
+                            }
+                        }
+                    });
                 }
             }
         };
@@ -847,48 +1524,39 @@ public class WiseFy {
     }
 
     /**
-     * To retrieve the frequency of the device's current network
+     * To execute a sequence of operations as one unit on the WiseFy thread
      *
-     * @see #getCurrentNetwork()
+     * The steps share one prerequisite check, one snapshot of the saved networks, and the timeout
+     * of the pipeline.  Execution stops at the first step that fails.
      *
-     * @return Integer - The frequency of the devices current network or null if no network
-     */
-    @Sync
-    @CallingThread
-    @TargetApi(21)
-    public Integer getFrequency() {
-        WifiInfo currentNetwork = getCurrentNetwork();
-        if (currentNetwork != null) {
-            return currentNetwork.getFrequency();
-        }
-        return null;
-    }
-
-    /**
-     * To retrieve the frequency of the device's current network
+     * *NOTE* Adding a network that is already saved is not treated as a failure
      *
+     * @param pipeline The steps to execute
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see #getCurrentNetwork()
-     * @see GetFrequencyCallbacks
+     * @see ExecutePipelineCallbacks
+     * @see PipelineSteps
+     * @see WiseFyCodes
+     * @see WiseFyPipeline
+     * @see WiseFyPipelineRunner
      */
     @Async
     @WiseFyThread
-    @TargetApi(21)
-    public void getFrequency(final GetFrequencyCallbacks callbacks) {
+    @WaitsForTimeout
+    public void executePipeline(final WiseFyPipeline pipeline, final ExecutePipelineCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    WifiInfo currentNetwork = getCurrentNetwork();
-                    if (callbacks != null) {
-                        if (currentNetwork != null) {
-                            callbacks.retrievedFrequency(currentNetwork.getFrequency());
-                        } else {
-                            callbacks.failureGettingFrequency();
+                    if (pipeline == null || pipeline.getStepCount() == 0) {
+                        if (callbacks != null) {
+                            callbacks.executePipelineWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
                         }
+                        return;
                     }
+
+                    new WiseFyPipelineRunner(WiseFy.this, mWiseFyHandler, pipeline, callbacks).run();
                 }
             }
         };
@@ -896,265 +1564,230 @@ public class WiseFy {
     }
 
     /**
-     * To retrieve the frequency of a network
+     * To retrieve every access point seen by recent scans, with when each was last seen and how confident
+     * WiseFy is that it is still around
      *
-     * @param network The network to return the frequency of
+     * *NOTE* Reads from memory.  The view is updated each time a search or getNearbyAccessPoints scans.
      *
-     * @return Integer - The frequency of the devices current network or null if no network
+     * @see brains#accumulateScans(int)
+     * @see WiseFyAccumulatedScan
+     * @see WiseFySearch#getAccumulatedScan()
+     *
+     * @return WiseFyAccumulatedScan|null - The accumulated access points or null if scan accumulation is disabled
      */
     @Sync
     @CallingThread
-    @TargetApi(21)
-    public Integer getFrequency(WifiInfo network) {
-        if (network != null) {
-            return network.getFrequency();
-        }
-        return null;
+    public WiseFyAccumulatedScan getAccumulatedScan() {
+        return mWiseFySearch.getAccumulatedScan();
     }
 
     /**
-     * To retrieve the frequency of a network
+     * To find the SSIDs of nearby access points and saved networks that start with some text (i.e. for autocomplete)
      *
-     * @param network The network to return the frequency of
-     * @param callbacks The listener to return results to
+     * *NOTE* Reads from memory and does not scan.  Case insensitive.
      *
-     * @see #execute(Runnable)
-     * @see GetFrequencyCallbacks
-     * @see WiseFyCodes
+     * @param prefix The text the SSIDs start with
+     *
+     * @see #getSSIDIndex()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySSIDIndex#findByPrefix(String)
+     *
+     * @return List<String>|null - The matching SSIDs sorted alphabetically or null if none match
      */
-    @Async
-    @WiseFyThread
-    @TargetApi(21)
-    public void getFrequency(final WifiInfo network, final GetFrequencyCallbacks callbacks) {
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-                synchronized (mWiseFyLock) {
-                    if (network != null) {
-                        if (callbacks != null) {
-                            callbacks.retrievedFrequency(network.getFrequency());
-                        }
-                    }
-                    if (callbacks != null) {
-                        callbacks.getFrequencyWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
-                    }
-                }
-            }
-        };
-        execute(runnable);
+    @Sync
+    @CallingThread
+    public List<String> findSSIDsByPrefix(String prefix) {
+        if (TextUtils.isEmpty(prefix) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+
+        List<String> ssids = getSSIDIndex().findByPrefix(prefix);
+        return !ssids.isEmpty() ? ssids : null;
     }
 
     /**
-     * To retrieve a list of nearby access points
+     * To find the SSIDs of nearby access points and saved networks that contain some text
      *
-     * *NOTE* Setting filterDuplicates to true will exclude access points for an SSID that have a weaker RSSI (will always take the highest signal strength)
+     * *NOTE* Reads from memory and does not scan.  Case insensitive.
      *
-     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
+     * @param text The text to look for in the SSIDs
      *
-     * @see WiseFyPrerequisites#getWifiManager()
+     * @see #getSSIDIndex()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#removeEntriesWithLowerSignalStrength(List)
+     * @see WiseFySSIDIndex#findContaining(String)
      *
-     * @return List of ScanResults|null - List of nearby access points
+     * @return List<String>|null - The matching SSIDs sorted alphabetically or null if none match
      */
     @Sync
     @CallingThread
-    public List<ScanResult> getNearbyAccessPoints(boolean filterDuplicates) {
-        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+    public List<String> findSSIDsContaining(String text) {
+        if (TextUtils.isEmpty(text) || !mWiseFyPrerequisites.hasPrerequisites()) {
             return null;
         }
 
-        mWiseFyPrerequisites.getWifiManager().startScan();
-        if (filterDuplicates) {
-            return mWiseFySearch.removeEntriesWithLowerSignalStrength(mWiseFyPrerequisites.getWifiManager().getScanResults());
-        } else {
-            return mWiseFyPrerequisites.getWifiManager().getScanResults();
-        }
+        List<String> ssids = getSSIDIndex().findContaining(text);
+        return !ssids.isEmpty() ? ssids : null;
     }
 
     /**
-     * To retrieve a list of nearby access points
+     * To find the SSIDs of nearby access points and saved networks that are within a few typos of some text
      *
-     * *NOTE* Setting filterDuplicates to true will not return SSIDs with a weaker signal strength (will always take the highest)
+     * *NOTE* Reads from memory and does not scan.  Case insensitive.  Each edit is one character inserted,
+     * removed, or replaced and at most 2 edits are allowed.
      *
-     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
-     * @param callbacks The listener to return results to
+     * @param text The text to compare the whole SSID to
+     * @param maxEdits The maximum number of edits between the text and the SSID (0 to 2)
      *
-     * @see #execute(Runnable)
-     * @see GetNearbyAccessPointsCallbacks
-     * @see WiseFyCodes
-     * @see WiseFyPrerequisites#getWifiManager()
+     * @see #getSSIDIndex()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#removeEntriesWithLowerSignalStrength(List)
+     * @see WiseFySSIDIndex#findSimilar(String, int)
+     *
+     * @return List<String>|null - The matching SSIDs sorted by the number of edits and then alphabetically or
+     * null if none match
      */
-    @Async
-    @WiseFyThread
-    public void getNearbyAccessPoints(final boolean filterDuplicates, final GetNearbyAccessPointsCallbacks callbacks) {
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-                synchronized (mWiseFyLock) {
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
-                        if (callbacks != null) {
-                            callbacks.getNearbyAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
-                        }
-                        return;
-                    }
+    @Sync
+    @CallingThread
+    public List<String> findSimilarSSIDs(String text, int maxEdits) {
+        if (TextUtils.isEmpty(text) || maxEdits < 0 || maxEdits > WiseFySSIDIndex.MAX_EDITS
+                || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
 
-                    mWiseFyPrerequisites.getWifiManager().startScan();
-                    if (callbacks != null) {
-                        if (filterDuplicates) {
-                            callbacks.retrievedNearbyAccessPoints(mWiseFySearch.removeEntriesWithLowerSignalStrength(mWiseFyPrerequisites.getWifiManager().getScanResults()));
-                        } else {
-                            callbacks.retrievedNearbyAccessPoints(mWiseFyPrerequisites.getWifiManager().getScanResults());
-                        }
-                    }
-                }
-            }
-        };
-        execute(runnable);
+        List<String> ssids = getSSIDIndex().findSimilar(text, maxEdits);
+        return !ssids.isEmpty() ? ssids : null;
     }
 
     /**
-     * To retrieve the RSSI of the first network matching a given regex
+     * To pass each nearby access point that matches a given regex to a visitor without building a list of them
      *
-     * *NOTE* Setting takeHighest to true will return the access point with the highest RSSI for the given SSID
+     * *NOTE* Return false from the visitor to stop early.  Setting filterDuplicates to true will only visit
+     * the access point with the highest RSSI for each SSID.
      *
-     * @param regexForSSID The regex to be used to search for the ssid
-     * @param takeHighest Whether to return the access point with the highest RSSI for the given SSID
-     * @param timeoutInMillis The amount of time to search for a matching SSID
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
+     * @param visitor The visitor to pass the matching access points to (on the calling thread)
      *
+     * @see AccessPointVisitor
+     * @see WiseFyCodes
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     * @see WiseFySearch#forEachAccessPointMatchingRegex(String, boolean, AccessPointVisitor)
      *
-     * @return Integer - The RSSI value for the found SSID or null if no matching network found
+     * @return int - The number of access points passed to the visitor or a WiseFy error code
      */
     @Sync
     @CallingThread
-    @WaitsForTimeout
-    public Integer getRSSI(String regexForSSID, boolean takeHighest, int timeoutInMillis) {
-        if (TextUtils.isEmpty(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
-            return null;
+    public int forEachMatchingAccessPoint(String regexForSSID, boolean filterDuplicates, AccessPointVisitor visitor) {
+        if (TextUtils.isEmpty(regexForSSID) || visitor == null) {
+            return WiseFyCodes.MISSING_PARAMETER;
         }
 
-        ScanResult accessPoint = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, takeHighest);
-        if (accessPoint != null) {
-            return accessPoint.level;
+        if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+            return WiseFyCodes.REGEX_NOT_SUPPORTED;
         }
-        return null;
+
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return WiseFyCodes.MISSING_PREREQUISITE;
+        }
+
+        return mWiseFySearch.forEachAccessPointMatchingRegex(regexForSSID, filterDuplicates, visitor);
     }
 
     /**
-     * To retrieve the RSSI of the first network matching a given regex
+     * To pass each saved network that matches a given regex to a visitor without building a list of them
      *
-     * *NOTE* Setting takeHighest to true will return the access point with the highest RSSI for the given SSID
+     * *NOTE* Return false from the visitor to stop early
      *
-     * @param regexForSSID The regex to be used to search for the ssid
-     * @param takeHighest Whether to return the access point with the highest RSSI for the given SSID
-     * @param timeoutInMillis The amount of time to search for a matching SSID
-     * @param callbacks The listener to return results to
+     * @param regexForSSID The regex to use while searching for saved configurations
+     * @param visitor The visitor to pass the matching saved networks to (on the calling thread)
      *
-     * @see #execute(Runnable)
-     * @see GetRSSICallbacks
+     * @see SavedNetworkVisitor
      * @see WiseFyCodes
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     * @see WiseFySearch#forEachSavedNetworkMatchingRegex(String, SavedNetworkVisitor)
+     *
+     * @return int - The number of saved networks passed to the visitor or a WiseFy error code
      */
-    @Async
-    @WiseFyThread
-    @WaitsForTimeout
-    public void getRSSI(final String regexForSSID, final boolean takeHighest, final int timeoutInMillis, final GetRSSICallbacks callbacks) {
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-                synchronized (mWiseFyLock) {
-                    if (TextUtils.isEmpty(regexForSSID)) {
-                        if (callbacks != null) {
-                            callbacks.getRSSIWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
-                        }
-                        return;
-                    }
+    @Sync
+    @CallingThread
+    public int forEachMatchingSavedNetwork(String regexForSSID, SavedNetworkVisitor visitor) {
+        if (TextUtils.isEmpty(regexForSSID) || visitor == null) {
+            return WiseFyCodes.MISSING_PARAMETER;
+        }
 
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
-                        if (callbacks != null) {
-                            callbacks.getRSSIWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
-                        }
-                        return;
-                    }
+        if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+            return WiseFyCodes.REGEX_NOT_SUPPORTED;
+        }
 
-                    ScanResult accessPoint = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, takeHighest);
-                    if (callbacks != null) {
-                        if (accessPoint != null) {
-                            callbacks.retrievedRSSI(accessPoint.level);
-                        } else {
-                            callbacks.networkNotFoundToRetrieveRSSI();
-                        }
-                    }
-                }
-            }
-        };
-        execute(runnable);
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return WiseFyCodes.MISSING_PREREQUISITE;
+        }
+
+        return mWiseFySearch.forEachSavedNetworkMatchingRegex(regexForSSID, visitor);
     }
 
     /**
-     * To search for and return a saved WiFiConfiguration given an SSID
+     * To retrieve the security capabilities of a network as capability bits
      *
-     * @param regexForSSID The ssid to use while searching for saved configuration
+     * *NOTE* Each distinct capabilities string is only parsed once.  Test the result against the
+     * Capabilities.FLAG_* bits (or Capabilities.FLAGS_SECURE).
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see CapabilitiesUtil#toFlags(String)
+     *
+     * @return int - The capability bits of the network or Capabilities.FLAG_NONE if it has none
+     */
+    @Sync
+    @CallingThread
+    public int getCapabilityFlags(ScanResult scanResult) {
+        return scanResult != null ? CapabilitiesUtil.getInstance().toFlags(scanResult.capabilities) : Capabilities.FLAG_NONE;
+    }
+
+    /**
+     * To retrieve the user's current network
      *
+     * @see #getConnectionInfo()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
      *
-     * @return WifiConfiguration|null - Saved network that matches the ssid
+     * @return WifiInfo|null - The user's current network information
      */
     @Sync
     @CallingThread
-    public WifiConfiguration getSavedNetwork(String regexForSSID) {
-        if (!mWiseFyPrerequisites.hasPrerequisites() || TextUtils.isEmpty(regexForSSID)) {
+    public WifiInfo getCurrentNetwork() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
             return null;
         }
-        return mWiseFySearch.findSavedNetworkByRegex(regexForSSID);
+        return getConnectionInfo();
     }
 
     /**
-     * To search for and return a saved WiFiConfiguration given an SSID
+     * To retrieve the user's current network
      *
-     * @param regexForSSID The ssid to use while searching for saved configuration
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see GetSavedNetworkCallbacks
+     * @see GetCurrentNetworkCallbacks
      * @see WiseFyCodes
+     * @see WiseFyPrerequisites#getWifiManager()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
      */
     @Async
     @WiseFyThread
-    public void getSavedNetwork(final String regexForSSID, final GetSavedNetworkCallbacks callbacks) {
+    public void getCurrentNetwork(final GetCurrentNetworkCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    if (TextUtils.isEmpty(regexForSSID)) {
-                        if (callbacks != null) {
-                            callbacks.getSavedNetworkWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
-                        }
-                        return;
-                    }
-
                     if (!mWiseFyPrerequisites.hasPrerequisites()) {
                         if (callbacks != null) {
-                            callbacks.getSavedNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                            callbacks.getCurrentNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
                         }
                         return;
                     }
 
-                    WifiConfiguration savedNetwork = mWiseFySearch.findSavedNetworkByRegex(regexForSSID);
                     if (callbacks != null) {
-                        if (savedNetwork != null) {
-                            callbacks.retrievedSavedNetwork(savedNetwork);
-                        } else {
-                            callbacks.savedNetworkNotFound();
-                        }
+                        callbacks.retrievedCurrentNetwork(getConnectionInfo());
                     }
                 }
             }
@@ -1163,53 +1796,65 @@ public class WiseFy {
     }
 
     /**
-     * To retrieve a list of saved networks on a user's device
+     * To retrieve the recent signal strength, link speed, and frequency of the device's current network
      *
-     * @see WiseFyPrerequisites#getWifiManager()
-     * @see WiseFyPrerequisites#hasPrerequisites()
+     * *NOTE* Reads from memory.  Only returns values while the current network is being sampled.
      *
-     * @return List of WifiConfiguration|null - List of saved networks on a users device
+     * @see #startSamplingCurrentNetwork(int, int)
+     * @see WiseFyLinkSampler#getStats()
+     * @see WiseFyLinkStats
+     *
+     * @return WiseFyLinkStats|null - The latest, min, max, and mean of each measurement or null if the
+     * current network is not being sampled or there are no samples yet
      */
     @Sync
     @CallingThread
-    public List<WifiConfiguration> getSavedNetworks() {
-        if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return null;
+    public WiseFyLinkStats getCurrentNetworkStats() {
+        WiseFyLinkSampler wiseFyLinkSampler = mWiseFyLinkSampler;
+        return wiseFyLinkSampler != null ? wiseFyLinkSampler.getStats() : null;
+    }
+
+    /**
+     * To retrieve the frequency of the device's current network
+     *
+     * @see #getCurrentNetwork()
+     *
+     * @return Integer - The frequency of the devices current network or null if no network
+     */
+    @Sync
+    @CallingThread
+    @TargetApi(21)
+    public Integer getFrequency() {
+        WifiInfo currentNetwork = getCurrentNetwork();
+        if (currentNetwork != null) {
+            return currentNetwork.getFrequency();
         }
-        return mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+        return null;
     }
 
     /**
-     * To retrieve a list of saved networks on a user's device
+     * To retrieve the frequency of the device's current network
      *
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see GetSavedNetworksCallbacks
-     * @see WiseFyCodes
-     * @see WiseFyPrerequisites#getWifiManager()
-     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see #getCurrentNetwork()
+     * @see GetFrequencyCallbacks
      */
     @Async
     @WiseFyThread
-    public void getSavedNetworks(final GetSavedNetworksCallbacks callbacks) {
+    @TargetApi(21)
+    public void getFrequency(final GetFrequencyCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
-                        if (callbacks != null) {
-                            callbacks.getSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
-                        }
-                        return;
-                    }
-
-                    List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+                    WifiInfo currentNetwork = getCurrentNetwork();
                     if (callbacks != null) {
-                        if (savedNetworks != null && savedNetworks.size() > 0) {
-                            callbacks.retrievedSavedNetworks(savedNetworks);
+                        if (currentNetwork != null) {
+                            callbacks.retrievedFrequency(currentNetwork.getFrequency());
                         } else {
-                            callbacks.noSavedNetworksFound();
+                            callbacks.failureGettingFrequency();
                         }
                     }
                 }
@@ -1219,54 +1864,47 @@ public class WiseFy {
     }
 
     /**
-     * To retrieve a list of saved networks on a user's device that match a given regex
-     *
-     * @param regexForSSID The ssid to use while searching for saved configurations
+     * To retrieve the frequency of a network
      *
-     * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     * @param network The network to return the frequency of
      *
-     * @return List of WifiConfigurations|null - The list of saved network configurations that match the given regex
+     * @return Integer - The frequency of the devices current network or null if no network
      */
     @Sync
     @CallingThread
-    public List<WifiConfiguration> getSavedNetworks(String regexForSSID) {
-        if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return null;
+    @TargetApi(21)
+    public Integer getFrequency(WifiInfo network) {
+        if (network != null) {
+            return network.getFrequency();
         }
-        return mWiseFySearch.findSavedNetworksMatchingRegex(regexForSSID);
+        return null;
     }
 
     /**
-     * To retrieve a list of saved networks on a user's device that match a given regex
+     * To retrieve the frequency of a network
      *
-     * @param regexForSSID The ssid to use while searching for saved configurations
+     * @param network The network to return the frequency of
      * @param callbacks The listener to return results to
      *
-     * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     * @see #execute(Runnable)
+     * @see GetFrequencyCallbacks
+     * @see WiseFyCodes
      */
     @Async
     @WiseFyThread
-    public void getSavedNetworks(final String regexForSSID, final GetSavedNetworksCallbacks callbacks) {
+    @TargetApi(21)
+    public void getFrequency(final WifiInfo network, final GetFrequencyCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                    if (network != null) {
                         if (callbacks != null) {
-                            callbacks.getSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                            callbacks.retrievedFrequency(network.getFrequency());
                         }
-                        return;
                     }
-
                     if (callbacks != null) {
-                        List<WifiConfiguration> savedNetworks = mWiseFySearch.findSavedNetworksMatchingRegex(regexForSSID);
-                        if (savedNetworks != null && savedNetworks.size() > 0) {
-                            callbacks.retrievedSavedNetworks(savedNetworks);
-                        } else {
-                            callbacks.noSavedNetworksFound();
-                        }
+                        callbacks.getFrequencyWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
                     }
                 }
             }
@@ -1275,385 +1913,1630 @@ public class WiseFy {
     }
 
     /**
-     * To retrieve the lock in use by WiseFy for synchronization
+     * To retrieve the SSIDs of the saved networks from the warm state without a call to the system
      *
-     * @see WiseFyLock
+     * *NOTE* May have been restored from an earlier process.  Updated each time the warm state is saved.
      *
-     * @return WiseFyLock - The instance of the lock in use by WiseFy
+     * @see brains#warmStart(File, int)
+     * @see WiseFyWarmStartStore#getSavedSSIDs()
+     *
+     * @return List<String>|null - The sorted SSIDs (without quotes) of the saved networks or null if warm
+     * start is disabled or the saved networks are not known yet
      */
-    public WiseFyLock getWiseFyLock() {
-        return mWiseFyLock;
+    @Sync
+    @CallingThread
+    public List<String> getLastKnownSavedSSIDs() {
+        WiseFyWarmStart wiseFyWarmStart = mWiseFyWarmStart;
+        return wiseFyWarmStart != null ? wiseFyWarmStart.getStore().getSavedSSIDs() : null;
     }
 
     /**
-     * To check if the device is connected to a mobile network
+     * To retrieve the access points seen by the most recent scan without waiting for a new one
      *
-     * @see NetworkTypes
-     * @see WiseFyConnection#isNetworkConnectedAndMatchesType(NetworkInfo, String)
-     * @see WiseFyPrerequisites#getConnectivityManager()
-     * @see WiseFyPrerequisites#hasPrerequisites()
+     * *NOTE* The first call after the instance is created reads the warm state from disk.  If the scan was
+     * restored from an earlier process (or none is known), a fresh scan is started on the WiseFy thread
+     * and replaces it once it completes.  Check the age of the snapshot before relying on it.
      *
-     * @return bool - If the device is currently connected to a mobile network
+     * @see #execute(Runnable)
+     * @see brains#warmStart(File, int)
+     * @see WiseFySearch#scan()
+     * @see WiseFyScanSnapshot
+     * @see WiseFyWarmStart#requestRefresh()
+     *
+     * @return WiseFyScanSnapshot|null - The most recent scan or null if warm start is disabled or no scan
+     * is known yet
      */
     @Sync
     @CallingThread
-    public boolean isDeviceConnectedToMobileNetwork() {
-        if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return false;
+    public WiseFyScanSnapshot getLastKnownScan() {
+        WiseFyWarmStart wiseFyWarmStart = mWiseFyWarmStart;
+        if (wiseFyWarmStart == null) {
+            return null;
         }
 
-        NetworkInfo networkInfo = mWiseFyPrerequisites.getConnectivityManager().getActiveNetworkInfo();
-        return mWiseFyConnection.isNetworkConnectedAndMatchesType(networkInfo, NetworkTypes.MOBILE);
+        if (wiseFyWarmStart.requestRefresh() && mWiseFyPrerequisites.hasPrerequisites()) {
+            Runnable runnable = new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (mWiseFyLock) {
+                        mWiseFySearch.scan();
+                    }
+                }
+            };
+            execute(runnable);
+        }
+        return wiseFyWarmStart.getStore().getScan();
     }
 
     /**
-     * To check if the device is connected to a mobile or wifi network
+     * To retrieve a list of nearby access points
      *
-     * @see WiseFyConnection#isNetworkConnected(NetworkInfo)
-     * @see WiseFyPrerequisites#getConnectivityManager()
+     * *NOTE* Setting filterDuplicates to true will exclude access points for an SSID that have a weaker RSSI (will always take the highest signal strength)
+     *
+     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
+     *
+     * @see WiseFyPrerequisites#getWifiManager()
      * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#removeEntriesWithLowerSignalStrength(List)
+     * @see WiseFySearch#scan()
      *
-     * @return bool - If the device is currently connected to a mobile or wifi network
+     * @return List of ScanResults|null - List of nearby access points
      */
     @Sync
     @CallingThread
-    public boolean isDeviceConnectedToMobileOrWifiNetwork() {
+    public List<ScanResult> getNearbyAccessPoints(boolean filterDuplicates) {
         if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return false;
+            return null;
         }
 
-        NetworkInfo networkInfo = mWiseFyPrerequisites.getConnectivityManager().getActiveNetworkInfo();
-        return mWiseFyConnection.isNetworkConnected(networkInfo);
+        List<ScanResult> accessPoints = mWiseFySearch.scan();
+        if (filterDuplicates) {
+            return mWiseFySearch.removeEntriesWithLowerSignalStrength(accessPoints);
+        } else {
+            return accessPoints;
+        }
     }
 
     /**
-     * To check if the device is connected to a given SSID
-     *
-     * @param ssid The SSID to check if the device is attached to
+     * To retrieve a list of nearby access points
      *
-     * @see WiseFyConnection#isCurrentNetworkConnectedToSSID(String)
-     * @see WiseFyPrerequisites#hasPrerequisites()
+     * *NOTE* Setting filterDuplicates to true will not return SSIDs with a weaker signal strength (will always take the highest)
      *
-     * @return bool - If the device is currently attached to the given SSID
-     */
-    @Sync
-    @CallingThread
-    public boolean isDeviceConnectedToSSID(String ssid) {
-        return !(TextUtils.isEmpty(ssid) || !mWiseFyPrerequisites.hasPrerequisites()) && mWiseFyConnection.isCurrentNetworkConnectedToSSID(ssid);
-    }
-
-    /**
-     * To check if the device is connected to a wifi network
+     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
+     * @param callbacks The listener to return results to
      *
-     * @see NetworkTypes
-     * @see WiseFyConnection#isNetworkConnectedAndMatchesType(NetworkInfo, String)
-     * @see WiseFyPrerequisites#getConnectivityManager()
+     * @see #execute(Runnable)
+     * @see GetNearbyAccessPointsCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#getWifiManager()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     *
-     * @return bool - If the device is currently connected to a wifi network
+     * @see WiseFySearch#removeEntriesWithLowerSignalStrength(List)
+     * @see WiseFySearch#scan()
      */
-    @Sync
-    @CallingThread
-    public boolean isDeviceConnectedToWifiNetwork() {
-        if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return false;
-        }
+    @Async
+    @WiseFyThread
+    public void getNearbyAccessPoints(final boolean filterDuplicates, final GetNearbyAccessPointsCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.getNearbyAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
 
-        NetworkInfo networkInfo = mWiseFyPrerequisites.getConnectivityManager().getActiveNetworkInfo();
-        return mWiseFyConnection.isNetworkConnectedAndMatchesType(networkInfo, NetworkTypes.WIFI);
+                    List<ScanResult> accessPoints = mWiseFySearch.scan();
+                    if (callbacks != null) {
+                        if (filterDuplicates) {
+                            callbacks.retrievedNearbyAccessPoints(mWiseFySearch.removeEntriesWithLowerSignalStrength(accessPoints));
+                        } else {
+                            callbacks.retrievedNearbyAccessPoints(accessPoints);
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
     }
 
     /**
-     * To query if the device is roaming
+     * To retrieve the nearby access points as a compact table that can be read without a ScanResult for
+     * each access point
+     *
+     * *NOTE* Setting filterDuplicates to true will exclude access points for an SSID that have a weaker RSSI (will always take the highest signal strength)
+     *
+     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
      *
-     * @see WiseFyPrerequisites#getConnectivityManager()
      * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyScanTable
+     * @see WiseFySearch#scan()
+     * @see WiseFySearch#toScanTable(List)
      *
-     * @return boolean - If the current network is roaming
+     * @return WiseFyScanTable|null - The nearby access points or null if there are no scan results
      */
     @Sync
     @CallingThread
-    public boolean isDeviceRoaming() {
+    public WiseFyScanTable getNearbyAccessPointTable(boolean filterDuplicates) {
         if (!mWiseFyPrerequisites.hasPrerequisites()) {
-            return false;
+            return null;
         }
 
-        NetworkInfo networkInfo = mWiseFyPrerequisites.getConnectivityManager().getActiveNetworkInfo();
-        return  networkInfo != null && networkInfo.isRoaming();
+        return getNearbyAccessPointTableInternal(filterDuplicates);
     }
 
     /**
-     * To query if logging is enabled or disabled for a WiseFy instance
-     *
-     * @see WiseFyConfiguration#isLoggingEnabled()
+     * To retrieve the nearby access points as a compact table that can be read without a ScanResult for
+     * each access point
      *
-     * @return boolean - If logging is enabled for the WiseFy instance
-     */
-    @Sync
-    @CallingThread
-    public boolean isLoggingEnabled() {
-        return mWiseFyConfiguration.isLoggingEnabled();
-    }
-
-    /**
-     * To check if the device's current network is 5gHz
+     * *NOTE* Setting filterDuplicates to true will not return SSIDs with a weaker signal strength (will always take the highest)
      *
-     * @see #getFrequency()
-     * @see #MIN_FREQUENCY_5GHZ
-     * @see #MAX_FREQUENCY_5GHZ
+     * @param filterDuplicates If you want to exclude SSIDs with that same name that have a weaker signal strength
+     * @param callbacks The listener to return results to
      *
-     * @return boolean - If the network is 5gHz
+     * @see #execute(Runnable)
+     * @see GetNearbyAccessPointTableCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyScanTable
+     * @see WiseFySearch#scan()
+     * @see WiseFySearch#toScanTable(List)
      */
-    @Sync
-    @CallingThread
-    public boolean isNetwork5gHz() {
-        Integer frequency = getFrequency();
-        return frequency != null && frequency > MIN_FREQUENCY_5GHZ && frequency < MAX_FREQUENCY_5GHZ;
-    }
+    @Async
+    @WiseFyThread
+    public void getNearbyAccessPointTable(final boolean filterDuplicates, final GetNearbyAccessPointTableCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.getNearbyAccessPointTableWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
 
-    /**
-     * To check if a given network is 5gHz
-     *
-     * @param network The network to check if it's 5gHz
-     *
-     * @see #getFrequency(WifiInfo)
-     * @see #MIN_FREQUENCY_5GHZ
-     * @see #MAX_FREQUENCY_5GHZ
-     *
-     * @return boolean - If the network is 5gHz
-     */
-    @Sync
-    @CallingThread
-    public boolean isNetwork5gHz(WifiInfo network) {
-        Integer frequency = getFrequency(network);
-        return frequency != null && frequency > MIN_FREQUENCY_5GHZ && frequency < MAX_FREQUENCY_5GHZ;
+                    WiseFyScanTable nearbyAccessPoints = getNearbyAccessPointTableInternal(filterDuplicates);
+                    if (callbacks != null) {
+                        callbacks.retrievedNearbyAccessPointTable(nearbyAccessPoints);
+                    }
+                }
+            }
+        };
+        execute(runnable);
     }
 
     /**
-     * To check if an SSID is in the list of configured networks
+     * To retrieve the RSSI of the first network matching a given regex
      *
-     * @param ssid The SSID to check and see if it's in the list of configured networks
+     * *NOTE* Setting takeHighest to true will return the access point with the highest RSSI for the given SSID
+     *
+     * @param regexForSSID The regex to be used to search for the ssid
+     * @param takeHighest Whether to return the access point with the highest RSSI for the given SSID
+     * @param timeoutInMillis The amount of time to search for a matching SSID
      *
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#isNetworkASavedConfiguration(String)
+     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
      *
-     * @return boolean - If the SSID is in the list of configured networks
+     * @return Integer - The RSSI value for the found SSID or null if no matching network found
      */
     @Sync
     @CallingThread
-    public boolean isNetworkInConfigurationList(String ssid) {
-        return mWiseFyPrerequisites.hasPrerequisites() && mWiseFySearch.isNetworkASavedConfiguration(ssid);
+    @WaitsForTimeout
+    public Integer getRSSI(String regexForSSID, boolean takeHighest, int timeoutInMillis) {
+        if (TextUtils.isEmpty(regexForSSID) || !WiseFySSIDMatcher.isSupported(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+
+        ScanResult accessPoint = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, takeHighest);
+        if (accessPoint != null) {
+            return accessPoint.level;
+        }
+        return null;
     }
 
     /**
-     * To check and return if a network is a EAP network
+     * To retrieve the RSSI of the first network matching a given regex
      *
-     * @param scanResult The network to check
+     * *NOTE* Setting takeHighest to true will return the access point with the highest RSSI for the given SSID
      *
-     * @see Capabilities
-     * @see #containsCapability(ScanResult, String)
+     * @param regexForSSID The regex to be used to search for the ssid
+     * @param takeHighest Whether to return the access point with the highest RSSI for the given SSID
+     * @param timeoutInMillis The amount of time to search for a matching SSID
+     * @param callbacks The listener to return results to
      *
-     * @return boolean - Whether the network has EAP capabilities listed
+     * @see #execute(Runnable)
+     * @see GetRSSICallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
      */
-    @Sync
-    @CallingThread
-    public boolean isNetworkEAP(ScanResult scanResult) {
-        return containsCapability(scanResult, Capabilities.EAP);
+    @Async
+    @WiseFyThread
+    @WaitsForTimeout
+    public void getRSSI(final String regexForSSID, final boolean takeHighest, final int timeoutInMillis, final GetRSSICallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.getRSSIWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.getRSSIWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.getRSSIWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    ScanResult accessPoint = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, takeHighest);
+                    if (callbacks != null) {
+                        if (accessPoint != null) {
+                            callbacks.retrievedRSSI(accessPoint.level);
+                        } else {
+                            callbacks.networkNotFoundToRetrieveRSSI();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
     }
 
     /**
-     * To check and return if a network is a PSK network
+     * To search for and return a saved WiFiConfiguration given an SSID
      *
-     * @param scanResult The network to check
+     * @param regexForSSID The ssid to use while searching for saved configuration
      *
-     * @see Capabilities
-     * @see #containsCapability(ScanResult, String)
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
      *
-     * @return boolean - Whether the network has PSK capabilities listed
+     * @return WifiConfiguration|null - Saved network that matches the ssid
      */
     @Sync
     @CallingThread
-    public boolean isNetworkPSK(ScanResult scanResult) {
-        return containsCapability(scanResult, Capabilities.PSK);
+    public WifiConfiguration getSavedNetwork(String regexForSSID) {
+        if (!mWiseFyPrerequisites.hasPrerequisites() || TextUtils.isEmpty(regexForSSID) || !WiseFySSIDMatcher.isSupported(regexForSSID)) {
+            return null;
+        }
+        return mWiseFySearch.findSavedNetworkByRegex(regexForSSID);
     }
 
     /**
-     * To check and return if a network is secure (WEP/WPA/WPA2 capabilities)
+     * To search for and return a saved WiFiConfiguration given an SSID
      *
-     * @param scanResult The network to see if it is secure
+     * @param regexForSSID The ssid to use while searching for saved configuration
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see GetSavedNetworkCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     */
+    @Async
+    @WiseFyThread
+    public void getSavedNetwork(final String regexForSSID, final GetSavedNetworkCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.getSavedNetworkWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.getSavedNetworkWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.getSavedNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    WifiConfiguration savedNetwork = mWiseFySearch.findSavedNetworkByRegex(regexForSSID);
+                    if (callbacks != null) {
+                        if (savedNetwork != null) {
+                            callbacks.retrievedSavedNetwork(savedNetwork);
+                        } else {
+                            callbacks.savedNetworkNotFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To retrieve a list of saved networks on a user's device
+     *
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return List of WifiConfiguration|null - List of saved networks on a users device
+     */
+    @Sync
+    @CallingThread
+    public List<WifiConfiguration> getSavedNetworks() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+        return mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+    }
+
+    /**
+     * To retrieve a list of saved networks on a user's device
+     *
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see GetSavedNetworksCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     */
+    @Async
+    @WiseFyThread
+    public void getSavedNetworks(final GetSavedNetworksCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.getSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+                    if (callbacks != null) {
+                        if (savedNetworks != null && savedNetworks.size() > 0) {
+                            callbacks.retrievedSavedNetworks(savedNetworks);
+                        } else {
+                            callbacks.noSavedNetworksFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To retrieve a list of saved networks on a user's device that match a given regex
+     *
+     * @param regexForSSID The ssid to use while searching for saved configurations
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     *
+     * @return List of WifiConfigurations|null - The list of saved network configurations that match the given regex
+     */
+    @Sync
+    @CallingThread
+    public List<WifiConfiguration> getSavedNetworks(String regexForSSID) {
+        if (!mWiseFyPrerequisites.hasPrerequisites() || (regexForSSID != null && !WiseFySSIDMatcher.isSupported(regexForSSID))) {
+            return null;
+        }
+        return mWiseFySearch.findSavedNetworksMatchingRegex(regexForSSID);
+    }
+
+    /**
+     * To retrieve a list of saved networks on a user's device that match a given regex
+     *
+     * @param regexForSSID The ssid to use while searching for saved configurations
+     * @param callbacks The listener to return results to
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     */
+    @Async
+    @WiseFyThread
+    public void getSavedNetworks(final String regexForSSID, final GetSavedNetworksCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.getSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    if (regexForSSID != null && !WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.getSavedNetworksWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (callbacks != null) {
+                        List<WifiConfiguration> savedNetworks = mWiseFySearch.findSavedNetworksMatchingRegex(regexForSSID);
+                        if (savedNetworks != null && savedNetworks.size() > 0) {
+                            callbacks.retrievedSavedNetworks(savedNetworks);
+                        } else {
+                            callbacks.noSavedNetworksFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To retrieve how many scans the scan scheduler made, how many it avoided compared to scanning at the
+     * minimum interval, and its duty cycle
+     *
+     * *NOTE* Reads from memory
+     *
+     * @see #startScanScheduler(int, int)
+     * @see WiseFyScanScheduler#getStats()
+     * @see WiseFyScanSchedulerStats
+     *
+     * @return WiseFyScanSchedulerStats|null - The totals so far or null if the scheduler is not running
+     */
+    @Sync
+    @CallingThread
+    public WiseFyScanSchedulerStats getScanSchedulerStats() {
+        WiseFyScanScheduler wiseFyScanScheduler = mWiseFyScanScheduler;
+        return wiseFyScanScheduler != null ? wiseFyScanScheduler.getStats() : null;
+    }
+
+    /**
+     * To retrieve how many scans WiseFy started and how many it avoided by using the results of scans
+     * that were started by the system or another app
+     *
+     * *NOTE* Reads from memory
+     *
+     * @see brains#consumePassiveScans(int)
+     * @see WiseFySearch#getScanStats()
+     * @see WiseFyScanStats
+     *
+     * @return WiseFyScanStats|null - The totals so far or null if passive scans are disabled
+     */
+    @Sync
+    @CallingThread
+    public WiseFyScanStats getScanStats() {
+        return mWiseFySearch.getScanStats();
+    }
+
+    /**
+     * To retrieve the distribution of the signal strength of an access point over a window of time
+     * (i.e. the p50 and p95 over the last 5 minutes)
+     *
+     * *NOTE* Reads from memory.  A sample is recorded each time the access point is seen by a search
+     * or getNearbyAccessPoints.
+     *
+     * @param bssid The BSSID of the access point (i.e. ScanResult.BSSID)
+     * @param windowInMillis How far back to include samples
+     *
+     * @see brains#recordSignalHistory(int)
+     * @see WiseFySearch#getSignalHistogram(String, int)
+     * @see WiseFySignalHistogram
+     *
+     * @return WiseFySignalHistogram|null - The samples in the window or null if signal history is disabled
+     * or the access point has not been seen in the window
+     */
+    @Sync
+    @CallingThread
+    public WiseFySignalHistogram getSignalHistory(String bssid, int windowInMillis) {
+        return mWiseFySearch.getSignalHistogram(bssid, windowInMillis);
+    }
+
+    /**
+     * To retrieve the distribution of the signal strength of every access point for an SSID over a
+     * window of time
+     *
+     * *NOTE* Reads from memory.  A sample is recorded each time an access point is seen by a search
+     * or getNearbyAccessPoints.
+     *
+     * @param ssid The SSID of the access points (i.e. ScanResult.SSID)
+     * @param windowInMillis How far back to include samples
+     *
+     * @see brains#recordSignalHistory(int)
+     * @see WiseFySearch#getSignalHistogramForSSID(String, int)
+     * @see WiseFySignalHistogram
+     *
+     * @return WiseFySignalHistogram|null - The samples in the window or null if signal history is disabled
+     * or no access point for the SSID has been seen in the window
+     */
+    @Sync
+    @CallingThread
+    public WiseFySignalHistogram getSignalHistoryForSSID(String ssid, int windowInMillis) {
+        return mWiseFySearch.getSignalHistogramForSSID(ssid, windowInMillis);
+    }
+
+    /**
+     * To retrieve the smoothed signal strength of an access point
+     *
+     * *NOTE* Reads from memory.  The estimate is updated each time the access point is seen by a search
+     * or getNearbyAccessPoints.
+     *
+     * @param bssid The BSSID of the access point (i.e. ScanResult.BSSID)
+     *
+     * @see brains#smoothSignal(int)
+     * @see WiseFySearch#getSmoothedSignalLevel(String)
+     *
+     * @return Integer|null - The smoothed signal strength or null if signal smoothing is disabled or the
+     * access point has not been seen yet
+     */
+    @Sync
+    @CallingThread
+    public Integer getSmoothedRSSI(String bssid) {
+        return mWiseFySearch.getSmoothedSignalLevel(bssid);
+    }
+
+    /**
+     * To retrieve the lock in use by WiseFy for synchronization
+     *
+     * @see WiseFyLock
+     *
+     * @return WiseFyLock - The instance of the lock in use by WiseFy
+     */
+    public WiseFyLock getWiseFyLock() {
+        return mWiseFyLock;
+    }
+
+    /**
+     * To add every network in a manifest file to the user's configured network list
+     *
+     * *NOTE* The manifest is read one line at a time and networks are added in chunks.  Networks that are
+     * already saved or that appear more than once are skipped.
+     *
+     * @param manifest The manifest file (CSV or JSON lines with ssid, security, and password)
+     * @param format The format of the manifest
+     *
+     * @see ManifestFormats
+     * @see WiseFyImportResult
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyProvisioning#importManifest(File, int, ImportManifestCallbacks)
+     *
+     * @return WiseFyImportResult|null - The totals for the manifest or null if a parameter is missing,
+     * the instance is missing a prerequisite, or the manifest could not be read
+     */
+    @Sync
+    @CallingThread
+    public WiseFyImportResult importManifest(File manifest, int format) {
+        if (manifest == null || !WiseFyManifestReader.isSupportedFormat(format) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+
+        try {
+            WiseFyImportResult result = mWiseFyProvisioning.importManifest(manifest, format, null);
+            if (result.getAddedCount() > 0) {
+                notifySavedNetworksChanged();
+            }
+            return result;
+        } catch (IOException ioe) {
+            if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.e(TAG, String.format("Unable to read manifest: %s", manifest.getName()), ioe);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * To add every network in a manifest file to the user's configured network list
+     *
+     * *NOTE* The manifest is read one line at a time and networks are added in chunks.  Networks that are
+     * already saved or that appear more than once are skipped.  Progress is returned after each chunk.
+     *
+     * @param manifest The manifest file (CSV or JSON lines with ssid, security, and password)
+     * @param format The format of the manifest
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see ImportManifestCallbacks
+     * @see ManifestFormats
+     * @see WiseFyCodes
+     * @see WiseFyImportResult
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyProvisioning#importManifest(File, int, ImportManifestCallbacks)
+     */
+    @Async
+    @WiseFyThread
+    public void importManifest(final File manifest, final int format, final ImportManifestCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (manifest == null || !WiseFyManifestReader.isSupportedFormat(format)) {
+                        if (callbacks != null) {
+                            callbacks.importManifestWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.importManifestWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    WiseFyImportResult result;
+                    try {
+                        result = mWiseFyProvisioning.importManifest(manifest, format, callbacks);
+                    } catch (IOException ioe) {
+                        if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
+                            Log.e(TAG, String.format("Unable to read manifest: %s", manifest.getName()), ioe);
+                        }
+                        if (callbacks != null) {
+                            callbacks.failureReadingManifest();
+                        }
+                        return;
+                    }
+                    if (result.getAddedCount() > 0) {
+                        notifySavedNetworksChanged();
+                    }
+                    if (callbacks != null) {
+                        callbacks.manifestImported(result);
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To check if the device is connected to a mobile network
+     *
+     * @see #getActiveNetworkInfo()
+     * @see NetworkTypes
+     * @see WiseFyConnection#isNetworkConnectedAndMatchesType(NetworkInfo, String)
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return bool - If the device is currently connected to a mobile network
+     */
+    @Sync
+    @CallingThread
+    public boolean isDeviceConnectedToMobileNetwork() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        NetworkInfo networkInfo = getActiveNetworkInfo();
+        return mWiseFyConnection.isNetworkConnectedAndMatchesType(networkInfo, NetworkTypes.MOBILE);
+    }
+
+    /**
+     * To check if the device is connected to a mobile or wifi network
+     *
+     * @see #getActiveNetworkInfo()
+     * @see WiseFyConnection#isNetworkConnected(NetworkInfo)
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return bool - If the device is currently connected to a mobile or wifi network
+     */
+    @Sync
+    @CallingThread
+    public boolean isDeviceConnectedToMobileOrWifiNetwork() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        NetworkInfo networkInfo = getActiveNetworkInfo();
+        return mWiseFyConnection.isNetworkConnected(networkInfo);
+    }
+
+    /**
+     * To check if the device is connected to a given SSID
+     *
+     * @param ssid The SSID to check if the device is attached to
+     *
+     * @see WiseFyConnection#isCurrentNetworkConnectedToSSID(String)
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return bool - If the device is currently attached to the given SSID
+     */
+    @Sync
+    @CallingThread
+    public boolean isDeviceConnectedToSSID(String ssid) {
+        return !(TextUtils.isEmpty(ssid) || !WiseFySSIDMatcher.isSupported(ssid) || !mWiseFyPrerequisites.hasPrerequisites())
+                && mWiseFyConnection.isCurrentNetworkConnectedToSSID(ssid);
+    }
+
+    /**
+     * To check if the device is connected to a wifi network
+     *
+     * @see #getActiveNetworkInfo()
+     * @see NetworkTypes
+     * @see WiseFyConnection#isNetworkConnectedAndMatchesType(NetworkInfo, String)
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return bool - If the device is currently connected to a wifi network
+     */
+    @Sync
+    @CallingThread
+    public boolean isDeviceConnectedToWifiNetwork() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        NetworkInfo networkInfo = getActiveNetworkInfo();
+        return mWiseFyConnection.isNetworkConnectedAndMatchesType(networkInfo, NetworkTypes.WIFI);
+    }
+
+    /**
+     * To query if the device is roaming
+     *
+     * @see #getActiveNetworkInfo()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return boolean - If the current network is roaming
+     */
+    @Sync
+    @CallingThread
+    public boolean isDeviceRoaming() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        NetworkInfo networkInfo = getActiveNetworkInfo();
+        return  networkInfo != null && networkInfo.isRoaming();
+    }
+
+    /**
+     * To query if logging is enabled or disabled for a WiseFy instance
+     *
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     *
+     * @return boolean - If logging is enabled for the WiseFy instance
+     */
+    @Sync
+    @CallingThread
+    public boolean isLoggingEnabled() {
+        return mWiseFyConfiguration.isLoggingEnabled();
+    }
+
+    /**
+     * To check if the device's current network is 5gHz
+     *
+     * @see #getFrequency()
+     * @see #MIN_FREQUENCY_5GHZ
+     * @see #MAX_FREQUENCY_5GHZ
+     *
+     * @return boolean - If the network is 5gHz
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetwork5gHz() {
+        Integer frequency = getFrequency();
+        return frequency != null && frequency > MIN_FREQUENCY_5GHZ && frequency < MAX_FREQUENCY_5GHZ;
+    }
+
+    /**
+     * To check if a given network is 5gHz
+     *
+     * @param network The network to check if it's 5gHz
+     *
+     * @see #getFrequency(WifiInfo)
+     * @see #MIN_FREQUENCY_5GHZ
+     * @see #MAX_FREQUENCY_5GHZ
+     *
+     * @return boolean - If the network is 5gHz
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetwork5gHz(WifiInfo network) {
+        Integer frequency = getFrequency(network);
+        return frequency != null && frequency > MIN_FREQUENCY_5GHZ && frequency < MAX_FREQUENCY_5GHZ;
+    }
+
+    /**
+     * To check if an SSID is in the list of configured networks
+     *
+     * @param ssid The SSID to check and see if it's in the list of configured networks
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#isNetworkASavedConfiguration(String)
+     *
+     * @return boolean - If the SSID is in the list of configured networks
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkInConfigurationList(String ssid) {
+        return !TextUtils.isEmpty(ssid) && WiseFySSIDMatcher.isSupported(ssid) && mWiseFyPrerequisites.hasPrerequisites()
+                && mWiseFySearch.isNetworkASavedConfiguration(ssid);
+    }
+
+    /**
+     * To check and return if a network is a EAP network
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has EAP capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkEAP(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_EAP);
+    }
+
+    /**
+     * To check and return if a network is a PSK network
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has PSK capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkPSK(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_PSK);
+    }
+
+    /**
+     * To check and return if a network is an OWE (Enhanced Open) network
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has OWE capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkOWE(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_OWE);
+    }
+
+    /**
+     * To check and return if a network is secure (WEP/WPA/WPA2/WPA3/OWE capabilities)
+     *
+     * @param scanResult The network to see if it is secure
+     *
+     * @see Capabilities#FLAGS_SECURE
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network is secure
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkSecure(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAGS_SECURE);
+    }
+
+    /**
+     * To check and return if a network is a WEP network
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has WEP capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkWEP(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_WEP);
+    }
+
+    /**
+     * To check and return if a network is a WPA network
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has WPA capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkWPA(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_WPA);
+    }
+
+    /**
+     * To check and return if a network is a WPA2 network
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has WPA2 capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkWPA2(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_WPA2);
+    }
+
+    /**
+     * To check and return if a network is a WPA3 network (SAE or 192-bit enterprise)
+     *
+     * @param scanResult The network to check
+     *
+     * @see Capabilities
+     * @see #hasCapabilityFlags(ScanResult, int)
+     *
+     * @return boolean - Whether the network has WPA3 capabilities listed
+     */
+    @Sync
+    @CallingThread
+    public boolean isNetworkWPA3(ScanResult scanResult) {
+        return hasCapabilityFlags(scanResult, Capabilities.FLAG_WPA3);
+    }
+
+    /**
+     * To check if Wifi is enabled on the device or not
+     *
+     * @see WiseFyDeviceState
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     *
+     * @return boolean - if Wifi is enabled on device
+     */
+    @Sync
+    @CallingThread
+    public boolean isWifiEnabled() {
+        if (!mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        WiseFyDeviceState wiseFyDeviceState = mWiseFyDeviceState;
+        if (wiseFyDeviceState != null) {
+            return wiseFyDeviceState.getSnapshot().wifiEnabled;
+        }
+        return mWiseFyPrerequisites.getWifiManager().isWifiEnabled();
+    }
+
+    /**
+     * To run a query against the access points of the most recent scan without starting a new one
+     *
+     * *NOTE* The scan table is only built once for each scan so the same or different queries can be run
+     * against it as often as needed
+     *
+     * @param query The compiled criteria for the access points
+     *
+     * @see WiseFyQuery
+     * @see WiseFySearch#getLastKnownScanTable()
+     *
+     * @return WiseFyScanTable|null - The matching access points or null if no scan is known yet
+     */
+    @Sync
+    @CallingThread
+    public WiseFyScanTable queryLastKnownScan(WiseFyQuery query) {
+        if (query == null) {
+            return null;
+        }
+
+        WiseFyScanTable lastKnownScan = mWiseFySearch.getLastKnownScanTable();
+        return lastKnownScan != null ? query.run(lastKnownScan, System.currentTimeMillis()) : null;
+    }
+
+    /**
+     * To scan for nearby access points and return the ones that match a query
+     *
+     * @param query The compiled criteria for the access points
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyQuery
+     * @see WiseFySearch#scan()
+     * @see WiseFySearch#toScanTable(List)
+     *
+     * @return WiseFyScanTable|null - The matching access points or null if none match
+     */
+    @Sync
+    @CallingThread
+    public WiseFyScanTable queryNearbyAccessPoints(WiseFyQuery query) {
+        if (query == null || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+
+        return queryNearbyAccessPointsInternal(query);
+    }
+
+    /**
+     * To scan for nearby access points and return the ones that match a query
+     *
+     * @param query The compiled criteria for the access points
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see QueryNearbyAccessPointsCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyQuery
+     * @see WiseFySearch#scan()
+     * @see WiseFySearch#toScanTable(List)
+     */
+    @Async
+    @WiseFyThread
+    public void queryNearbyAccessPoints(final WiseFyQuery query, final QueryNearbyAccessPointsCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (query == null) {
+                        if (callbacks != null) {
+                            callbacks.queryNearbyAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.queryNearbyAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    WiseFyScanTable accessPoints = queryNearbyAccessPointsInternal(query);
+                    if (callbacks != null) {
+                        if (accessPoints != null) {
+                            callbacks.foundAccessPoints(accessPoints);
+                        } else {
+                            callbacks.noAccessPointsFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To re-read the cached connectivity, Wifi enabled state, and current network from the system
+     *
+     * *NOTE* Only has an effect when the device state cache is enabled.  The cache is normally kept up
+     * to date from system events so this is only needed if a change may have been missed.
+     *
+     * @see brains#cacheDeviceState(boolean)
+     * @see WiseFyDeviceState#refresh()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     */
+    @Sync
+    @CallingThread
+    public void refreshDeviceState() {
+        if (mWiseFyDeviceState != null && mWiseFyPrerequisites.hasPrerequisites()) {
+            mWiseFyDeviceState.refresh();
+        }
+    }
+
+    /**
+     * To remove a configured network
+     *
+     * @param ssidToRemove The ssid of the network you want to remove from the configured network list
+     *
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     *
+     * @return boolean - If the command succeeded in removing the network
+     */
+    @Sync
+    @CallingThread
+    public boolean removeNetwork(String ssidToRemove) {
+        if (TextUtils.isEmpty(ssidToRemove) || !WiseFySSIDMatcher.isSupported(ssidToRemove) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
+
+        WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToRemove);
+        if (wifiConfiguration != null) {
+            mWiseFyPrerequisites.getWifiManager().disconnect();
+            boolean result = mWiseFyPrerequisites.getWifiManager().removeNetwork(wifiConfiguration.networkId);
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Removing network: %s had result: %b", ssidToRemove, result));
+            }
+            mWiseFyPrerequisites.getWifiManager().reconnect();
+            if (result) {
+                notifySavedNetworksChanged();
+            }
+            return result;
+        } else {
+            if (LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.w(TAG, String.format("SSID to remove: %s was not found in list to remove network", ssidToRemove));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * To remove a configured network
+     *
+     * @param ssidToRemove The ssid of the network you want to remove from the configured network list
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see RemoveNetworkCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     */
+    @Async
+    @WiseFyThread
+    public void removeNetwork(final String ssidToRemove, final RemoveNetworkCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(ssidToRemove)) {
+                        if (callbacks != null) {
+                            callbacks.removeNetworkWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(ssidToRemove)) {
+                        if (callbacks != null) {
+                            callbacks.removeNetworkWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.removeNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToRemove);
+                    if (wifiConfiguration != null) {
+                        mWiseFyPrerequisites.getWifiManager().disconnect();
+                        boolean result = mWiseFyPrerequisites.getWifiManager().removeNetwork(wifiConfiguration.networkId);
+                        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                            Log.d(TAG, String.format("Removing network: %s had result: %b", ssidToRemove, result));
+                        }
+                        mWiseFyPrerequisites.getWifiManager().reconnect();
+                        if (result) {
+                            notifySavedNetworksChanged();
+                        }
+                        if (callbacks != null) {
+                            if (result) {
+                                callbacks.networkRemoved();
+                            } else {
+                                callbacks.failureRemovingNetwork();
+                            }
+                        }
+                    } else {
+                        if (LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
+                            Log.w(TAG, String.format("SSID to remove: %s was not found in list to remove network", ssidToRemove));
+                        }
+                        if (callbacks != null) {
+                            callbacks.networkNotFoundToRemove();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To remove a list of configured networks at once
      *
-     * @see Capabilities
+     * *NOTE* SSIDs are compared exactly (not as a regex) against one snapshot of the saved networks.  The
+     * device is disconnected and reconnected at most once for the whole list.
      *
-     * @return boolean - Whether the network is secure
+     * @param ssidsToRemove The SSIDs of the networks you want to remove from the configured network list
+     *
+     * @see WiseFyBatchResult
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyProvisioning#removeNetworks(List)
+     *
+     * @return WiseFyBatchResult|null - The removed network id or failure code for each SSID or null if
+     * the list is missing or the instance is missing a prerequisite
      */
     @Sync
     @CallingThread
-    public boolean isNetworkSecure(ScanResult scanResult) {
-        if (scanResult != null && scanResult.capabilities != null) {
-            String networkCapabilities = scanResult.capabilities;
-            String[] securityModes = { Capabilities.EAP, Capabilities.PSK, Capabilities.WEP, Capabilities.WPA, Capabilities.WPA2 };
-            for (int i = securityModes.length - 1; i >= 0; i--) {
-                if (networkCapabilities.contains(securityModes[i])) {
-                    return true;
+    public WiseFyBatchResult removeNetworks(List<String> ssidsToRemove) {
+        if (ssidsToRemove == null || ssidsToRemove.isEmpty() || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+        WiseFyBatchResult results = mWiseFyProvisioning.removeNetworks(ssidsToRemove);
+        if (results.getSuccessCount() > 0) {
+            notifySavedNetworksChanged();
+        }
+        return results;
+    }
+
+    /**
+     * To remove a list of configured networks at once
+     *
+     * *NOTE* SSIDs are compared exactly (not as a regex) against one snapshot of the saved networks.  The
+     * device is disconnected and reconnected at most once for the whole list.
+     *
+     * @param ssidsToRemove The SSIDs of the networks you want to remove from the configured network list
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see RemoveNetworksCallbacks
+     * @see WiseFyBatchResult
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyProvisioning#removeNetworks(List)
+     */
+    @Async
+    @WiseFyThread
+    public void removeNetworks(final List<String> ssidsToRemove, final RemoveNetworksCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (ssidsToRemove == null || ssidsToRemove.isEmpty()) {
+                        if (callbacks != null) {
+                            callbacks.removeNetworksWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.removeNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    WiseFyBatchResult results = mWiseFyProvisioning.removeNetworks(ssidsToRemove);
+                    if (results.getSuccessCount() > 0) {
+                        notifySavedNetworksChanged();
+                    }
+                    if (callbacks != null) {
+                        callbacks.networksRemoved(results);
+                    }
                 }
             }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To return the first access point that matches a given regex
+     *
+     * *NOTE* Setting filterDuplicates to true will not return an access point with a weaker signal strength (will always take the highest)
+     *
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param timeoutInMillis The amount of time (in milliseconds) to wait for a matching access point
+     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     *
+     * @return ScanResult|null - The first access point or access point with the highest signal strength matching the regex
+     */
+    @Sync
+    @CallingThread
+    public ScanResult searchForAccessPoint(String regexForSSID, int timeoutInMillis, boolean filterDuplicates) {
+        if (TextUtils.isEmpty(regexForSSID) || !WiseFySSIDMatcher.isSupported(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
         }
-        return false;
+
+        ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, filterDuplicates);
+        if (scanResult != null) {
+            return scanResult;
+        }
+        return null;
     }
 
     /**
-     * To check and return if a network is a WEP network
+     * To return the first access point that matches a given regex
      *
-     * @param scanResult The network to check
+     * *NOTE* Setting filterDuplicates to true will not return an access point with a weaker signal strength (will always take the highest)
      *
-     * @see Capabilities
-     * @see #containsCapability(ScanResult, String)
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param timeoutInMillis The amount of time (in milliseconds) to wait for a matching access point
+     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     * @param callbacks The listener to return results to
      *
-     * @return boolean - Whether the network has WEP capabilities listed
+     * @see #execute(Runnable)
+     * @see SearchForAccessPointCallbacks
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     */
+    @Async
+    @WiseFyThread
+    public void searchForAccessPoint(final String regexForSSID, final int timeoutInMillis, final boolean filterDuplicates, final SearchForAccessPointCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, filterDuplicates);
+                    if (callbacks != null) {
+                        if (scanResult != null) {
+                            callbacks.accessPointFound(scanResult);
+                        } else {
+                            callbacks.accessPointNotFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To return nearby access points that match a given regex
+     *
+     * *NOTE* Setting filterDuplicates to true will not return access points with a weaker signal strength (will always take the highest)
+     *
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findAccessPointsMatchingRegex(String, boolean)
+     *
+     * @return List of ScanResult|null - The list of matching access points or null if none match the given regex
      */
     @Sync
     @CallingThread
-    public boolean isNetworkWEP(ScanResult scanResult) {
-        return containsCapability(scanResult, Capabilities.WEP);
+    public List<ScanResult> searchForAccessPoints(String regexForSSID, boolean filterDuplicates) {
+        if (TextUtils.isEmpty(regexForSSID) || !WiseFySSIDMatcher.isSupported(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
+        }
+
+        return mWiseFySearch.findAccessPointsMatchingRegex(regexForSSID, filterDuplicates);
+    }
+
+    /**
+     * To return nearby access points that match a given regex
+     *
+     * *NOTE* Setting filterDuplicates to true will not return access points with a weaker signal strength (will always take the highest)
+     *
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     * @param callbacks The listener to return results to
+     *
+     * @see #execute(Runnable)
+     * @see SearchForAccessPointsCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findAccessPointsMatchingRegex(String, boolean)
+     */
+    @Async
+    @WiseFyThread
+    public void searchForAccessPoints(final String regexForSSID, final boolean filterDuplicates, final SearchForAccessPointsCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointsWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    List<ScanResult> networks = mWiseFySearch.findAccessPointsMatchingRegex(regexForSSID, filterDuplicates);
+                    if (callbacks != null) {
+                        if (networks != null) {
+                            callbacks.foundAccessPoints(networks);
+                        } else {
+                            callbacks.noAccessPointsFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
     }
 
     /**
-     * To check and return if a network is a WPA network
+     * To answer right away from the most recent scan and then return the first access point that matches
+     * a given regex once a fresh search completes
      *
-     * @param scanResult The network to check
+     * *NOTE* The cached result is returned first on the calling thread (if a scan is known) and is flagged with
+     * the snapshot it came from so its age can be checked.  The authoritative result is returned after on the
+     * WiseFy thread, once a new scan delivers its results or the timeout passes.  Setting filterDuplicates to
+     * true will not return an access point with a weaker signal strength (will always take the highest)
      *
-     * @see Capabilities
-     * @see #containsCapability(ScanResult, String)
+     * @param regexForSSID The regex to use when iterating through nearby access points
+     * @param timeoutInMillis The amount of time (in milliseconds) to wait for a matching access point
+     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     * @param callbacks The listener to return results to
      *
-     * @return boolean - Whether the network has WPA capabilities listed
+     * @see #execute(Runnable)
+     * @see #findAccessPointInNewScan(String, int, boolean)
+     * @see #searchForAccessPoint(String, int, boolean, SearchForAccessPointCallbacks)
+     * @see SearchForAccessPointWithRevalidationCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFyScanSnapshot
+     * @see WiseFySearch#findAccessPointInSnapshot(WiseFyScanSnapshot, String, boolean)
      */
-    @Sync
-    @CallingThread
-    public boolean isNetworkWPA(ScanResult scanResult) {
-        return containsCapability(scanResult, Capabilities.WPA);
-    }
+    @Async
+    @WiseFyThread
+    @WaitsForTimeout
+    public void searchForAccessPointWithRevalidation(final String regexForSSID, final int timeoutInMillis, final boolean filterDuplicates,
+                                                     final SearchForAccessPointWithRevalidationCallbacks callbacks) {
+        if (callbacks != null && !TextUtils.isEmpty(regexForSSID) && WiseFySSIDMatcher.isSupported(regexForSSID)
+                && mWiseFyPrerequisites.hasPrerequisites()) {
+            WiseFyScanSnapshot lastScan = mWiseFySearch.getLastKnownScan();
+            if (lastScan != null) {
+                int index = mWiseFySearch.findAccessPointInSnapshot(lastScan, regexForSSID, filterDuplicates);
+                if (index >= 0) {
+                    callbacks.cachedAccessPointFound(lastScan, index);
+                } else {
+                    callbacks.cachedAccessPointNotFound(lastScan);
+                }
+            }
+        }
 
-    /**
-     * To check and return if a network is a WPA2 network
-     *
-     * @param scanResult The network to check
-     *
-     * @see Capabilities
-     * @see #containsCapability(ScanResult, String)
-     *
-     * @return boolean - Whether the network has WPA2 capabilities listed
-     */
-    @Sync
-    @CallingThread
-    public boolean isNetworkWPA2(ScanResult scanResult) {
-        return containsCapability(scanResult, Capabilities.WPA2);
-    }
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
 
-    /**
-     * To check if Wifi is enabled on the device or not
-     *
-     * @see WiseFyPrerequisites#getWifiManager()
-     * @see WiseFyPrerequisites#hasPrerequisites()
-     *
-     * @return boolean - if Wifi is enabled on device
-     */
-    @Sync
-    @CallingThread
-    public boolean isWifiEnabled() {
-        return mWiseFyPrerequisites.hasPrerequisites() && mWiseFyPrerequisites.getWifiManager().isWifiEnabled();
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointWithRevalidationWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.searchForAccessPointWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    ScanResult scanResult = findAccessPointInNewScan(regexForSSID, timeoutInMillis, filterDuplicates);
+                    if (callbacks != null) {
+                        if (scanResult != null) {
+                            callbacks.accessPointFound(scanResult);
+                        } else {
+                            callbacks.accessPointNotFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
     }
 
     /**
-     * To remove a configured network
+     * To search local networks and return the first one that contains a given ssid
      *
-     * @param ssidToRemove The ssid of the network you want to remove from the configured network list
+     * @param regexForSSID The regex to be used to search for the ssid
+     * @param timeoutInMillis The number of milliseconds to keep searching for the SSID
      *
-     * @see WiseFyConfiguration#isLoggingEnabled()
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
      *
-     * @return boolean - If the command succeeded in removing the network
+     * @return String|null - The first SSID that contains the search ssid (if any, else null)
      */
     @Sync
     @CallingThread
-    public boolean removeNetwork(String ssidToRemove) {
-        if (TextUtils.isEmpty(ssidToRemove) || !mWiseFyPrerequisites.hasPrerequisites()) {
-            return false;
+    @WaitsForTimeout
+    public String searchForSSID(String regexForSSID, int timeoutInMillis) {
+        if (TextUtils.isEmpty(regexForSSID) || !WiseFySSIDMatcher.isSupported(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return null;
         }
 
-        WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToRemove);
-        if (wifiConfiguration != null) {
-            mWiseFyPrerequisites.getWifiManager().disconnect();
-            boolean result = mWiseFyPrerequisites.getWifiManager().removeNetwork(wifiConfiguration.networkId);
-            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                Log.d(TAG, String.format("Removing network: %s had result: %b", ssidToRemove, result));
-            }
-            mWiseFyPrerequisites.getWifiManager().reconnect();
-            return result;
-        } else {
-            if (LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
-                Log.w(TAG, String.format("SSID to remove: %s was not found in list to remove network", ssidToRemove));
-            }
+        ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, false);
+        if (scanResult != null) {
+            return scanResult.SSID;
         }
-        return false;
+        return null;
     }
 
     /**
-     * To remove a configured network
+     * To search local networks and return the first one that contains a given ssid
      *
-     * @param ssidToRemove The ssid of the network you want to remove from the configured network list
+     * @param regexForSSID The regex to be used to search for the ssid
+     * @param timeoutInMillis The number of milliseconds to keep searching for the SSID
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see RemoveNetworkCallbacks
+     * @see SearchForSSIDCallbacks
      * @see WiseFyCodes
-     * @see WiseFyConfiguration#isLoggingEnabled()
-     * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFyPrerequisites#getWifiManager()
-     * @see WiseFySearch#findSavedNetworkByRegex(String)
+     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
      */
     @Async
     @WiseFyThread
-    public void removeNetwork(final String ssidToRemove, final RemoveNetworkCallbacks callbacks) {
+    @WaitsForTimeout
+    public void searchForSSID(final String regexForSSID, final int timeoutInMillis, final SearchForSSIDCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    if (TextUtils.isEmpty(ssidToRemove)) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
                         if (callbacks != null) {
-                            callbacks.removeNetworkWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                            callbacks.searchForSSIDWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
                         }
                         return;
                     }
 
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
                         if (callbacks != null) {
-                            callbacks.removeNetworkWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                            callbacks.searchForSSIDWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
                         }
                         return;
                     }
 
-                    WifiConfiguration wifiConfiguration = mWiseFySearch.findSavedNetworkByRegex(ssidToRemove);
-                    if (wifiConfiguration != null) {
-                        mWiseFyPrerequisites.getWifiManager().disconnect();
-                        boolean result = mWiseFyPrerequisites.getWifiManager().removeNetwork(wifiConfiguration.networkId);
-                        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                            Log.d(TAG, String.format("Removing network: %s had result: %b", ssidToRemove, result));
-                        }
-                        mWiseFyPrerequisites.getWifiManager().reconnect();
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
                         if (callbacks != null) {
-                            if (result) {
-                                callbacks.networkRemoved();
-                            } else {
-                                callbacks.failureRemovingNetwork();
-                            }
-                        }
-                    } else {
-                        if (LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
-                            Log.w(TAG, String.format("SSID to remove: %s was not found in list to remove network", ssidToRemove));
+                            callbacks.searchForSSIDWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
                         }
-                        if (callbacks != null) {
-                            callbacks.networkNotFoundToRemove();
+                        return;
+                    }
+
+                    ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, false);
+                    if (callbacks != null) {
+                        if (scanResult != null) {
+                            callbacks.ssidFound(scanResult.SSID);
+                        } else {
+                            callbacks.ssidNotFound();
                         }
                     }
                 }
@@ -1663,75 +3546,149 @@ public class WiseFy {
     }
 
     /**
-     * To return the first access point that matches a given regex
-     *
-     * *NOTE* Setting filterDuplicates to true will not return an access point with a weaker signal strength (will always take the highest)
+     * To search local networks and return the first one that contains a given ssid
      *
-     * @param regexForSSID The regex to use when iterating through nearby access points
-     * @param timeoutInMillis The amount of time (in milliseconds) to wait for a matching access point
-     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     * @param regexForSSID The regex to be used to search for the ssid
      *
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     * @see WiseFySearch#findSSIDsMatchingRegex(String)
      *
-     * @return ScanResult|null - The first access point or access point with the highest signal strength matching the regex
+     * @return String|null - The first SSID that contains the search ssid (if any, else null)
      */
     @Sync
     @CallingThread
-    public ScanResult searchForAccessPoint(String regexForSSID, int timeoutInMillis, boolean filterDuplicates) {
-        if (TextUtils.isEmpty(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
+    public List<String> searchForSSIDs(String regexForSSID) {
+        if (TextUtils.isEmpty(regexForSSID) || !WiseFySSIDMatcher.isSupported(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
             return null;
         }
 
-        ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, filterDuplicates);
-        if (scanResult != null) {
-            return scanResult;
-        }
-        return null;
+        return mWiseFySearch.findSSIDsMatchingRegex(regexForSSID);
     }
 
     /**
-     * To return the first access point that matches a given regex
+     * To search local networks and return the first one that contains a given ssid
      *
-     * *NOTE* Setting filterDuplicates to true will not return an access point with a weaker signal strength (will always take the highest)
+     * @param regexForSSID The regex to be used to search for the ssid
+     * @param callbacks The listener to return results to
      *
-     * @param regexForSSID The regex to use when iterating through nearby access points
-     * @param timeoutInMillis The amount of time (in milliseconds) to wait for a matching access point
-     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     * @see #execute(Runnable)
+     * @see SearchForSSIDCallbacks
+     * @see WiseFyCodes
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     * @see WiseFySearch#findSSIDsMatchingRegex(String)
+     */
+    @Async
+    @WiseFyThread
+    public void searchForSSIDs(final String regexForSSID, final SearchForSSIDsCallbacks callbacks) {
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWiseFyLock) {
+                    if (TextUtils.isEmpty(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForSSIDsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForSSIDsWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
+                        }
+                        return;
+                    }
+
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        if (callbacks != null) {
+                            callbacks.searchForSSIDsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        }
+                        return;
+                    }
+
+                    List<String> ssids = mWiseFySearch.findSSIDsMatchingRegex(regexForSSID);
+                    if (callbacks != null) {
+                        if (ssids != null) {
+                            callbacks.retrievedSSIDs(ssids);
+                        } else {
+                            callbacks.noSSIDsFound();
+                        }
+                    }
+                }
+            }
+        };
+        execute(runnable);
+    }
+
+    /**
+     * To answer right away from the most recent scan and then return the first SSID that matches a given
+     * regex once a fresh search completes
+     *
+     * *NOTE* The cached result is returned first on the calling thread (if a scan is known) and is flagged with
+     * the snapshot it came from so its age can be checked.  The authoritative result is returned after on the
+     * WiseFy thread, once a new scan delivers its results or the timeout passes.
+     *
+     * @param regexForSSID The regex to be used to search for the ssid
+     * @param timeoutInMillis The number of milliseconds to keep searching for the SSID
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see SearchForAccessPointCallbacks
+     * @see #findAccessPointInNewScan(String, int, boolean)
+     * @see #searchForSSID(String, int, SearchForSSIDCallbacks)
+     * @see SearchForSSIDWithRevalidationCallbacks
+     * @see WiseFyCodes
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     * @see WiseFyScanSnapshot
+     * @see WiseFySearch#findAccessPointInSnapshot(WiseFyScanSnapshot, String, boolean)
      */
     @Async
     @WiseFyThread
-    public void searchForAccessPoint(final String regexForSSID, final int timeoutInMillis, final boolean filterDuplicates, final SearchForAccessPointCallbacks callbacks) {
+    @WaitsForTimeout
+    public void searchForSSIDWithRevalidation(final String regexForSSID, final int timeoutInMillis,
+                                              final SearchForSSIDWithRevalidationCallbacks callbacks) {
+        if (callbacks != null && !TextUtils.isEmpty(regexForSSID) && WiseFySSIDMatcher.isSupported(regexForSSID)
+                && mWiseFyPrerequisites.hasPrerequisites()) {
+            WiseFyScanSnapshot lastScan = mWiseFySearch.getLastKnownScan();
+            if (lastScan != null) {
+                int index = mWiseFySearch.findAccessPointInSnapshot(lastScan, regexForSSID, false);
+                if (index >= 0) {
+                    callbacks.cachedSSIDFound(lastScan.getSSID(index), lastScan);
+                } else {
+                    callbacks.cachedSSIDNotFound(lastScan);
+                }
+            }
+        }
+
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
                     if (TextUtils.isEmpty(regexForSSID)) {
                         if (callbacks != null) {
-                            callbacks.searchForAccessPointWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                            callbacks.searchForSSIDWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                        }
+                        return;
+                    }
+
+                    if (!WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                        if (callbacks != null) {
+                            callbacks.searchForSSIDWithRevalidationWiseFyFailure(WiseFyCodes.REGEX_NOT_SUPPORTED);
                         }
                         return;
                     }
 
                     if (!mWiseFyPrerequisites.hasPrerequisites()) {
                         if (callbacks != null) {
-                            callbacks.searchForAccessPointWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                            callbacks.searchForSSIDWithRevalidationWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
                         }
                         return;
                     }
 
-                    ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, filterDuplicates);
+                    ScanResult scanResult = findAccessPointInNewScan(regexForSSID, timeoutInMillis, false);
                     if (callbacks != null) {
                         if (scanResult != null) {
-                            callbacks.accessPointFound(scanResult);
+                            callbacks.ssidFound(scanResult.SSID);
                         } else {
-                            callbacks.accessPointNotFound();
+                            callbacks.ssidNotFound();
                         }
                     }
                 }
@@ -1741,146 +3698,158 @@ public class WiseFy {
     }
 
     /**
-     * To return nearby access points that match a given regex
+     * To start sampling the signal strength, link speed, and frequency of the device's current network
      *
-     * *NOTE* Setting filterDuplicates to true will not return access points with a weaker signal strength (will always take the highest)
+     * *NOTE* Samples are read from the current connection info at the given interval and whenever the RSSI
+     * of the current network changes.  No scans are started.  The samples are cleared when the device moves
+     * to a different access point.
      *
-     * @param regexForSSID The regex to use when iterating through nearby access points
-     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
+     * *NOTE* Replaces any sampling that is already running.  Must be stopped!! {@link #stopSamplingCurrentNetwork()}
+     *
+     * @param intervalInMillis The amount of time between samples
+     * @param numberOfSamples The number of most recent samples to keep for each measurement
      *
+     * @see #getCurrentNetworkStats()
+     * @see WiseFyLinkSampler
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointsMatchingRegex(String, boolean)
      *
-     * @return List of ScanResult|null - The list of matching access points or null if none match the given regex
+     * @return boolean - True if sampling was started
      */
     @Sync
     @CallingThread
-    public List<ScanResult> searchForAccessPoints(String regexForSSID, boolean filterDuplicates) {
-        if (TextUtils.isEmpty(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
-            return null;
+    public boolean startSamplingCurrentNetwork(int intervalInMillis, int numberOfSamples) {
+        if (intervalInMillis <= 0 || numberOfSamples <= 0 || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
         }
 
-        return mWiseFySearch.findAccessPointsMatchingRegex(regexForSSID, filterDuplicates);
+        stopSamplingCurrentNetwork();
+        WiseFyLinkSampler wiseFyLinkSampler = new WiseFyLinkSampler(getBroadcastHub(), mWiseFyPrerequisites, intervalInMillis, numberOfSamples);
+        wiseFyLinkSampler.start();
+        mWiseFyLinkSampler = wiseFyLinkSampler;
+        return true;
     }
 
     /**
-     * To return nearby access points that match a given regex
+     * To start scanning on a schedule that adapts to the screen state, the charging state, how much the
+     * environment is changing, and the scan budget
      *
-     * *NOTE* Setting filterDuplicates to true will not return access points with a weaker signal strength (will always take the highest)
+     * *NOTE* The interval doubles (up to the maximum) each time a scan shows the access points barely
+     * changed and goes back to the minimum as soon as they change a lot.  It is stretched while the screen
+     * is off and the device is not charging, and at most 4 scans are made every 2 minutes.
      *
-     * @param regexForSSID The regex to use when iterating through nearby access points
-     * @param filterDuplicates If you want to exclude access points with the same name that have a weaker signal strength
-     * @param callbacks The listener to return results to
+     * *NOTE* Scans are started and their results are read on the WiseFy thread.  The results are read with
+     * getLastKnownScan() or by subscribing to scan results available events.  Replaces a scheduler that is
+     * already running.  Must be stopped!! {@link #stopScanScheduler()}
      *
-     * @see #execute(Runnable)
-     * @see SearchForAccessPointsCallbacks
-     * @see WiseFyCodes
+     * @param minIntervalInMillis The shortest amount of time between scans
+     * @param maxIntervalInMillis The longest amount of time between scans
+     *
+     * @see #getLastKnownScan()
+     * @see #getScanSchedulerStats()
+     * @see #subscribeToEvents(int, SubscribeToEventsCallbacks)
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointsMatchingRegex(String, boolean)
+     * @see WiseFyScanScheduler
+     *
+     * @return boolean - True if the scheduler was started
      */
-    @Async
-    @WiseFyThread
-    public void searchForAccessPoints(final String regexForSSID, final boolean filterDuplicates, final SearchForAccessPointsCallbacks callbacks) {
-        Runnable runnable = new Runnable() {
-            @Override
-            public void run() {
-                synchronized (mWiseFyLock) {
-                    if (TextUtils.isEmpty(regexForSSID)) {
-                        if (callbacks != null) {
-                            callbacks.searchForAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
-                        }
-                        return;
-                    }
-
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
-                        if (callbacks != null) {
-                            callbacks.searchForAccessPointsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
-                        }
-                        return;
-                    }
+    @Sync
+    @CallingThread
+    public boolean startScanScheduler(int minIntervalInMillis, int maxIntervalInMillis) {
+        if (minIntervalInMillis <= 0 || maxIntervalInMillis < minIntervalInMillis || !mWiseFyPrerequisites.hasPrerequisites()) {
+            return false;
+        }
 
-                    List<ScanResult> networks = mWiseFySearch.findAccessPointsMatchingRegex(regexForSSID, filterDuplicates);
-                    if (callbacks != null) {
-                        if (networks != null) {
-                            callbacks.foundAccessPoints(networks);
-                        } else {
-                            callbacks.noAccessPointsFound();
-                        }
-                    }
-                }
-            }
-        };
-        execute(runnable);
+        stopScanScheduler();
+        if (mWiseFyHandler == null) {
+            setupWiseFyThread();
+        }
+        WiseFyScanScheduler wiseFyScanScheduler = new WiseFyScanScheduler(mContext, getBroadcastHub(), mWiseFySearch,
+                mWiseFyHandler, mWiseFyLock, mWiseFyPrerequisites, minIntervalInMillis, maxIntervalInMillis);
+        wiseFyScanScheduler.start();
+        mWiseFyScanScheduler = wiseFyScanScheduler;
+        return true;
     }
 
     /**
-     * To search local networks and return the first one that contains a given ssid
-     *
-     * @param regexForSSID The regex to be used to search for the ssid
-     * @param timeoutInMillis The number of milliseconds to keep searching for the SSID
+     * To stop sampling the device's current network
      *
-     * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     * *NOTE* The samples that were taken are discarded
      *
-     * @return String|null - The first SSID that contains the search ssid (if any, else null)
+     * @see #startSamplingCurrentNetwork(int, int)
      */
     @Sync
     @CallingThread
-    @WaitsForTimeout
-    public String searchForSSID(String regexForSSID, int timeoutInMillis) {
-        if (TextUtils.isEmpty(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
-            return null;
+    public void stopSamplingCurrentNetwork() {
+        WiseFyLinkSampler wiseFyLinkSampler = mWiseFyLinkSampler;
+        mWiseFyLinkSampler = null;
+        if (wiseFyLinkSampler != null) {
+            wiseFyLinkSampler.stop();
         }
+    }
 
-        ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, false);
-        if (scanResult != null) {
-            return scanResult.SSID;
+    /**
+     * To stop the scan scheduler
+     *
+     * @see #startScanScheduler(int, int)
+     */
+    @Sync
+    @CallingThread
+    public void stopScanScheduler() {
+        WiseFyScanScheduler wiseFyScanScheduler = mWiseFyScanScheduler;
+        mWiseFyScanScheduler = null;
+        if (wiseFyScanScheduler != null) {
+            wiseFyScanScheduler.stop();
         }
-        return null;
     }
 
     /**
-     * To search local networks and return the first one that contains a given ssid
+     * To receive changes on the device as they happen instead of polling for them
      *
-     * @param regexForSSID The regex to be used to search for the ssid
-     * @param timeoutInMillis The number of milliseconds to keep searching for the SSID
-     * @param callbacks The listener to return results to
+     * *NOTE* Scan results available, connectivity changed, Wifi state changed, and RSSI changed events come
+     * from one broadcast receiver registration that is shared by every subscriber.  Saved networks changed
+     * events are published when WiseFy adds, removes, or updates a saved network.
+     *
+     * *NOTE* Events are delivered on a dedicated delivery thread so they are not held up by WiseFy operations
+     * that are waiting on the WiseFy thread.  If a subscriber falls behind, only the latest event of each type
+     * is kept for it and the number of events that were dropped is reported on the event.
+     *
+     * *NOTE* Subscribing the same callbacks again replaces the event types they receive.  Must be
+     * unsubscribed!! {@link #unsubscribeFromEvents(SubscribeToEventsCallbacks)}
+     *
+     * @param eventTypes The event types to receive as a combination of EventTypes flags (i.e. EventTypes.ALL)
+     * @param callbacks The listener to deliver events to
      *
      * @see #execute(Runnable)
-     * @see SearchForSSIDCallbacks
+     * @see EventTypes
+     * @see SubscribeToEventsCallbacks
      * @see WiseFyCodes
-     * @see WiseFySearch#findAccessPointByRegex(String, Integer, boolean)
+     * @see WiseFyEvent
+     * @see WiseFyEventStream
+     * @see WiseFyPrerequisites#hasPrerequisites()
      */
     @Async
     @WiseFyThread
-    @WaitsForTimeout
-    public void searchForSSID(final String regexForSSID, final int timeoutInMillis, final SearchForSSIDCallbacks callbacks) {
+    public void subscribeToEvents(final int eventTypes, final SubscribeToEventsCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    if (TextUtils.isEmpty(regexForSSID)) {
-                        if (callbacks != null) {
-                            callbacks.searchForSSIDWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
-                        }
+                    if (callbacks == null) {
                         return;
                     }
 
-                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
-                        if (callbacks != null) {
-                            callbacks.searchForSSIDWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
-                        }
+                    if ((eventTypes & EventTypes.ALL) == 0) {
+                        callbacks.subscribeToEventsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
                         return;
                     }
 
-                    ScanResult scanResult = mWiseFySearch.findAccessPointByRegex(regexForSSID, timeoutInMillis, false);
-                    if (callbacks != null) {
-                        if (scanResult != null) {
-                            callbacks.ssidFound(scanResult.SSID);
-                        } else {
-                            callbacks.ssidNotFound();
-                        }
+                    if (!mWiseFyPrerequisites.hasPrerequisites()) {
+                        callbacks.subscribeToEventsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                        return;
                     }
+
+                    getEventStream().subscribe(eventTypes, callbacks);
+                    callbacks.subscribedToEvents();
                 }
             }
         };
@@ -1888,65 +3857,86 @@ public class WiseFy {
     }
 
     /**
-     * To search local networks and return the first one that contains a given ssid
+     * To make the user's configured network list match a desired set of networks
      *
-     * @param regexForSSID The regex to be used to search for the ssid
+     * *NOTE* Only the differences are applied: saved networks that are not desired are removed, desired
+     * networks that are not saved are added, and saved networks that differ are updated.  The device is not
+     * disconnected and the network it is connected to is only updated or removed (last) when it has to be.
+     *
+     * *NOTE* Passwords of saved networks are not readable on most devices, so a changed password alone may
+     * not be detected as a difference
+     *
+     * @param desiredNetworks The network configurations that should be saved (i.e. from WifiConfigurationUtil)
      *
+     * @see WifiConfigurationUtil
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSSIDsMatchingRegex(String)
+     * @see WiseFyProvisioning#syncSavedNetworks(List)
+     * @see WiseFySyncResult
      *
-     * @return String|null - The first SSID that contains the search ssid (if any, else null)
+     * @return WiseFySyncResult|null - The networks that were added, updated, and removed or null if the
+     * list is missing or the instance is missing a prerequisite
      */
     @Sync
     @CallingThread
-    public List<String> searchForSSIDs(String regexForSSID) {
-        if (TextUtils.isEmpty(regexForSSID) || !mWiseFyPrerequisites.hasPrerequisites()) {
+    public WiseFySyncResult syncSavedNetworks(List<WifiConfiguration> desiredNetworks) {
+        if (desiredNetworks == null || !mWiseFyPrerequisites.hasPrerequisites()) {
             return null;
         }
-
-        return mWiseFySearch.findSSIDsMatchingRegex(regexForSSID);
+        WiseFySyncResult result = mWiseFyProvisioning.syncSavedNetworks(desiredNetworks);
+        if (hasChanges(result)) {
+            notifySavedNetworksChanged();
+        }
+        return result;
     }
 
     /**
-     * To search local networks and return the first one that contains a given ssid
+     * To make the user's configured network list match a desired set of networks
      *
-     * @param regexForSSID The regex to be used to search for the ssid
+     * *NOTE* Only the differences are applied: saved networks that are not desired are removed, desired
+     * networks that are not saved are added, and saved networks that differ are updated.  The device is not
+     * disconnected and the network it is connected to is only updated or removed (last) when it has to be.
+     *
+     * *NOTE* Passwords of saved networks are not readable on most devices, so a changed password alone may
+     * not be detected as a difference
+     *
+     * @param desiredNetworks The network configurations that should be saved (i.e. from WifiConfigurationUtil)
      * @param callbacks The listener to return results to
      *
      * @see #execute(Runnable)
-     * @see SearchForSSIDCallbacks
+     * @see SyncSavedNetworksCallbacks
+     * @see WifiConfigurationUtil
      * @see WiseFyCodes
      * @see WiseFyPrerequisites#hasPrerequisites()
-     * @see WiseFySearch#findSSIDsMatchingRegex(String)
+     * @see WiseFyProvisioning#syncSavedNetworks(List)
+     * @see WiseFySyncResult
      */
     @Async
     @WiseFyThread
-    public void searchForSSIDs(final String regexForSSID, final SearchForSSIDsCallbacks callbacks) {
+    public void syncSavedNetworks(final List<WifiConfiguration> desiredNetworks, final SyncSavedNetworksCallbacks callbacks) {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
                 synchronized (mWiseFyLock) {
-                    if (TextUtils.isEmpty(regexForSSID)) {
+                    if (desiredNetworks == null) {
                         if (callbacks != null) {
-                            callbacks.searchForSSIDsWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
+                            callbacks.syncSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PARAMETER);
                         }
                         return;
                     }
 
                     if (!mWiseFyPrerequisites.hasPrerequisites()) {
                         if (callbacks != null) {
-                            callbacks.searchForSSIDsWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                            callbacks.syncSavedNetworksWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
                         }
                         return;
                     }
 
-                    List<String> ssids = mWiseFySearch.findSSIDsMatchingRegex(regexForSSID);
+                    WiseFySyncResult result = mWiseFyProvisioning.syncSavedNetworks(desiredNetworks);
+                    if (hasChanges(result)) {
+                        notifySavedNetworksChanged();
+                    }
                     if (callbacks != null) {
-                        if (ssids != null) {
-                            callbacks.retrievedSSIDs(ssids);
-                        } else {
-                            callbacks.noSSIDsFound();
-                        }
+                        callbacks.savedNetworksSynced(result);
                     }
                 }
             }
@@ -1954,6 +3944,25 @@ public class WiseFy {
         execute(runnable);
     }
 
+    /**
+     * To stop receiving changes on the device
+     *
+     * *NOTE* Events that are pending for the callbacks are dropped
+     *
+     * @param callbacks The listener that was passed to subscribeToEvents
+     *
+     * @see #subscribeToEvents(int, SubscribeToEventsCallbacks)
+     * @see WiseFyEventStream
+     *
+     * @return boolean - True if the callbacks were subscribed
+     */
+    @Sync
+    @CallingThread
+    public boolean unsubscribeFromEvents(SubscribeToEventsCallbacks callbacks) {
+        WiseFyEventStream wiseFyEventStream = mWiseFyEventStream;
+        return callbacks != null && wiseFyEventStream != null && wiseFyEventStream.unsubscribe(callbacks);
+    }
+
     /*
      * HELPERS
      */
@@ -1973,20 +3982,32 @@ public class WiseFy {
             if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
                 Log.e(TAG, "Failed to add network");
             }
+        } else {
+            notifySavedNetworksChanged();
         }
         return result;
     }
 
     /**
-     * Used internally to check if a network has a given capability
+     * Used internally to start connecting to a saved network without blocking the WiseFy thread
      *
-     * @param scanResult The network to check
-     * @param capability The capability to check for
+     * *NOTE* Cancels any connection that is still in progress
      *
-     * @return boolean - True if the network contains the capability
+     * @param wifiConfiguration The saved configuration of the network to connect to
+     * @param ssidToConnectTo The ssid to verify the device is connected to
+     * @param timeoutInMillis The number of milliseconds to wait for the device to connect
+     * @param callbacks The listener to return results to
+     *
+     * @see WiseFyConnectStateMachine
      */
-    private boolean containsCapability(ScanResult scanResult, String capability) {
-        return scanResult != null && scanResult.capabilities != null && scanResult.capabilities.contains(capability);
+    @WiseFyThread
+    void connect(WifiConfiguration wifiConfiguration, String ssidToConnectTo, int timeoutInMillis, ConnectToNetworkCallbacks callbacks) {
+        if (mWiseFyConnectStateMachine != null) {
+            mWiseFyConnectStateMachine.cancel();
+        }
+        mWiseFyConnectStateMachine = new WiseFyConnectStateMachine(mWiseFyHandler, mWiseFyLock, mWiseFyConnection,
+                mWiseFyPrerequisites, wifiConfiguration, ssidToConnectTo, timeoutInMillis, callbacks);
+        mWiseFyConnectStateMachine.start();
     }
 
     /**
@@ -2003,6 +4024,209 @@ public class WiseFy {
         mWiseFyHandler.post(runnable);
     }
 
+    /**
+     * Used internally to start a scan and return the first access point whose SSID matches a given regex
+     * once the results of the scan are delivered
+     *
+     * *NOTE* Blocks until SCAN_RESULTS_AVAILABLE_ACTION is received or the timeout passes.  The latest scan
+     * results are searched either way.
+     *
+     * @param regexForSSID The regex to check the SSID of the network against
+     * @param timeoutInMillis The amount of time to wait for the scan results
+     * @param takeHighest If only an access point with the highest RSSI for its SSID should be returned
+     *
+     * @see WiseFyScanWaiter#startAndAwait(int)
+     * @see WiseFySearch#findAccessPointInScanResults(String, boolean)
+     *
+     * @return ScanResult|null - The first matching access point or null if there is no match
+     */
+    private ScanResult findAccessPointInNewScan(String regexForSSID, int timeoutInMillis, boolean takeHighest) {
+        WiseFyScanWaiter waiter = new WiseFyScanWaiter(getBroadcastHub(), mWiseFyPrerequisites);
+        waiter.startAndAwait(timeoutInMillis);
+        return mWiseFySearch.findAccessPointInScanResults(regexForSSID, takeHighest);
+    }
+
+    /**
+     * Used internally to retrieve the active network from the device state cache if it is enabled or
+     * from the system otherwise
+     *
+     * @see WiseFyDeviceState
+     * @see WiseFyPrerequisites#getConnectivityManager()
+     *
+     * @return NetworkInfo|null - The active network or null if there is none
+     */
+    private NetworkInfo getActiveNetworkInfo() {
+        WiseFyDeviceState wiseFyDeviceState = mWiseFyDeviceState;
+        if (wiseFyDeviceState != null) {
+            return wiseFyDeviceState.getSnapshot().activeNetworkInfo;
+        }
+        return mWiseFyPrerequisites.getConnectivityManager().getActiveNetworkInfo();
+    }
+
+    /**
+     * Used internally to retrieve the hub that shares one broadcast receiver between WiseFy features
+     *
+     * *NOTE* Created the first time it is needed and released in {@link #dump()}
+     *
+     * @see WiseFyBroadcastHub
+     *
+     * @return WiseFyBroadcastHub - The hub for this instance
+     */
+    synchronized WiseFyBroadcastHub getBroadcastHub() {
+        if (mWiseFyBroadcastHub == null) {
+            mWiseFyBroadcastHub = new WiseFyBroadcastHub(mContext);
+        }
+        return mWiseFyBroadcastHub;
+    }
+
+    /**
+     * Used internally to retrieve the current network from the device state cache if it is enabled or
+     * from the system otherwise
+     *
+     * @see WiseFyDeviceState
+     * @see WiseFyPrerequisites#getWifiManager()
+     *
+     * @return WifiInfo|null - The current network or null if there is none
+     */
+    private WifiInfo getConnectionInfo() {
+        WiseFyDeviceState wiseFyDeviceState = mWiseFyDeviceState;
+        if (wiseFyDeviceState != null) {
+            return wiseFyDeviceState.getSnapshot().connectionInfo;
+        }
+        return mWiseFyPrerequisites.getWifiManager().getConnectionInfo();
+    }
+
+    /**
+     * Used internally to retrieve the stream that delivers events to subscribers
+     *
+     * *NOTE* Created the first time it is needed and released in {@link #dump()}
+     *
+     * @see WiseFyEventStream
+     *
+     * @return WiseFyEventStream - The event stream for this instance
+     */
+    synchronized WiseFyEventStream getEventStream() {
+        if (mWiseFyEventStream == null) {
+            mWiseFyEventStream = new WiseFyEventStream(getBroadcastHub());
+        }
+        return mWiseFyEventStream;
+    }
+
+    /**
+     * Used internally to scan and copy the results into a scan table
+     *
+     * @param filterDuplicates If access points for an SSID with a weaker signal strength should be excluded
+     *
+     * @see WiseFySearch#scan()
+     * @see WiseFySearch#toScanTable(List)
+     * @see WiseFyScanTable#selectStrongestPerSSID()
+     *
+     * @return WiseFyScanTable|null - The nearby access points or null if there are no scan results
+     */
+    private WiseFyScanTable getNearbyAccessPointTableInternal(boolean filterDuplicates) {
+        List<ScanResult> accessPoints = mWiseFySearch.scan();
+        if (accessPoints == null) {
+            return null;
+        }
+
+        WiseFyScanTable nearbyAccessPoints = mWiseFySearch.toScanTable(accessPoints);
+        return filterDuplicates ? nearbyAccessPoints.selectStrongestPerSSID() : nearbyAccessPoints;
+    }
+
+    /**
+     * Used internally to retrieve the SSID index without reading the saved networks on the calling thread
+     *
+     * *NOTE* If the saved networks in the index are out of date they are read again on the WiseFy thread
+     * and show up in the index once that read completes
+     *
+     * @see WiseFySearch#getSSIDIndex()
+     * @see WiseFySearch#refreshSavedSSIDs()
+     * @see WiseFySearch#requestSavedSSIDsRefresh()
+     *
+     * @return WiseFySSIDIndex - The index of the SSIDs in the most recent scan and the saved networks
+     */
+    private WiseFySSIDIndex getSSIDIndex() {
+        final WiseFySearch wiseFySearch = mWiseFySearch;
+        WiseFySSIDIndex ssidIndex = wiseFySearch.getSSIDIndex();
+        if (wiseFySearch.requestSavedSSIDsRefresh()) {
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (mWiseFyLock) {
+                        wiseFySearch.refreshSavedSSIDs();
+                    }
+                }
+            });
+        }
+        return ssidIndex;
+    }
+
+    /**
+     * Used internally to check if a network has any of the given capability bits
+     *
+     * @param scanResult The network to check
+     * @param capabilityFlags The capability bits to check for
+     *
+     * @see #getCapabilityFlags(ScanResult)
+     *
+     * @return boolean - True if the network has at least one of the capability bits
+     */
+    private boolean hasCapabilityFlags(ScanResult scanResult, int capabilityFlags) {
+        return (getCapabilityFlags(scanResult) & capabilityFlags) != 0;
+    }
+
+    /**
+     * Used internally to check if syncing the saved networks changed any of them
+     *
+     * @param result The result of the sync
+     *
+     * @return boolean - True if at least one network was added, updated, or removed
+     */
+    private boolean hasChanges(WiseFySyncResult result) {
+        return result.getAdded().getSuccessCount() > 0
+                || result.getUpdated().getSuccessCount() > 0
+                || result.getRemoved().getSuccessCount() > 0;
+    }
+
+    /**
+     * Used internally to publish a saved networks changed event after WiseFy adds, removes, or updates a
+     * saved network
+     *
+     * *NOTE* Also has the SSID index read the saved networks again.  The event is not published if no one has
+     * subscribed to events
+     *
+     * @see WiseFyEventStream#publishSavedNetworksChanged()
+     * @see WiseFySearch#invalidateSavedSSIDs()
+     */
+    void notifySavedNetworksChanged() {
+        mWiseFySearch.invalidateSavedSSIDs();
+        WiseFyEventStream wiseFyEventStream = mWiseFyEventStream;
+        if (wiseFyEventStream != null && wiseFyEventStream.hasSubscribers()) {
+            wiseFyEventStream.publishSavedNetworksChanged();
+        }
+    }
+
+    /**
+     * Used internally to scan and run a query against the results
+     *
+     * @param query The compiled criteria for the access points
+     *
+     * @see WiseFyQuery
+     * @see WiseFySearch#scan()
+     * @see WiseFySearch#toScanTable(List)
+     *
+     * @return WiseFyScanTable|null - The matching access points or null if none match
+     */
+    private WiseFyScanTable queryNearbyAccessPointsInternal(WiseFyQuery query) {
+        List<ScanResult> accessPoints = mWiseFySearch.scan();
+        if (accessPoints == null) {
+            return null;
+        }
+
+        WiseFyScanTable matches = query.run(mWiseFySearch.toScanTable(accessPoints), System.currentTimeMillis());
+        return matches.getAccessPointCount() > 0 ? matches : null;
+    }
+
     /**
      * Used internally to setup a WiseFyThread to run background operations
      *
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.ScanResult;
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * Every access point seen by recent scans, merged into one view.
+ *
+ * Each access point is the ScanResult from the last scan it was seen in, along with when that scan
+ * happened, how many scans in a row it has been missing from since, and the share of scans it was seen
+ * in since it first appeared.
+ *
+ * @see WiseFy#getAccumulatedScan()
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyAccumulatedScan {
+
+    private final ScanResult[] mAccessPoints;
+
+    private final long[] mLastSeen;
+
+    private final int[] mMissCounts;
+
+    private final float[] mConfidences;
+
+    /**
+     * Constructor with the values of each access point
+     *
+     * @param accessPoints The last ScanResult of each access point
+     * @param lastSeen The time each access point was last seen (System#currentTimeMillis())
+     * @param missCounts The number of scans in a row each access point has been missing from
+     * @param confidences The share of scans each access point was seen in since it first appeared
+     */
+    WiseFyAccumulatedScan(ScanResult[] accessPoints, long[] lastSeen, int[] missCounts, float[] confidences) {
+        mAccessPoints = accessPoints;
+        mLastSeen = lastSeen;
+        mMissCounts = missCounts;
+        mConfidences = confidences;
+    }
+
+    /**
+     * @return int - The number of access points
+     */
+    public int getAccessPointCount() {
+        return mAccessPoints.length;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return ScanResult - The access point as of the last scan it was seen in
+     */
+    public ScanResult getAccessPoint(int index) {
+        return mAccessPoints[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return long - The time of the last scan the access point was seen in (System#currentTimeMillis())
+     */
+    public long getLastSeenInMillis(int index) {
+        return mLastSeen[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The number of scans in a row the access point has been missing from (0 if it was in the latest scan)
+     */
+    public int getMissCount(int index) {
+        return mMissCounts[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return float - The share of the scans since the access point first appeared that it was seen in (0 to 1)
+     */
+    public float getConfidence(int index) {
+        return mConfidences[index];
+    }
+}
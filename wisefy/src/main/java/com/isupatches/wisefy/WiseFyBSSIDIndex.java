@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+
+
+/**
+ * A class used internally to map packed BSSIDs to dense indexes for parallel primitive arrays.
+ *
+ * Keys are kept in an open addressing table with linear probing so lookups and inserts do not box or
+ * allocate.  Indexes are always 0 to size - 1.  Removing a key moves the last key into the freed index so
+ * the owner of the parallel arrays has to move its values the same way.
+ *
+ * *NOTE* Not thread safe.  Callers are expected to synchronize access
+ *
+ * @see com.isupatches.wisefy.util.BSSIDUtil
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyBSSIDIndex {
+
+    static final int NOT_FOUND = -1;
+
+    private final long[] mKeys;
+
+    private final int[] mTable;
+
+    private final int mMask;
+
+    private int mSize;
+
+    /**
+     * Constructor for an empty index
+     *
+     * @param capacity The maximum number of keys
+     */
+    WiseFyBSSIDIndex(int capacity) {
+        mKeys = new long[Math.max(capacity, 1)];
+        int tableSize = Integer.highestOneBit(mKeys.length * 2 - 1) << 1;
+        mTable = new int[tableSize];
+        mMask = tableSize - 1;
+    }
+
+    /**
+     * @return int - The maximum number of keys
+     */
+    int getCapacity() {
+        return mKeys.length;
+    }
+
+    /**
+     * @return int - The number of keys
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * @param index The index of the key
+     *
+     * @return long - The packed BSSID at the index
+     */
+    long keyAt(int index) {
+        return mKeys[index];
+    }
+
+    /**
+     * @param key The packed BSSID to look up
+     *
+     * @return int - The index of the key or NOT_FOUND
+     */
+    int indexOf(long key) {
+        int slot = findSlot(key);
+        return mTable[slot] == 0 ? NOT_FOUND : mTable[slot] - 1;
+    }
+
+    /**
+     * Used internally to add a key at the end of the indexes
+     *
+     * *NOTE* The key must not be in the index and the index must not be full
+     *
+     * @param key The packed BSSID to add
+     *
+     * @return int - The index of the new key
+     */
+    int add(long key) {
+        if (mSize == mKeys.length) {
+            throw new IllegalStateException("Index is full");
+        }
+        int index = mSize++;
+        mKeys[index] = key;
+        mTable[findSlot(key)] = index + 1;
+        return index;
+    }
+
+    /**
+     * Used internally to remove the key at an index
+     *
+     * *NOTE* The last key is moved into the freed index
+     *
+     * @param index The index of the key to remove
+     *
+     * @return int - The old index of the key that was moved into the freed index or NOT_FOUND if no key moved
+     */
+    int removeAt(int index) {
+        removeSlot(findSlot(mKeys[index]));
+        int last = --mSize;
+        if (index == last) {
+            return NOT_FOUND;
+        }
+        long movedKey = mKeys[last];
+        mKeys[index] = movedKey;
+        mTable[findSlot(movedKey)] = index + 1;
+        return last;
+    }
+
+    /**
+     * Used internally to remove every key
+     */
+    void clear() {
+        for (int i = 0; i < mTable.length; i++) {
+            mTable[i] = 0;
+        }
+        mSize = 0;
+    }
+
+    /*
+     * Helpers
+     */
+
+    private int home(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mMask;
+    }
+
+    private int findSlot(long key) {
+        int slot = home(key);
+        while (mTable[slot] != 0 && mKeys[mTable[slot] - 1] != key) {
+            slot = (slot + 1) & mMask;
+        }
+        return slot;
+    }
+
+    private void removeSlot(int slot) {
+        mTable[slot] = 0;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mMask;
+            if (mTable[next] == 0) {
+                return;
+            }
+            int home = home(mKeys[mTable[next] - 1]);
+            boolean canMove = slot <= next ? (home <= slot || home > next) : (home <= slot && home > next);
+            if (canMove) {
+                mTable[slot] = mTable[next];
+                mTable[next] = 0;
+                slot = next;
+            }
+        }
+    }
+}
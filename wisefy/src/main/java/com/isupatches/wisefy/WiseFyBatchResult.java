@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import java.util.Arrays;
+
+
+/**
+ * The per-network results of a batch operation, in the order the networks were given.
+ *
+ * A result code of zero or greater is the network id that was added or removed.  Negative values are
+ * either {@link WiseFy#WIFI_MANAGER_FAILURE} or one of the values in WiseFyCodes.
+ *
+ * @see WiseFy#addNetworks(java.util.List)
+ * @see WiseFy#removeNetworks(java.util.List)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyBatchResult {
+
+    private String[] mSSIDs;
+
+    private int[] mResultCodes;
+
+    private int mSize;
+
+    /**
+     * Constructor with the expected number of results
+     *
+     * @param capacity The number of results to allocate room for
+     */
+    WiseFyBatchResult(int capacity) {
+        mSSIDs = new String[Math.max(capacity, 1)];
+        mResultCodes = new int[mSSIDs.length];
+    }
+
+    /**
+     * Used internally to record the result for a network
+     *
+     * @param ssid The ssid of the network
+     * @param resultCode The network id or failure code for the network
+     */
+    void add(String ssid, int resultCode) {
+        if (mSize == mSSIDs.length) {
+            mSSIDs = Arrays.copyOf(mSSIDs, mSize * 2);
+            mResultCodes = Arrays.copyOf(mResultCodes, mSize * 2);
+        }
+        mSSIDs[mSize] = ssid;
+        mResultCodes[mSize] = resultCode;
+        mSize++;
+    }
+
+    /**
+     * @return int - The number of networks in the batch
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * To retrieve the ssid of a network in the batch
+     *
+     * @param index The position of the network in the batch
+     *
+     * @return String|null - The ssid of the network or null if it was missing
+     */
+    public String getSSID(int index) {
+        checkIndex(index);
+        return mSSIDs[index];
+    }
+
+    /**
+     * To retrieve the result code for a network in the batch
+     *
+     * @param index The position of the network in the batch
+     *
+     * @return int - The network id if successful, otherwise the failure code
+     */
+    public int getResultCode(int index) {
+        checkIndex(index);
+        return mResultCodes[index];
+    }
+
+    /**
+     * To check if the operation succeeded for a network in the batch
+     *
+     * @param index The position of the network in the batch
+     *
+     * @return boolean - True if the network was successfully added or removed
+     */
+    public boolean isSuccessful(int index) {
+        return getResultCode(index) >= 0;
+    }
+
+    /**
+     * @return int - The number of networks the operation succeeded for
+     */
+    public int getSuccessCount() {
+        int count = 0;
+        for (int i = 0; i < mSize; i++) {
+            if (mResultCodes[i] >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return int - The number of networks the operation did not succeed for
+     */
+    public int getFailureCount() {
+        return mSize - getSuccessCount();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, mSize));
+        }
+    }
+}
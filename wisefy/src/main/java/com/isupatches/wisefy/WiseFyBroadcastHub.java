@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.annotation.TargetApi;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.NetworkRequest;
+import android.os.Build;
+import android.os.Handler;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.threads.WiseFyHandlerThread;
+import com.isupatches.wisefy.util.LogUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * A class used internally to share broadcast receiver registrations between every WiseFy feature
+ * that listens for system events.
+ *
+ * Listeners register for the actions they care about and each action gets its own receiver that stays
+ * registered until the action has no listeners left.  Adding or removing another action never touches
+ * an existing registration, so current listeners neither miss broadcasts nor get sticky broadcasts
+ * replayed to them.  Every broadcast is delivered on a dedicated event thread so listeners are never
+ * stuck behind operations that are blocking the WiseFy thread.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be released!! {@link WiseFy#dump()}
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyBroadcastHub {
+
+    private static final String TAG = WiseFyBroadcastHub.class.getSimpleName();
+
+    private static final String EVENT_THREAD_NAME = "WiseFyEventThread";
+
+    /**
+     * A listener for a broadcast action
+     */
+    interface Listener {
+
+        /**
+         * Called on the event thread for each broadcast of an action the listener registered for
+         *
+         * @param intent The broadcast that was received
+         */
+        void onReceive(Intent intent);
+    }
+
+    /**
+     * The receiver registered for a single action that delivers its broadcasts to the action's listeners
+     */
+    private static class ActionReceiver extends BroadcastReceiver {
+
+        private final CopyOnWriteArrayList<Listener> mActionListeners;
+
+        ActionReceiver(CopyOnWriteArrayList<Listener> actionListeners) {
+            mActionListeners = actionListeners;
+        }
+
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            for (Listener listener : mActionListeners) {
+                listener.onReceive(intent);
+            }
+        }
+    }
+
+    private final Context mContext;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final Map<String, CopyOnWriteArrayList<Listener>> mListeners = new HashMap<>();
+
+    private final Map<String, ActionReceiver> mReceivers = new HashMap<>();
+
+    private final List<ConnectivityManager.NetworkCallback> mNetworkCallbacks = new ArrayList<>();
+
+    private WiseFyHandlerThread mEventThread;
+
+    private Handler mEventHandler;
+
+    /**
+     * Constructor for a hub that has not registered for anything yet
+     *
+     * @param context The context to register receivers with (the application context is used)
+     */
+    WiseFyBroadcastHub(Context context) {
+        Context applicationContext = context.getApplicationContext();
+        mContext = applicationContext != null ? applicationContext : context;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+    }
+
+    /**
+     * Used internally to retrieve the handler for the event thread that broadcasts are delivered on
+     *
+     * *NOTE* Starts the event thread if it is not running yet
+     *
+     * @return Handler - The handler for the event thread
+     */
+    synchronized Handler getEventHandler() {
+        if (mEventHandler == null) {
+            mEventThread = new WiseFyHandlerThread(EVENT_THREAD_NAME, mWiseFyConfiguration.isLoggingEnabled());
+            mEventThread.start();
+            mEventHandler = new Handler(mEventThread.getLooper());
+        }
+        return mEventHandler;
+    }
+
+    /**
+     * Used internally to start delivering a broadcast action to a listener
+     *
+     * *NOTE* A receiver is only registered when the action is new to the hub
+     *
+     * @param action The broadcast action to listen for
+     * @param listener The listener to deliver the broadcast to
+     */
+    synchronized void register(String action, Listener listener) {
+        CopyOnWriteArrayList<Listener> listeners = mListeners.get(action);
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+            mListeners.put(action, listeners);
+            listeners.add(listener);
+            registerReceiver(action, listeners);
+        } else {
+            listeners.addIfAbsent(listener);
+        }
+    }
+
+    /**
+     * Used internally to stop delivering a broadcast action to a listener
+     *
+     * *NOTE* The receiver for the action is unregistered once it has no listeners left
+     *
+     * @param action The broadcast action to stop listening for
+     * @param listener The listener to remove
+     */
+    synchronized void unregister(String action, Listener listener) {
+        CopyOnWriteArrayList<Listener> listeners = mListeners.get(action);
+        if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+            mListeners.remove(action);
+            ActionReceiver receiver = mReceivers.remove(action);
+            if (receiver != null) {
+                mContext.unregisterReceiver(receiver);
+            }
+        }
+    }
+
+    /**
+     * Used internally to listen for changes to networks that match a request
+     *
+     * @param connectivityManager The connectivity manager to register with
+     * @param networkRequest The networks to listen for
+     * @param networkCallback The callback to notify
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    synchronized void registerNetworkCallback(ConnectivityManager connectivityManager, NetworkRequest networkRequest,
+                                              ConnectivityManager.NetworkCallback networkCallback) {
+        connectivityManager.registerNetworkCallback(networkRequest, networkCallback);
+        mNetworkCallbacks.add(networkCallback);
+    }
+
+    /**
+     * Used internally to unregister everything the hub registered and stop the event thread
+     *
+     * @param connectivityManager The connectivity manager network callbacks were registered with
+     */
+    synchronized void release(ConnectivityManager connectivityManager) {
+        mListeners.clear();
+        for (ActionReceiver receiver : mReceivers.values()) {
+            mContext.unregisterReceiver(receiver);
+        }
+        mReceivers.clear();
+        if (connectivityManager != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            for (ConnectivityManager.NetworkCallback networkCallback : mNetworkCallbacks) {
+                connectivityManager.unregisterNetworkCallback(networkCallback);
+            }
+        }
+        mNetworkCallbacks.clear();
+        if (mEventThread != null) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                mEventThread.quitSafely();
+            } else {
+                mEventThread.quit();
+            }
+            mEventThread = null;
+        }
+        mEventHandler = null;
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void registerReceiver(String action, CopyOnWriteArrayList<Listener> listeners) {
+        ActionReceiver receiver = new ActionReceiver(listeners);
+        mContext.registerReceiver(receiver, new IntentFilter(action), null, getEventHandler());
+        mReceivers.put(action, receiver);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Registered for action: %s", action));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import android.os.Handler;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.annotations.WiseFyThread;
+import com.isupatches.wisefy.callbacks.ConnectToNetworkCallbacks;
+import com.isupatches.wisefy.util.LogUtil;
+
+
+/**
+ * A class used internally to connect to a saved network without blocking the WiseFy thread.
+ *
+ * Each step of the connection is posted to the WiseFy handler as its own message and only holds
+ * the WiseFy lock for the duration of that step, so other queued operations can run while the
+ * device is associating.  Only the completion of the connection itself waits on the timeout.
+ *
+ * *NOTE* One instance per connection attempt
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyConnectStateMachine implements Runnable {
+
+    private static final String TAG = WiseFyConnectStateMachine.class.getSimpleName();
+
+    static final int STATE_DISCONNECTING = 0;
+
+    static final int STATE_ENABLING = 1;
+
+    static final int STATE_ASSOCIATING = 2;
+
+    static final int STATE_VERIFYING = 3;
+
+    static final int STATE_DONE = 4;
+
+    static final int VERIFICATION_INTERVAL_IN_MILLIS = 1000;
+
+    private final Handler mHandler;
+
+    private final Object mLock;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WiseFyConnection mWiseFyConnection;
+
+    private final WiseFyPrerequisites mWiseFyPrerequisites;
+
+    private final WifiConfiguration mWifiConfiguration;
+
+    private final String mSSIDToConnectTo;
+
+    private final int mTimeoutInMillis;
+
+    private final ConnectToNetworkCallbacks mCallbacks;
+
+    private int mState = STATE_DISCONNECTING;
+
+    private long mEndTime;
+
+    /**
+     * Constructor for a single connection attempt
+     *
+     * @param handler The WiseFy handler to post each step to
+     * @param lock The lock to hold while a step is running
+     * @param wiseFyConnection The connection instance used to verify the device is connected
+     * @param wiseFyPrerequisites The prerequisites instance with the WifiManager to use
+     * @param wifiConfiguration The saved configuration of the network to connect to
+     * @param ssidToConnectTo The ssid to verify the device is connected to
+     * @param timeoutInMillis The number of milliseconds to wait for the device to connect once associating
+     * @param callbacks The listener to return results to
+     */
+    WiseFyConnectStateMachine(Handler handler, Object lock, WiseFyConnection wiseFyConnection,
+                              WiseFyPrerequisites wiseFyPrerequisites, WifiConfiguration wifiConfiguration,
+                              String ssidToConnectTo, int timeoutInMillis, ConnectToNetworkCallbacks callbacks) {
+        mHandler = handler;
+        mLock = lock;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWiseFyConnection = wiseFyConnection;
+        mWiseFyPrerequisites = wiseFyPrerequisites;
+        mWifiConfiguration = wifiConfiguration;
+        mSSIDToConnectTo = ssidToConnectTo;
+        mTimeoutInMillis = timeoutInMillis;
+        mCallbacks = callbacks;
+    }
+
+    /**
+     * Used internally to begin the connection attempt
+     *
+     * @see #run()
+     */
+    void start() {
+        mHandler.post(this);
+    }
+
+    /**
+     * Used internally to stop a connection attempt that has not finished yet
+     *
+     * *NOTE* The attempt will report a failure to connect if it was still in progress
+     *
+     * @see ConnectToNetworkCallbacks#failureConnectingToNetwork()
+     */
+    @WiseFyThread
+    void cancel() {
+        synchronized (mLock) {
+            mHandler.removeCallbacks(this);
+            if (mState != STATE_DONE) {
+                if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                    Log.d(TAG, String.format("Cancelling connection to %s in state %d", mSSIDToConnectTo, mState));
+                }
+                finish(false);
+            }
+        }
+    }
+
+    /**
+     * Used internally to stop a connection attempt without reporting a result
+     *
+     * *NOTE* Only used when the WiseFy thread is being cleaned up
+     */
+    void abandon() {
+        synchronized (mLock) {
+            mHandler.removeCallbacks(this);
+            mState = STATE_DONE;
+        }
+    }
+
+    /**
+     * @return int - The current state of the connection attempt
+     */
+    int getState() {
+        return mState;
+    }
+
+    /**
+     * Used internally to run the current step of the connection attempt and schedule the next one
+     *
+     * @see WiseFyConnection#isCurrentNetworkConnectedToSSID(String)
+     * @see WiseFyPrerequisites#getWifiManager()
+     */
+    @Override
+    @WiseFyThread
+    public void run() {
+        synchronized (mLock) {
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Connecting to %s, state: %d", mSSIDToConnectTo, mState));
+            }
+            switch (mState) {
+                case STATE_DISCONNECTING:
+                    mWiseFyPrerequisites.getWifiManager().disconnect();
+                    advance(STATE_ENABLING);
+                    break;
+                case STATE_ENABLING:
+                    mWiseFyPrerequisites.getWifiManager().enableNetwork(mWifiConfiguration.networkId, true);
+                    advance(STATE_ASSOCIATING);
+                    break;
+                case STATE_ASSOCIATING:
+                    mWiseFyPrerequisites.getWifiManager().reconnect();
+                    mEndTime = System.currentTimeMillis() + mTimeoutInMillis;
+                    advance(STATE_VERIFYING);
+                    break;
+                case STATE_VERIFYING:
+                    verify();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    /**
+     * Used internally to move to the next state and post it behind anything else already queued
+     *
+     * @param nextState The state to run next
+     */
+    private void advance(int nextState) {
+        mState = nextState;
+        mHandler.post(this);
+    }
+
+    /**
+     * Used internally to check if the device has connected and re-check later if there is still time
+     *
+     * @see #VERIFICATION_INTERVAL_IN_MILLIS
+     * @see WiseFyConnection#isCurrentNetworkConnectedToSSID(String)
+     */
+    private void verify() {
+        if (mWiseFyConnection.isCurrentNetworkConnectedToSSID(mSSIDToConnectTo)) {
+            finish(true);
+            return;
+        }
+
+        long remaining = mEndTime - System.currentTimeMillis();
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Not connected to %s yet, %d milliseconds remaining", mSSIDToConnectTo, remaining));
+        }
+        if (remaining > 0) {
+            mHandler.postDelayed(this, Math.min(remaining, VERIFICATION_INTERVAL_IN_MILLIS));
+        } else {
+            finish(false);
+        }
+    }
+
+    /**
+     * Used internally to mark the attempt as done and return the result to the listener
+     *
+     * @param connected If the device connected to the network
+     */
+    private void finish(boolean connected) {
+        mState = STATE_DONE;
+        if (mCallbacks != null) {
+            if (connected) {
+                mCallbacks.connectedToNetwork();
+            } else {
+                mCallbacks.failureConnectingToNetwork();
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.annotation.TargetApi;
+import android.content.Intent;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkInfo;
+import android.net.NetworkRequest;
+import android.net.wifi.WifiInfo;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.Handler;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.LogUtil;
+
+
+/**
+ * A class used internally to cache the connectivity state, Wifi enabled state, and current network
+ * of the device so they can be read without a call to the system.
+ *
+ * The state is kept as one immutable snapshot behind a volatile reference.  Reads never lock and always
+ * see a coherent set of values.  Snapshots are only replaced on the event thread when the system reports
+ * a change (NetworkCallback, WIFI_STATE_CHANGED_ACTION, NETWORK_STATE_CHANGED_ACTION, RSSI_CHANGED_ACTION)
+ * or a refresh is forced.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be stopped!! {@link WiseFy#dump()}
+ *
+ * @see WiseFyBroadcastHub
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyDeviceState implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyDeviceState.class.getSimpleName();
+
+    /**
+     * An immutable set of values read at the same time
+     */
+    static class Snapshot {
+
+        final NetworkInfo activeNetworkInfo;
+
+        final WifiInfo connectionInfo;
+
+        final boolean wifiEnabled;
+
+        Snapshot(NetworkInfo activeNetworkInfo, WifiInfo connectionInfo, boolean wifiEnabled) {
+            this.activeNetworkInfo = activeNetworkInfo;
+            this.connectionInfo = connectionInfo;
+            this.wifiEnabled = wifiEnabled;
+        }
+    }
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WiseFyPrerequisites mWiseFyPrerequisites;
+
+    private volatile Snapshot mSnapshot;
+
+    private final Runnable mRefreshActiveNetwork = new Runnable() {
+        @Override
+        public void run() {
+            Snapshot snapshot = mSnapshot;
+            if (snapshot != null) {
+                publish(getActiveNetworkInfo(), snapshot.connectionInfo, snapshot.wifiEnabled);
+            }
+        }
+    };
+
+    /**
+     * Constructor for a cache that is not listening yet
+     *
+     * @param wiseFyBroadcastHub The hub to receive system events through
+     * @param wiseFyPrerequisites The prerequisites instance with the managers to read from
+     */
+    WiseFyDeviceState(WiseFyBroadcastHub wiseFyBroadcastHub, WiseFyPrerequisites wiseFyPrerequisites) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWiseFyPrerequisites = wiseFyPrerequisites;
+    }
+
+    /**
+     * Used internally to read the initial state and start listening for changes
+     *
+     * @see #refresh()
+     */
+    void start() {
+        refresh();
+        mWiseFyBroadcastHub.register(WifiManager.WIFI_STATE_CHANGED_ACTION, this);
+        mWiseFyBroadcastHub.register(WifiManager.NETWORK_STATE_CHANGED_ACTION, this);
+        mWiseFyBroadcastHub.register(WifiManager.RSSI_CHANGED_ACTION, this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            registerNetworkCallback();
+        } else {
+            mWiseFyBroadcastHub.register(ConnectivityManager.CONNECTIVITY_ACTION, this);
+        }
+    }
+
+    /**
+     * Used internally to stop listening for changes
+     *
+     * *NOTE* The last snapshot can still be read
+     */
+    void stop() {
+        mWiseFyBroadcastHub.unregister(WifiManager.WIFI_STATE_CHANGED_ACTION, this);
+        mWiseFyBroadcastHub.unregister(WifiManager.NETWORK_STATE_CHANGED_ACTION, this);
+        mWiseFyBroadcastHub.unregister(WifiManager.RSSI_CHANGED_ACTION, this);
+        mWiseFyBroadcastHub.unregister(ConnectivityManager.CONNECTIVITY_ACTION, this);
+    }
+
+    /**
+     * Used internally to re-read every value from the system and replace the snapshot
+     *
+     * *NOTE* Makes a call to the system for each value
+     */
+    void refresh() {
+        WifiManager wifiManager = mWiseFyPrerequisites.getWifiManager();
+        publish(getActiveNetworkInfo(), wifiManager.getConnectionInfo(), wifiManager.isWifiEnabled());
+    }
+
+    /**
+     * @return Snapshot - The latest values read from the system
+     */
+    Snapshot getSnapshot() {
+        return mSnapshot;
+    }
+
+    /**
+     * Used internally to update the snapshot for a system event
+     *
+     * @param intent The broadcast that was received
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        Snapshot snapshot = mSnapshot;
+        String action = intent.getAction();
+        if (WifiManager.WIFI_STATE_CHANGED_ACTION.equals(action)) {
+            int wifiState = intent.getIntExtra(WifiManager.EXTRA_WIFI_STATE, WifiManager.WIFI_STATE_UNKNOWN);
+            boolean wifiEnabled = wifiState == WifiManager.WIFI_STATE_UNKNOWN
+                    ? mWiseFyPrerequisites.getWifiManager().isWifiEnabled()
+                    : wifiState == WifiManager.WIFI_STATE_ENABLED;
+            publish(snapshot.activeNetworkInfo, mWiseFyPrerequisites.getWifiManager().getConnectionInfo(), wifiEnabled);
+        } else if (WifiManager.NETWORK_STATE_CHANGED_ACTION.equals(action) || WifiManager.RSSI_CHANGED_ACTION.equals(action)) {
+            publish(snapshot.activeNetworkInfo, mWiseFyPrerequisites.getWifiManager().getConnectionInfo(), snapshot.wifiEnabled);
+        } else if (ConnectivityManager.CONNECTIVITY_ACTION.equals(action)) {
+            publish(getActiveNetworkInfo(), snapshot.connectionInfo, snapshot.wifiEnabled);
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    private NetworkInfo getActiveNetworkInfo() {
+        ConnectivityManager connectivityManager = mWiseFyPrerequisites.getConnectivityManager();
+        return connectivityManager != null ? connectivityManager.getActiveNetworkInfo() : null;
+    }
+
+    private void publish(NetworkInfo activeNetworkInfo, WifiInfo connectionInfo, boolean wifiEnabled) {
+        mSnapshot = new Snapshot(activeNetworkInfo, connectionInfo, wifiEnabled);
+        if (LogUtil.isLoggable(TAG, Log.VERBOSE, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.v(TAG, String.format("Device state updated, wifi enabled: %b, active network: %s", wifiEnabled, activeNetworkInfo));
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void registerNetworkCallback() {
+        ConnectivityManager connectivityManager = mWiseFyPrerequisites.getConnectivityManager();
+        if (connectivityManager == null) {
+            return;
+        }
+
+        final Handler eventHandler = mWiseFyBroadcastHub.getEventHandler();
+        ConnectivityManager.NetworkCallback networkCallback = new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onAvailable(Network network) {
+                eventHandler.post(mRefreshActiveNetwork);
+            }
+
+            @Override
+            public void onLost(Network network) {
+                eventHandler.post(mRefreshActiveNetwork);
+            }
+
+            @Override
+            public void onCapabilitiesChanged(Network network, NetworkCapabilities networkCapabilities) {
+                eventHandler.post(mRefreshActiveNetwork);
+            }
+        };
+        mWiseFyBroadcastHub.registerNetworkCallback(connectivityManager, new NetworkRequest.Builder().build(), networkCallback);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.constants.EventTypes;
+
+
+/**
+ * A change on the device that was delivered to an event subscriber.
+ *
+ * Only the values that belong to the type of the event are set.  If newer events of the same type
+ * arrived before an older one could be delivered, only the newest one is delivered and the number of
+ * events it replaced is reported as the conflated count.
+ *
+ * @see EventTypes
+ * @see WiseFy#subscribeToEvents(int, com.isupatches.wisefy.callbacks.SubscribeToEventsCallbacks)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyEvent {
+
+    private final int mType;
+
+    private final long mTimestamp;
+
+    private final Integer mWifiState;
+
+    private final Integer mRSSI;
+
+    private final boolean mScanResultsUpdated;
+
+    private final int mConflatedCount;
+
+    /**
+     * Constructor for an event that has not been delivered yet
+     *
+     * @param type The type of the event from EventTypes
+     * @param timestamp The time the event was received (SystemClock#elapsedRealtime())
+     * @param wifiState The new Wifi state for WIFI_STATE_CHANGED events
+     * @param rssi The new RSSI of the current network for RSSI_CHANGED events
+     * @param scanResultsUpdated If a SCAN_RESULTS_AVAILABLE event has new results
+     * @param conflatedCount The number of older events of the same type this event replaced
+     */
+    WiseFyEvent(int type, long timestamp, Integer wifiState, Integer rssi, boolean scanResultsUpdated, int conflatedCount) {
+        mType = type;
+        mTimestamp = timestamp;
+        mWifiState = wifiState;
+        mRSSI = rssi;
+        mScanResultsUpdated = scanResultsUpdated;
+        mConflatedCount = conflatedCount;
+    }
+
+    /**
+     * @return int - The type of the event
+     *
+     * @see EventTypes
+     */
+    public int getType() {
+        return mType;
+    }
+
+    /**
+     * @return long - The time the event was received in milliseconds since boot (SystemClock#elapsedRealtime())
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    /**
+     * @return Integer - The new Wifi state (WifiManager.WIFI_STATE_*) or null if not a WIFI_STATE_CHANGED event
+     */
+    public Integer getWifiState() {
+        return mWifiState;
+    }
+
+    /**
+     * @return Integer - The new RSSI of the current network or null if not an RSSI_CHANGED event
+     */
+    public Integer getRSSI() {
+        return mRSSI;
+    }
+
+    /**
+     * @return boolean - If the scan results were updated by a SCAN_RESULTS_AVAILABLE event
+     */
+    public boolean isScanResultsUpdated() {
+        return mScanResultsUpdated;
+    }
+
+    /**
+     * @return int - The number of older events of the same type that were dropped in favor of this one
+     */
+    public int getConflatedCount() {
+        return mConflatedCount;
+    }
+}
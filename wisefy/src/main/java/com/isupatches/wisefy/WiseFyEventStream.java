@@ -0,0 +1,291 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.ConnectivityManager;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.callbacks.SubscribeToEventsCallbacks;
+import com.isupatches.wisefy.constants.EventTypes;
+import com.isupatches.wisefy.threads.WiseFyHandlerThread;
+import com.isupatches.wisefy.util.LogUtil;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+
+/**
+ * A class used internally to deliver system events to every subscriber from one shared set of
+ * broadcast registrations.
+ *
+ * Each subscriber has one pending slot per event type.  A new event replaces the pending event of the
+ * same type instead of being queued, so a subscriber that is slower than the events only ever holds
+ * the latest value for each type and nothing is buffered without bound.
+ *
+ * Events are delivered on a dedicated delivery thread so subscribers are never stuck behind operations
+ * that are blocking the WiseFy thread, and a slow subscriber never holds up the event thread that
+ * broadcasts are received on.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be released!! {@link WiseFy#dump()}
+ *
+ * @see WiseFyBroadcastHub
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyEventStream implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyEventStream.class.getSimpleName();
+
+    private static final String DELIVERY_THREAD_NAME = "WiseFyEventDeliveryThread";
+
+    /*
+     * The broadcast action for each event type, indexed by the position of the type's bit.  Saved
+     * network changes have no public broadcast and are published by WiseFy itself.
+     */
+    private static final String[] ACTIONS = {
+        WifiManager.SCAN_RESULTS_AVAILABLE_ACTION,
+        ConnectivityManager.CONNECTIVITY_ACTION,
+        WifiManager.WIFI_STATE_CHANGED_ACTION,
+        WifiManager.RSSI_CHANGED_ACTION,
+        null
+    };
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final Handler mDeliveryHandler;
+
+    private final WiseFyHandlerThread mDeliveryThread;
+
+    private final CopyOnWriteArrayList<Subscriber> mSubscribers = new CopyOnWriteArrayList<>();
+
+    private final int[] mSubscriberCounts = new int[ACTIONS.length];
+
+    /**
+     * Constructor for a stream without subscribers that delivers events on its own delivery thread
+     *
+     * *NOTE* The delivery thread is stopped in {@link #release()}
+     *
+     * @param wiseFyBroadcastHub The hub to receive system events through
+     */
+    WiseFyEventStream(WiseFyBroadcastHub wiseFyBroadcastHub) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mDeliveryThread = new WiseFyHandlerThread(DELIVERY_THREAD_NAME, mWiseFyConfiguration.isLoggingEnabled());
+        mDeliveryThread.start();
+        mDeliveryHandler = new Handler(mDeliveryThread.getLooper());
+    }
+
+    /**
+     * Constructor for a stream without subscribers that delivers events on a given thread
+     *
+     * @param wiseFyBroadcastHub The hub to receive system events through
+     * @param deliveryHandler The handler for the thread to deliver events to subscribers on
+     */
+    WiseFyEventStream(WiseFyBroadcastHub wiseFyBroadcastHub, Handler deliveryHandler) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mDeliveryThread = null;
+        mDeliveryHandler = deliveryHandler;
+    }
+
+    /**
+     * Used internally to start delivering events to a subscriber
+     *
+     * *NOTE* Subscribing the same callbacks again replaces the event types they receive
+     *
+     * @param eventTypes The event types to deliver as a combination of EventTypes flags
+     * @param callbacks The subscriber to deliver events to
+     *
+     * @see EventTypes
+     */
+    synchronized void subscribe(int eventTypes, SubscribeToEventsCallbacks callbacks) {
+        unsubscribe(callbacks);
+        Subscriber subscriber = new Subscriber(eventTypes & EventTypes.ALL, callbacks);
+        mSubscribers.add(subscriber);
+        for (int i = 0; i < ACTIONS.length; i++) {
+            if (subscriber.wants(i) && mSubscriberCounts[i]++ == 0 && ACTIONS[i] != null) {
+                mWiseFyBroadcastHub.register(ACTIONS[i], this);
+            }
+        }
+    }
+
+    /**
+     * Used internally to stop delivering events to a subscriber
+     *
+     * *NOTE* Events that are already pending for the subscriber are dropped
+     *
+     * @param callbacks The subscriber to stop delivering events to
+     *
+     * @return boolean - True if the callbacks were subscribed
+     */
+    synchronized boolean unsubscribe(SubscribeToEventsCallbacks callbacks) {
+        for (Subscriber subscriber : mSubscribers) {
+            if (subscriber.mCallbacks == callbacks) {
+                mSubscribers.remove(subscriber);
+                subscriber.mActive = false;
+                for (int i = 0; i < ACTIONS.length; i++) {
+                    if (subscriber.wants(i) && --mSubscriberCounts[i] == 0 && ACTIONS[i] != null) {
+                        mWiseFyBroadcastHub.unregister(ACTIONS[i], this);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Used internally to drop every subscriber, stop listening for events, and stop the delivery thread
+     */
+    synchronized void release() {
+        for (Subscriber subscriber : mSubscribers) {
+            unsubscribe(subscriber.mCallbacks);
+        }
+        if (mDeliveryThread != null) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+                mDeliveryThread.quitSafely();
+            } else {
+                mDeliveryThread.quit();
+            }
+        }
+    }
+
+    /**
+     * @return boolean - True if there is at least one subscriber
+     */
+    boolean hasSubscribers() {
+        return !mSubscribers.isEmpty();
+    }
+
+    /**
+     * Used internally to publish a change WiseFy made to the saved networks
+     */
+    void publishSavedNetworksChanged() {
+        publish(new WiseFyEvent(EventTypes.SAVED_NETWORKS_CHANGED, SystemClock.elapsedRealtime(), null, null, false, 0));
+    }
+
+    /**
+     * Used internally to turn a broadcast into an event and publish it
+     *
+     * @param intent The broadcast that was received
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        String action = intent.getAction();
+        long timestamp = SystemClock.elapsedRealtime();
+        if (WifiManager.SCAN_RESULTS_AVAILABLE_ACTION.equals(action)) {
+            boolean updated = intent.getBooleanExtra(WifiManager.EXTRA_RESULTS_UPDATED, true);
+            publish(new WiseFyEvent(EventTypes.SCAN_RESULTS_AVAILABLE, timestamp, null, null, updated, 0));
+        } else if (ConnectivityManager.CONNECTIVITY_ACTION.equals(action)) {
+            publish(new WiseFyEvent(EventTypes.CONNECTIVITY_CHANGED, timestamp, null, null, false, 0));
+        } else if (WifiManager.WIFI_STATE_CHANGED_ACTION.equals(action)) {
+            int wifiState = intent.getIntExtra(WifiManager.EXTRA_WIFI_STATE, WifiManager.WIFI_STATE_UNKNOWN);
+            publish(new WiseFyEvent(EventTypes.WIFI_STATE_CHANGED, timestamp, wifiState, null, false, 0));
+        } else if (WifiManager.RSSI_CHANGED_ACTION.equals(action)) {
+            int rssi = intent.getIntExtra(WifiManager.EXTRA_NEW_RSSI, Integer.MIN_VALUE);
+            publish(new WiseFyEvent(EventTypes.RSSI_CHANGED, timestamp, null, rssi, false, 0));
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void publish(WiseFyEvent event) {
+        int index = Integer.numberOfTrailingZeros(event.getType());
+        for (Subscriber subscriber : mSubscribers) {
+            if (subscriber.wants(index) && subscriber.offer(index, event)) {
+                mDeliveryHandler.post(subscriber);
+            }
+        }
+    }
+
+    /**
+     * A subscriber with the latest pending event for each type
+     */
+    private class Subscriber implements Runnable {
+
+        private final int mEventTypes;
+
+        private final SubscribeToEventsCallbacks mCallbacks;
+
+        private final WiseFyEvent[] mPending = new WiseFyEvent[ACTIONS.length];
+
+        private final int[] mConflatedCounts = new int[ACTIONS.length];
+
+        private boolean mScheduled;
+
+        private volatile boolean mActive = true;
+
+        Subscriber(int eventTypes, SubscribeToEventsCallbacks callbacks) {
+            mEventTypes = eventTypes;
+            mCallbacks = callbacks;
+        }
+
+        boolean wants(int index) {
+            return (mEventTypes & (1 << index)) != 0;
+        }
+
+        /**
+         * @return boolean - True if the subscriber needs to be scheduled for delivery
+         */
+        synchronized boolean offer(int index, WiseFyEvent event) {
+            if (mPending[index] != null) {
+                mConflatedCounts[index]++;
+            }
+            mPending[index] = event;
+            if (mScheduled) {
+                return false;
+            }
+            mScheduled = true;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            WiseFyEvent[] events = new WiseFyEvent[ACTIONS.length];
+            int[] conflatedCounts = new int[ACTIONS.length];
+            synchronized (this) {
+                for (int i = 0; i < ACTIONS.length; i++) {
+                    events[i] = mPending[i];
+                    conflatedCounts[i] = mConflatedCounts[i];
+                    mPending[i] = null;
+                    mConflatedCounts[i] = 0;
+                }
+                mScheduled = false;
+            }
+
+            for (int i = 0; i < ACTIONS.length && mActive; i++) {
+                WiseFyEvent event = events[i];
+                if (event == null) {
+                    continue;
+                }
+                if (conflatedCounts[i] > 0 && LogUtil.isLoggable(TAG, Log.VERBOSE, mWiseFyConfiguration.isLoggingEnabled())) {
+                    Log.v(TAG, String.format("Conflated %d events of type: %d", conflatedCounts[i], event.getType()));
+                }
+                mCallbacks.eventReceived(new WiseFyEvent(event.getType(), event.getTimestamp(), event.getWifiState(),
+                        event.getRSSI(), event.isScanResultsUpdated(), conflatedCounts[i]));
+            }
+        }
+    }
+}
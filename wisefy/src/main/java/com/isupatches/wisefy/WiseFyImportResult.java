@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The running totals of a manifest import.
+ *
+ * Every entry that is read from the manifest is counted as processed and then as exactly one of
+ * added, skipped (already a saved network or repeated in the manifest), or failed.
+ *
+ * @see WiseFy#importManifest(java.io.File, int)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyImportResult {
+
+    private final int mProcessedCount;
+
+    private final int mAddedCount;
+
+    private final int mSkippedCount;
+
+    private final int mFailedCount;
+
+    /**
+     * Constructor with the totals so far
+     *
+     * @param processedCount The number of entries read from the manifest
+     * @param addedCount The number of entries added as saved networks
+     * @param skippedCount The number of entries that were already saved networks
+     * @param failedCount The number of entries that were invalid or could not be added
+     */
+    WiseFyImportResult(int processedCount, int addedCount, int skippedCount, int failedCount) {
+        mProcessedCount = processedCount;
+        mAddedCount = addedCount;
+        mSkippedCount = skippedCount;
+        mFailedCount = failedCount;
+    }
+
+    /**
+     * @return int - The number of entries read from the manifest
+     */
+    public int getProcessedCount() {
+        return mProcessedCount;
+    }
+
+    /**
+     * @return int - The number of entries added as saved networks
+     */
+    public int getAddedCount() {
+        return mAddedCount;
+    }
+
+    /**
+     * @return int - The number of entries that were already saved networks
+     */
+    public int getSkippedCount() {
+        return mSkippedCount;
+    }
+
+    /**
+     * @return int - The number of entries that were invalid or could not be added
+     */
+    public int getFailedCount() {
+        return mFailedCount;
+    }
+}
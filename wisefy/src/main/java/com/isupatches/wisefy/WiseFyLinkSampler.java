@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.annotation.TargetApi;
+import android.content.Intent;
+import android.net.wifi.WifiInfo;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.Handler;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.LogUtil;
+
+
+/**
+ * A class used internally to sample the signal strength, link speed, and frequency of the network the
+ * device is connected to.
+ *
+ * Samples are read from WifiManager#getConnectionInfo() at a fixed interval and whenever
+ * RSSI_CHANGED_ACTION is received, and kept in fixed size ring buffers.  No scans are started.  The
+ * buffers are cleared when the device moves to a different access point.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be stopped!! {@link WiseFy#dump()}
+ *
+ * @see WiseFyBroadcastHub
+ * @see WiseFyRingBuffer
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyLinkSampler implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyLinkSampler.class.getSimpleName();
+
+    private static final int INVALID_RSSI = -127;
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WiseFyPrerequisites mWiseFyPrerequisites;
+
+    private final int mIntervalInMillis;
+
+    private final WiseFyRingBuffer mRSSI;
+
+    private final WiseFyRingBuffer mLinkSpeed;
+
+    private final WiseFyRingBuffer mFrequency;
+
+    private String mBSSID;
+
+    private volatile Handler mHandler;
+
+    private final Runnable mSample = new Runnable() {
+        @Override
+        public void run() {
+            sample();
+            Handler handler = mHandler;
+            if (handler != null) {
+                handler.postDelayed(this, mIntervalInMillis);
+            }
+        }
+    };
+
+    /**
+     * Constructor for a sampler that has not started yet
+     *
+     * @param wiseFyBroadcastHub The hub to receive RSSI changes and schedule samples through
+     * @param wiseFyPrerequisites The prerequisites instance with the WifiManager to read from
+     * @param intervalInMillis The amount of time between samples
+     * @param capacity The number of samples to keep for each measurement
+     */
+    WiseFyLinkSampler(WiseFyBroadcastHub wiseFyBroadcastHub, WiseFyPrerequisites wiseFyPrerequisites,
+                      int intervalInMillis, int capacity) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWiseFyPrerequisites = wiseFyPrerequisites;
+        mIntervalInMillis = intervalInMillis;
+        mRSSI = new WiseFyRingBuffer(capacity);
+        mLinkSpeed = new WiseFyRingBuffer(capacity);
+        mFrequency = new WiseFyRingBuffer(capacity);
+    }
+
+    /**
+     * Used internally to take the first sample and start sampling on the event thread
+     */
+    void start() {
+        mHandler = mWiseFyBroadcastHub.getEventHandler();
+        mWiseFyBroadcastHub.register(WifiManager.RSSI_CHANGED_ACTION, this);
+        mHandler.post(mSample);
+    }
+
+    /**
+     * Used internally to stop sampling
+     *
+     * *NOTE* The samples that were taken can still be read
+     */
+    void stop() {
+        Handler handler = mHandler;
+        mHandler = null;
+        if (handler != null) {
+            handler.removeCallbacks(mSample);
+        }
+        mWiseFyBroadcastHub.unregister(WifiManager.RSSI_CHANGED_ACTION, this);
+    }
+
+    /**
+     * @return WiseFyLinkStats|null - The stats for the samples or null if there are none
+     */
+    synchronized WiseFyLinkStats getStats() {
+        if (mRSSI.getCount() == 0) {
+            return null;
+        }
+        return new WiseFyLinkStats(mBSSID, mRSSI.getStats(), mLinkSpeed.getStats(), mFrequency.getStats());
+    }
+
+    /**
+     * Used internally to take an extra sample when the RSSI of the current network changes
+     *
+     * @param intent The RSSI_CHANGED_ACTION broadcast
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        sample();
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void sample() {
+        WifiInfo connectionInfo = mWiseFyPrerequisites.getWifiManager().getConnectionInfo();
+        if (connectionInfo == null || connectionInfo.getNetworkId() == WiseFy.WIFI_MANAGER_FAILURE
+                || connectionInfo.getBSSID() == null || connectionInfo.getRssi() <= INVALID_RSSI) {
+            return;
+        }
+        record(connectionInfo);
+    }
+
+    private synchronized void record(WifiInfo connectionInfo) {
+        String bssid = connectionInfo.getBSSID();
+        if (!bssid.equals(mBSSID)) {
+            if (mBSSID != null && LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Access point changed from %s to %s, clearing samples", mBSSID, bssid));
+            }
+            mBSSID = bssid;
+            mRSSI.clear();
+            mLinkSpeed.clear();
+            mFrequency.clear();
+        }
+        mRSSI.add(connectionInfo.getRssi());
+        mLinkSpeed.add(connectionInfo.getLinkSpeed());
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            recordFrequency(connectionInfo);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void recordFrequency(WifiInfo connectionInfo) {
+        mFrequency.add(connectionInfo.getFrequency());
+    }
+}
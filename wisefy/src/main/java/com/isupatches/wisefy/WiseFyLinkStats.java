@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The recent signal strength, link speed, and frequency of the network the device is connected to.
+ *
+ * Each measurement is null if there are no samples for it yet.
+ *
+ * @see WiseFy#getCurrentNetworkStats()
+ * @see WiseFySampleStats
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyLinkStats {
+
+    private final String mBSSID;
+
+    private final WiseFySampleStats mRSSI;
+
+    private final WiseFySampleStats mLinkSpeed;
+
+    private final WiseFySampleStats mFrequency;
+
+    /**
+     * Constructor with the stats for each measurement
+     *
+     * @param bssid The BSSID of the access point the samples were taken from
+     * @param rssi The stats for the RSSI samples
+     * @param linkSpeed The stats for the link speed samples
+     * @param frequency The stats for the frequency samples
+     */
+    WiseFyLinkStats(String bssid, WiseFySampleStats rssi, WiseFySampleStats linkSpeed, WiseFySampleStats frequency) {
+        mBSSID = bssid;
+        mRSSI = rssi;
+        mLinkSpeed = linkSpeed;
+        mFrequency = frequency;
+    }
+
+    /**
+     * @return String - The BSSID of the access point the samples were taken from
+     */
+    public String getBSSID() {
+        return mBSSID;
+    }
+
+    /**
+     * @return WiseFySampleStats|null - The stats for the RSSI (dBm) of the current network
+     */
+    public WiseFySampleStats getRSSI() {
+        return mRSSI;
+    }
+
+    /**
+     * @return WiseFySampleStats|null - The stats for the link speed (Mbps) of the current network
+     */
+    public WiseFySampleStats getLinkSpeed() {
+        return mLinkSpeed;
+    }
+
+    /**
+     * *NOTE* Only sampled on API 21 and up
+     *
+     * @return WiseFySampleStats|null - The stats for the frequency (MHz) of the current network
+     */
+    public WiseFySampleStats getFrequency() {
+        return mFrequency;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.callbacks.ImportManifestCallbacks;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * A class used internally to stream the entries of a network manifest into the saved networks.
+ *
+ * Entries are checked against an in-memory index of the saved networks that is built once per import,
+ * collected into fixed size chunks, and each chunk is handed to the backend as one batch.  Progress is
+ * reported after every chunk.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run against a fake backend
+ *
+ * @see WiseFyManifestReader
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyManifestImporter {
+
+    static final int DEFAULT_CHUNK_SIZE = 50;
+
+    /**
+     * The saved network operations an import needs
+     */
+    interface Backend {
+
+        /**
+         * @return Collection<String> - The SSIDs (without quotes) of the networks that are already saved
+         */
+        Collection<String> getSavedSSIDs();
+
+        /**
+         * Adds a chunk of networks as one batch
+         *
+         * @param ssids The ssids of the networks to add
+         * @param securityTypes The security types of the networks to add
+         * @param passwords The passwords of the networks to add
+         * @param count The number of networks in the chunk
+         * @param results Filled with the network id (or a negative failure code) for each network
+         */
+        void addNetworks(String[] ssids, int[] securityTypes, String[] passwords, int count, int[] results);
+    }
+
+    private final Backend mBackend;
+
+    private final String[] mSSIDs;
+
+    private final int[] mSecurityTypes;
+
+    private final String[] mPasswords;
+
+    private final int[] mResults;
+
+    private int mProcessedCount;
+
+    private int mAddedCount;
+
+    private int mSkippedCount;
+
+    private int mFailedCount;
+
+    /**
+     * Constructor for a single import
+     *
+     * @param backend The backend to read and add saved networks through
+     * @param chunkSize The maximum number of networks to add in one batch
+     */
+    WiseFyManifestImporter(Backend backend, int chunkSize) {
+        mBackend = backend;
+        int size = Math.max(chunkSize, 1);
+        mSSIDs = new String[size];
+        mSecurityTypes = new int[size];
+        mPasswords = new String[size];
+        mResults = new int[size];
+    }
+
+    /**
+     * Used internally to read every entry of a manifest and add the ones that are not already saved
+     *
+     * *NOTE* An SSID that appears more than once in the manifest is only added the first time
+     *
+     * @param reader The manifest to import
+     * @param callbacks The optional listener to report progress to after each chunk
+     *
+     * @see Backend#addNetworks(String[], int[], String[], int, int[])
+     * @see ImportManifestCallbacks#manifestImportProgress(WiseFyImportResult)
+     *
+     * @return WiseFyImportResult - The totals for the whole manifest
+     *
+     * @throws IOException If the manifest could not be read
+     */
+    WiseFyImportResult importManifest(WiseFyManifestReader reader, ImportManifestCallbacks callbacks) throws IOException {
+        Set<String> savedSSIDs = new HashSet<>(mBackend.getSavedSSIDs());
+        int count = 0;
+        while (reader.next()) {
+            mProcessedCount++;
+            if (!reader.isValid()) {
+                mFailedCount++;
+                continue;
+            }
+
+            String ssid = reader.getSSID();
+            if (!savedSSIDs.add(ssid)) {
+                mSkippedCount++;
+                continue;
+            }
+
+            mSSIDs[count] = ssid;
+            mSecurityTypes[count] = reader.getSecurityType();
+            mPasswords[count] = reader.getPassword();
+            count++;
+            if (count == mSSIDs.length) {
+                flush(count, savedSSIDs, callbacks);
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            flush(count, savedSSIDs, callbacks);
+        }
+        return getResult();
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void flush(int count, Set<String> savedSSIDs, ImportManifestCallbacks callbacks) {
+        mBackend.addNetworks(mSSIDs, mSecurityTypes, mPasswords, count, mResults);
+        for (int i = 0; i < count; i++) {
+            if (mResults[i] >= 0) {
+                mAddedCount++;
+            } else {
+                mFailedCount++;
+                savedSSIDs.remove(mSSIDs[i]);
+            }
+            mSSIDs[i] = null;
+            mPasswords[i] = null;
+        }
+        if (callbacks != null) {
+            callbacks.manifestImportProgress(getResult());
+        }
+    }
+
+    private WiseFyImportResult getResult() {
+        return new WiseFyImportResult(mProcessedCount, mAddedCount, mSkippedCount, mFailedCount);
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.constants.Capabilities;
+import com.isupatches.wisefy.constants.ManifestFormats;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+
+/**
+ * A class used internally to read a network manifest one line at a time.
+ *
+ * Each line describes one network with an ssid, a security type, and a password.  Lines are read
+ * through a cursor so the manifest is never held in memory as a whole.
+ *
+ * CSV - ssid,security,password with an optional header line.  Fields may be quoted and a quote
+ * inside a quoted field is escaped by doubling it.  Unquoted fields keep their leading and trailing
+ * spaces since they can be part of an ssid.
+ *
+ * JSON lines - one flat object per line i.e. {"ssid":"Network","security":"WPA2","password":"12345678"}
+ *
+ * *NOTE* Blank lines and lines starting with # are ignored.  Security types are OPEN (or NONE or
+ * empty), WEP, or WPA2 (or WPA or PSK).
+ *
+ * @see ManifestFormats
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyManifestReader {
+
+    static final int SECURITY_INVALID = -1;
+
+    static final int SECURITY_OPEN = 0;
+
+    static final int SECURITY_WEP = 1;
+
+    static final int SECURITY_WPA2 = 2;
+
+    private static final String CSV_HEADER = "ssid";
+
+    private static final String KEY_SSID = "ssid";
+
+    private static final String KEY_SECURITY = "security";
+
+    private static final String KEY_PASSWORD = "password";
+
+    private final BufferedReader mReader;
+
+    private final int mFormat;
+
+    private final StringBuilder mToken = new StringBuilder();
+
+    private boolean mFirstEntry = true;
+
+    private int mLineNumber;
+
+    private String mSSID;
+
+    private String mSecurity;
+
+    private String mPassword;
+
+    private int mSecurityType;
+
+    private boolean mMalformed;
+
+    private String mLine;
+
+    private int mPosition;
+
+    /**
+     * Constructor for a single pass over a manifest
+     *
+     * *NOTE* The reader is not closed by this class
+     *
+     * @param reader The source of the manifest
+     * @param format The format of the manifest
+     *
+     * @see ManifestFormats
+     */
+    WiseFyManifestReader(Reader reader, int format) {
+        mReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        mFormat = format;
+    }
+
+    /**
+     * Used internally to check if a format is one the reader can parse
+     *
+     * @param format The format to check
+     *
+     * @see ManifestFormats
+     *
+     * @return boolean - True if the format is supported
+     */
+    static boolean isSupportedFormat(int format) {
+        return format == ManifestFormats.CSV || format == ManifestFormats.JSON_LINES;
+    }
+
+    /**
+     * Used internally to move the cursor to the next entry in the manifest
+     *
+     * @see #isValid()
+     *
+     * @return boolean - True if there was another entry, false if the end of the manifest was reached
+     *
+     * @throws IOException If the manifest could not be read
+     */
+    boolean next() throws IOException {
+        String line;
+        while ((line = mReader.readLine()) != null) {
+            mLineNumber++;
+            if (isBlankOrComment(line)) {
+                continue;
+            }
+
+            mSSID = null;
+            mSecurity = null;
+            mPassword = null;
+            mMalformed = false;
+            mLine = line;
+            mPosition = 0;
+            if (mFormat == ManifestFormats.JSON_LINES) {
+                parseJSONLine();
+            } else {
+                parseCSVLine();
+                if (mFirstEntry && !mMalformed && mSSID != null && CSV_HEADER.equalsIgnoreCase(mSSID.trim())) {
+                    mFirstEntry = false;
+                    continue;
+                }
+            }
+            mFirstEntry = false;
+            mLine = null;
+            mSecurityType = mMalformed ? SECURITY_INVALID : parseSecurityType(mSecurity);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return int - The line in the manifest of the current entry (starting from 1)
+     */
+    int getLineNumber() {
+        return mLineNumber;
+    }
+
+    /**
+     * @return String|null - The ssid of the current entry
+     */
+    String getSSID() {
+        return mSSID;
+    }
+
+    /**
+     * @return int - The security type of the current entry or SECURITY_INVALID
+     */
+    int getSecurityType() {
+        return mSecurityType;
+    }
+
+    /**
+     * @return String|null - The password of the current entry
+     */
+    String getPassword() {
+        return mPassword;
+    }
+
+    /**
+     * Used internally to check if the current entry has everything needed to create a configuration
+     *
+     * @return boolean - True if the entry has an ssid, a known security type, and a password if one is required
+     */
+    boolean isValid() {
+        if (mSSID == null || mSSID.length() == 0 || mSecurityType == SECURITY_INVALID) {
+            return false;
+        }
+        return mSecurityType == SECURITY_OPEN || (mPassword != null && mPassword.length() > 0);
+    }
+
+    /*
+     * Helpers
+     */
+
+    /**
+     * Used internally to check if a line should be skipped without trimming it
+     *
+     * *NOTE* Lines are never trimmed as a whole since leading and trailing spaces can be part of an ssid
+     *
+     * @param line The line to check (already without its line terminator)
+     *
+     * @return boolean - True if the line only has whitespace or its first non whitespace character is #
+     */
+    private static boolean isBlankOrComment(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '#';
+            }
+        }
+        return true;
+    }
+
+    private static int parseSecurityType(String security) {
+        if (security != null) {
+            security = security.trim();
+        }
+        if (security == null || security.length() == 0 || "OPEN".equalsIgnoreCase(security) || "NONE".equalsIgnoreCase(security)) {
+            return SECURITY_OPEN;
+        }
+        if (Capabilities.WEP.equalsIgnoreCase(security)) {
+            return SECURITY_WEP;
+        }
+        if (Capabilities.WPA2.equalsIgnoreCase(security) || Capabilities.WPA.equalsIgnoreCase(security) || Capabilities.PSK.equalsIgnoreCase(security)) {
+            return SECURITY_WPA2;
+        }
+        return SECURITY_INVALID;
+    }
+
+    private void parseCSVLine() {
+        int field = 0;
+        while (mPosition <= mLine.length()) {
+            String value = readCSVField();
+            if (mMalformed) {
+                return;
+            }
+            switch (field) {
+                case 0:
+                    mSSID = value;
+                    break;
+                case 1:
+                    mSecurity = value;
+                    break;
+                case 2:
+                    mPassword = value;
+                    break;
+                default:
+                    break;
+            }
+            field++;
+        }
+    }
+
+    private String readCSVField() {
+        mToken.setLength(0);
+        int length = mLine.length();
+        int start = mPosition;
+        while (mPosition < length && mLine.charAt(mPosition) == ' ') {
+            mPosition++;
+        }
+        if (mPosition < length && mLine.charAt(mPosition) == '"') {
+            mPosition++;
+            while (true) {
+                if (mPosition >= length) {
+                    mMalformed = true;
+                    return null;
+                }
+                char c = mLine.charAt(mPosition++);
+                if (c == '"') {
+                    if (mPosition < length && mLine.charAt(mPosition) == '"') {
+                        mToken.append('"');
+                        mPosition++;
+                    } else {
+                        break;
+                    }
+                } else {
+                    mToken.append(c);
+                }
+            }
+            while (mPosition < length && mLine.charAt(mPosition) != ',') {
+                if (mLine.charAt(mPosition) != ' ') {
+                    mMalformed = true;
+                    return null;
+                }
+                mPosition++;
+            }
+            mPosition++;
+            return mToken.toString();
+        }
+
+        // Unquoted fields are taken as is so spaces that are part of an ssid or password are kept
+        int comma = mLine.indexOf(',', start);
+        int end = comma == -1 ? length : comma;
+        String value = mLine.substring(start, end);
+        mPosition = end + 1;
+        return value;
+    }
+
+    private void parseJSONLine() {
+        skipWhitespace();
+        if (!consume('{')) {
+            mMalformed = true;
+            return;
+        }
+        skipWhitespace();
+        if (consume('}')) {
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            String key = readJSONString();
+            skipWhitespace();
+            if (key == null || !consume(':')) {
+                mMalformed = true;
+                return;
+            }
+            skipWhitespace();
+            String value = readJSONValue();
+            if (mMalformed) {
+                return;
+            }
+            if (KEY_SSID.equals(key)) {
+                mSSID = value;
+            } else if (KEY_SECURITY.equals(key)) {
+                mSecurity = value;
+            } else if (KEY_PASSWORD.equals(key)) {
+                mPassword = value;
+            }
+            skipWhitespace();
+            if (consume('}')) {
+                return;
+            }
+            if (!consume(',')) {
+                mMalformed = true;
+                return;
+            }
+        }
+    }
+
+    private String readJSONValue() {
+        if (mPosition < mLine.length() && mLine.charAt(mPosition) == '"') {
+            String value = readJSONString();
+            if (value == null) {
+                mMalformed = true;
+            }
+            return value;
+        }
+        int start = mPosition;
+        while (mPosition < mLine.length()) {
+            char c = mLine.charAt(mPosition);
+            if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+                break;
+            }
+            mPosition++;
+        }
+        String literal = mLine.substring(start, mPosition);
+        if (literal.length() == 0) {
+            mMalformed = true;
+            return null;
+        }
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private String readJSONString() {
+        if (!consume('"')) {
+            return null;
+        }
+        mToken.setLength(0);
+        int length = mLine.length();
+        while (mPosition < length) {
+            char c = mLine.charAt(mPosition++);
+            if (c == '"') {
+                return mToken.toString();
+            }
+            if (c != '\\') {
+                mToken.append(c);
+                continue;
+            }
+            if (mPosition >= length) {
+                return null;
+            }
+            char escaped = mLine.charAt(mPosition++);
+            switch (escaped) {
+                case 'b':
+                    mToken.append('\b');
+                    break;
+                case 'f':
+                    mToken.append('\f');
+                    break;
+                case 'n':
+                    mToken.append('\n');
+                    break;
+                case 'r':
+                    mToken.append('\r');
+                    break;
+                case 't':
+                    mToken.append('\t');
+                    break;
+                case 'u':
+                    if (mPosition + 4 > length) {
+                        return null;
+                    }
+                    try {
+                        mToken.append((char) Integer.parseInt(mLine.substring(mPosition, mPosition + 4), 16));
+                    } catch (NumberFormatException nfe) {
+                        return null;
+                    }
+                    mPosition += 4;
+                    break;
+                default:
+                    mToken.append(escaped);
+                    break;
+            }
+        }
+        return null;
+    }
+
+    private boolean consume(char expected) {
+        if (mPosition < mLine.length() && mLine.charAt(mPosition) == expected) {
+            mPosition++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (mPosition < mLine.length() && Character.isWhitespace(mLine.charAt(mPosition))) {
+            mPosition++;
+        }
+    }
+}
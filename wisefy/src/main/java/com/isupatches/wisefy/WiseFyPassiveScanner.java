@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.SystemClock;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.LogUtil;
+
+
+/**
+ * A class used internally to reuse the scan results of scans that were started by the system or another
+ * app instead of starting a new scan for every search.
+ *
+ * SCAN_RESULTS_AVAILABLE_ACTION is delivered to every app no matter who started the scan.  The time of the
+ * last delivery with updated results is kept and a scan is only started when no results arrived within
+ * the freshness window and WiseFy has not already started one within the window.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be stopped!! {@link WiseFy#dump()}
+ *
+ * @see WiseFyBroadcastHub
+ * @see WiseFyScanStats
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyPassiveScanner implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyPassiveScanner.class.getSimpleName();
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final int mFreshnessWindowInMillis;
+
+    private long mLastResultsInMillis = NEVER;
+
+    private long mLastActiveScanInMillis = NEVER;
+
+    private int mActiveScanCount;
+
+    private int mAvoidedScanCount;
+
+    private int mResultsDeliveredCount;
+
+    /**
+     * Constructor for a passive scanner that is not listening yet
+     *
+     * @param wiseFyBroadcastHub The hub to receive scan results through
+     * @param freshnessWindowInMillis How long delivered results are used before a scan is started
+     */
+    WiseFyPassiveScanner(WiseFyBroadcastHub wiseFyBroadcastHub, int freshnessWindowInMillis) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mFreshnessWindowInMillis = freshnessWindowInMillis;
+    }
+
+    /**
+     * Used internally to start listening for scan results
+     */
+    void start() {
+        mWiseFyBroadcastHub.register(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, this);
+    }
+
+    /**
+     * Used internally to stop listening for scan results
+     */
+    void stop() {
+        mWiseFyBroadcastHub.unregister(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, this);
+    }
+
+    /**
+     * Used internally to decide if a scan has to be started before reading the scan results
+     *
+     * *NOTE* Counts the decision as an active or an avoided scan
+     *
+     * @param nowInMillis The current time (from SystemClock.elapsedRealtime())
+     *
+     * @return boolean - True if a scan should be started
+     */
+    synchronized boolean shouldStartScan(long nowInMillis) {
+        if (isWithinWindow(mLastResultsInMillis, nowInMillis) || isWithinWindow(mLastActiveScanInMillis, nowInMillis)) {
+            mAvoidedScanCount++;
+            return false;
+        }
+        mLastActiveScanInMillis = nowInMillis;
+        mActiveScanCount++;
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("No scan results within %d ms, starting a scan", mFreshnessWindowInMillis));
+        }
+        return true;
+    }
+
+    /**
+     * Used internally to record a delivery of scan results
+     *
+     * @param nowInMillis The time of the delivery (from SystemClock.elapsedRealtime())
+     * @param updated False if the scan failed and the results were not updated
+     */
+    synchronized void onScanResults(long nowInMillis, boolean updated) {
+        if (updated) {
+            mLastResultsInMillis = nowInMillis;
+            mResultsDeliveredCount++;
+        }
+    }
+
+    /**
+     * @return WiseFyScanStats - The totals so far
+     */
+    synchronized WiseFyScanStats getStats() {
+        return new WiseFyScanStats(mActiveScanCount, mAvoidedScanCount, mResultsDeliveredCount);
+    }
+
+    /**
+     * Used internally to record scan results delivered by the system
+     *
+     * @param intent The SCAN_RESULTS_AVAILABLE_ACTION broadcast
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        boolean updated = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            updated = intent.getBooleanExtra(WifiManager.EXTRA_RESULTS_UPDATED, true);
+        }
+        onScanResults(SystemClock.elapsedRealtime(), updated);
+    }
+
+    /*
+     * Helpers
+     */
+
+    private boolean isWithinWindow(long timeInMillis, long nowInMillis) {
+        return timeInMillis != NEVER && nowInMillis - timeInMillis < mFreshnessWindowInMillis;
+    }
+}
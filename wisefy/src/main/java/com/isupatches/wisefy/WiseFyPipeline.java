@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.constants.PipelineSteps;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A sequence of WiseFy operations that are executed together as one scheduled unit.
+ *
+ * All of the steps share a single prerequisite check, a single snapshot of the saved networks, and
+ * one overall timeout.  If a step fails the remaining steps are skipped and the failing step is reported.
+ *
+ * Uses the builder pattern for creation - {@link Builder}
+ *
+ * @see WiseFy#executePipeline(WiseFyPipeline, com.isupatches.wisefy.callbacks.ExecutePipelineCallbacks)
+ * @see PipelineSteps
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyPipeline {
+
+    public static final int DEFAULT_TIMEOUT_IN_MILLIS = 30000;
+
+    final int[] mSteps;
+
+    final String[] mSSIDs;
+
+    final String[] mPasswords;
+
+    final int mTimeoutInMillis;
+
+    /**
+     * Private constructor that accepts builder input
+     */
+    private WiseFyPipeline(Builder builder) {
+        int size = builder.steps.size();
+        mSteps = new int[size];
+        mSSIDs = new String[size];
+        mPasswords = new String[size];
+        for (int i = 0; i < size; i++) {
+            mSteps[i] = builder.steps.get(i);
+            mSSIDs[i] = builder.ssids.get(i);
+            mPasswords[i] = builder.passwords.get(i);
+        }
+        mTimeoutInMillis = builder.timeoutInMillis;
+    }
+
+    /**
+     * To retrieve the number of steps in the pipeline
+     *
+     * @return int - The number of steps
+     */
+    public int getStepCount() {
+        return mSteps.length;
+    }
+
+    /**
+     * To retrieve the type of a step in the pipeline
+     *
+     * @param stepIndex The index of the step
+     *
+     * @see PipelineSteps
+     *
+     * @return int - The type of the step at the given index
+     */
+    public int getStep(int stepIndex) {
+        return mSteps[stepIndex];
+    }
+
+    /**
+     * To retrieve the overall amount of time the pipeline is allowed to take
+     *
+     * @return int - The timeout for the whole pipeline in milliseconds
+     */
+    public int getTimeoutInMillis() {
+        return mTimeoutInMillis;
+    }
+
+    /**
+     * Static class for builder pattern
+     */
+    public static class Builder {
+
+        private final List<Integer> steps = new ArrayList<>();
+
+        private final List<String> ssids = new ArrayList<>();
+
+        private final List<String> passwords = new ArrayList<>();
+
+        private int timeoutInMillis = DEFAULT_TIMEOUT_IN_MILLIS;
+
+        /**
+         * Adds a step to enable Wifi
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder enableWifi() {
+            return addStep(PipelineSteps.ENABLE_WIFI, null, null);
+        }
+
+        /**
+         * Adds a step to add an open network
+         *
+         * *NOTE* A network that is already saved is not treated as a failure
+         *
+         * @param ssid The ssid of the open network to add
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder addOpenNetwork(String ssid) {
+            return addStep(PipelineSteps.ADD_OPEN_NETWORK, ssid, null);
+        }
+
+        /**
+         * Adds a step to add a WEP network
+         *
+         * *NOTE* A network that is already saved is not treated as a failure
+         *
+         * @param ssid The ssid of the WEP network to add
+         * @param password The password for the WEP network
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder addWEPNetwork(String ssid, String password) {
+            return addStep(PipelineSteps.ADD_WEP_NETWORK, ssid, password);
+        }
+
+        /**
+         * Adds a step to add a WPA2 network
+         *
+         * *NOTE* A network that is already saved is not treated as a failure
+         *
+         * @param ssid The ssid of the WPA2 network to add
+         * @param password The password for the WPA2 network
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder addWPA2Network(String ssid, String password) {
+            return addStep(PipelineSteps.ADD_WPA2_NETWORK, ssid, password);
+        }
+
+        /**
+         * Adds a step to connect to a saved network and wait for the connection
+         *
+         * *NOTE* Waits for the connection within the time remaining for the pipeline
+         *
+         * @param ssid The ssid of the network to connect to
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder connectToNetwork(String ssid) {
+            return addStep(PipelineSteps.CONNECT_TO_NETWORK, ssid, null);
+        }
+
+        /**
+         * Adds a step to verify the device is connected to a given SSID
+         *
+         * @param ssid The ssid the device should be connected to
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder isDeviceConnectedToSSID(String ssid) {
+            return addStep(PipelineSteps.IS_DEVICE_CONNECTED_TO_SSID, ssid, null);
+        }
+
+        /**
+         * Adds a step to remove a saved network
+         *
+         * @param ssid The ssid of the network to remove
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder removeNetwork(String ssid) {
+            return addStep(PipelineSteps.REMOVE_NETWORK, ssid, null);
+        }
+
+        /**
+         * Adds a step to disconnect from the current network
+         *
+         * @return Builder - The builder with the step added
+         */
+        public Builder disconnectFromCurrentNetwork() {
+            return addStep(PipelineSteps.DISCONNECT_FROM_CURRENT_NETWORK, null, null);
+        }
+
+        /**
+         * Optional - Sets the overall amount of time the pipeline is allowed to take
+         *
+         * @param timeoutInMillis The timeout for the whole pipeline in milliseconds
+         *
+         * @see #DEFAULT_TIMEOUT_IN_MILLIS
+         *
+         * @return Builder - The builder with the updated timeout
+         */
+        public Builder timeout(int timeoutInMillis) {
+            this.timeoutInMillis = timeoutInMillis;
+            return this;
+        }
+
+        /**
+         * Mandatory - To build and return a WiseFyPipeline instance
+         *
+         * @return WiseFyPipeline - The pipeline created by the builder
+         */
+        public WiseFyPipeline build() {
+            return new WiseFyPipeline(this);
+        }
+
+        private Builder addStep(int step, String ssid, String password) {
+            steps.add(step);
+            ssids.add(ssid);
+            passwords.add(password);
+            return this;
+        }
+    }
+}
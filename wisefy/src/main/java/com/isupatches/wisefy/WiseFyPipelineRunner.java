@@ -0,0 +1,359 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import android.os.Handler;
+import android.text.TextUtils;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.annotations.WiseFyThread;
+import com.isupatches.wisefy.callbacks.ConnectToNetworkCallbacks;
+import com.isupatches.wisefy.callbacks.ExecutePipelineCallbacks;
+import com.isupatches.wisefy.constants.PipelineSteps;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import com.isupatches.wisefy.util.LogUtil;
+import com.isupatches.wisefy.util.WifiConfigurationUtil;
+import java.util.List;
+
+
+/**
+ * A class used internally to execute the steps of a {@link WiseFyPipeline} on the WiseFy thread.
+ *
+ * Every step up to a connection runs within the same turn of the WiseFy thread.  An enable Wifi step
+ * waits for WIFI_STATE_CHANGED_ACTION and a connection step hands off to the connect state machine
+ * so the thread is not blocked while Wifi is turning on or associating, and the remaining steps
+ * resume once the device has reached that state.
+ *
+ * *NOTE* One instance per pipeline execution
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyPipelineRunner implements Runnable {
+
+    private static final String TAG = WiseFyPipelineRunner.class.getSimpleName();
+
+    private static final int STEP_SUCCEEDED = 0;
+
+    private static final int STEP_PENDING = 1;
+
+    private final WiseFy mWiseFy;
+
+    private final Handler mHandler;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WiseFyPipeline mPipeline;
+
+    private final ExecutePipelineCallbacks mCallbacks;
+
+    private List<WifiConfiguration> mSavedNetworks;
+
+    private int mStepIndex;
+
+    private long mEndTime;
+
+    private boolean mStarted;
+
+    /**
+     * Constructor for a single pipeline execution
+     *
+     * @param wiseFy The WiseFy instance whose prerequisites, search, and connection logic to use
+     * @param handler The WiseFy handler to resume on after an enable Wifi or connection step
+     * @param pipeline The steps to execute
+     * @param callbacks The listener to return results to
+     */
+    WiseFyPipelineRunner(WiseFy wiseFy, Handler handler, WiseFyPipeline pipeline, ExecutePipelineCallbacks callbacks) {
+        mWiseFy = wiseFy;
+        mHandler = handler;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mPipeline = pipeline;
+        mCallbacks = callbacks;
+    }
+
+    /**
+     * Used internally to run steps until the pipeline finishes, fails, or is waiting on Wifi or a connection
+     *
+     * @see WiseFyPrerequisites#hasPrerequisites()
+     */
+    @Override
+    @WiseFyThread
+    public void run() {
+        synchronized (mWiseFy.getWiseFyLock()) {
+            if (!mStarted) {
+                mStarted = true;
+                if (!mWiseFy.mWiseFyPrerequisites.hasPrerequisites()) {
+                    if (mCallbacks != null) {
+                        mCallbacks.executePipelineWiseFyFailure(WiseFyCodes.MISSING_PREREQUISITE);
+                    }
+                    return;
+                }
+
+                int invalidStep = findStepMissingParameter();
+                if (invalidStep >= 0) {
+                    fail(invalidStep, WiseFyCodes.MISSING_PARAMETER);
+                    return;
+                }
+                mEndTime = System.currentTimeMillis() + mPipeline.mTimeoutInMillis;
+            }
+
+            while (mStepIndex < mPipeline.getStepCount()) {
+                if (System.currentTimeMillis() >= mEndTime) {
+                    fail(mStepIndex, WiseFyCodes.TIMEOUT_EXCEEDED);
+                    return;
+                }
+
+                if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                    Log.d(TAG, String.format("Running pipeline step %d of type %d", mStepIndex, mPipeline.mSteps[mStepIndex]));
+                }
+                int result = runStep(mPipeline.mSteps[mStepIndex], mPipeline.mSSIDs[mStepIndex], mPipeline.mPasswords[mStepIndex]);
+                if (result == STEP_PENDING) {
+                    return;
+                }
+                if (result != STEP_SUCCEEDED) {
+                    fail(mStepIndex, result);
+                    return;
+                }
+                mStepIndex++;
+            }
+
+            if (mCallbacks != null) {
+                mCallbacks.pipelineExecuted();
+            }
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    /**
+     * Used internally to run a single step
+     *
+     * @param step The type of step to run
+     * @param ssid The ssid for the step if any
+     * @param password The password for the step if any
+     *
+     * @see PipelineSteps
+     *
+     * @return int - STEP_SUCCEEDED, STEP_PENDING if waiting on Wifi or a connection, or the failure code for the step
+     */
+    private int runStep(int step, String ssid, String password) {
+        switch (step) {
+            case PipelineSteps.ENABLE_WIFI:
+                return enableWifi();
+            case PipelineSteps.ADD_OPEN_NETWORK:
+                return addNetwork(ssid, WifiConfigurationUtil.getInstance().generateOpenNetworkConfiguration(ssid));
+            case PipelineSteps.ADD_WEP_NETWORK:
+                return addNetwork(ssid, WifiConfigurationUtil.getInstance().generateWEPNetworkConfiguration(ssid, password));
+            case PipelineSteps.ADD_WPA2_NETWORK:
+                return addNetwork(ssid, WifiConfigurationUtil.getInstance().generateWPA2NetworkConfiguration(ssid, password));
+            case PipelineSteps.CONNECT_TO_NETWORK:
+                return connectToNetwork(ssid);
+            case PipelineSteps.IS_DEVICE_CONNECTED_TO_SSID:
+                return mWiseFy.mWiseFyConnection.isCurrentNetworkConnectedToSSID(ssid) ? STEP_SUCCEEDED : WiseFyCodes.NETWORK_NOT_CONNECTED;
+            case PipelineSteps.REMOVE_NETWORK:
+                return removeNetwork(ssid);
+            case PipelineSteps.DISCONNECT_FROM_CURRENT_NETWORK:
+                return mWiseFy.mWiseFyPrerequisites.getWifiManager().disconnect() ? STEP_SUCCEEDED : WiseFy.WIFI_MANAGER_FAILURE;
+            default:
+                return WiseFyCodes.MISSING_PARAMETER;
+        }
+    }
+
+    /**
+     * Used internally to enable Wifi and resume once WIFI_STATE_CHANGED_ACTION reports it is enabled
+     *
+     * *NOTE* The step fails with TIMEOUT_EXCEEDED if Wifi is not enabled before the pipeline times out
+     *
+     * @see WiseFyWifiStateWaiter
+     *
+     * @return int - STEP_PENDING
+     */
+    private int enableWifi() {
+        final int enableStepIndex = mStepIndex;
+        int remaining = (int) (mEndTime - System.currentTimeMillis());
+        final WiseFyWifiStateWaiter waiter = new WiseFyWifiStateWaiter(mWiseFy.getBroadcastHub(), mWiseFy.mWiseFyPrerequisites, true, false);
+        waiter.start(mHandler, remaining, new Runnable() {
+            @Override
+            public void run() {
+                switch (waiter.getOutcome()) {
+                    case WiseFyWifiStateWaiter.OUTCOME_REACHED:
+                        mStepIndex = enableStepIndex + 1;
+                        WiseFyPipelineRunner.this.run();
+                        break;
+                    case WiseFyWifiStateWaiter.OUTCOME_REJECTED:
+                        fail(enableStepIndex, WiseFy.WIFI_MANAGER_FAILURE);
+                        break;
+                    default:
+                        fail(enableStepIndex, WiseFyCodes.TIMEOUT_EXCEEDED);
+                        break;
+                }
+            }
+        });
+        return STEP_PENDING;
+    }
+
+    /**
+     * Used internally to add a network unless it is already in the saved network snapshot
+     *
+     * @param ssid The ssid of the network to add
+     * @param wifiConfiguration The generated configuration to add
+     *
+     * @see #getSavedNetworks()
+     * @see WiseFySearch#isNetworkASavedConfiguration(String, List)
+     *
+     * @return int - STEP_SUCCEEDED or the WifiManager failure code
+     */
+    private int addNetwork(String ssid, WifiConfiguration wifiConfiguration) {
+        List<WifiConfiguration> savedNetworks = getSavedNetworks();
+        if (mWiseFy.mWiseFySearch.isNetworkASavedConfiguration(ssid, savedNetworks)) {
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("%s is already saved, skipping add", ssid));
+            }
+            return STEP_SUCCEEDED;
+        }
+
+        int result = mWiseFy.mWiseFyPrerequisites.getWifiManager().addNetwork(wifiConfiguration);
+        if (result == WiseFy.WIFI_MANAGER_FAILURE) {
+            if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.e(TAG, String.format("Failed to add network %s", ssid));
+            }
+            return result;
+        }
+        wifiConfiguration.networkId = result;
+        mWiseFy.notifySavedNetworksChanged();
+        savedNetworks.add(wifiConfiguration);
+        return STEP_SUCCEEDED;
+    }
+
+    /**
+     * Used internally to start connecting to a network from the saved network snapshot
+     *
+     * @param ssid The ssid of the network to connect to
+     *
+     * @see WiseFy#connect(WifiConfiguration, String, int, ConnectToNetworkCallbacks)
+     *
+     * @return int - STEP_PENDING if the connection was started or NETWORK_NOT_FOUND
+     */
+    private int connectToNetwork(final String ssid) {
+        WifiConfiguration wifiConfiguration = mWiseFy.mWiseFySearch.findSavedNetworkByRegex(ssid, getSavedNetworks());
+        if (wifiConfiguration == null) {
+            return WiseFyCodes.NETWORK_NOT_FOUND;
+        }
+
+        final int connectStepIndex = mStepIndex;
+        int remaining = (int) (mEndTime - System.currentTimeMillis());
+        mWiseFy.connect(wifiConfiguration, ssid, remaining, new ConnectToNetworkCallbacks() {
+            @Override
+            public void connectedToNetwork() {
+                mStepIndex = connectStepIndex + 1;
+                mHandler.post(WiseFyPipelineRunner.this);
+            }
+
+            @Override
+            public void connectToNetworkWiseFyFailure(Integer wisefyReturnCode) {
+                fail(connectStepIndex, wisefyReturnCode);
+            }
+
+            @Override
+            public void failureConnectingToNetwork() {
+                fail(connectStepIndex, WiseFyCodes.NETWORK_NOT_CONNECTED);
+            }
+
+            @Override
+            public void networkNotFoundToConnectTo() {
+                fail(connectStepIndex, WiseFyCodes.NETWORK_NOT_FOUND);
+            }
+        });
+        return STEP_PENDING;
+    }
+
+    /**
+     * Used internally to remove a network from the device and the saved network snapshot
+     *
+     * @param ssid The ssid of the network to remove
+     *
+     * @return int - STEP_SUCCEEDED, NETWORK_NOT_FOUND, or the WifiManager failure code
+     */
+    private int removeNetwork(String ssid) {
+        List<WifiConfiguration> savedNetworks = getSavedNetworks();
+        WifiConfiguration wifiConfiguration = mWiseFy.mWiseFySearch.findSavedNetworkByRegex(ssid, savedNetworks);
+        if (wifiConfiguration == null) {
+            return WiseFyCodes.NETWORK_NOT_FOUND;
+        }
+
+        mWiseFy.mWiseFyPrerequisites.getWifiManager().disconnect();
+        boolean result = mWiseFy.mWiseFyPrerequisites.getWifiManager().removeNetwork(wifiConfiguration.networkId);
+        mWiseFy.mWiseFyPrerequisites.getWifiManager().reconnect();
+        if (!result) {
+            return WiseFy.WIFI_MANAGER_FAILURE;
+        }
+        savedNetworks.remove(wifiConfiguration);
+        mWiseFy.notifySavedNetworksChanged();
+        return STEP_SUCCEEDED;
+    }
+
+    /**
+     * Used internally to lazily take the snapshot of saved networks the pipeline shares
+     *
+     * *NOTE* Taken on first use so that an earlier enable Wifi step has already run
+     *
+     * @see WiseFySearch#getSavedNetworksSnapshot()
+     *
+     * @return List<WifiConfiguration> - The saved networks snapshot for this execution
+     */
+    private List<WifiConfiguration> getSavedNetworks() {
+        if (mSavedNetworks == null) {
+            mSavedNetworks = mWiseFy.mWiseFySearch.getSavedNetworksSnapshot();
+        }
+        return mSavedNetworks;
+    }
+
+    /**
+     * Used internally to find the first step that is missing a required ssid or password
+     *
+     * @return int - The index of the first invalid step or -1 if all steps are valid
+     */
+    private int findStepMissingParameter() {
+        for (int i = 0; i < mPipeline.getStepCount(); i++) {
+            int step = mPipeline.mSteps[i];
+            boolean needsSSID = step != PipelineSteps.ENABLE_WIFI && step != PipelineSteps.DISCONNECT_FROM_CURRENT_NETWORK;
+            boolean needsPassword = step == PipelineSteps.ADD_WEP_NETWORK || step == PipelineSteps.ADD_WPA2_NETWORK;
+            if ((needsSSID && TextUtils.isEmpty(mPipeline.mSSIDs[i])) || (needsPassword && TextUtils.isEmpty(mPipeline.mPasswords[i]))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Used internally to stop the pipeline and report the step that failed
+     *
+     * @param stepIndex The index of the step that failed
+     * @param returnCode The failure code for the step
+     */
+    private void fail(int stepIndex, int returnCode) {
+        if (LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.w(TAG, String.format("Pipeline step %d failed with code %d", stepIndex, returnCode));
+        }
+        if (mCallbacks != null) {
+            mCallbacks.failureExecutingPipelineStep(stepIndex, mPipeline.mSteps[stepIndex], returnCode);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import android.net.wifi.WifiInfo;
+import android.net.wifi.WifiManager;
+import android.text.TextUtils;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.callbacks.ImportManifestCallbacks;
+import com.isupatches.wisefy.constants.WiseFyCodes;
+import com.isupatches.wisefy.util.LogUtil;
+import com.isupatches.wisefy.util.WifiConfigurationUtil;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A class used internally to add and remove many saved networks at once.  Each batch is diffed
+ * against a single snapshot of the saved networks and any disconnect/reconnect happens at most once.
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyProvisioning {
+
+    private static final String TAG = WiseFyProvisioning.class.getSimpleName();
+
+    private static final WiseFyProvisioning WISEFY_PROVISIONING = new WiseFyProvisioning();
+
+    private static final String MASKED_KEY = "*";
+
+    WiseFyPrerequisites mWiseFyPrerequisites;
+
+    WiseFySearch mWiseFySearch;
+
+    private WiseFyConfiguration mWiseFyConfiguration;
+
+    /**
+     * Private constructor with no setup
+     */
+    private WiseFyProvisioning() {
+        mWiseFyPrerequisites = WiseFyPrerequisites.getInstance();
+        mWiseFySearch = WiseFySearch.getInstance();
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+    }
+
+    /**
+     * @return instance of WiseFyProvisioning
+     */
+    static WiseFyProvisioning getInstance() {
+        return WISEFY_PROVISIONING;
+    }
+
+    /**
+     * Used internally to add a list of network configurations, skipping any that are already saved
+     *
+     * *NOTE* SSIDs are compared exactly (not as a regex) against one snapshot of the saved networks
+     *
+     * @param networks The network configurations to add
+     *
+     * @see WiseFySearch#getSavedNetworksSnapshot()
+     * @see WiseFySearch#indexSavedNetworksBySSID(List)
+     *
+     * @return WiseFyBatchResult - The network id or failure code for each network in the given order
+     */
+    WiseFyBatchResult addNetworks(List<WifiConfiguration> networks) {
+        Map<String, WifiConfiguration> savedNetworksBySSID = mWiseFySearch.indexSavedNetworksBySSID(mWiseFySearch.getSavedNetworksSnapshot());
+        return addNetworks(networks, savedNetworksBySSID);
+    }
+
+    /**
+     * Used internally to add a list of network configurations against an existing index of saved networks
+     *
+     * *NOTE* The index is updated with each network that is successfully added
+     *
+     * @param networks The network configurations to add
+     * @param savedNetworksBySSID The saved networks keyed by SSID
+     *
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyPrerequisites#getWifiManager()
+     *
+     * @return WiseFyBatchResult - The network id or failure code for each network in the given order
+     */
+    WiseFyBatchResult addNetworks(List<WifiConfiguration> networks, Map<String, WifiConfiguration> savedNetworksBySSID) {
+        WiseFyBatchResult results = new WiseFyBatchResult(networks.size());
+        WifiManager wifiManager = mWiseFyPrerequisites.getWifiManager();
+        for (WifiConfiguration network : networks) {
+            if (network == null || TextUtils.isEmpty(network.SSID)) {
+                results.add(null, WiseFyCodes.MISSING_PARAMETER);
+                continue;
+            }
+
+            String ssid = network.SSID.replaceAll("\"", "");
+            if (savedNetworksBySSID.containsKey(ssid)) {
+                results.add(ssid, WiseFyCodes.NETWORK_ALREADY_CONFIGURED);
+                continue;
+            }
+
+            int result = wifiManager.addNetwork(network);
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Adding network: %s had result: %d", ssid, result));
+            }
+            if (result != WiseFy.WIFI_MANAGER_FAILURE) {
+                network.networkId = result;
+                savedNetworksBySSID.put(ssid, network);
+            }
+            results.add(ssid, result);
+        }
+        return results;
+    }
+
+    /**
+     * Used internally to remove a list of saved networks
+     *
+     * *NOTE* SSIDs are compared exactly (not as a regex) against one snapshot of the saved networks.  The
+     * device is disconnected once before any network is removed and reconnected once afterwards, and only
+     * if at least one of the networks was found.
+     *
+     * @param ssidsToRemove The SSIDs of the networks to remove
+     *
+     * @see WiseFySearch#getSavedNetworksSnapshot()
+     * @see WiseFySearch#indexSavedNetworksBySSID(List)
+     *
+     * @return WiseFyBatchResult - The removed network id or failure code for each SSID in the given order
+     */
+    WiseFyBatchResult removeNetworks(List<String> ssidsToRemove) {
+        Map<String, WifiConfiguration> savedNetworksBySSID = mWiseFySearch.indexSavedNetworksBySSID(mWiseFySearch.getSavedNetworksSnapshot());
+        return removeNetworks(ssidsToRemove, savedNetworksBySSID);
+    }
+
+    /**
+     * Used internally to remove a list of saved networks against an existing index of saved networks
+     *
+     * *NOTE* The index is updated with each network that is successfully removed
+     *
+     * @param ssidsToRemove The SSIDs of the networks to remove
+     * @param savedNetworksBySSID The saved networks keyed by SSID
+     *
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyPrerequisites#getWifiManager()
+     *
+     * @return WiseFyBatchResult - The removed network id or failure code for each SSID in the given order
+     */
+    WiseFyBatchResult removeNetworks(List<String> ssidsToRemove, Map<String, WifiConfiguration> savedNetworksBySSID) {
+        WiseFyBatchResult results = new WiseFyBatchResult(ssidsToRemove.size());
+        WifiManager wifiManager = mWiseFyPrerequisites.getWifiManager();
+        boolean disconnected = false;
+        for (String ssid : ssidsToRemove) {
+            if (TextUtils.isEmpty(ssid)) {
+                results.add(ssid, WiseFyCodes.MISSING_PARAMETER);
+                continue;
+            }
+
+            WifiConfiguration savedNetwork = savedNetworksBySSID.get(ssid);
+            if (savedNetwork == null) {
+                if (LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
+                    Log.w(TAG, String.format("SSID to remove: %s was not found in list to remove network", ssid));
+                }
+                results.add(ssid, WiseFyCodes.NETWORK_NOT_FOUND);
+                continue;
+            }
+
+            if (!disconnected) {
+                wifiManager.disconnect();
+                disconnected = true;
+            }
+            boolean result = wifiManager.removeNetwork(savedNetwork.networkId);
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Removing network: %s had result: %b", ssid, result));
+            }
+            if (result) {
+                savedNetworksBySSID.remove(ssid);
+                results.add(ssid, savedNetwork.networkId);
+            } else {
+                results.add(ssid, WiseFy.WIFI_MANAGER_FAILURE);
+            }
+        }
+        if (disconnected) {
+            wifiManager.reconnect();
+        }
+        return results;
+    }
+
+    /**
+     * Used internally to make the saved networks match a desired set of networks with as few changes as possible
+     *
+     * *NOTE* The diff is computed against one snapshot of the saved networks.  Saved networks that are not
+     * desired are removed, desired networks that are not saved are added, and saved networks whose key
+     * management, hidden flag, or readable key differ from the desired network are updated.  Nothing is
+     * disconnected along the way and the currently connected network is only changed (last) if it has to be.
+     *
+     * @param desiredNetworks The network configurations that should be saved (i.e. from WifiConfigurationUtil)
+     *
+     * @see #addNetworks(List, Map)
+     * @see #requiresUpdate(WifiConfiguration, WifiConfiguration)
+     * @see WiseFySearch#getSavedNetworksSnapshot()
+     * @see WiseFySearch#indexSavedNetworksBySSID(List)
+     *
+     * @return WiseFySyncResult - The results of the networks that were added, updated, and removed
+     */
+    WiseFySyncResult syncSavedNetworks(List<WifiConfiguration> desiredNetworks) {
+        WifiManager wifiManager = mWiseFyPrerequisites.getWifiManager();
+        List<WifiConfiguration> savedNetworks = mWiseFySearch.getSavedNetworksSnapshot();
+        Map<String, WifiConfiguration> savedNetworksBySSID = mWiseFySearch.indexSavedNetworksBySSID(savedNetworks);
+        WifiInfo connectionInfo = wifiManager.getConnectionInfo();
+        int connectedNetworkId = connectionInfo != null ? connectionInfo.getNetworkId() : WiseFy.WIFI_MANAGER_FAILURE;
+
+        Set<String> desiredSSIDs = new HashSet<>();
+        List<WifiConfiguration> networksToAdd = new ArrayList<>();
+        List<WifiConfiguration> networksToUpdate = new ArrayList<>();
+        int unchangedCount = 0;
+        for (WifiConfiguration desiredNetwork : desiredNetworks) {
+            if (desiredNetwork == null || TextUtils.isEmpty(desiredNetwork.SSID)) {
+                networksToAdd.add(desiredNetwork);
+                continue;
+            }
+
+            String ssid = desiredNetwork.SSID.replaceAll("\"", "");
+            WifiConfiguration savedNetwork = savedNetworksBySSID.get(ssid);
+            if (!desiredSSIDs.add(ssid) || savedNetwork == null) {
+                networksToAdd.add(desiredNetwork);
+            } else if (requiresUpdate(savedNetwork, desiredNetwork)) {
+                desiredNetwork.networkId = savedNetwork.networkId;
+                networksToUpdate.add(desiredNetwork);
+            } else {
+                unchangedCount++;
+            }
+        }
+
+        List<WifiConfiguration> networksToRemove = new ArrayList<>();
+        for (WifiConfiguration savedNetwork : savedNetworks) {
+            if (savedNetwork != null && savedNetwork.SSID != null && !desiredSSIDs.contains(savedNetwork.SSID.replaceAll("\"", ""))) {
+                networksToRemove.add(savedNetwork);
+            }
+        }
+
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Syncing saved networks, add: %d, update: %d, remove: %d, unchanged: %d",
+                    networksToAdd.size(), networksToUpdate.size(), networksToRemove.size(), unchangedCount));
+        }
+
+        WiseFyBatchResult removed = new WiseFyBatchResult(networksToRemove.size());
+        WifiConfiguration connectedNetworkToRemove = null;
+        for (WifiConfiguration savedNetwork : networksToRemove) {
+            if (savedNetwork.networkId == connectedNetworkId) {
+                connectedNetworkToRemove = savedNetwork;
+            } else {
+                removeSavedNetwork(wifiManager, savedNetwork, removed);
+            }
+        }
+
+        WiseFyBatchResult added = addNetworks(networksToAdd, savedNetworksBySSID);
+
+        WiseFyBatchResult updated = new WiseFyBatchResult(networksToUpdate.size());
+        WifiConfiguration connectedNetworkToUpdate = null;
+        for (WifiConfiguration desiredNetwork : networksToUpdate) {
+            if (desiredNetwork.networkId == connectedNetworkId) {
+                connectedNetworkToUpdate = desiredNetwork;
+            } else {
+                updateSavedNetwork(wifiManager, desiredNetwork, updated);
+            }
+        }
+
+        if (connectedNetworkToUpdate != null) {
+            updateSavedNetwork(wifiManager, connectedNetworkToUpdate, updated);
+        }
+        if (connectedNetworkToRemove != null) {
+            removeSavedNetwork(wifiManager, connectedNetworkToRemove, removed);
+            wifiManager.reconnect();
+        }
+        return new WiseFySyncResult(added, updated, removed, unchangedCount);
+    }
+
+    /**
+     * Used internally to stream a manifest file into the saved networks in chunks
+     *
+     * *NOTE* The saved networks are read once for the whole import
+     *
+     * @param manifest The manifest file to import
+     * @param format The format of the manifest
+     * @param callbacks The optional listener to report progress to
+     *
+     * @see ManifestBackend
+     * @see WiseFyManifestImporter#importManifest(WiseFyManifestReader, ImportManifestCallbacks)
+     * @see WiseFyManifestReader
+     *
+     * @return WiseFyImportResult - The totals for the whole manifest
+     *
+     * @throws IOException If the manifest could not be opened or read
+     */
+    WiseFyImportResult importManifest(File manifest, int format, ImportManifestCallbacks callbacks) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(manifest), "UTF-8");
+        try {
+            WiseFyManifestImporter importer = new WiseFyManifestImporter(new ManifestBackend(), WiseFyManifestImporter.DEFAULT_CHUNK_SIZE);
+            WiseFyImportResult result = importer.importManifest(new WiseFyManifestReader(reader, format), callbacks);
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Imported manifest: %s, processed: %d, added: %d, skipped: %d, failed: %d",
+                        manifest.getName(), result.getProcessedCount(), result.getAddedCount(),
+                        result.getSkippedCount(), result.getFailedCount()));
+            }
+            return result;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    /**
+     * Used internally to check if a saved network differs from the desired configuration for it
+     *
+     * *NOTE* Keys that the system does not return (null or masked) are treated as unchanged
+     *
+     * @param savedNetwork The saved configuration
+     * @param desiredNetwork The desired configuration with the same SSID
+     *
+     * @return boolean - True if the saved network needs to be updated
+     */
+    private boolean requiresUpdate(WifiConfiguration savedNetwork, WifiConfiguration desiredNetwork) {
+        if (!savedNetwork.allowedKeyManagement.equals(desiredNetwork.allowedKeyManagement)
+                || savedNetwork.hiddenSSID != desiredNetwork.hiddenSSID) {
+            return true;
+        }
+        if (isKnownAndDifferent(savedNetwork.preSharedKey, desiredNetwork.preSharedKey)) {
+            return true;
+        }
+        return savedNetwork.wepKeys != null && desiredNetwork.wepKeys != null
+                && isKnownAndDifferent(savedNetwork.wepKeys[0], desiredNetwork.wepKeys[0]);
+    }
+
+    private static boolean isKnownAndDifferent(String savedKey, String desiredKey) {
+        return desiredKey != null && savedKey != null && !MASKED_KEY.equals(savedKey) && !savedKey.equals(desiredKey);
+    }
+
+    private void removeSavedNetwork(WifiManager wifiManager, WifiConfiguration savedNetwork, WiseFyBatchResult results) {
+        String ssid = savedNetwork.SSID.replaceAll("\"", "");
+        boolean result = wifiManager.removeNetwork(savedNetwork.networkId);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Removing network: %s had result: %b", ssid, result));
+        }
+        results.add(ssid, result ? savedNetwork.networkId : WiseFy.WIFI_MANAGER_FAILURE);
+    }
+
+    private void updateSavedNetwork(WifiManager wifiManager, WifiConfiguration desiredNetwork, WiseFyBatchResult results) {
+        String ssid = desiredNetwork.SSID.replaceAll("\"", "");
+        int result = wifiManager.updateNetwork(desiredNetwork);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Updating network: %s had result: %d", ssid, result));
+        }
+        results.add(ssid, result);
+    }
+
+    /**
+     * The backend for manifest imports that generates configurations with WifiConfigurationUtil and adds
+     * each chunk through {@link #addNetworks(List, Map)} against one index of the saved networks
+     */
+    private class ManifestBackend implements WiseFyManifestImporter.Backend {
+
+        private Map<String, WifiConfiguration> mSavedNetworksBySSID;
+
+        @Override
+        public Collection<String> getSavedSSIDs() {
+            mSavedNetworksBySSID = mWiseFySearch.indexSavedNetworksBySSID(mWiseFySearch.getSavedNetworksSnapshot());
+            return mSavedNetworksBySSID.keySet();
+        }
+
+        @Override
+        public void addNetworks(String[] ssids, int[] securityTypes, String[] passwords, int count, int[] results) {
+            WifiConfigurationUtil wifiConfigurationUtil = WifiConfigurationUtil.getInstance();
+            List<WifiConfiguration> networks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                switch (securityTypes[i]) {
+                    case WiseFyManifestReader.SECURITY_WEP:
+                        networks.add(wifiConfigurationUtil.generateWEPNetworkConfiguration(ssids[i], passwords[i]));
+                        break;
+                    case WiseFyManifestReader.SECURITY_WPA2:
+                        networks.add(wifiConfigurationUtil.generateWPA2NetworkConfiguration(ssids[i], passwords[i]));
+                        break;
+                    default:
+                        networks.add(wifiConfigurationUtil.generateOpenNetworkConfiguration(ssids[i]));
+                        break;
+                }
+            }
+            WiseFyBatchResult batchResult = WiseFyProvisioning.this.addNetworks(networks, mSavedNetworksBySSID);
+            for (int i = 0; i < count; i++) {
+                results[i] = batchResult.getResultCode(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.constants.Bands;
+import com.isupatches.wisefy.constants.Capabilities;
+
+
+/**
+ * A compiled filter over the access points of a scan.
+ *
+ * Every criterion of the builder is compiled into primitive fields that one predicate checks for each
+ * access point in a single pass, cheapest checks first.  The SSID pattern is compiled once and only
+ * matched once for each distinct SSID in a scan (a plain SSID is looked up by hash instead).  With a
+ * limit, the strongest access points are kept in a bounded heap instead of sorting every match.
+ *
+ * A query is immutable so it can be built once, cached, and run against every scan.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see Builder
+ * @see WiseFy#queryLastKnownScan(WiseFyQuery)
+ * @see WiseFy#queryNearbyAccessPoints(WiseFyQuery)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyQuery {
+
+    public static final int NO_LIMIT = 0;
+
+    private static final int BSSID_OCTETS = 6;
+
+    private final WiseFySSIDMatcher mSSIDMatcher;
+
+    private final int mMinRSSI;
+
+    private final int mBandMask;
+
+    private final int mRequiredCapabilityFlags;
+
+    private final int mAnyCapabilityFlags;
+
+    private final int mExcludedCapabilityFlags;
+
+    private final long mBSSIDPrefix;
+
+    private final long mBSSIDPrefixMask;
+
+    private final long mSeenWithinInMillis;
+
+    private final int mLimit;
+
+    /**
+     * Private constructor that compiles the criteria of a builder
+     *
+     * @param builder The builder with the criteria
+     */
+    private WiseFyQuery(Builder builder) {
+        mSSIDMatcher = builder.mSSIDRegex != null ? WiseFySSIDMatcher.compile(builder.mSSIDRegex) : null;
+        mMinRSSI = builder.mMinRSSI;
+        mBandMask = builder.mBandMask;
+        mRequiredCapabilityFlags = builder.mRequiredCapabilityFlags;
+        mAnyCapabilityFlags = builder.mAnyCapabilityFlags;
+        mExcludedCapabilityFlags = builder.mExcludedCapabilityFlags;
+        mBSSIDPrefix = builder.mBSSIDPrefix;
+        mBSSIDPrefixMask = builder.mBSSIDPrefixMask;
+        mSeenWithinInMillis = builder.mSeenWithinInMillis;
+        mLimit = builder.mLimit;
+    }
+
+    /**
+     * @return int - The maximum number of access points the query returns or NO_LIMIT
+     */
+    public int getLimit() {
+        return mLimit;
+    }
+
+    /**
+     * Used internally to run the query against a scan table
+     *
+     * *NOTE* Without a limit the matches are in scan order.  With a limit they are ordered by signal strength
+     * (strongest first).
+     *
+     * @param scanTable The access points to filter
+     * @param now The current time for the seen within criterion (System#currentTimeMillis())
+     *
+     * @return WiseFyScanTable - A view of the matching access points
+     */
+    WiseFyScanTable run(WiseFyScanTable scanTable, long now) {
+        byte[] ssidMatches = mSSIDMatcher != null ? scanTable.newMatchCache(mSSIDMatcher) : null;
+        int size = scanTable.getAccessPointCount();
+        if (mLimit == NO_LIMIT) {
+            int[] rows = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (matches(scanTable, i, now, ssidMatches)) {
+                    rows[count++] = i;
+                }
+            }
+            return scanTable.select(rows, count);
+        }
+
+        int[] heap = new int[Math.min(mLimit, size)];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!matches(scanTable, i, now, ssidMatches)) {
+                continue;
+            }
+            if (count < heap.length) {
+                heap[count] = i;
+                siftUp(scanTable, heap, count++);
+            } else if (heap.length > 0 && scanTable.getLevel(i) > scanTable.getLevel(heap[0])) {
+                heap[0] = i;
+                siftDown(scanTable, heap, 0, count);
+            }
+        }
+        for (int end = count - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(scanTable, heap, 0, end);
+        }
+        return scanTable.select(heap, count);
+    }
+
+    /*
+     * Helpers
+     */
+
+    private boolean isWeaker(WiseFyScanTable scanTable, int row, int otherRow) {
+        int level = scanTable.getLevel(row);
+        int otherLevel = scanTable.getLevel(otherRow);
+        return level < otherLevel || (level == otherLevel && row > otherRow);
+    }
+
+    private boolean matches(WiseFyScanTable scanTable, int index, long now, byte[] ssidMatches) {
+        if (scanTable.getLevel(index) < mMinRSSI) {
+            return false;
+        }
+
+        int capabilityFlags = scanTable.getCapabilityFlags(index);
+        if ((capabilityFlags & mRequiredCapabilityFlags) != mRequiredCapabilityFlags
+                || (capabilityFlags & mExcludedCapabilityFlags) != 0
+                || (mAnyCapabilityFlags != Capabilities.FLAG_NONE && (capabilityFlags & mAnyCapabilityFlags) == 0)) {
+            return false;
+        }
+        if (mBandMask != 0 && (mBandMask & (1 << WiseFyScanClassifier.getBand(scanTable.getFrequency(index)))) == 0) {
+            return false;
+        }
+        if (mBSSIDPrefixMask != 0 && (scanTable.getPackedBSSID(index) & mBSSIDPrefixMask) != mBSSIDPrefix) {
+            return false;
+        }
+        if (mSeenWithinInMillis > 0 && now - scanTable.getLastSeenInMillis(index) > mSeenWithinInMillis) {
+            return false;
+        }
+        if (ssidMatches == null) {
+            return true;
+        }
+
+        int ssidId = scanTable.getSSIDId(index);
+        if (ssidId == WiseFyScanTable.NO_SSID) {
+            return false;
+        }
+        if (ssidMatches[ssidId] == WiseFyScanTable.UNKNOWN) {
+            ssidMatches[ssidId] = mSSIDMatcher.matches(scanTable.getPooledSSID(ssidId)) ? WiseFyScanTable.MATCH : WiseFyScanTable.NO_MATCH;
+        }
+        return ssidMatches[ssidId] == WiseFyScanTable.MATCH;
+    }
+
+    private void siftDown(WiseFyScanTable scanTable, int[] heap, int position, int count) {
+        while (true) {
+            int weakest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < count && isWeaker(scanTable, heap[left], heap[weakest])) {
+                weakest = left;
+            }
+            if (right < count && isWeaker(scanTable, heap[right], heap[weakest])) {
+                weakest = right;
+            }
+            if (weakest == position) {
+                return;
+            }
+            swap(heap, position, weakest);
+            position = weakest;
+        }
+    }
+
+    private void siftUp(WiseFyScanTable scanTable, int[] heap, int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!isWeaker(scanTable, heap[position], heap[parent])) {
+                return;
+            }
+            swap(heap, position, parent);
+            position = parent;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int row = heap[i];
+        heap[i] = heap[j];
+        heap[j] = row;
+    }
+
+    /**
+     * A builder for the criteria of a query
+     *
+     * *NOTE* Every criterion has to match.  Criteria that are not set match every access point.
+     */
+    @PublicAPI
+    public static class Builder {
+
+        private String mSSIDRegex;
+
+        private int mMinRSSI = Integer.MIN_VALUE;
+
+        private int mBandMask;
+
+        private int mRequiredCapabilityFlags;
+
+        private int mAnyCapabilityFlags;
+
+        private int mExcludedCapabilityFlags;
+
+        private long mBSSIDPrefix;
+
+        private long mBSSIDPrefixMask;
+
+        private long mSeenWithinInMillis;
+
+        private int mLimit = NO_LIMIT;
+
+        /**
+         * Builder method to only match access points whose whole SSID matches a regex
+         *
+         * *NOTE* If an SSID in the scan is equal to the regex only that SSID matches, and a regex that does not
+         * compile is only matched literally
+         *
+         * @param regexForSSID The regex for the SSID or null to match any SSID
+         *
+         * @return Builder - The builder
+         *
+         * @throws IllegalArgumentException If the regex is valid but not supported by the linear-time matcher
+         */
+        public Builder ssid(String regexForSSID) {
+            if (regexForSSID != null && !WiseFySSIDMatcher.isSupported(regexForSSID)) {
+                throw new IllegalArgumentException(String.format("Unsupported regex for SSID: %s", regexForSSID));
+            }
+            mSSIDRegex = regexForSSID;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points with at least a given signal strength
+         *
+         * @param minRSSI The minimum signal strength (dBm)
+         *
+         * @return Builder - The builder
+         */
+        public Builder minRSSI(int minRSSI) {
+            mMinRSSI = minRSSI;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points on a band (can be called for more than one band)
+         *
+         * @param band The band to match
+         *
+         * @see Bands
+         *
+         * @return Builder - The builder
+         */
+        public Builder band(int band) {
+            mBandMask |= 1 << band;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points that have all of the given capability bits
+         *
+         * @param capabilityFlags The capability bits that are required
+         *
+         * @see Capabilities
+         *
+         * @return Builder - The builder
+         */
+        public Builder requireCapabilityFlags(int capabilityFlags) {
+            mRequiredCapabilityFlags |= capabilityFlags;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points that have at least one of the given capability bits
+         *
+         * *NOTE* Use Capabilities.FLAGS_SECURE for secure networks
+         *
+         * @param capabilityFlags The capability bits to match
+         *
+         * @see Capabilities
+         *
+         * @return Builder - The builder
+         */
+        public Builder anyCapabilityFlags(int capabilityFlags) {
+            mAnyCapabilityFlags |= capabilityFlags;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points that have none of the given capability bits
+         *
+         * *NOTE* Use Capabilities.FLAGS_SECURE for open networks
+         *
+         * @param capabilityFlags The capability bits to exclude
+         *
+         * @see Capabilities
+         *
+         * @return Builder - The builder
+         */
+        public Builder excludeCapabilityFlags(int capabilityFlags) {
+            mExcludedCapabilityFlags |= capabilityFlags;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points whose BSSID starts with the given octets
+         *
+         * *NOTE* Case insensitive
+         *
+         * @param bssidPrefix One to six colon separated hex octets (i.e. "00:11:22")
+         *
+         * @return Builder - The builder
+         *
+         * @throws IllegalArgumentException If the prefix is not one to six colon separated hex octets
+         */
+        public Builder bssidPrefix(String bssidPrefix) {
+            if (bssidPrefix == null || (bssidPrefix.length() + 1) % 3 != 0
+                    || (bssidPrefix.length() + 1) / 3 > BSSID_OCTETS) {
+                throw new IllegalArgumentException(String.format("Invalid BSSID prefix: %s", bssidPrefix));
+            }
+
+            int octets = (bssidPrefix.length() + 1) / 3;
+            long prefix = 0;
+            for (int i = 0; i < bssidPrefix.length(); i++) {
+                char c = bssidPrefix.charAt(i);
+                if (i % 3 == 2) {
+                    if (c != ':') {
+                        throw new IllegalArgumentException(String.format("Invalid BSSID prefix: %s", bssidPrefix));
+                    }
+                    continue;
+                }
+                int digit = Character.digit(c, 16);
+                if (digit < 0) {
+                    throw new IllegalArgumentException(String.format("Invalid BSSID prefix: %s", bssidPrefix));
+                }
+                prefix = (prefix << 4) | digit;
+            }
+            int shift = 8 * (BSSID_OCTETS - octets);
+            mBSSIDPrefix = prefix << shift;
+            mBSSIDPrefixMask = ((1L << (8 * octets)) - 1) << shift;
+            return this;
+        }
+
+        /**
+         * Builder method to only match access points that were seen recently
+         *
+         * @param windowInMillis How long ago the access point can have been seen last
+         *
+         * @return Builder - The builder
+         */
+        public Builder seenWithin(long windowInMillis) {
+            mSeenWithinInMillis = windowInMillis;
+            return this;
+        }
+
+        /**
+         * Builder method to only return the strongest access points that match
+         *
+         * @param limit The maximum number of access points to return or NO_LIMIT
+         *
+         * @return Builder - The builder
+         */
+        public Builder limit(int limit) {
+            mLimit = Math.max(limit, NO_LIMIT);
+            return this;
+        }
+
+        /**
+         * @return WiseFyQuery - The compiled query
+         */
+        public WiseFyQuery build() {
+            return new WiseFyQuery(this);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+
+
+/**
+ * A class used internally to keep the most recent values of a measurement in a fixed size array.
+ *
+ * Once the buffer is full the oldest value is overwritten, so adding a value never allocates.
+ *
+ * *NOTE* Not thread safe.  Callers are expected to synchronize access
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyRingBuffer {
+
+    private final int[] mValues;
+
+    private int mNext;
+
+    private int mCount;
+
+    /**
+     * Constructor for an empty buffer
+     *
+     * @param capacity The maximum number of values to keep
+     */
+    WiseFyRingBuffer(int capacity) {
+        mValues = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Used internally to add a value, overwriting the oldest value if the buffer is full
+     *
+     * @param value The value to add
+     */
+    void add(int value) {
+        mValues[mNext] = value;
+        mNext = (mNext + 1) % mValues.length;
+        if (mCount < mValues.length) {
+            mCount++;
+        }
+    }
+
+    /**
+     * Used internally to remove every value
+     */
+    void clear() {
+        mNext = 0;
+        mCount = 0;
+    }
+
+    /**
+     * @return int - The maximum number of values the buffer keeps
+     */
+    int getCapacity() {
+        return mValues.length;
+    }
+
+    /**
+     * @return int - The number of values in the buffer
+     */
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @param age How many values ago the value was added (0 for the latest)
+     *
+     * @return int - The value
+     */
+    int get(int age) {
+        if (age < 0 || age >= mCount) {
+            throw new IndexOutOfBoundsException(String.format("age: %d, count: %d", age, mCount));
+        }
+        return mValues[(mNext - 1 - age + mValues.length) % mValues.length];
+    }
+
+    /**
+     * @return WiseFySampleStats|null - The latest, min, max, and mean of the values or null if there are none
+     */
+    WiseFySampleStats getStats() {
+        if (mCount == 0) {
+            return null;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+        for (int i = 0; i < mCount; i++) {
+            int value = mValues[i];
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+        }
+        return new WiseFySampleStats(mCount, get(0), min, max, (double) sum / mCount);
+    }
+}
@@ -0,0 +1,710 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A class used internally to match SSIDs against a regex in time that is linear in the length of the SSID.
+ *
+ * The regex is compiled into a Thompson NFA and every match runs all of the states at once (a Pike VM), so
+ * no pattern can backtrack.  Only a subset of java.util.regex that makes sense for SSIDs is supported:
+ * literals, ., character classes with ranges and negation, \d \w \s and their negations, escaped
+ * metacharacters, groups, |, * + ? {n} {n,} {n,m} (lazy forms match the same SSIDs), a leading (?i), a leading
+ * ^, and a trailing $.  Anything else (i.e. back references, lookarounds, possessive quantifiers, nested
+ * classes) is not supported.  Like Pattern#matches the whole SSID has to match.
+ *
+ * *NOTE* Immutable so it can be shared between threads.  Has no Android dependencies of its own so it
+ * can be run on the JVM
+ *
+ * @see WiseFySSIDMatcher
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFySSIDAutomaton {
+
+    static final int MAX_INSTRUCTIONS = 512;
+
+    static final int STEP_BUDGET = 32 * 1024;
+
+    static final int RESULT_NO_MATCH = 0;
+
+    static final int RESULT_MATCH = 1;
+
+    static final int RESULT_BUDGET_EXCEEDED = 2;
+
+    private static final int OP_CHAR = 0;
+
+    private static final int OP_CLASS = 1;
+
+    private static final int OP_SPLIT = 2;
+
+    private static final int OP_JUMP = 3;
+
+    private static final int OP_MATCH = 4;
+
+    private static final int NODE_CHAR = 0;
+
+    private static final int NODE_CLASS = 1;
+
+    private static final int NODE_CONCAT = 2;
+
+    private static final int NODE_ALTERNATE = 3;
+
+    private static final int NODE_REPEAT = 4;
+
+    private static final int UNBOUNDED = -1;
+
+    private static final int[] DIGIT_RANGES = {'0', '9'};
+
+    private static final int[] WORD_RANGES = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+
+    private static final int[] SPACE_RANGES = {'\t', '\r', ' ', ' '};
+
+    private static final int[] LINE_TERMINATOR_RANGES = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+
+    private final int[] mOps;
+
+    private final int[] mArgs1;
+
+    private final int[] mArgs2;
+
+    private final int[][] mClassRanges;
+
+    private final boolean[] mClassNegated;
+
+    private final boolean mCaseInsensitive;
+
+    /**
+     * Private constructor for a compiled program
+     *
+     * @param compiler The compiler that parsed the regex and emitted the program
+     */
+    private WiseFySSIDAutomaton(Compiler compiler) {
+        mOps = toArray(compiler.mOps);
+        mArgs1 = toArray(compiler.mArgs1);
+        mArgs2 = toArray(compiler.mArgs2);
+        mClassRanges = compiler.mClassRanges.toArray(new int[compiler.mClassRanges.size()][]);
+        mClassNegated = new boolean[compiler.mClassNegated.size()];
+        for (int i = 0; i < mClassNegated.length; i++) {
+            mClassNegated[i] = compiler.mClassNegated.get(i);
+        }
+        mCaseInsensitive = compiler.mCaseInsensitive;
+    }
+
+    /**
+     * Used internally to compile a regex into an automaton
+     *
+     * @param regexForSSID The regex for the SSID
+     *
+     * @see #MAX_INSTRUCTIONS
+     *
+     * @return WiseFySSIDAutomaton|null - The automaton or null if the regex is not supported or compiles into
+     * too many instructions
+     */
+    static WiseFySSIDAutomaton compile(String regexForSSID) {
+        Compiler compiler = new Compiler(regexForSSID);
+        try {
+            compiler.compile();
+        } catch (UnsupportedRegexException ure) {
+            return null;
+        }
+        return new WiseFySSIDAutomaton(compiler);
+    }
+
+    /**
+     * Used internally to check if the whole of an SSID matches
+     *
+     * *NOTE* Each character of the SSID costs one step for every state that is active, so the number of steps
+     * can never be more than the length of the SSID times twice the number of instructions
+     *
+     * @param ssid The SSID to check (without quotes)
+     * @param stepBudget The maximum number of steps the match can take
+     *
+     * @see #STEP_BUDGET
+     *
+     * @return int - RESULT_MATCH, RESULT_NO_MATCH, or RESULT_BUDGET_EXCEEDED if the match was given up on
+     */
+    int match(String ssid, int stepBudget) {
+        int size = mOps.length;
+        int[] current = new int[size];
+        int[] next = new int[size];
+        int[] marks = new int[size];
+        int[] stack = new int[size];
+        int generation = 1;
+
+        // counts[0] is the number of threads in the list that addThreads is filling
+        int[] counts = new int[1];
+        int steps = addThreads(current, counts, 0, marks, generation, stack);
+        int currentCount = counts[0];
+
+        int i = 0;
+        int length = ssid.length();
+        while (i < length && currentCount > 0) {
+            int codePoint = ssid.codePointAt(i);
+            i += Character.charCount(codePoint);
+            generation++;
+            counts[0] = 0;
+            for (int t = 0; t < currentCount; t++) {
+                int pc = current[t];
+                if (accepts(pc, codePoint)) {
+                    steps += addThreads(next, counts, pc + 1, marks, generation, stack);
+                }
+            }
+            steps += currentCount;
+            if (steps > stepBudget) {
+                return RESULT_BUDGET_EXCEEDED;
+            }
+
+            int[] swap = current;
+            current = next;
+            next = swap;
+            currentCount = counts[0];
+        }
+
+        if (i < length) {
+            return RESULT_NO_MATCH;
+        }
+        for (int t = 0; t < currentCount; t++) {
+            if (mOps[current[t]] == OP_MATCH) {
+                return RESULT_MATCH;
+            }
+        }
+        return RESULT_NO_MATCH;
+    }
+
+    /*
+     * Helpers
+     */
+
+    private boolean accepts(int pc, int codePoint) {
+        switch (mOps[pc]) {
+            case OP_CHAR:
+                int expected = mArgs1[pc];
+                return codePoint == expected || (mCaseInsensitive && swapCase(codePoint) == expected);
+            case OP_CLASS:
+                int classIndex = mArgs1[pc];
+                int[] ranges = mClassRanges[classIndex];
+                boolean inClass = inRanges(ranges, codePoint)
+                        || (mCaseInsensitive && swapCase(codePoint) != codePoint && inRanges(ranges, swapCase(codePoint)));
+                return inClass != mClassNegated[classIndex];
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return int - The number of instructions that were visited
+     */
+    private int addThreads(int[] threads, int[] counts, int startPc, int[] marks, int generation, int[] stack) {
+        int visited = 0;
+        int top = 0;
+        if (marks[startPc] != generation) {
+            marks[startPc] = generation;
+            stack[top++] = startPc;
+        }
+        while (top > 0) {
+            int pc = stack[--top];
+            visited++;
+            switch (mOps[pc]) {
+                case OP_SPLIT:
+                    if (marks[mArgs2[pc]] != generation) {
+                        marks[mArgs2[pc]] = generation;
+                        stack[top++] = mArgs2[pc];
+                    }
+                    if (marks[mArgs1[pc]] != generation) {
+                        marks[mArgs1[pc]] = generation;
+                        stack[top++] = mArgs1[pc];
+                    }
+                    break;
+                case OP_JUMP:
+                    if (marks[mArgs1[pc]] != generation) {
+                        marks[mArgs1[pc]] = generation;
+                        stack[top++] = mArgs1[pc];
+                    }
+                    break;
+                default:
+                    threads[counts[0]++] = pc;
+                    break;
+            }
+        }
+        return visited;
+    }
+
+    private static boolean inRanges(int[] ranges, int codePoint) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (codePoint >= ranges[i] && codePoint <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int swapCase(int codePoint) {
+        if (codePoint >= 'a' && codePoint <= 'z') {
+            return codePoint - ('a' - 'A');
+        }
+        if (codePoint >= 'A' && codePoint <= 'Z') {
+            return codePoint + ('a' - 'A');
+        }
+        return codePoint;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Thrown while compiling a regex that is outside of the supported subset
+     */
+    private static class UnsupportedRegexException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * A node of the parsed regex
+     */
+    private static class Node {
+
+        final int type;
+
+        final List<Node> children = new ArrayList<>();
+
+        int value;
+
+        int min;
+
+        int max;
+
+        Node(int type) {
+            this.type = type;
+        }
+    }
+
+    /**
+     * A recursive descent parser for the supported subset that emits the program for the automaton
+     */
+    private static class Compiler {
+
+        private final String mRegex;
+
+        private final List<Integer> mOps = new ArrayList<>();
+
+        private final List<Integer> mArgs1 = new ArrayList<>();
+
+        private final List<Integer> mArgs2 = new ArrayList<>();
+
+        private final List<int[]> mClassRanges = new ArrayList<>();
+
+        private final List<Boolean> mClassNegated = new ArrayList<>();
+
+        private boolean mCaseInsensitive;
+
+        private int mPosition;
+
+        private int mEnd;
+
+        Compiler(String regex) {
+            mRegex = regex;
+        }
+
+        void compile() throws UnsupportedRegexException {
+            mEnd = mRegex.length();
+            if (mRegex.startsWith("(?i)")) {
+                mCaseInsensitive = true;
+                mPosition = 4;
+            }
+            if (mPosition < mEnd && mRegex.charAt(mPosition) == '^') {
+                mPosition++;
+            }
+            if (mEnd > mPosition && mRegex.charAt(mEnd - 1) == '$' && !isEscaped(mEnd - 1)) {
+                mEnd--;
+            }
+
+            Node root = parseAlternation();
+            if (mPosition != mEnd) {
+                throw new UnsupportedRegexException();
+            }
+            emit(root);
+            add(OP_MATCH, 0, 0);
+        }
+
+        /*
+         * Parsing
+         */
+
+        private Node parseAlternation() throws UnsupportedRegexException {
+            Node alternation = new Node(NODE_ALTERNATE);
+            alternation.children.add(parseConcatenation());
+            while (mPosition < mEnd && mRegex.charAt(mPosition) == '|') {
+                mPosition++;
+                alternation.children.add(parseConcatenation());
+            }
+            return alternation.children.size() == 1 ? alternation.children.get(0) : alternation;
+        }
+
+        private Node parseConcatenation() throws UnsupportedRegexException {
+            Node concatenation = new Node(NODE_CONCAT);
+            while (mPosition < mEnd) {
+                char c = mRegex.charAt(mPosition);
+                if (c == '|' || c == ')') {
+                    break;
+                }
+                concatenation.children.add(parseRepetition(parseAtom()));
+            }
+            return concatenation;
+        }
+
+        private Node parseRepetition(Node atom) throws UnsupportedRegexException {
+            if (mPosition >= mEnd) {
+                return atom;
+            }
+
+            int min;
+            int max;
+            char c = mRegex.charAt(mPosition);
+            if (c == '*') {
+                min = 0;
+                max = UNBOUNDED;
+                mPosition++;
+            } else if (c == '+') {
+                min = 1;
+                max = UNBOUNDED;
+                mPosition++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                mPosition++;
+            } else if (c == '{') {
+                mPosition++;
+                min = parseNumber();
+                max = min;
+                if (mPosition < mEnd && mRegex.charAt(mPosition) == ',') {
+                    mPosition++;
+                    max = mPosition < mEnd && mRegex.charAt(mPosition) == '}' ? UNBOUNDED : parseNumber();
+                }
+                if (mPosition >= mEnd || mRegex.charAt(mPosition) != '}' || (max != UNBOUNDED && max < min)) {
+                    throw new UnsupportedRegexException();
+                }
+                mPosition++;
+            } else {
+                return atom;
+            }
+
+            // A lazy quantifier matches the same SSIDs when the whole SSID has to match
+            if (mPosition < mEnd && mRegex.charAt(mPosition) == '?') {
+                mPosition++;
+            }
+            if (mPosition < mEnd && isQuantifier(mRegex.charAt(mPosition))) {
+                throw new UnsupportedRegexException();
+            }
+
+            Node repetition = new Node(NODE_REPEAT);
+            repetition.children.add(atom);
+            repetition.min = min;
+            repetition.max = max;
+            return repetition;
+        }
+
+        private Node parseAtom() throws UnsupportedRegexException {
+            int codePoint = mRegex.codePointAt(mPosition);
+            mPosition += Character.charCount(codePoint);
+            switch (codePoint) {
+                case '(':
+                    if (mRegex.startsWith("?:", mPosition)) {
+                        mPosition += 2;
+                    } else if (mPosition < mEnd && mRegex.charAt(mPosition) == '?') {
+                        throw new UnsupportedRegexException();
+                    }
+                    Node group = parseAlternation();
+                    if (mPosition >= mEnd || mRegex.charAt(mPosition) != ')') {
+                        throw new UnsupportedRegexException();
+                    }
+                    mPosition++;
+                    return group;
+                case '[':
+                    return parseClass();
+                case '.':
+                    return newClass(LINE_TERMINATOR_RANGES, true);
+                case '\\':
+                    return parseEscape();
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                case '^':
+                case '$':
+                    throw new UnsupportedRegexException();
+                default:
+                    return newChar(codePoint);
+            }
+        }
+
+        private Node parseEscape() throws UnsupportedRegexException {
+            if (mPosition >= mEnd) {
+                throw new UnsupportedRegexException();
+            }
+            int codePoint = mRegex.codePointAt(mPosition);
+            mPosition += Character.charCount(codePoint);
+            int[] ranges = getPredefinedRanges(codePoint);
+            if (ranges != null) {
+                return newClass(ranges, Character.isUpperCase(codePoint));
+            }
+            return newChar(toEscapedChar(codePoint));
+        }
+
+        private Node parseClass() throws UnsupportedRegexException {
+            boolean negated = false;
+            if (mPosition < mEnd && mRegex.charAt(mPosition) == '^') {
+                negated = true;
+                mPosition++;
+            }
+            if (mPosition < mEnd && mRegex.charAt(mPosition) == ']') {
+                throw new UnsupportedRegexException();
+            }
+
+            List<Integer> ranges = new ArrayList<>();
+            while (true) {
+                if (mPosition >= mEnd) {
+                    throw new UnsupportedRegexException();
+                }
+                int codePoint = mRegex.codePointAt(mPosition);
+                mPosition += Character.charCount(codePoint);
+                if (codePoint == ']') {
+                    break;
+                }
+                if (codePoint == '[' || (codePoint == '&' && mRegex.startsWith("&", mPosition))) {
+                    throw new UnsupportedRegexException();
+                }
+
+                int low = codePoint;
+                if (codePoint == '\\') {
+                    if (mPosition >= mEnd) {
+                        throw new UnsupportedRegexException();
+                    }
+                    int escaped = mRegex.codePointAt(mPosition);
+                    mPosition += Character.charCount(escaped);
+                    int[] predefined = getPredefinedRanges(escaped);
+                    if (predefined != null) {
+                        addRanges(ranges, Character.isUpperCase(escaped) ? complement(predefined) : predefined);
+                        continue;
+                    }
+                    low = toEscapedChar(escaped);
+                }
+
+                int high = low;
+                if (mRegex.startsWith("-", mPosition) && mPosition + 1 < mEnd && mRegex.charAt(mPosition + 1) != ']') {
+                    mPosition++;
+                    high = mRegex.codePointAt(mPosition);
+                    mPosition += Character.charCount(high);
+                    if (high == '\\') {
+                        if (mPosition >= mEnd || getPredefinedRanges(mRegex.codePointAt(mPosition)) != null) {
+                            throw new UnsupportedRegexException();
+                        }
+                        int escaped = mRegex.codePointAt(mPosition);
+                        mPosition += Character.charCount(escaped);
+                        high = toEscapedChar(escaped);
+                    } else if (high == '[') {
+                        throw new UnsupportedRegexException();
+                    }
+                    if (high < low) {
+                        throw new UnsupportedRegexException();
+                    }
+                }
+                ranges.add(low);
+                ranges.add(high);
+            }
+            return newClass(toArray(ranges), negated);
+        }
+
+        private int parseNumber() throws UnsupportedRegexException {
+            int start = mPosition;
+            int number = 0;
+            while (mPosition < mEnd && mRegex.charAt(mPosition) >= '0' && mRegex.charAt(mPosition) <= '9') {
+                number = number * 10 + mRegex.charAt(mPosition) - '0';
+                if (number > MAX_INSTRUCTIONS) {
+                    throw new UnsupportedRegexException();
+                }
+                mPosition++;
+            }
+            if (mPosition == start) {
+                throw new UnsupportedRegexException();
+            }
+            return number;
+        }
+
+        private boolean isEscaped(int index) {
+            int backslashes = 0;
+            while (index - backslashes - 1 >= 0 && mRegex.charAt(index - backslashes - 1) == '\\') {
+                backslashes++;
+            }
+            return backslashes % 2 == 1;
+        }
+
+        private Node newChar(int codePoint) {
+            Node node = new Node(NODE_CHAR);
+            node.value = codePoint;
+            return node;
+        }
+
+        private Node newClass(int[] ranges, boolean negated) {
+            Node node = new Node(NODE_CLASS);
+            node.value = mClassRanges.size();
+            mClassRanges.add(ranges);
+            mClassNegated.add(negated);
+            return node;
+        }
+
+        /*
+         * Emitting
+         */
+
+        private void emit(Node node) throws UnsupportedRegexException {
+            switch (node.type) {
+                case NODE_CHAR:
+                    add(OP_CHAR, node.value, 0);
+                    break;
+                case NODE_CLASS:
+                    add(OP_CLASS, node.value, 0);
+                    break;
+                case NODE_CONCAT:
+                    for (Node child : node.children) {
+                        emit(child);
+                    }
+                    break;
+                case NODE_ALTERNATE:
+                    List<Integer> jumps = new ArrayList<>();
+                    for (int i = 0; i < node.children.size() - 1; i++) {
+                        int split = add(OP_SPLIT, 0, 0);
+                        emit(node.children.get(i));
+                        jumps.add(add(OP_JUMP, 0, 0));
+                        patch(split, split + 1, mOps.size());
+                    }
+                    emit(node.children.get(node.children.size() - 1));
+                    for (int jump : jumps) {
+                        patch(jump, mOps.size(), 0);
+                    }
+                    break;
+                case NODE_REPEAT:
+                    Node child = node.children.get(0);
+                    for (int i = 0; i < node.min; i++) {
+                        emit(child);
+                    }
+                    if (node.max == UNBOUNDED) {
+                        int split = add(OP_SPLIT, 0, 0);
+                        emit(child);
+                        add(OP_JUMP, split, 0);
+                        patch(split, split + 1, mOps.size());
+                    } else {
+                        for (int i = node.min; i < node.max; i++) {
+                            int split = add(OP_SPLIT, 0, 0);
+                            emit(child);
+                            patch(split, split + 1, mOps.size());
+                        }
+                    }
+                    break;
+                default:
+                    throw new UnsupportedRegexException();
+            }
+        }
+
+        private int add(int op, int arg1, int arg2) throws UnsupportedRegexException {
+            if (mOps.size() >= MAX_INSTRUCTIONS) {
+                throw new UnsupportedRegexException();
+            }
+            mOps.add(op);
+            mArgs1.add(arg1);
+            mArgs2.add(arg2);
+            return mOps.size() - 1;
+        }
+
+        private void patch(int pc, int arg1, int arg2) {
+            mArgs1.set(pc, arg1);
+            mArgs2.set(pc, arg2);
+        }
+
+        private static void addRanges(List<Integer> ranges, int[] toAdd) {
+            for (int value : toAdd) {
+                ranges.add(value);
+            }
+        }
+
+        private static int[] complement(int[] ranges) {
+            List<Integer> complement = new ArrayList<>();
+            int next = 0;
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (ranges[i] > next) {
+                    complement.add(next);
+                    complement.add(ranges[i] - 1);
+                }
+                next = ranges[i + 1] + 1;
+            }
+            if (next <= Character.MAX_CODE_POINT) {
+                complement.add(next);
+                complement.add(Character.MAX_CODE_POINT);
+            }
+            return toArray(complement);
+        }
+
+        private static int[] getPredefinedRanges(int codePoint) {
+            switch (codePoint) {
+                case 'd':
+                case 'D':
+                    return DIGIT_RANGES;
+                case 'w':
+                case 'W':
+                    return WORD_RANGES;
+                case 's':
+                case 'S':
+                    return SPACE_RANGES;
+                default:
+                    return null;
+            }
+        }
+
+        private static boolean isQuantifier(char c) {
+            return c == '*' || c == '+' || c == '?' || c == '{';
+        }
+
+        private static int toEscapedChar(int codePoint) throws UnsupportedRegexException {
+            switch (codePoint) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                default:
+                    if (Character.isLetterOrDigit(codePoint)) {
+                        throw new UnsupportedRegexException();
+                    }
+                    return codePoint;
+            }
+        }
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * A class used internally to find SSIDs by prefix, substring, or edit distance without scanning or
+ * running a regex.
+ *
+ * Each SSID is kept once with the sources (scan and/or saved networks) it came from.  SSIDs are folded to
+ * lower case and added to a prefix trie, for prefix lookups, and to posting lists keyed by each of their
+ * trigrams, for substring and fuzzy lookups.  Replacing the SSIDs of a source only adds and removes the
+ * SSIDs that changed, so keeping the index in step with every scan is cheap.
+ *
+ * *NOTE* Thread safe.  Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see WiseFySearch#getSSIDIndex()
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFySSIDIndex {
+
+    static final int SOURCE_SCAN = 1;
+
+    static final int SOURCE_SAVED = 2;
+
+    static final int MAX_EDITS = 2;
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final Comparator<Entry> BY_KEY = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry entry1, Entry entry2) {
+            int result = entry1.key.compareTo(entry2.key);
+            return result != 0 ? result : entry1.ssid.compareTo(entry2.ssid);
+        }
+    };
+
+    /**
+     * An SSID in the index
+     */
+    private static class Entry {
+
+        final String ssid;
+
+        final String key;
+
+        int sources;
+
+        int distance;
+
+        Entry(String ssid, String key) {
+            this.ssid = ssid;
+            this.key = key;
+        }
+    }
+
+    /**
+     * A node of the prefix trie with its children sorted by character
+     */
+    private static class TrieNode {
+
+        char[] chars = new char[0];
+
+        TrieNode[] children = new TrieNode[0];
+
+        int childCount;
+
+        List<Entry> entries;
+
+        int size;
+    }
+
+    private final Map<String, Entry> mEntries = new HashMap<>();
+
+    private final Map<String, List<Entry>> mPostings = new HashMap<>();
+
+    private final TrieNode mRoot = new TrieNode();
+
+    /**
+     * @return int - The number of distinct SSIDs in the index
+     */
+    synchronized int size() {
+        return mEntries.size();
+    }
+
+    /**
+     * Used internally to replace the SSIDs that came from a source
+     *
+     * *NOTE* Only the SSIDs that were not in the source before or are not in it anymore touch the index
+     *
+     * @param source SOURCE_SCAN or SOURCE_SAVED
+     * @param ssids The SSIDs (without quotes) that the source has now
+     */
+    synchronized void update(int source, Collection<String> ssids) {
+        Set<String> current = new HashSet<>();
+        for (String ssid : ssids) {
+            if (ssid != null && !ssid.isEmpty()) {
+                current.add(ssid);
+            }
+        }
+
+        List<Entry> removed = new ArrayList<>();
+        for (Entry entry : mEntries.values()) {
+            if ((entry.sources & source) != 0 && !current.contains(entry.ssid)) {
+                removed.add(entry);
+            }
+        }
+        for (Entry entry : removed) {
+            entry.sources &= ~source;
+            if (entry.sources == 0) {
+                remove(entry);
+            }
+        }
+
+        for (String ssid : current) {
+            Entry entry = mEntries.get(ssid);
+            if (entry == null) {
+                entry = new Entry(ssid, fold(ssid));
+                add(entry);
+            }
+            entry.sources |= source;
+        }
+    }
+
+    /**
+     * Used internally to find the SSIDs that start with a prefix
+     *
+     * *NOTE* Case insensitive
+     *
+     * @param prefix The start of the SSIDs
+     *
+     * @return List<String> - The matching SSIDs sorted alphabetically (empty if none match)
+     */
+    synchronized List<String> findByPrefix(String prefix) {
+        String key = fold(prefix);
+        TrieNode node = mRoot;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = child(node, key.charAt(i));
+        }
+
+        List<String> ssids = new ArrayList<>();
+        if (node != null) {
+            collect(node, ssids);
+        }
+        return ssids;
+    }
+
+    /**
+     * Used internally to find the SSIDs that contain some text
+     *
+     * *NOTE* Case insensitive.  Text of three or more characters only checks the SSIDs on the shortest
+     * posting list of its trigrams
+     *
+     * @param text The text to look for
+     *
+     * @return List<String> - The matching SSIDs sorted alphabetically (empty if none match)
+     */
+    synchronized List<String> findContaining(String text) {
+        String key = fold(text);
+        Collection<Entry> candidates = mEntries.values();
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            List<Entry> postings = mPostings.get(key.substring(i, i + GRAM_LENGTH));
+            if (postings == null) {
+                return new ArrayList<>();
+            }
+            if (postings.size() < candidates.size()) {
+                candidates = postings;
+            }
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (entry.key.contains(key)) {
+                matches.add(entry);
+            }
+        }
+        Collections.sort(matches, BY_KEY);
+        return toSSIDs(matches);
+    }
+
+    /**
+     * Used internally to find the SSIDs that are within a number of edits of some text
+     *
+     * *NOTE* Case insensitive.  Each edit is one character inserted, removed, or replaced.  Since an edit
+     * can change at most three trigrams, only the SSIDs that share enough trigrams with the text are compared
+     *
+     * @param text The text to compare the whole SSID to
+     * @param maxEdits The maximum number of edits (0 to MAX_EDITS)
+     *
+     * @return List<String> - The matching SSIDs sorted by the number of edits and then alphabetically (empty
+     * if none match)
+     */
+    synchronized List<String> findSimilar(String text, int maxEdits) {
+        String key = fold(text);
+        Set<String> grams = getGrams(key);
+
+        Collection<Entry> candidates;
+        int minSharedGrams = grams.size() - GRAM_LENGTH * maxEdits;
+        if (minSharedGrams > 0) {
+            Map<Entry, Integer> sharedGrams = new HashMap<>();
+            for (String gram : grams) {
+                List<Entry> postings = mPostings.get(gram);
+                if (postings == null) {
+                    continue;
+                }
+                for (Entry entry : postings) {
+                    Integer count = sharedGrams.get(entry);
+                    sharedGrams.put(entry, count != null ? count + 1 : 1);
+                }
+            }
+            candidates = new ArrayList<>();
+            for (Map.Entry<Entry, Integer> sharedGram : sharedGrams.entrySet()) {
+                if (sharedGram.getValue() >= minSharedGrams) {
+                    candidates.add(sharedGram.getKey());
+                }
+            }
+        } else {
+            candidates = mEntries.values();
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (Math.abs(entry.key.length() - key.length()) > maxEdits) {
+                continue;
+            }
+            int distance = editDistance(entry.key, key, maxEdits);
+            if (distance <= maxEdits) {
+                entry.distance = distance;
+                matches.add(entry);
+            }
+        }
+        Collections.sort(matches, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry entry1, Entry entry2) {
+                return entry1.distance != entry2.distance ? entry1.distance - entry2.distance : BY_KEY.compare(entry1, entry2);
+            }
+        });
+        return toSSIDs(matches);
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void add(Entry entry) {
+        mEntries.put(entry.ssid, entry);
+        for (String gram : getGrams(entry.key)) {
+            List<Entry> postings = mPostings.get(gram);
+            if (postings == null) {
+                postings = new ArrayList<>(1);
+                mPostings.put(gram, postings);
+            }
+            postings.add(entry);
+        }
+
+        TrieNode node = mRoot;
+        node.size++;
+        for (int i = 0; i < entry.key.length(); i++) {
+            TrieNode next = child(node, entry.key.charAt(i));
+            if (next == null) {
+                next = addChild(node, entry.key.charAt(i));
+            }
+            node = next;
+            node.size++;
+        }
+        if (node.entries == null) {
+            node.entries = new ArrayList<>(1);
+        }
+        node.entries.add(entry);
+    }
+
+    private void remove(Entry entry) {
+        mEntries.remove(entry.ssid);
+        for (String gram : getGrams(entry.key)) {
+            List<Entry> postings = mPostings.get(gram);
+            postings.remove(entry);
+            if (postings.isEmpty()) {
+                mPostings.remove(gram);
+            }
+        }
+
+        TrieNode node = mRoot;
+        node.size--;
+        for (int i = 0; i < entry.key.length(); i++) {
+            TrieNode next = child(node, entry.key.charAt(i));
+            if (--next.size == 0) {
+                removeChild(node, entry.key.charAt(i));
+                return;
+            }
+            node = next;
+        }
+        node.entries.remove(entry);
+    }
+
+    private static TrieNode child(TrieNode node, char c) {
+        int index = indexOfChild(node, c);
+        return index >= 0 ? node.children[index] : null;
+    }
+
+    private static TrieNode addChild(TrieNode node, char c) {
+        int index = -(indexOfChild(node, c) + 1);
+        if (node.childCount == node.chars.length) {
+            int capacity = Math.max(node.childCount * 2, 2);
+            char[] chars = new char[capacity];
+            TrieNode[] children = new TrieNode[capacity];
+            System.arraycopy(node.chars, 0, chars, 0, node.childCount);
+            System.arraycopy(node.children, 0, children, 0, node.childCount);
+            node.chars = chars;
+            node.children = children;
+        }
+        System.arraycopy(node.chars, index, node.chars, index + 1, node.childCount - index);
+        System.arraycopy(node.children, index, node.children, index + 1, node.childCount - index);
+        TrieNode child = new TrieNode();
+        node.chars[index] = c;
+        node.children[index] = child;
+        node.childCount++;
+        return child;
+    }
+
+    private static void removeChild(TrieNode node, char c) {
+        int index = indexOfChild(node, c);
+        node.childCount--;
+        System.arraycopy(node.chars, index + 1, node.chars, index, node.childCount - index);
+        System.arraycopy(node.children, index + 1, node.children, index, node.childCount - index);
+        node.children[node.childCount] = null;
+    }
+
+    private static int indexOfChild(TrieNode node, char c) {
+        int low = 0;
+        int high = node.childCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (node.chars[middle] < c) {
+                low = middle + 1;
+            } else if (node.chars[middle] > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void collect(TrieNode node, List<String> ssids) {
+        if (node.entries != null && !node.entries.isEmpty()) {
+            List<Entry> entries = new ArrayList<>(node.entries);
+            Collections.sort(entries, BY_KEY);
+            ssids.addAll(toSSIDs(entries));
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            collect(node.children[i], ssids);
+        }
+    }
+
+    /**
+     * @return int - The edit distance or maxEdits + 1 if it is more than maxEdits
+     */
+    private static int editDistance(String key1, String key2, int maxEdits) {
+        int[] previous = new int[key2.length() + 1];
+        int[] current = new int[key2.length() + 1];
+        for (int j = 0; j <= key2.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= key1.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= key2.length(); j++) {
+                int cost = key1.charAt(i - 1) == key2.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[key2.length()];
+    }
+
+    private static String fold(String ssid) {
+        return ssid.toLowerCase(Locale.US);
+    }
+
+    private static Set<String> getGrams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static List<String> toSSIDs(List<Entry> entries) {
+        List<String> ssids = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            ssids.add(entry.ssid);
+        }
+        return ssids;
+    }
+}
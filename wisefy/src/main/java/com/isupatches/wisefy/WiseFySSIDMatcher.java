@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+
+/**
+ * A class used internally to match SSIDs against the regex a caller passed in.
+ *
+ * Most callers pass a plain SSID rather than a regex.  When the regex has no metacharacters it is never
+ * compiled and SSIDs are compared with equals, which also lets a scan table or index look the SSID up
+ * in a hash map.  When an SSID that is equal to the regex is among the SSIDs being searched, callers
+ * switch to {@link #literal(String)} so only that SSID matches and SSIDs with metacharacters in them
+ * (i.e. "Store+1") can be passed as they are without also matching "Storee1".
+ *
+ * Other regexes are run by a WiseFySSIDAutomaton instead of java.util.regex so a pathological regex can not
+ * backtrack and hold up the WiseFy thread.  java.util.regex is only used to check the syntax of a regex the
+ * automaton can not compile: one that does not compile at all is matched literally like before, and a valid
+ * one is matched literally and reported as not supported.  A match that runs out of steps only counts if the
+ * SSID is equal to the regex.  Matchers are cached by regex since the same few regexes are passed in over and over.
+ *
+ * *NOTE* Immutable so it can be shared between threads.  Has no Android dependencies of its own so it
+ * can be run on the JVM
+ *
+ * @see WiseFySSIDAutomaton
+ * @see WiseFyScanTable#newMatchCache(WiseFySSIDMatcher)
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFySSIDMatcher {
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final ConcurrentHashMap<String, WiseFySSIDMatcher> CACHE = new ConcurrentHashMap<>();
+
+    private final String mRegexForSSID;
+
+    private final WiseFySSIDAutomaton mAutomaton;
+
+    private final boolean mSupported;
+
+    /**
+     * Private constructor for a compiled regex
+     *
+     * @param regexForSSID The regex as it was passed in
+     * @param automaton The compiled regex or null if it is only matched literally
+     * @param supported False if the regex is valid but could not be compiled into an automaton
+     */
+    private WiseFySSIDMatcher(String regexForSSID, WiseFySSIDAutomaton automaton, boolean supported) {
+        mRegexForSSID = regexForSSID;
+        mAutomaton = automaton;
+        mSupported = supported;
+    }
+
+    /**
+     * Used internally to create a matcher for a regex, skipping the compile for literal SSIDs
+     *
+     * @param regexForSSID The regex for the SSID
+     *
+     * @see #isLiteral(String)
+     * @see WiseFySSIDAutomaton#compile(String)
+     *
+     * @return WiseFySSIDMatcher - The matcher for the regex
+     */
+    static WiseFySSIDMatcher compile(String regexForSSID) {
+        WiseFySSIDMatcher cachedMatcher = CACHE.get(regexForSSID);
+        if (cachedMatcher != null) {
+            return cachedMatcher;
+        }
+
+        WiseFySSIDMatcher matcher;
+        if (isLiteral(regexForSSID)) {
+            matcher = new WiseFySSIDMatcher(regexForSSID, null, true);
+        } else {
+            WiseFySSIDAutomaton automaton = WiseFySSIDAutomaton.compile(regexForSSID);
+            matcher = new WiseFySSIDMatcher(regexForSSID, automaton, automaton != null || !isValid(regexForSSID));
+        }
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(regexForSSID, matcher);
+        return matcher;
+    }
+
+    /**
+     * Used internally to create a matcher that only matches the SSID that is equal to the given one
+     *
+     * *NOTE* Not cached since compile(String) caches the regex matcher for the same string
+     *
+     * @param ssid The SSID (without quotes)
+     *
+     * @return WiseFySSIDMatcher - The matcher for the SSID
+     */
+    static WiseFySSIDMatcher literal(String ssid) {
+        return new WiseFySSIDMatcher(ssid, null, true);
+    }
+
+    /**
+     * Used internally to check if a regex can only match the SSID that is equal to it
+     *
+     * @param regexForSSID The regex to check
+     *
+     * @return boolean - True if the regex has no metacharacters
+     */
+    static boolean isLiteral(String regexForSSID) {
+        for (int i = 0; i < regexForSSID.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(regexForSSID.charAt(i)) != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Used internally to check if a regex can be matched as a regex
+     *
+     * @param regexForSSID The regex to check
+     *
+     * @see #compile(String)
+     *
+     * @return boolean - False if the regex is valid but outside of the subset the automaton supports or too complex
+     */
+    static boolean isSupported(String regexForSSID) {
+        return compile(regexForSSID).mSupported;
+    }
+
+    /**
+     * @return String - The regex as it was passed in (the SSID itself for a literal)
+     */
+    String getRegexForSSID() {
+        return mRegexForSSID;
+    }
+
+    /**
+     * @return boolean - True if only the SSID that is equal to the regex matches
+     */
+    boolean isLiteral() {
+        return mAutomaton == null;
+    }
+
+    /**
+     * Used internally to check if an SSID matches
+     *
+     * @param ssid The SSID to check (without quotes)
+     *
+     * @see WiseFySSIDAutomaton#STEP_BUDGET
+     *
+     * @return boolean - True if the whole SSID matches the regex (equals for a literal).  A match that runs out
+     * of steps only counts if the SSID is equal to the regex.
+     */
+    boolean matches(String ssid) {
+        if (ssid == null) {
+            return false;
+        }
+        if (mAutomaton == null) {
+            return mRegexForSSID.equals(ssid);
+        }
+        int result = mAutomaton.match(ssid, WiseFySSIDAutomaton.STEP_BUDGET);
+        return result == WiseFySSIDAutomaton.RESULT_MATCH
+                || (result == WiseFySSIDAutomaton.RESULT_BUDGET_EXCEEDED && mRegexForSSID.equals(ssid));
+    }
+
+    /*
+     * Helpers
+     */
+
+    private static boolean isValid(String regexForSSID) {
+        try {
+            Pattern.compile(regexForSSID);
+            return true;
+        } catch (PatternSyntaxException pse) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The latest, min, max, and mean of the samples of one measurement.
+ *
+ * @see WiseFyLinkStats
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFySampleStats {
+
+    private final int mCount;
+
+    private final int mLatest;
+
+    private final int mMin;
+
+    private final int mMax;
+
+    private final double mMean;
+
+    /**
+     * Constructor with the values computed from the samples
+     *
+     * @param count The number of samples
+     * @param latest The most recent sample
+     * @param min The smallest sample
+     * @param max The largest sample
+     * @param mean The mean of the samples
+     */
+    WiseFySampleStats(int count, int latest, int min, int max, double mean) {
+        mCount = count;
+        mLatest = latest;
+        mMin = min;
+        mMax = max;
+        mMean = mean;
+    }
+
+    /**
+     * @return int - The number of samples the values were computed from
+     */
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @return int - The most recent sample
+     */
+    public int getLatest() {
+        return mLatest;
+    }
+
+    /**
+     * @return int - The smallest sample
+     */
+    public int getMin() {
+        return mMin;
+    }
+
+    /**
+     * @return int - The largest sample
+     */
+    public int getMax() {
+        return mMax;
+    }
+
+    /**
+     * @return double - The mean of the samples
+     */
+    public double getMean() {
+        return mMean;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A class used internally to merge consecutive scans into one view of every access point that was seen
+ * recently.
+ *
+ * Weak access points are often missing from a single scan.  Each access point is kept with the time it
+ * was last seen, the number of scans in a row it has been missing from, and the share of scans it was
+ * seen in since it first appeared (its confidence).  An access point is dropped once it has been missing
+ * from more than the allowed number of scans in a row.  Merging results that are not newer than the last
+ * merged scan only refreshes the items, so re-reading cached results does not count as another scan.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @param <T> The type of the items kept for each access point (i.e. ScanResult)
+ *
+ * @see WiseFyBSSIDIndex
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyScanAccumulator<T> {
+
+    static final int DEFAULT_CAPACITY = 512;
+
+    private final WiseFyBSSIDIndex mIndex;
+
+    private final int mMaxMisses;
+
+    private final Object[] mItems;
+
+    private final long[] mLastSeen;
+
+    private final int[] mFirstPass;
+
+    private final int[] mSeenCount;
+
+    private final int[] mMissCount;
+
+    private int mPassCount;
+
+    private long mLastScanTimestamp;
+
+    /**
+     * Constructor for an empty accumulator
+     *
+     * @param maxMisses The number of scans in a row an access point can be missing from before it is dropped
+     * @param capacity The maximum number of access points to keep
+     */
+    WiseFyScanAccumulator(int maxMisses, int capacity) {
+        mIndex = new WiseFyBSSIDIndex(capacity);
+        mMaxMisses = maxMisses;
+        int size = mIndex.getCapacity();
+        mItems = new Object[size];
+        mLastSeen = new long[size];
+        mFirstPass = new int[size];
+        mSeenCount = new int[size];
+        mMissCount = new int[size];
+    }
+
+    /**
+     * Used internally to merge the access points of a scan
+     *
+     * *NOTE* Items with an invalid BSSID are ignored.  When the accumulator is full the access point that
+     * has been missing the longest is dropped to make room.  If the scan timestamp has not advanced past
+     * the last merged scan only the items of access points that are already kept are replaced.
+     *
+     * @param bssids The packed BSSID of each item
+     * @param items The items seen by the scan
+     * @param scanTimestamp The newest timestamp of the items or 0 if they have none (always counted as a new scan)
+     * @param nowInMillis The time of the scan
+     *
+     * @see BSSIDUtil#toLong(String)
+     */
+    synchronized void merge(long[] bssids, List<T> items, long scanTimestamp, long nowInMillis) {
+        if (scanTimestamp > 0 && scanTimestamp <= mLastScanTimestamp) {
+            refreshItems(bssids, items);
+            return;
+        }
+        mLastScanTimestamp = scanTimestamp;
+        mPassCount++;
+        for (int i = 0; i < mIndex.size(); i++) {
+            mMissCount[i]++;
+        }
+
+        for (int i = 0; i < items.size(); i++) {
+            long bssid = bssids[i];
+            if (bssid == BSSIDUtil.INVALID_BSSID) {
+                continue;
+            }
+            int index = mIndex.indexOf(bssid);
+            if (index == WiseFyBSSIDIndex.NOT_FOUND) {
+                if (mIndex.size() == mIndex.getCapacity()) {
+                    remove(getMostMissedIndex());
+                }
+                index = mIndex.add(bssid);
+                mFirstPass[index] = mPassCount;
+                mSeenCount[index] = 0;
+            } else if (mMissCount[index] == 0) {
+                // Seen twice in the same scan
+                mItems[index] = items.get(i);
+                continue;
+            }
+            mItems[index] = items.get(i);
+            mLastSeen[index] = nowInMillis;
+            mSeenCount[index]++;
+            mMissCount[index] = 0;
+        }
+
+        for (int i = mIndex.size() - 1; i >= 0; i--) {
+            if (mMissCount[i] > mMaxMisses) {
+                remove(i);
+            }
+        }
+    }
+
+    /**
+     * @return List<T> - The items of every access point that is kept
+     */
+    synchronized List<T> getItems() {
+        List<T> items = new ArrayList<>(mIndex.size());
+        for (int i = 0; i < mIndex.size(); i++) {
+            items.add(getItem(i));
+        }
+        return items;
+    }
+
+    /**
+     * *NOTE* The index accessors below must be called while holding the lock on the accumulator
+     *
+     * @return int - The number of access points that are kept
+     */
+    synchronized int size() {
+        return mIndex.size();
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return long - The packed BSSID of the access point
+     */
+    long getBSSID(int index) {
+        return mIndex.keyAt(index);
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return T - The item from the last scan the access point was seen in
+     */
+    @SuppressWarnings("unchecked")
+    T getItem(int index) {
+        return (T) mItems[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return long - The time of the last scan the access point was seen in
+     */
+    long getLastSeenInMillis(int index) {
+        return mLastSeen[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The number of scans in a row the access point has been missing from
+     */
+    int getMissCount(int index) {
+        return mMissCount[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return float - The share of the scans since the access point first appeared that it was seen in (0 to 1)
+     */
+    float getConfidence(int index) {
+        return (float) mSeenCount[index] / (mPassCount - mFirstPass[index] + 1);
+    }
+
+    /**
+     * Used internally to drop every access point
+     */
+    synchronized void clear() {
+        for (int i = 0; i < mIndex.size(); i++) {
+            mItems[i] = null;
+        }
+        mIndex.clear();
+        mPassCount = 0;
+        mLastScanTimestamp = 0;
+    }
+
+    /*
+     * Helpers
+     */
+
+    private int getMostMissedIndex() {
+        int mostMissed = 0;
+        for (int i = 1; i < mIndex.size(); i++) {
+            if (mMissCount[i] > mMissCount[mostMissed]
+                    || (mMissCount[i] == mMissCount[mostMissed] && mLastSeen[i] < mLastSeen[mostMissed])) {
+                mostMissed = i;
+            }
+        }
+        return mostMissed;
+    }
+
+    private void refreshItems(long[] bssids, List<T> items) {
+        for (int i = 0; i < items.size(); i++) {
+            int index = bssids[i] != BSSIDUtil.INVALID_BSSID ? mIndex.indexOf(bssids[i]) : WiseFyBSSIDIndex.NOT_FOUND;
+            if (index != WiseFyBSSIDIndex.NOT_FOUND) {
+                mItems[index] = items.get(i);
+            }
+        }
+    }
+
+    private void remove(int index) {
+        int moved = mIndex.removeAt(index);
+        if (moved != WiseFyBSSIDIndex.NOT_FOUND) {
+            mItems[index] = mItems[moved];
+            mLastSeen[index] = mLastSeen[moved];
+            mFirstPass[index] = mFirstPass[moved];
+            mSeenCount[index] = mSeenCount[moved];
+            mMissCount[index] = mMissCount[moved];
+            mItems[moved] = null;
+        } else {
+            mItems[index] = null;
+        }
+    }
+}
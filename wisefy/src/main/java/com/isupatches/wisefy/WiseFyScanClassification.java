@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.constants.Capabilities;
+
+
+/**
+ * The security, band, channel, and number of bars of every access point in a scan, packed into one
+ * int per access point.
+ *
+ * The index of each access point is the same as its index in the list (or table) that was classified.
+ *
+ * @see WiseFy#classifyAccessPoints(java.util.List, int)
+ * @see WiseFy#classifyAccessPoints(WiseFyScanTable, int)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyScanClassification {
+
+    private final int[] mRecords;
+
+    private final int mTargetNumberOfBars;
+
+    /**
+     * Constructor with the record of each access point
+     *
+     * @param records The packed record of each access point
+     * @param targetNumberOfBars How many bars or levels there are total
+     */
+    WiseFyScanClassification(int[] records, int targetNumberOfBars) {
+        mRecords = records;
+        mTargetNumberOfBars = targetNumberOfBars;
+    }
+
+    /**
+     * @return int - The number of access points that were classified
+     */
+    public int getAccessPointCount() {
+        return mRecords.length;
+    }
+
+    /**
+     * @return int - How many bars or levels there are total
+     */
+    public int getTargetNumberOfBars() {
+        return mTargetNumberOfBars;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The packed record of the access point
+     */
+    public int getRecord(int index) {
+        return mRecords[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @see Capabilities
+     *
+     * @return int - The capability bits of the access point
+     */
+    public int getCapabilityFlags(int index) {
+        return mRecords[index] & WiseFyScanClassifier.SECURITY_MASK;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @see Capabilities#FLAGS_SECURE
+     *
+     * @return boolean - True if the access point has any security capabilities
+     */
+    public boolean isSecure(int index) {
+        return (getCapabilityFlags(index) & Capabilities.FLAGS_SECURE) != 0;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @see com.isupatches.wisefy.constants.Bands
+     *
+     * @return int - The band of the access point or Bands.UNKNOWN
+     */
+    public int getBand(int index) {
+        return (mRecords[index] >>> WiseFyScanClassifier.BAND_SHIFT) & WiseFyScanClassifier.BAND_MASK;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The channel of the access point or 0 if the frequency is not in a known band
+     */
+    public int getChannel(int index) {
+        return (mRecords[index] >>> WiseFyScanClassifier.CHANNEL_SHIFT) & WiseFyScanClassifier.CHANNEL_MASK;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The number of bars for the signal strength of the access point
+     */
+    public int getBars(int index) {
+        return (mRecords[index] >>> WiseFyScanClassifier.BARS_SHIFT) & WiseFyScanClassifier.BARS_MASK;
+    }
+}
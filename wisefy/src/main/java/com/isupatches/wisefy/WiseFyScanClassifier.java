@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.constants.Bands;
+
+
+/**
+ * A class used internally to classify access points into one packed record each.
+ *
+ * A record holds the security capability bits, the band, the channel, and the number of bars of an
+ * access point in a single int.  The number of bars for every signal strength is worked out once when
+ * the classifier is created, with the same formula as WifiManager#calculateSignalLevel, so classifying
+ * an access point is a few comparisons and shifts.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see WiseFyScanClassification
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyScanClassifier {
+
+    static final int MAX_BARS = 64;
+
+    static final int NO_CHANNEL = 0;
+
+    static final int SECURITY_MASK = 0xff;
+
+    static final int BAND_SHIFT = 8;
+
+    static final int BAND_MASK = 0x3;
+
+    static final int CHANNEL_SHIFT = 10;
+
+    static final int CHANNEL_MASK = 0xff;
+
+    static final int BARS_SHIFT = 18;
+
+    static final int BARS_MASK = 0x3f;
+
+    private static final int MIN_RSSI = -100;
+
+    private static final int MAX_RSSI = -55;
+
+    private static final int MIN_FREQUENCY_2_4GHZ = 2400;
+
+    private static final int MAX_FREQUENCY_2_4GHZ = 2500;
+
+    private static final int MIN_FREQUENCY_5GHZ = WiseFy.MIN_FREQUENCY_5GHZ;
+
+    private static final int MIN_FREQUENCY_6GHZ = 5925;
+
+    private static final int MAX_FREQUENCY_6GHZ = 7125;
+
+    private final int[] mBars;
+
+    /**
+     * Constructor that builds the bars lookup table
+     *
+     * @param targetNumberOfBars How many bars or levels there will be total (1 to MAX_BARS)
+     */
+    WiseFyScanClassifier(int targetNumberOfBars) {
+        mBars = new int[MAX_RSSI - MIN_RSSI + 1];
+        for (int i = 0; i < mBars.length; i++) {
+            mBars[i] = (int) ((float) i * (targetNumberOfBars - 1) / (MAX_RSSI - MIN_RSSI));
+        }
+    }
+
+    /**
+     * Used internally to classify one access point
+     *
+     * @param capabilityFlags The capability bits of the access point
+     * @param frequency The frequency of the access point (MHz)
+     * @param level The signal strength of the access point (dBm)
+     *
+     * @return int - The packed record for the access point
+     */
+    int classify(int capabilityFlags, int frequency, int level) {
+        int bars = mBars[Math.max(Math.min(level, MAX_RSSI), MIN_RSSI) - MIN_RSSI];
+        return (capabilityFlags & SECURITY_MASK)
+                | (getBand(frequency) << BAND_SHIFT)
+                | (getChannel(frequency) << CHANNEL_SHIFT)
+                | (bars << BARS_SHIFT);
+    }
+
+    /**
+     * Used internally to find the band of a frequency
+     *
+     * @param frequency The frequency (MHz)
+     *
+     * @see Bands
+     *
+     * @return int - The band or Bands.UNKNOWN
+     */
+    static int getBand(int frequency) {
+        if (frequency >= MIN_FREQUENCY_2_4GHZ && frequency < MAX_FREQUENCY_2_4GHZ) {
+            return Bands.GHZ_2_4;
+        } else if (frequency >= MIN_FREQUENCY_5GHZ && frequency < MIN_FREQUENCY_6GHZ) {
+            return Bands.GHZ_5;
+        } else if (frequency >= MIN_FREQUENCY_6GHZ && frequency <= MAX_FREQUENCY_6GHZ) {
+            return Bands.GHZ_6;
+        }
+        return Bands.UNKNOWN;
+    }
+
+    /**
+     * Used internally to convert a frequency to its channel number
+     *
+     * @param frequency The frequency (MHz)
+     *
+     * @return int - The channel number or NO_CHANNEL if the frequency is not in a known band
+     */
+    static int getChannel(int frequency) {
+        int channel;
+        switch (getBand(frequency)) {
+            case Bands.GHZ_2_4:
+                channel = frequency == 2484 ? 14 : (frequency - 2407) / 5;
+                break;
+            case Bands.GHZ_5:
+                channel = frequency < 5000 ? (frequency - 4000) / 5 : (frequency - 5000) / 5;
+                break;
+            case Bands.GHZ_6:
+                channel = frequency == 5935 ? 2 : (frequency - 5950) / 5;
+                break;
+            default:
+                return NO_CHANNEL;
+        }
+        return channel > 0 && channel <= CHANNEL_MASK ? channel : NO_CHANNEL;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * A class used internally to append every scan to a compact binary log on disk.
+ *
+ * Each log file is memory-mapped at its maximum size and written append-only.  A file starts with a
+ * header (magic, version, time of the first scan) followed by entries:
+ *
+ * SSID - the UTF-8 bytes of an SSID the first time it is seen in the file.  Scans refer to it by the
+ * order it was defined in.
+ *
+ * SCAN - the time as a delta from the previous scan in the file and each access point as a 6 byte BSSID,
+ * an SSID id, its level as a delta from the access point before it (strongest first), and its frequency.
+ *
+ * Numbers are written as (zig-zag) varints.  A zero byte marks the end of the entries.  When a scan does
+ * not fit in the current file the file is truncated to what was written and a new file is started.  Only
+ * the newest files are kept.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM.  Must be closed!!
+ * {@link WiseFy#dump()}
+ *
+ * @see WiseFyScanLogReader
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyScanLog {
+
+    static final int DEFAULT_MAX_FILE_SIZE_IN_BYTES = 1024 * 1024;
+
+    static final int DEFAULT_MAX_FILES = 4;
+
+    static final String FILE_PREFIX = "wisefy-scans-";
+
+    static final String FILE_SUFFIX = ".log";
+
+    static final int MAGIC = 0x5746534C;
+
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 13;
+
+    static final byte ENTRY_END = 0;
+
+    static final byte ENTRY_SSID = 1;
+
+    static final byte ENTRY_SCAN = 2;
+
+    static final int BSSID_SIZE = 6;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File mDirectory;
+
+    private final int mMaxFileSizeInBytes;
+
+    private final int mMaxFiles;
+
+    private final Map<String, Integer> mSSIDIds = new HashMap<>();
+
+    private final List<String> mPendingSSIDs = new ArrayList<>();
+
+    private byte[] mScratch = new byte[256];
+
+    private int mScratchLength;
+
+    private int[] mOrder = new int[64];
+
+    private int mSequence = -1;
+
+    private RandomAccessFile mFile;
+
+    private MappedByteBuffer mBuffer;
+
+    private long mLastTimeInMillis;
+
+    /**
+     * Constructor for a log that has not opened a file yet
+     *
+     * @param directory The directory to write the log files to
+     * @param maxFileSizeInBytes The size each file is mapped at and rotated after
+     * @param maxFiles The number of files to keep
+     */
+    WiseFyScanLog(File directory, int maxFileSizeInBytes, int maxFiles) {
+        mDirectory = directory;
+        mMaxFileSizeInBytes = Math.max(maxFileSizeInBytes, HEADER_SIZE + 1);
+        mMaxFiles = Math.max(maxFiles, 1);
+    }
+
+    /**
+     * Used internally to append one scan to the log
+     *
+     * *NOTE* A scan that does not fit in an empty file is dropped
+     *
+     * @param timeInMillis The time of the scan
+     * @param bssids The packed BSSID of each access point
+     * @param ssids The SSID of each access point
+     * @param levels The signal strength of each access point (dBm)
+     * @param frequencies The frequency of each access point (MHz)
+     * @param count The number of access points in the scan
+     *
+     * @return boolean - True if the scan was written
+     *
+     * @throws IOException If a log file could not be opened or rotated
+     */
+    synchronized boolean append(long timeInMillis, long[] bssids, String[] ssids, int[] levels, int[] frequencies,
+                                int count) throws IOException {
+        sortByLevel(levels, count);
+        if (mBuffer == null) {
+            open(timeInMillis);
+        }
+        encode(timeInMillis, bssids, ssids, levels, frequencies, count);
+        if (mScratchLength > mBuffer.remaining() && mBuffer.position() > HEADER_SIZE) {
+            rotate(timeInMillis);
+            encode(timeInMillis, bssids, ssids, levels, frequencies, count);
+        }
+        if (mScratchLength > mBuffer.remaining()) {
+            for (String ssid : mPendingSSIDs) {
+                mSSIDIds.remove(ssid);
+            }
+            mPendingSSIDs.clear();
+            return false;
+        }
+
+        /*
+         * The first byte is written last so a reader never sees a partly written entry
+         */
+        int start = mBuffer.position();
+        mBuffer.position(start + 1);
+        mBuffer.put(mScratch, 1, mScratchLength - 1);
+        mBuffer.put(start, mScratch[0]);
+        mPendingSSIDs.clear();
+        mLastTimeInMillis = timeInMillis;
+        return true;
+    }
+
+    /**
+     * Used internally to flush the current file and truncate it to what was written
+     *
+     * @throws IOException If the file could not be truncated
+     */
+    synchronized void close() throws IOException {
+        if (mBuffer == null) {
+            return;
+        }
+        mBuffer.force();
+        long length = mBuffer.position();
+        mBuffer = null;
+        try {
+            mFile.getChannel().truncate(length);
+        } finally {
+            mFile.close();
+            mFile = null;
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void encode(long timeInMillis, long[] bssids, String[] ssids, int[] levels, int[] frequencies, int count) {
+        mScratchLength = 0;
+        for (int i = 0; i < count; i++) {
+            String ssid = ssids[mOrder[i]] != null ? ssids[mOrder[i]] : "";
+            if (!mSSIDIds.containsKey(ssid)) {
+                mSSIDIds.put(ssid, mSSIDIds.size());
+                mPendingSSIDs.add(ssid);
+                byte[] bytes = ssid.getBytes(UTF_8);
+                writeByte(ENTRY_SSID);
+                writeVarLong(bytes.length);
+                ensureScratch(bytes.length);
+                System.arraycopy(bytes, 0, mScratch, mScratchLength, bytes.length);
+                mScratchLength += bytes.length;
+            }
+        }
+
+        writeByte(ENTRY_SCAN);
+        writeVarLong(zigZag(timeInMillis - mLastTimeInMillis));
+        writeVarLong(count);
+        int previousLevel = 0;
+        for (int i = 0; i < count; i++) {
+            int index = mOrder[i];
+            ensureScratch(BSSID_SIZE);
+            for (int shift = (BSSID_SIZE - 1) * 8; shift >= 0; shift -= 8) {
+                mScratch[mScratchLength++] = (byte) (bssids[index] >>> shift);
+            }
+            String ssid = ssids[index] != null ? ssids[index] : "";
+            writeVarLong(mSSIDIds.get(ssid));
+            writeVarLong(zigZag(levels[index] - previousLevel));
+            writeVarLong(Math.max(frequencies[index], 0));
+            previousLevel = levels[index];
+        }
+    }
+
+    private void ensureScratch(int extra) {
+        if (mScratchLength + extra > mScratch.length) {
+            mScratch = Arrays.copyOf(mScratch, Math.max(mScratch.length * 2, mScratchLength + extra));
+        }
+    }
+
+    private void open(long timeInMillis) throws IOException {
+        if (mSequence < 0) {
+            mSequence = 0;
+            File[] files = WiseFyScanLogReader.listLogFiles(mDirectory);
+            if (files.length > 0) {
+                mSequence = WiseFyScanLogReader.getSequence(files[files.length - 1]) + 1;
+            }
+        }
+        if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+            throw new IOException(String.format("Unable to create directory: %s", mDirectory));
+        }
+
+        File file = new File(mDirectory, String.format("%s%08d%s", FILE_PREFIX, mSequence, FILE_SUFFIX));
+        mFile = new RandomAccessFile(file, "rw");
+        try {
+            mBuffer = mFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, mMaxFileSizeInBytes);
+        } catch (IOException ioe) {
+            mFile.close();
+            mFile = null;
+            throw ioe;
+        }
+        mBuffer.putInt(MAGIC);
+        mBuffer.put(VERSION);
+        mBuffer.putLong(timeInMillis);
+        mSSIDIds.clear();
+        mLastTimeInMillis = timeInMillis;
+        mSequence++;
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() {
+        File[] files = WiseFyScanLogReader.listLogFiles(mDirectory);
+        for (int i = 0; i < files.length - mMaxFiles; i++) {
+            files[i].delete();
+        }
+    }
+
+    private void rotate(long timeInMillis) throws IOException {
+        mPendingSSIDs.clear();
+        close();
+        open(timeInMillis);
+    }
+
+    /**
+     * Orders the access points strongest first so each level is a small delta from the one before it
+     */
+    private void sortByLevel(int[] levels, int count) {
+        if (mOrder.length < count) {
+            mOrder = new int[count];
+        }
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            int j = i - 1;
+            while (j >= 0 && levels[mOrder[j]] < levels[index]) {
+                mOrder[j + 1] = mOrder[j];
+                j--;
+            }
+            mOrder[j + 1] = index;
+        }
+    }
+
+    private void writeByte(byte value) {
+        ensureScratch(1);
+        mScratch[mScratchLength++] = value;
+    }
+
+    private void writeVarLong(long value) {
+        ensureScratch(10);
+        while ((value & ~0x7FL) != 0) {
+            mScratch[mScratchLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        mScratch[mScratchLength++] = (byte) value;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A cursor over the scans in a scan log directory, oldest first.
+ *
+ * Each call to {@link #next()} moves to the next scan and the getters return its values.  Files are
+ * memory-mapped one at a time and the values are decoded straight from the mapping.
+ *
+ * *NOTE* Has no Android dependencies so logs can be read on the JVM for offline analysis.  The arrays
+ * behind the getters are reused for each scan.
+ *
+ * @see WiseFy.brains#logScans(File, int, int)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyScanLogReader implements Closeable {
+
+    private static final FilenameFilter LOG_FILE_FILTER = new FilenameFilter() {
+        @Override
+        public boolean accept(File directory, String name) {
+            return name.startsWith(WiseFyScanLog.FILE_PREFIX) && name.endsWith(WiseFyScanLog.FILE_SUFFIX);
+        }
+    };
+
+    private final File[] mFiles;
+
+    private final long[] mFirstTimes;
+
+    private final long mFromTimeInMillis;
+
+    private final long mToTimeInMillis;
+
+    private final List<String> mSSIDs = new ArrayList<>();
+
+    private int mFileIndex = -1;
+
+    private RandomAccessFile mFile;
+
+    private MappedByteBuffer mBuffer;
+
+    private long mLastTimeInMillis;
+
+    private long mTimeInMillis;
+
+    private int mCount;
+
+    private long[] mBSSIDs = new long[64];
+
+    private String[] mScanSSIDs = new String[64];
+
+    private int[] mLevels = new int[64];
+
+    private int[] mFrequencies = new int[64];
+
+    /**
+     * Constructor to read every scan in a scan log directory
+     *
+     * @param directory The directory the scans were logged to
+     *
+     * @throws IOException If a log file could not be read
+     */
+    public WiseFyScanLogReader(File directory) throws IOException {
+        this(directory, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor to read the scans in a scan log directory within a range of time
+     *
+     * *NOTE* Files that only have scans outside of the range are skipped without being mapped
+     *
+     * @param directory The directory the scans were logged to
+     * @param fromTimeInMillis The earliest time to include (inclusive)
+     * @param toTimeInMillis The latest time to include (inclusive)
+     *
+     * @throws IOException If a log file could not be read
+     */
+    public WiseFyScanLogReader(File directory, long fromTimeInMillis, long toTimeInMillis) throws IOException {
+        mFiles = listLogFiles(directory);
+        mFirstTimes = new long[mFiles.length];
+        mFromTimeInMillis = fromTimeInMillis;
+        mToTimeInMillis = toTimeInMillis;
+        for (int i = 0; i < mFiles.length; i++) {
+            mFirstTimes[i] = readFirstTime(mFiles[i]);
+        }
+    }
+
+    /**
+     * To move to the next scan
+     *
+     * @return boolean - True if there is a scan to read, false once every scan has been read
+     *
+     * @throws IOException If a log file could not be read or is not a scan log
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (mBuffer == null && !openNextFile()) {
+                return false;
+            }
+            byte entry = mBuffer.hasRemaining() ? mBuffer.get() : WiseFyScanLog.ENTRY_END;
+            if (entry == WiseFyScanLog.ENTRY_END) {
+                closeFile();
+            } else if (entry == WiseFyScanLog.ENTRY_SSID) {
+                byte[] bytes = new byte[(int) readVarLong()];
+                mBuffer.get(bytes);
+                mSSIDs.add(new String(bytes, WiseFyScanLog.UTF_8));
+            } else if (entry == WiseFyScanLog.ENTRY_SCAN) {
+                readScan();
+                if (mTimeInMillis >= mFromTimeInMillis && mTimeInMillis <= mToTimeInMillis) {
+                    return true;
+                }
+            } else {
+                throw new IOException(String.format("Unknown entry: %d in scan log: %s", entry, mFiles[mFileIndex].getName()));
+            }
+        }
+    }
+
+    /**
+     * @return long - The time of the current scan in milliseconds
+     */
+    public long getTimestamp() {
+        return mTimeInMillis;
+    }
+
+    /**
+     * @return int - The number of access points in the current scan
+     */
+    public int getAccessPointCount() {
+        return mCount;
+    }
+
+    /**
+     * @param index The index of the access point in the current scan (strongest first)
+     *
+     * @return String - The BSSID of the access point (i.e. 00:11:22:aa:bb:cc)
+     */
+    public String getBSSID(int index) {
+        return BSSIDUtil.getInstance().toString(getPackedBSSID(index));
+    }
+
+    /**
+     * @param index The index of the access point in the current scan (strongest first)
+     *
+     * @see BSSIDUtil#toLong(String)
+     *
+     * @return long - The BSSID of the access point packed into a long
+     */
+    public long getPackedBSSID(int index) {
+        checkIndex(index);
+        return mBSSIDs[index];
+    }
+
+    /**
+     * @param index The index of the access point in the current scan (strongest first)
+     *
+     * @return String - The SSID of the access point
+     */
+    public String getSSID(int index) {
+        checkIndex(index);
+        return mScanSSIDs[index];
+    }
+
+    /**
+     * @param index The index of the access point in the current scan (strongest first)
+     *
+     * @return int - The signal strength of the access point (dBm)
+     */
+    public int getLevel(int index) {
+        checkIndex(index);
+        return mLevels[index];
+    }
+
+    /**
+     * @param index The index of the access point in the current scan (strongest first)
+     *
+     * @return int - The frequency of the access point (MHz)
+     */
+    public int getFrequency(int index) {
+        checkIndex(index);
+        return mFrequencies[index];
+    }
+
+    /**
+     * To release the file that is currently mapped
+     *
+     * @throws IOException If the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        mFileIndex = mFiles.length;
+        closeFile();
+    }
+
+    /*
+     * Helpers
+     */
+
+    /**
+     * @param directory The directory the scans were logged to
+     *
+     * @return File[] - The log files in the directory, oldest first
+     */
+    static File[] listLogFiles(File directory) {
+        File[] files = directory.listFiles(LOG_FILE_FILTER);
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files);
+        return files;
+    }
+
+    /**
+     * @param file A log file
+     *
+     * @return int - The sequence number in the name of the log file
+     */
+    static int getSequence(File file) {
+        String name = file.getName();
+        try {
+            return Integer.parseInt(name.substring(WiseFyScanLog.FILE_PREFIX.length(), name.length() - WiseFyScanLog.FILE_SUFFIX.length()));
+        } catch (NumberFormatException nfe) {
+            return 0;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mCount) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, access point count: %d", index, mCount));
+        }
+    }
+
+    private void closeFile() throws IOException {
+        mBuffer = null;
+        if (mFile != null) {
+            mFile.close();
+            mFile = null;
+        }
+    }
+
+    private boolean openNextFile() throws IOException {
+        while (++mFileIndex < mFiles.length) {
+            boolean startsAfterRange = mFirstTimes[mFileIndex] > mToTimeInMillis;
+            boolean endsBeforeRange = mFileIndex + 1 < mFiles.length && mFirstTimes[mFileIndex + 1] < mFromTimeInMillis;
+            if (startsAfterRange || endsBeforeRange) {
+                continue;
+            }
+
+            mFile = new RandomAccessFile(mFiles[mFileIndex], "r");
+            mBuffer = mFile.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, mFile.length());
+            mBuffer.position(WiseFyScanLog.HEADER_SIZE);
+            mSSIDs.clear();
+            mLastTimeInMillis = mFirstTimes[mFileIndex];
+            return true;
+        }
+        return false;
+    }
+
+    private long readFirstTime(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            if (randomAccessFile.length() < WiseFyScanLog.HEADER_SIZE || randomAccessFile.readInt() != WiseFyScanLog.MAGIC
+                    || randomAccessFile.readByte() != WiseFyScanLog.VERSION) {
+                throw new IOException(String.format("Not a scan log: %s", file.getName()));
+            }
+            return randomAccessFile.readLong();
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private void readScan() throws IOException {
+        mTimeInMillis = mLastTimeInMillis + unZigZag(readVarLong());
+        mLastTimeInMillis = mTimeInMillis;
+        mCount = (int) readVarLong();
+        if (mBSSIDs.length < mCount) {
+            mBSSIDs = new long[mCount];
+            mScanSSIDs = new String[mCount];
+            mLevels = new int[mCount];
+            mFrequencies = new int[mCount];
+        }
+
+        int level = 0;
+        for (int i = 0; i < mCount; i++) {
+            long bssid = 0;
+            for (int j = 0; j < WiseFyScanLog.BSSID_SIZE; j++) {
+                bssid = (bssid << 8) | (mBuffer.get() & 0xFF);
+            }
+            mBSSIDs[i] = bssid;
+            int ssidId = (int) readVarLong();
+            if (ssidId >= mSSIDs.size()) {
+                throw new IOException(String.format("Unknown SSID: %d in scan log: %s", ssidId, mFiles[mFileIndex].getName()));
+            }
+            mScanSSIDs[i] = mSSIDs.get(ssidId);
+            level += (int) unZigZag(readVarLong());
+            mLevels[i] = level;
+            mFrequencies[i] = (int) readVarLong();
+        }
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = mBuffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import java.util.Arrays;
+
+
+/**
+ * A class used internally to decide when the next scheduled scan should be made.
+ *
+ * The interval starts at the minimum and doubles each time a scan shows that the environment barely
+ * changed (the device is likely stationary), up to the maximum.  It drops back to the minimum as soon as
+ * a scan shows a large change (the device is likely moving).  The interval is stretched while the screen
+ * is off and the device is not charging, and no more than a fixed number of scans are made within the
+ * budget window.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see WiseFyScanScheduler
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyScanPolicy {
+
+    static final int DEFAULT_BUDGET_SCANS = 4;
+
+    static final long DEFAULT_BUDGET_WINDOW_IN_MILLIS = 2 * 60 * 1000;
+
+    static final int MAX_BACKOFF = 6;
+
+    static final int SCREEN_OFF_MULTIPLIER = 4;
+
+    static final float MOVING_CHANGE_RATE = 0.3f;
+
+    static final float STATIONARY_CHANGE_RATE = 0.1f;
+
+    private final long mMinIntervalInMillis;
+
+    private final long mMaxIntervalInMillis;
+
+    private final long mBudgetWindowInMillis;
+
+    private final long[] mScanTimes;
+
+    private int mScanTimeIndex;
+
+    private int mScanCount;
+
+    private long mLastScanInMillis;
+
+    private int mBackoff;
+
+    private boolean mScreenOn = true;
+
+    private boolean mCharging;
+
+    /**
+     * Constructor for a policy that has not made any scans yet
+     *
+     * @param minIntervalInMillis The shortest amount of time between scans
+     * @param maxIntervalInMillis The longest amount of time between scans
+     * @param budgetScans The number of scans that can be made within the budget window
+     * @param budgetWindowInMillis The length of the budget window
+     */
+    WiseFyScanPolicy(long minIntervalInMillis, long maxIntervalInMillis, int budgetScans, long budgetWindowInMillis) {
+        mMinIntervalInMillis = Math.max(minIntervalInMillis, 1);
+        mMaxIntervalInMillis = Math.max(maxIntervalInMillis, mMinIntervalInMillis);
+        mBudgetWindowInMillis = budgetWindowInMillis;
+        mScanTimes = new long[Math.max(budgetScans, 1)];
+    }
+
+    /**
+     * @param screenOn If the screen of the device is on
+     */
+    void setScreenOn(boolean screenOn) {
+        mScreenOn = screenOn;
+    }
+
+    /**
+     * @param charging If the device is charging
+     */
+    void setCharging(boolean charging) {
+        mCharging = charging;
+    }
+
+    /**
+     * Used internally to record a scan and adjust the backoff for how much the environment changed
+     *
+     * @param nowInMillis The time of the scan
+     * @param changeRate How much the access points changed since the last scan (0 to 1)
+     *
+     * @see #getChangeRate(long[], int, long[], int)
+     */
+    void onScan(long nowInMillis, float changeRate) {
+        onScanStarted(nowInMillis);
+        onScanResults(changeRate);
+    }
+
+    /**
+     * Used internally to record a scan against the budget when it is started
+     *
+     * @param nowInMillis The time the scan was started
+     *
+     * @see #onScanResults(float)
+     */
+    void onScanStarted(long nowInMillis) {
+        mScanTimes[mScanTimeIndex] = nowInMillis;
+        mScanTimeIndex = (mScanTimeIndex + 1) % mScanTimes.length;
+        mScanCount++;
+        mLastScanInMillis = nowInMillis;
+    }
+
+    /**
+     * Used internally to adjust the backoff for how much the environment changed once scan results are delivered
+     *
+     * @param changeRate How much the access points changed since the last results (0 to 1)
+     *
+     * @see #getChangeRate(long[], int, long[], int)
+     */
+    void onScanResults(float changeRate) {
+        if (changeRate >= MOVING_CHANGE_RATE) {
+            mBackoff = 0;
+        } else if (changeRate < STATIONARY_CHANGE_RATE && mBackoff < MAX_BACKOFF) {
+            mBackoff++;
+        }
+    }
+
+    /**
+     * @return int - The number of times the minimum interval has been doubled
+     */
+    int getBackoff() {
+        return mBackoff;
+    }
+
+    /**
+     * @return long - The amount of time between scans for the current backoff, screen, and charging state
+     */
+    long getIntervalInMillis() {
+        long interval = mMinIntervalInMillis << mBackoff;
+        if (!mScreenOn && !mCharging) {
+            interval *= SCREEN_OFF_MULTIPLIER;
+        }
+        return Math.min(interval, mMaxIntervalInMillis);
+    }
+
+    /**
+     * @param nowInMillis The current time
+     *
+     * @return int - The number of scans that can still be made within the budget window
+     */
+    int getRemainingBudget(long nowInMillis) {
+        int used = 0;
+        for (int i = 0; i < Math.min(mScanCount, mScanTimes.length); i++) {
+            if (nowInMillis - mScanTimes[i] < mBudgetWindowInMillis) {
+                used++;
+            }
+        }
+        return mScanTimes.length - used;
+    }
+
+    /**
+     * @return long - The earliest time the next scan should be made (0 if no scan has been made yet)
+     */
+    long getNextScanTimeInMillis() {
+        if (mScanCount == 0) {
+            return 0;
+        }
+        long next = mLastScanInMillis + getIntervalInMillis();
+        if (mScanCount >= mScanTimes.length) {
+            // The oldest scan in the budget is the one that will be overwritten next
+            next = Math.max(next, mScanTimes[mScanTimeIndex] + mBudgetWindowInMillis);
+        }
+        return next;
+    }
+
+    /**
+     * Used internally to measure how much the environment changed between two scans
+     *
+     * *NOTE* Both arrays are sorted in place
+     *
+     * @param previous The packed BSSIDs of the previous scan (null if there is none)
+     * @param previousCount The number of BSSIDs in the previous scan
+     * @param current The packed BSSIDs of the current scan
+     * @param currentCount The number of BSSIDs in the current scan
+     *
+     * @return float - The share of access points that appeared or disappeared (1 if there is no previous scan)
+     */
+    static float getChangeRate(long[] previous, int previousCount, long[] current, int currentCount) {
+        if (previous == null) {
+            return 1f;
+        }
+        if (previousCount == 0 && currentCount == 0) {
+            return 0f;
+        }
+        Arrays.sort(previous, 0, previousCount);
+        Arrays.sort(current, 0, currentCount);
+
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < previousCount && j < currentCount) {
+            if (previous[i] == current[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (previous[i] < current[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = previousCount + currentCount - shared;
+        return (float) (union - shared) / union;
+    }
+}
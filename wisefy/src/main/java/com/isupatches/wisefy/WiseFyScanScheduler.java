@@ -0,0 +1,300 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.wifi.ScanResult;
+import android.net.wifi.WifiManager;
+import android.os.BatteryManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.PowerManager;
+import android.os.SystemClock;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import com.isupatches.wisefy.util.LogUtil;
+import java.util.List;
+
+
+/**
+ * A class used internally to scan on a schedule that adapts to the screen state, the charging state,
+ * how much the environment is changing, and the scan budget.
+ *
+ * The schedule is kept on the event thread and each scan is started on the WiseFy thread under the WiseFy
+ * lock.  The results are read on the WiseFy thread through the same path as the search APIs once
+ * SCAN_RESULTS_AVAILABLE_ACTION is delivered, so they are available through getLastKnownScan() and the
+ * change rate is measured from the results of the scan instead of the ones from before it.  Screen and
+ * power changes reschedule the next scan right away.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be stopped!! {@link WiseFy#dump()}
+ *
+ * @see WiseFyBroadcastHub
+ * @see WiseFyScanPolicy
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyScanScheduler implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyScanScheduler.class.getSimpleName();
+
+    private final Context mContext;
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WiseFySearch mWiseFySearch;
+
+    private final Handler mWiseFyHandler;
+
+    private final Object mWiseFyLock;
+
+    private final WifiManager mWifiManager;
+
+    private final WiseFyScanPolicy mPolicy;
+
+    private final long mMinIntervalInMillis;
+
+    private long mStartedAtInMillis;
+
+    private int mScanCount;
+
+    private long[] mPreviousBSSIDs;
+
+    private int mPreviousBSSIDCount;
+
+    private volatile Handler mHandler;
+
+    private final Runnable mScan = new Runnable() {
+        @Override
+        public void run() {
+            scanIfDue();
+            reschedule();
+        }
+    };
+
+    private final Runnable mStartScan = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (mWiseFyLock) {
+                if (mHandler != null) {
+                    mWifiManager.startScan();
+                }
+            }
+        }
+    };
+
+    private final Runnable mReadScanResults = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (mWiseFyLock) {
+                readScanResults();
+            }
+            reschedule();
+        }
+    };
+
+    /**
+     * Constructor for a scheduler that has not started yet
+     *
+     * @param context The context to read the initial screen and charging state with
+     * @param wiseFyBroadcastHub The hub to receive screen, power, and scan results changes and schedule scans through
+     * @param wiseFySearch The search instance to read the scan results through
+     * @param wiseFyHandler The handler for the WiseFy thread to start scans and read scan results on
+     * @param wiseFyLock The lock that is held while starting scans and reading scan results
+     * @param wiseFyPrerequisites The prerequisites instance with the WifiManager to use
+     * @param minIntervalInMillis The shortest amount of time between scans
+     * @param maxIntervalInMillis The longest amount of time between scans
+     */
+    WiseFyScanScheduler(Context context, WiseFyBroadcastHub wiseFyBroadcastHub, WiseFySearch wiseFySearch,
+                        Handler wiseFyHandler, Object wiseFyLock, WiseFyPrerequisites wiseFyPrerequisites,
+                        int minIntervalInMillis, int maxIntervalInMillis) {
+        mContext = context;
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWiseFySearch = wiseFySearch;
+        mWiseFyHandler = wiseFyHandler;
+        mWiseFyLock = wiseFyLock;
+        mWifiManager = wiseFyPrerequisites.getWifiManager();
+        mMinIntervalInMillis = minIntervalInMillis;
+        mPolicy = new WiseFyScanPolicy(minIntervalInMillis, maxIntervalInMillis, WiseFyScanPolicy.DEFAULT_BUDGET_SCANS,
+                WiseFyScanPolicy.DEFAULT_BUDGET_WINDOW_IN_MILLIS);
+    }
+
+    /**
+     * Used internally to read the screen and charging state and schedule the first scan on the event thread
+     */
+    void start() {
+        synchronized (this) {
+            mPolicy.setScreenOn(isScreenOn());
+            mPolicy.setCharging(isCharging());
+            mStartedAtInMillis = SystemClock.elapsedRealtime();
+        }
+        mWiseFyBroadcastHub.register(Intent.ACTION_SCREEN_ON, this);
+        mWiseFyBroadcastHub.register(Intent.ACTION_SCREEN_OFF, this);
+        mWiseFyBroadcastHub.register(Intent.ACTION_POWER_CONNECTED, this);
+        mWiseFyBroadcastHub.register(Intent.ACTION_POWER_DISCONNECTED, this);
+        mWiseFyBroadcastHub.register(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, this);
+        mHandler = mWiseFyBroadcastHub.getEventHandler();
+        mHandler.post(mScan);
+    }
+
+    /**
+     * Used internally to stop scanning
+     *
+     * *NOTE* The totals can still be read
+     */
+    void stop() {
+        Handler handler = mHandler;
+        mHandler = null;
+        if (handler != null) {
+            handler.removeCallbacks(mScan);
+        }
+        mWiseFyHandler.removeCallbacks(mStartScan);
+        mWiseFyHandler.removeCallbacks(mReadScanResults);
+        mWiseFyBroadcastHub.unregister(Intent.ACTION_SCREEN_ON, this);
+        mWiseFyBroadcastHub.unregister(Intent.ACTION_SCREEN_OFF, this);
+        mWiseFyBroadcastHub.unregister(Intent.ACTION_POWER_CONNECTED, this);
+        mWiseFyBroadcastHub.unregister(Intent.ACTION_POWER_DISCONNECTED, this);
+        mWiseFyBroadcastHub.unregister(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, this);
+    }
+
+    /**
+     * @return WiseFyScanSchedulerStats - The totals so far
+     */
+    synchronized WiseFyScanSchedulerStats getStats() {
+        long expectedScans = (SystemClock.elapsedRealtime() - mStartedAtInMillis) / mMinIntervalInMillis + 1;
+        int avoidedScans = (int) Math.max(expectedScans - mScanCount, 0);
+        return new WiseFyScanSchedulerStats(mScanCount, avoidedScans, mPolicy.getIntervalInMillis());
+    }
+
+    /**
+     * Used internally to reschedule the next scan when the screen or charging state changes and to read
+     * the scan results on the WiseFy thread when they are updated
+     *
+     * @param intent The screen, power, or scan results broadcast
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        String action = intent.getAction();
+        if (WifiManager.SCAN_RESULTS_AVAILABLE_ACTION.equals(action)) {
+            boolean updated = true;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                updated = intent.getBooleanExtra(WifiManager.EXTRA_RESULTS_UPDATED, true);
+            }
+            if (updated && mHandler != null) {
+                mWiseFyHandler.post(mReadScanResults);
+            }
+            return;
+        }
+        synchronized (this) {
+            if (Intent.ACTION_SCREEN_ON.equals(action)) {
+                mPolicy.setScreenOn(true);
+            } else if (Intent.ACTION_SCREEN_OFF.equals(action)) {
+                mPolicy.setScreenOn(false);
+            } else if (Intent.ACTION_POWER_CONNECTED.equals(action)) {
+                mPolicy.setCharging(true);
+            } else if (Intent.ACTION_POWER_DISCONNECTED.equals(action)) {
+                mPolicy.setCharging(false);
+            }
+        }
+        reschedule();
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void scanIfDue() {
+        synchronized (this) {
+            long nowInMillis = SystemClock.elapsedRealtime();
+            if (nowInMillis < mPolicy.getNextScanTimeInMillis()) {
+                return;
+            }
+            mPolicy.onScanStarted(nowInMillis);
+            mScanCount++;
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Scheduled scan %d", mScanCount));
+            }
+        }
+        mWiseFyHandler.post(mStartScan);
+    }
+
+    private void readScanResults() {
+        List<ScanResult> accessPoints = mWiseFySearch.readScanResults();
+        WiseFyScanSnapshot scan = mWiseFySearch.getLastKnownScan();
+        if (accessPoints == null || scan == null) {
+            return;
+        }
+
+        // The snapshot has the results as delivered, before scan accumulation adds access points this scan missed
+        long[] bssids = new long[scan.getAccessPointCount()];
+        int count = 0;
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        for (int i = 0; i < scan.getAccessPointCount(); i++) {
+            long bssid = bssidUtil.toLong(scan.getBSSID(i));
+            if (bssid != BSSIDUtil.INVALID_BSSID) {
+                bssids[count++] = bssid;
+            }
+        }
+
+        synchronized (this) {
+            float changeRate = WiseFyScanPolicy.getChangeRate(mPreviousBSSIDs, mPreviousBSSIDCount, bssids, count);
+            mPolicy.onScanResults(changeRate);
+            mPreviousBSSIDs = bssids;
+            mPreviousBSSIDCount = count;
+            if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, String.format("Scan results delivered, change rate: %.2f, next interval: %d ms", changeRate,
+                        mPolicy.getIntervalInMillis()));
+            }
+        }
+    }
+
+    private void reschedule() {
+        Handler handler = mHandler;
+        if (handler == null) {
+            return;
+        }
+        long delay;
+        synchronized (this) {
+            delay = Math.max(mPolicy.getNextScanTimeInMillis() - SystemClock.elapsedRealtime(), 0);
+        }
+        handler.removeCallbacks(mScan);
+        handler.postDelayed(mScan, delay);
+    }
+
+    @SuppressWarnings("deprecation")
+    private boolean isScreenOn() {
+        PowerManager powerManager = (PowerManager) mContext.getSystemService(Context.POWER_SERVICE);
+        if (powerManager == null) {
+            return true;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT_WATCH) {
+            return powerManager.isInteractive();
+        }
+        return powerManager.isScreenOn();
+    }
+
+    private boolean isCharging() {
+        Intent batteryStatus = mContext.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        return batteryStatus != null && batteryStatus.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The running totals of the scan scheduler.
+ *
+ * Scans are compared against a fixed schedule that scans at the minimum interval for the whole time the
+ * scheduler has been running.  The duty cycle is the share of those scans that were actually made.
+ *
+ * @see WiseFy#getScanSchedulerStats()
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyScanSchedulerStats {
+
+    private final int mScanCount;
+
+    private final int mAvoidedScanCount;
+
+    private final long mIntervalInMillis;
+
+    /**
+     * Constructor with the totals so far
+     *
+     * @param scanCount The number of scans the scheduler made
+     * @param avoidedScanCount The number of scans a fixed schedule would have made on top of those
+     * @param intervalInMillis The current amount of time between scans
+     */
+    WiseFyScanSchedulerStats(int scanCount, int avoidedScanCount, long intervalInMillis) {
+        mScanCount = scanCount;
+        mAvoidedScanCount = avoidedScanCount;
+        mIntervalInMillis = intervalInMillis;
+    }
+
+    /**
+     * @return int - The number of scans the scheduler made
+     */
+    public int getScanCount() {
+        return mScanCount;
+    }
+
+    /**
+     * @return int - The number of scans a fixed schedule at the minimum interval would have made on top of those
+     */
+    public int getAvoidedScanCount() {
+        return mAvoidedScanCount;
+    }
+
+    /**
+     * @return float - The share of the scans of a fixed schedule at the minimum interval that were made (0 to 1)
+     */
+    public float getDutyCycle() {
+        int total = mScanCount + mAvoidedScanCount;
+        return total > 0 ? (float) mScanCount / total : 0f;
+    }
+
+    /**
+     * @return long - The current amount of time between scans
+     */
+    public long getIntervalInMillis() {
+        return mIntervalInMillis;
+    }
+}
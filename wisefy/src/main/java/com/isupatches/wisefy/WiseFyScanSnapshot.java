@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.util.CapabilitiesUtil;
+
+
+/**
+ * The access points seen by the most recent scan, tagged with when the scan happened.
+ *
+ * A snapshot can be from a scan made by this process or restored from the scan that was persisted by an
+ * earlier process, so always check its age before trusting it.
+ *
+ * @see WiseFy#getLastKnownScan()
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyScanSnapshot {
+
+    final long mTimestamp;
+
+    final boolean mRestored;
+
+    final String[] mBSSIDs;
+
+    final String[] mSSIDs;
+
+    final int[] mLevels;
+
+    final int[] mFrequencies;
+
+    final String[] mCapabilities;
+
+    final int[] mCapabilityFlags;
+
+    /**
+     * Constructor with the values of each access point
+     *
+     * *NOTE* The capabilities are parsed into capability bits once here
+     *
+     * @param timestamp The time of the scan (System#currentTimeMillis())
+     * @param restored If the snapshot was restored from disk
+     * @param bssids The BSSID of each access point
+     * @param ssids The SSID of each access point
+     * @param levels The signal strength of each access point
+     * @param frequencies The frequency of each access point
+     * @param capabilities The capabilities of each access point
+     */
+    WiseFyScanSnapshot(long timestamp, boolean restored, String[] bssids, String[] ssids, int[] levels,
+                       int[] frequencies, String[] capabilities) {
+        mTimestamp = timestamp;
+        mRestored = restored;
+        mBSSIDs = bssids;
+        mSSIDs = ssids;
+        mLevels = levels;
+        mFrequencies = frequencies;
+        mCapabilities = capabilities;
+        mCapabilityFlags = new int[capabilities.length];
+        CapabilitiesUtil capabilitiesUtil = CapabilitiesUtil.getInstance();
+        for (int i = 0; i < capabilities.length; i++) {
+            mCapabilityFlags[i] = capabilitiesUtil.toFlags(capabilities[i]);
+        }
+    }
+
+    /**
+     * @return long - The time of the scan in milliseconds (System#currentTimeMillis())
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    /**
+     * @return long - The number of milliseconds since the scan
+     */
+    public long getAgeInMillis() {
+        return Math.max(System.currentTimeMillis() - mTimestamp, 0);
+    }
+
+    /**
+     * @return boolean - True if the snapshot was restored from disk instead of seen by this process
+     */
+    public boolean isRestored() {
+        return mRestored;
+    }
+
+    /**
+     * @return int - The number of access points in the scan
+     */
+    public int getAccessPointCount() {
+        return mBSSIDs.length;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return String - The BSSID of the access point
+     */
+    public String getBSSID(int index) {
+        return mBSSIDs[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return String - The SSID of the access point
+     */
+    public String getSSID(int index) {
+        return mSSIDs[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The signal strength of the access point (dBm)
+     */
+    public int getLevel(int index) {
+        return mLevels[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The frequency of the access point (MHz)
+     */
+    public int getFrequency(int index) {
+        return mFrequencies[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return String - The capabilities of the access point (i.e. [WPA2-PSK-CCMP][ESS])
+     */
+    public String getCapabilities(int index) {
+        return mCapabilities[index];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @see com.isupatches.wisefy.constants.Capabilities
+     *
+     * @return int - The capability bits of the access point
+     */
+    public int getCapabilityFlags(int index) {
+        return mCapabilityFlags[index];
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The running totals of how scans were made for a WiseFy instance.
+ *
+ * Every scan that a search or getNearbyAccessPoints asked for is counted as exactly one of active (WiseFy
+ * started a scan) or avoided (fresh results from a scan that was started by the system or another app
+ * were used instead).
+ *
+ * @see WiseFy#getScanStats()
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyScanStats {
+
+    private final int mActiveScanCount;
+
+    private final int mAvoidedScanCount;
+
+    private final int mResultsDeliveredCount;
+
+    /**
+     * Constructor with the totals so far
+     *
+     * @param activeScanCount The number of scans WiseFy started
+     * @param avoidedScanCount The number of scans WiseFy did not have to start
+     * @param resultsDeliveredCount The number of times the system reported new scan results
+     */
+    WiseFyScanStats(int activeScanCount, int avoidedScanCount, int resultsDeliveredCount) {
+        mActiveScanCount = activeScanCount;
+        mAvoidedScanCount = avoidedScanCount;
+        mResultsDeliveredCount = resultsDeliveredCount;
+    }
+
+    /**
+     * @return int - The number of scans WiseFy started
+     */
+    public int getActiveScanCount() {
+        return mActiveScanCount;
+    }
+
+    /**
+     * @return int - The number of scans WiseFy did not have to start because fresh results were available
+     */
+    public int getAvoidedScanCount() {
+        return mAvoidedScanCount;
+    }
+
+    /**
+     * @return int - The number of times the system reported new scan results (no matter who started the scan)
+     */
+    public int getResultsDeliveredCount() {
+        return mResultsDeliveredCount;
+    }
+}
@@ -0,0 +1,716 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * The access points of a scan stored column by column instead of as one object per access point.
+ *
+ * BSSIDs are packed into a long[], the signal strength, frequency, and capability bits of each access
+ * point are kept in int[]s, and each distinct SSID is stored once in a pool that every access point
+ * points into.  Searches compare pool ids and primitives so they never have to build a list of
+ * ScanResults.  A table can also be a view of some of the rows of another table, in which case the
+ * columns are shared and only the selected row numbers are kept.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see WiseFy#getNearbyAccessPointTable(boolean)
+ * @see Cursor
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFyScanTable {
+
+    public static final int NO_SSID = -1;
+
+    static final byte UNKNOWN = 0;
+
+    static final byte MATCH = 1;
+
+    static final byte NO_MATCH = -1;
+
+    final long mTimestamp;
+
+    final int mSize;
+
+    final int[] mRows;
+
+    final long[] mBSSIDs;
+
+    final int[] mSSIDIds;
+
+    final int[] mLevels;
+
+    final int[] mFrequencies;
+
+    final int[] mCapabilities;
+
+    final long[] mLastSeen;
+
+    final int[] mSources;
+
+    final String[] mSSIDPool;
+
+    final int[] mSSIDKeys;
+
+    final int[] mStrongestLevels;
+
+    final Map<String, Integer> mSSIDIdsBySSID;
+
+    /**
+     * Constructor for a view of a table (or the table itself if rows is null)
+     *
+     * @param table The table that has the columns
+     * @param rows The rows of the table that are part of the view
+     * @param size The number of rows in the view
+     */
+    WiseFyScanTable(WiseFyScanTable table, int[] rows, int size) {
+        this(table.mTimestamp, size, rows, table.mBSSIDs, table.mSSIDIds, table.mLevels, table.mFrequencies,
+                table.mCapabilities, table.mLastSeen, table.mSources, table.mSSIDPool, table.mSSIDKeys, table.mStrongestLevels,
+                table.mSSIDIdsBySSID);
+    }
+
+    private WiseFyScanTable(long timestamp, int size, int[] rows, long[] bssids, int[] ssidIds, int[] levels,
+                            int[] frequencies, int[] capabilities, long[] lastSeen, int[] sources, String[] ssidPool,
+                            int[] ssidKeys, int[] strongestLevels, Map<String, Integer> ssidIdsBySSID) {
+        mTimestamp = timestamp;
+        mSize = size;
+        mRows = rows;
+        mBSSIDs = bssids;
+        mSSIDIds = ssidIds;
+        mLevels = levels;
+        mFrequencies = frequencies;
+        mCapabilities = capabilities;
+        mLastSeen = lastSeen;
+        mSources = sources;
+        mSSIDPool = ssidPool;
+        mSSIDKeys = ssidKeys;
+        mStrongestLevels = strongestLevels;
+        mSSIDIdsBySSID = ssidIdsBySSID;
+    }
+
+    /**
+     * @return long - The time of the scan in milliseconds (System#currentTimeMillis())
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    /**
+     * @return int - The number of access points in the table
+     */
+    public int getAccessPointCount() {
+        return mSize;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return long - The packed BSSID of the access point or BSSIDUtil.INVALID_BSSID if it could not be packed
+     */
+    public long getPackedBSSID(int index) {
+        return mBSSIDs[row(index)];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return String|null - The BSSID of the access point in lower case
+     */
+    public String getBSSID(int index) {
+        return BSSIDUtil.getInstance().toString(getPackedBSSID(index));
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The id of the access point's SSID in the pool or NO_SSID if it does not have one
+     */
+    public int getSSIDId(int index) {
+        return mSSIDIds[row(index)];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return String|null - The SSID of the access point
+     */
+    public String getSSID(int index) {
+        int ssidId = getSSIDId(index);
+        return ssidId != NO_SSID ? mSSIDPool[ssidId] : null;
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The signal strength of the access point (dBm)
+     */
+    public int getLevel(int index) {
+        return mLevels[row(index)];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The frequency of the access point (MHz)
+     */
+    public int getFrequency(int index) {
+        return mFrequencies[row(index)];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @see com.isupatches.wisefy.constants.Capabilities
+     * @see com.isupatches.wisefy.util.CapabilitiesUtil#toFlags(String)
+     *
+     * @return int - The capability bits of the access point
+     */
+    public int getCapabilityFlags(int index) {
+        return mCapabilities[row(index)];
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return long - When the access point was last seen in milliseconds (System#currentTimeMillis())
+     */
+    public long getLastSeenInMillis(int index) {
+        return mLastSeen[row(index)];
+    }
+
+    /**
+     * @param index The index of the access point
+     * @param capability The capability bit (or bits) to check for
+     *
+     * @see com.isupatches.wisefy.constants.Capabilities
+     *
+     * @return boolean - True if the access point has any of the capability bits
+     */
+    public boolean hasCapability(int index, int capability) {
+        return (getCapabilityFlags(index) & capability) != 0;
+    }
+
+    /**
+     * *NOTE* Case insensitive, and a tie with another access point still counts as the strongest
+     *
+     * @param index The index of the access point
+     *
+     * @return boolean - True if no access point in the scan with the same SSID has a stronger signal
+     */
+    public boolean isStrongestForSSID(int index) {
+        int ssidId = getSSIDId(index);
+        return ssidId == NO_SSID || getLevel(index) >= mStrongestLevels[mSSIDKeys[ssidId]];
+    }
+
+    /**
+     * @return int - The number of distinct SSIDs in the pool
+     */
+    public int getSSIDPoolSize() {
+        return mSSIDPool.length;
+    }
+
+    /**
+     * @param ssidId The id of the SSID in the pool
+     *
+     * @return String - The SSID
+     */
+    public String getPooledSSID(int ssidId) {
+        return mSSIDPool[ssidId];
+    }
+
+    /**
+     * @return Cursor - A new cursor positioned before the first access point
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Used internally to find the first access point whose SSID matches
+     *
+     * *NOTE* A regex is only evaluated once for each distinct SSID and a literal SSID is looked up by hash
+     *
+     * @param matcher The matcher for the SSID
+     * @param takeHighest If only an access point with the strongest signal for its SSID should be returned
+     *
+     * @see #isStrongestForSSID(int)
+     * @see #newMatchCache(WiseFySSIDMatcher)
+     *
+     * @return int - The index of the access point or -1 if there is no match
+     */
+    int indexOfMatching(WiseFySSIDMatcher matcher, boolean takeHighest) {
+        return indexOfMatching(matcher, takeHighest, 0, newMatchCache(matcher));
+    }
+
+    /**
+     * Used internally to find the next access point whose SSID matches so matches can be visited one
+     * at a time
+     *
+     * *NOTE* Pass the same cache to every call of one search so a regex is only evaluated once for each
+     * distinct SSID
+     *
+     * @param matcher The matcher for the SSID
+     * @param takeHighest If only an access point with the strongest signal for its SSID should be returned
+     * @param fromIndex The index to start searching from
+     * @param matches The cache for the matcher
+     *
+     * @see #isStrongestForSSID(int)
+     * @see #newMatchCache(WiseFySSIDMatcher)
+     *
+     * @return int - The index of the access point or -1 if there is no match
+     */
+    int indexOfMatching(WiseFySSIDMatcher matcher, boolean takeHighest, int fromIndex, byte[] matches) {
+        for (int i = fromIndex; i < mSize; i++) {
+            if (matches(i, matcher, matches) && (!takeHighest || isStrongestForSSID(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Used internally to count the access points whose SSID matches without creating a view
+     *
+     * *NOTE* A regex is only evaluated once for each distinct SSID and a literal SSID is looked up by hash
+     *
+     * @param matcher The matcher for the SSID
+     * @param takeHighest If only access points with the strongest signal for their SSID should be counted
+     *
+     * @see #isStrongestForSSID(int)
+     * @see #newMatchCache(WiseFySSIDMatcher)
+     *
+     * @return int - The number of matching access points
+     */
+    int countMatching(WiseFySSIDMatcher matcher, boolean takeHighest) {
+        byte[] matches = newMatchCache(matcher);
+        int count = 0;
+        for (int i = 0; i < mSize; i++) {
+            if (matches(i, matcher, matches) && (!takeHighest || isStrongestForSSID(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Used internally to create a view of the access points whose SSID matches
+     *
+     * *NOTE* A regex is only evaluated once for each distinct SSID and a literal SSID is looked up by hash
+     *
+     * @param matcher The matcher for the SSID
+     * @param takeHighest If only access points with the strongest signal for their SSID should be included
+     *
+     * @see #isStrongestForSSID(int)
+     * @see #newMatchCache(WiseFySSIDMatcher)
+     *
+     * @return WiseFyScanTable - The matching access points in scan order
+     */
+    WiseFyScanTable selectMatching(WiseFySSIDMatcher matcher, boolean takeHighest) {
+        byte[] matches = newMatchCache(matcher);
+        int[] rows = new int[mSize];
+        int count = 0;
+        for (int i = 0; i < mSize; i++) {
+            if (matches(i, matcher, matches) && (!takeHighest || isStrongestForSSID(i))) {
+                rows[count++] = row(i);
+            }
+        }
+        return new WiseFyScanTable(this, rows, count);
+    }
+
+    /**
+     * Used internally to look up the pool id of an SSID by hash
+     *
+     * @param ssid The exact SSID (case sensitive)
+     *
+     * @return int - The pool id or NO_SSID if no access point in the scan has the SSID
+     */
+    int findSSIDId(String ssid) {
+        Integer ssidId = mSSIDIdsBySSID.get(ssid);
+        return ssidId != null ? ssidId : NO_SSID;
+    }
+
+    /**
+     * Used internally to create the per pooled SSID cache that a search with a matcher fills in
+     *
+     * *NOTE* For a literal SSID, or a regex that is equal to one of the pooled SSIDs, only the equal SSID
+     * matches and the answer for every pooled SSID is known up front from one hash lookup
+     *
+     * @param matcher The matcher for the SSID
+     *
+     * @see #findSSIDId(String)
+     *
+     * @return byte[] - An entry (UNKNOWN, MATCH or NO_MATCH) for each pooled SSID
+     */
+    byte[] newMatchCache(WiseFySSIDMatcher matcher) {
+        byte[] matches = new byte[mSSIDPool.length];
+        int ssidId = findSSIDId(matcher.getRegexForSSID());
+        if (matcher.isLiteral() || ssidId != NO_SSID) {
+            Arrays.fill(matches, NO_MATCH);
+            if (ssidId != NO_SSID) {
+                matches[ssidId] = MATCH;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Used internally to create a view of some of the access points
+     *
+     * @param indexes The indexes of the access points to include, in the order they should be in the view
+     * @param count The number of indexes to use
+     *
+     * @return WiseFyScanTable - The view (the columns are shared with this table)
+     */
+    WiseFyScanTable select(int[] indexes, int count) {
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = row(indexes[i]);
+        }
+        return new WiseFyScanTable(this, rows, count);
+    }
+
+    /**
+     * Used internally to create a view with only the strongest access point for each SSID
+     *
+     * *NOTE* Case insensitive.  The first access point with the strongest signal is kept and the SSIDs
+     * stay in the order they were first seen.  Access points without an SSID are always kept.
+     *
+     * @return WiseFyScanTable - The access points that were kept
+     */
+    WiseFyScanTable selectStrongestPerSSID() {
+        int[] slots = new int[mStrongestLevels.length];
+        Arrays.fill(slots, -1);
+        int[] rows = new int[mSize];
+        int count = 0;
+        for (int i = 0; i < mSize; i++) {
+            int ssidId = getSSIDId(i);
+            if (ssidId == NO_SSID) {
+                rows[count++] = row(i);
+                continue;
+            }
+
+            int key = mSSIDKeys[ssidId];
+            int slot = slots[key];
+            if (slot == -1) {
+                slots[key] = count;
+                rows[count++] = row(i);
+            } else if (getLevel(i) > mLevels[rows[slot]]) {
+                rows[slot] = row(i);
+            }
+        }
+        return new WiseFyScanTable(this, rows, count);
+    }
+
+    /**
+     * @param index The index of the access point
+     *
+     * @return int - The position of the access point in the list the table was built from
+     */
+    int getSourceIndex(int index) {
+        return mSources[row(index)];
+    }
+
+    /*
+     * Helpers
+     */
+
+    private boolean matches(int index, WiseFySSIDMatcher matcher, byte[] matches) {
+        int ssidId = getSSIDId(index);
+        if (ssidId == NO_SSID) {
+            return false;
+        }
+        if (matches[ssidId] == UNKNOWN) {
+            matches[ssidId] = matcher.matches(mSSIDPool[ssidId]) ? MATCH : NO_MATCH;
+        }
+        return matches[ssidId] == MATCH;
+    }
+
+    private int row(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, mSize));
+        }
+        return mRows != null ? mRows[index] : index;
+    }
+
+    /**
+     * A reusable position in a table that reads the columns of the current access point
+     */
+    @PublicAPI
+    public class Cursor {
+
+        private int mPosition = -1;
+
+        /**
+         * Private constructor for a cursor before the first access point
+         */
+        private Cursor() {
+        }
+
+        /**
+         * @return boolean - True if the cursor moved to the next access point or false if it is past the end
+         */
+        public boolean moveToNext() {
+            if (mPosition < mSize) {
+                mPosition++;
+            }
+            return mPosition < mSize;
+        }
+
+        /**
+         * @param position The index of the access point to move to
+         *
+         * @return boolean - True if the position is in the table
+         */
+        public boolean moveToPosition(int position) {
+            mPosition = Math.max(Math.min(position, mSize), -1);
+            return mPosition == position && position >= 0 && position < mSize;
+        }
+
+        /**
+         * @return int - The index of the current access point
+         */
+        public int getPosition() {
+            return mPosition;
+        }
+
+        /**
+         * @see WiseFyScanTable#getPackedBSSID(int)
+         *
+         * @return long - The packed BSSID of the current access point
+         */
+        public long getPackedBSSID() {
+            return WiseFyScanTable.this.getPackedBSSID(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getBSSID(int)
+         *
+         * @return String|null - The BSSID of the current access point in lower case
+         */
+        public String getBSSID() {
+            return WiseFyScanTable.this.getBSSID(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getSSIDId(int)
+         *
+         * @return int - The id of the current access point's SSID in the pool or NO_SSID
+         */
+        public int getSSIDId() {
+            return WiseFyScanTable.this.getSSIDId(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getSSID(int)
+         *
+         * @return String|null - The SSID of the current access point
+         */
+        public String getSSID() {
+            return WiseFyScanTable.this.getSSID(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getLevel(int)
+         *
+         * @return int - The signal strength of the current access point (dBm)
+         */
+        public int getLevel() {
+            return WiseFyScanTable.this.getLevel(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getFrequency(int)
+         *
+         * @return int - The frequency of the current access point (MHz)
+         */
+        public int getFrequency() {
+            return WiseFyScanTable.this.getFrequency(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getCapabilityFlags(int)
+         *
+         * @return int - The capability bits of the current access point
+         */
+        public int getCapabilityFlags() {
+            return WiseFyScanTable.this.getCapabilityFlags(mPosition);
+        }
+
+        /**
+         * @see WiseFyScanTable#getLastSeenInMillis(int)
+         *
+         * @return long - When the current access point was last seen in milliseconds
+         */
+        public long getLastSeenInMillis() {
+            return WiseFyScanTable.this.getLastSeenInMillis(mPosition);
+        }
+    }
+
+    /**
+     * Used internally to fill the columns of a table one access point at a time
+     */
+    static class Builder {
+
+        private final Map<String, Integer> mSSIDIdsBySSID = new HashMap<>();
+
+        private final Map<String, Integer> mSSIDKeysByFoldedSSID = new HashMap<>();
+
+        private String[] mSSIDPool;
+
+        private int[] mSSIDKeys;
+
+        private int[] mStrongestLevels;
+
+        private int mPoolSize;
+
+        private long[] mBSSIDs;
+
+        private int[] mSSIDIds;
+
+        private int[] mLevels;
+
+        private int[] mFrequencies;
+
+        private int[] mCapabilities;
+
+        private long[] mLastSeen;
+
+        private int[] mSources;
+
+        private int mSize;
+
+        /**
+         * Constructor for an empty table
+         *
+         * @param capacity The number of access points expected (the columns grow if more are added)
+         */
+        Builder(int capacity) {
+            int size = Math.max(capacity, 1);
+            mSSIDPool = new String[size];
+            mSSIDKeys = new int[size];
+            mStrongestLevels = new int[size];
+            mBSSIDs = new long[size];
+            mSSIDIds = new int[size];
+            mLevels = new int[size];
+            mFrequencies = new int[size];
+            mCapabilities = new int[size];
+            mLastSeen = new long[size];
+            mSources = new int[size];
+        }
+
+        /**
+         * Used internally to add an access point as the next row
+         *
+         * @param bssid The packed BSSID of the access point
+         * @param ssid The SSID of the access point
+         * @param level The signal strength of the access point (dBm)
+         * @param frequency The frequency of the access point (MHz)
+         * @param capabilities The capability bits of the access point
+         * @param lastSeenInMillis When the access point was last seen (System#currentTimeMillis())
+         * @param source The position of the access point in the list the table is built from
+         *
+         * @return Builder - The builder
+         */
+        Builder add(long bssid, String ssid, int level, int frequency, int capabilities, long lastSeenInMillis, int source) {
+            if (mSize == mBSSIDs.length) {
+                int size = mSize * 2;
+                mBSSIDs = Arrays.copyOf(mBSSIDs, size);
+                mSSIDIds = Arrays.copyOf(mSSIDIds, size);
+                mLevels = Arrays.copyOf(mLevels, size);
+                mFrequencies = Arrays.copyOf(mFrequencies, size);
+                mCapabilities = Arrays.copyOf(mCapabilities, size);
+                mLastSeen = Arrays.copyOf(mLastSeen, size);
+                mSources = Arrays.copyOf(mSources, size);
+            }
+
+            int ssidId = intern(ssid);
+            if (ssidId != NO_SSID) {
+                int key = mSSIDKeys[ssidId];
+                mStrongestLevels[key] = Math.max(mStrongestLevels[key], level);
+            }
+            mBSSIDs[mSize] = bssid;
+            mSSIDIds[mSize] = ssidId;
+            mLevels[mSize] = level;
+            mFrequencies[mSize] = frequency;
+            mCapabilities[mSize] = capabilities;
+            mLastSeen[mSize] = lastSeenInMillis;
+            mSources[mSize] = source;
+            mSize++;
+            return this;
+        }
+
+        /**
+         * @param timestamp The time of the scan (System#currentTimeMillis())
+         *
+         * @return WiseFyScanTable - A table with every access point that was added
+         */
+        WiseFyScanTable build(long timestamp) {
+            return new WiseFyScanTable(timestamp, mSize, null, Arrays.copyOf(mBSSIDs, mSize),
+                    Arrays.copyOf(mSSIDIds, mSize), Arrays.copyOf(mLevels, mSize), Arrays.copyOf(mFrequencies, mSize),
+                    Arrays.copyOf(mCapabilities, mSize), Arrays.copyOf(mLastSeen, mSize), Arrays.copyOf(mSources, mSize),
+                    Arrays.copyOf(mSSIDPool, mPoolSize), Arrays.copyOf(mSSIDKeys, mPoolSize),
+                    Arrays.copyOf(mStrongestLevels, mSSIDKeysByFoldedSSID.size()), new HashMap<>(mSSIDIdsBySSID));
+        }
+
+        /*
+         * Helpers
+         */
+
+        private static String fold(String ssid) {
+            char[] chars = ssid.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            }
+            return new String(chars);
+        }
+
+        private int intern(String ssid) {
+            if (ssid == null) {
+                return NO_SSID;
+            }
+            Integer ssidId = mSSIDIdsBySSID.get(ssid);
+            if (ssidId != null) {
+                return ssidId;
+            }
+
+            if (mPoolSize == mSSIDPool.length) {
+                mSSIDPool = Arrays.copyOf(mSSIDPool, mPoolSize * 2);
+                mSSIDKeys = Arrays.copyOf(mSSIDKeys, mPoolSize * 2);
+                mStrongestLevels = Arrays.copyOf(mStrongestLevels, mPoolSize * 2);
+            }
+            String foldedSSID = fold(ssid);
+            Integer key = mSSIDKeysByFoldedSSID.get(foldedSSID);
+            if (key == null) {
+                key = mSSIDKeysByFoldedSSID.size();
+                mSSIDKeysByFoldedSSID.put(foldedSSID, key);
+                mStrongestLevels[key] = Integer.MIN_VALUE;
+            }
+            mSSIDPool[mPoolSize] = ssid;
+            mSSIDKeys[mPoolSize] = key;
+            mSSIDIdsBySSID.put(ssid, mPoolSize);
+            return mPoolSize++;
+        }
+    }
+}
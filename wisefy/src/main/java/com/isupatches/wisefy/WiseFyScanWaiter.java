@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.LogUtil;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A class used internally to start a scan and block until SCAN_RESULTS_AVAILABLE_ACTION reports that
+ * the scan results were updated, so the results read after are not the ones from before the scan.
+ *
+ * *NOTE* One instance per request
+ *
+ * @see WiseFyBroadcastHub
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyScanWaiter implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyScanWaiter.class.getSimpleName();
+
+    static final int OUTCOME_PENDING = 0;
+
+    static final int OUTCOME_UPDATED = 1;
+
+    static final int OUTCOME_REJECTED = 2;
+
+    static final int OUTCOME_TIMED_OUT = 3;
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WifiManager mWifiManager;
+
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+
+    private int mOutcome = OUTCOME_PENDING;
+
+    /**
+     * Constructor for a single request
+     *
+     * @param wiseFyBroadcastHub The hub to listen for scan results through
+     * @param wiseFyPrerequisites The prerequisites instance with the WifiManager to use
+     */
+    WiseFyScanWaiter(WiseFyBroadcastHub wiseFyBroadcastHub, WiseFyPrerequisites wiseFyPrerequisites) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWifiManager = wiseFyPrerequisites.getWifiManager();
+    }
+
+    /**
+     * Used internally to start a scan and block the calling thread until its results are delivered
+     *
+     * *NOTE* Results delivered for a scan started by the system or another app complete the request as well
+     *
+     * @param timeoutInMillis The amount of time to wait for the scan results
+     *
+     * @return int - The outcome of the request
+     */
+    int startAndAwait(int timeoutInMillis) {
+        mWiseFyBroadcastHub.register(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, this);
+        if (!mWifiManager.startScan()) {
+            complete(OUTCOME_REJECTED);
+        }
+        try {
+            if (!mLatch.await(timeoutInMillis, TimeUnit.MILLISECONDS)) {
+                complete(OUTCOME_TIMED_OUT);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            complete(OUTCOME_TIMED_OUT);
+        }
+        return getOutcome();
+    }
+
+    /**
+     * @return int - The outcome of the request or OUTCOME_PENDING if it has not completed
+     */
+    synchronized int getOutcome() {
+        return mOutcome;
+    }
+
+    /**
+     * Used internally to complete the request when scan results are delivered
+     *
+     * @param intent The SCAN_RESULTS_AVAILABLE_ACTION broadcast
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        boolean updated = true;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            updated = intent.getBooleanExtra(WifiManager.EXTRA_RESULTS_UPDATED, true);
+        }
+        complete(updated ? OUTCOME_UPDATED : OUTCOME_REJECTED);
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void complete(int outcome) {
+        synchronized (this) {
+            if (mOutcome != OUTCOME_PENDING) {
+                return;
+            }
+            mOutcome = outcome;
+        }
+
+        mWiseFyBroadcastHub.unregister(WifiManager.SCAN_RESULTS_AVAILABLE_ACTION, this);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Request for new scan results completed with outcome: %d", outcome));
+        }
+        mLatch.countDown();
+    }
+}
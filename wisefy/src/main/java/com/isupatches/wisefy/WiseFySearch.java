@@ -19,13 +19,21 @@ package com.isupatches.wisefy;
 import android.net.wifi.ScanResult;
 import android.net.wifi.WifiConfiguration;
 import android.net.wifi.WifiManager;
+import android.os.SystemClock;
 import android.util.Log;
 import com.isupatches.wisefy.annotations.Internal;
 import com.isupatches.wisefy.annotations.WaitsForTimeout;
+import com.isupatches.wisefy.callbacks.AccessPointVisitor;
+import com.isupatches.wisefy.callbacks.SavedNetworkVisitor;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import com.isupatches.wisefy.util.CapabilitiesUtil;
 import com.isupatches.wisefy.util.LogUtil;
 import com.isupatches.wisefy.util.SleepUtil;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -33,6 +41,10 @@ import java.util.List;
  * nearby access points. There is also filtering by regex functionality and some RSSI logic that
  * are tied into these queries.
  *
+ * *NOTE* One instance per WiseFy instance so the scan features it was built with and the last known
+ * scan are never shared with another WiseFy instance.  The shared instance from {@link #getInstance()}
+ * has no scan features and is only used for saved network lookups.
+ *
  * @author Patches
  */
 @Internal
@@ -42,25 +54,92 @@ class WiseFySearch {
 
     private static final WiseFySearch WISEFY_SEARCH = new WiseFySearch();
 
+    WiseFyPassiveScanner mWiseFyPassiveScanner;
+
+    WiseFyScanAccumulator<ScanResult> mWiseFyScanAccumulator;
+
     WiseFyPrerequisites mWiseFyPrerequisites;
 
+    WiseFyScanLog mWiseFyScanLog;
+
+    WiseFySignalHistory mWiseFySignalHistory;
+
+    WiseFySignalSmoother mWiseFySignalSmoother;
+
+    WiseFyWarmStartStore mWiseFyWarmStartStore;
+
     private WiseFyConfiguration mWiseFyConfiguration;
 
+    private volatile WiseFyScanSnapshot mLastScan;
+
+    private long mLastLoggedScanTimestamp;
+
+    private WiseFyScanSnapshot mLastScanTableSource;
+
+    private WiseFyScanTable mLastScanTable;
+
+    private final WiseFySSIDIndex mSSIDIndex = new WiseFySSIDIndex();
+
+    private WiseFyScanTable mSSIDIndexScanSource;
+
+    private boolean mSSIDIndexSavedNetworksStale = true;
+
+    private boolean mSSIDIndexRefreshPending;
+
+    private Map<String, WifiConfiguration> mSavedNetworksBySSID;
+
     /**
-     * Private constructor with no setup
+     * Constructor for a search with no scan features
      */
-    private WiseFySearch() {
+    WiseFySearch() {
         mWiseFyPrerequisites = WiseFyPrerequisites.getInstance();
         mWiseFyConfiguration = WiseFyConfiguration.getInstance();
     }
 
     /**
-     * @return instance of WiseFySearch
+     * @return instance of WiseFySearch that is shared for saved network lookups
      */
     static WiseFySearch getInstance() {
         return WISEFY_SEARCH;
     }
 
+    /**
+     * Used internally to count the nearby access points whose SSID matches a given regex without
+     * building a list of them
+     *
+     * @param regexForSSID The regex to check the SSID of the network against
+     * @param takeHighest If only the access points with the highest RSSI for their SSID should be counted
+     *
+     * @see #scan()
+     * @see #toScanTable(List)
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#countMatching(WiseFySSIDMatcher, boolean)
+     *
+     * @return int - The number of matching access points
+     */
+    int countAccessPointsMatchingRegex(String regexForSSID, boolean takeHighest) {
+        List<ScanResult> accessPoints = scan();
+        if (accessPoints == null || accessPoints.size() == 0) {
+            return 0;
+        }
+
+        return toScanTable(accessPoints).countMatching(WiseFySSIDMatcher.compile(regexForSSID), takeHighest);
+    }
+
+    /**
+     * Used internally to count the saved networks whose SSID matches a given regex without building
+     * a list of them
+     *
+     * @param regexForSSID The regex for the SSIDs to find in the configured network list
+     *
+     * @see #visitSavedNetworksMatchingRegex(String, SavedNetworkVisitor)
+     *
+     * @return int - The number of matching saved networks
+     */
+    int countSavedNetworksMatchingRegex(String regexForSSID) {
+        return visitSavedNetworksMatchingRegex(regexForSSID, null);
+    }
+
     /**
      * Used internally to wait for a given time and return the first ScanResult whose SSID matches a given regex
      *
@@ -68,16 +147,20 @@ class WiseFySearch {
      * @param timeoutInMillis The amount of time to wait for a match
      * @param takeHighest If the method should iterate through and return only the access point with the highest RSSI
      *
-     * @see #hasHighestSignalStrength(List, ScanResult)
+     * @see #scan()
+     * @see #toScanTable(List)
      * @see SleepUtil#sleep(long)
      * @see WiseFyConfiguration#isLoggingEnabled()
      * @see WiseFyPrerequisites#getWifiManager() ()
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#indexOfMatching(WiseFySSIDMatcher, boolean)
      *
      * @return ScanResult|null - The first network whose SSID matches a given regex or a network that matches
      * the given regex and has the highest RSSI.  Returns null if no matching network found.
      */
     @WaitsForTimeout
     ScanResult findAccessPointByRegex(String regexForSSID, Integer timeoutInMillis, boolean takeHighest) {
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile(regexForSSID);
         int scanPass = 1;
         long currentTime;
         long endTime = System.currentTimeMillis() + timeoutInMillis;
@@ -85,22 +168,15 @@ class WiseFySearch {
             if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
                 Log.d(TAG, String.format("Scanning SSIDs, pass %d", scanPass));
             }
-            mWiseFyPrerequisites.getWifiManager().startScan();
-            List<ScanResult> accessPoints = mWiseFyPrerequisites.getWifiManager().getScanResults();
+            List<ScanResult> accessPoints = scan();
             if (accessPoints != null && accessPoints.size() > 0) {
-                for (ScanResult accessPoint : accessPoints) {
-                    if (accessPoint != null && accessPoint.SSID != null && (accessPoint.SSID).matches(regexForSSID)) {
-                        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                            Log.d(TAG, String.format("scanResult.SSID: %s, regex for SSID: %s", accessPoint.SSID, regexForSSID));
-                        }
-                        if (takeHighest) {
-                            if (hasHighestSignalStrength(accessPoints, accessPoint)) {
-                                return accessPoint;
-                            }
-                        } else {
-                            return accessPoint;
-                        }
+                WiseFyScanTable scanTable = toScanTable(accessPoints);
+                int index = scanTable.indexOfMatching(matcher, takeHighest);
+                if (index != -1) {
+                    if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                        Log.d(TAG, String.format("scanResult.SSID: %s, regex for SSID: %s", scanTable.getSSID(index), regexForSSID));
                     }
+                    return accessPoints.get(scanTable.getSourceIndex(index));
                 }
             }
 
@@ -115,40 +191,78 @@ class WiseFySearch {
         return null;
     }
 
+    /**
+     * Used internally to return the first access point in the latest scan results whose SSID matches a given
+     * regex without starting a scan
+     *
+     * @param regexForSSID The regex to check the SSID of the network against
+     * @param takeHighest If the method should only return an access point with the highest RSSI for its SSID
+     *
+     * @see #readScanResults()
+     * @see #toScanTable(List)
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#indexOfMatching(WiseFySSIDMatcher, boolean)
+     *
+     * @return ScanResult|null - The first matching access point or null if there is no match
+     */
+    ScanResult findAccessPointInScanResults(String regexForSSID, boolean takeHighest) {
+        List<ScanResult> accessPoints = readScanResults();
+        if (accessPoints == null || accessPoints.size() == 0) {
+            return null;
+        }
+
+        WiseFyScanTable scanTable = toScanTable(accessPoints);
+        int index = scanTable.indexOfMatching(WiseFySSIDMatcher.compile(regexForSSID), takeHighest);
+        return index != -1 ? accessPoints.get(scanTable.getSourceIndex(index)) : null;
+    }
+
+    /**
+     * Used internally to return the index of the first access point in a scan snapshot whose SSID matches
+     * a given regex
+     *
+     * @param scan The snapshot to search
+     * @param regexForSSID The regex to check the SSID of the network against
+     * @param takeHighest If the method should only return an access point with the highest RSSI for its SSID
+     *
+     * @see #getLastKnownScan()
+     * @see #toScanTable(WiseFyScanSnapshot)
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#indexOfMatching(WiseFySSIDMatcher, boolean)
+     *
+     * @return int - The index of the matching access point or -1 if there is no match
+     */
+    int findAccessPointInSnapshot(WiseFyScanSnapshot scan, String regexForSSID, boolean takeHighest) {
+        WiseFyScanTable scanTable = toScanTable(scan);
+        int index = scanTable.indexOfMatching(WiseFySSIDMatcher.compile(regexForSSID), takeHighest);
+        return index != -1 ? scanTable.getSourceIndex(index) : -1;
+    }
+
     /**
      * Used internally to return a list of networks whose SSID match the given regex
      *
      * @param regexForSSID The regex to check the SSID of the network against
      * @param takeHighest If the method should iterate through and return only the access point with the highest RSSI
      *
-     * @see #hasHighestSignalStrength(List, ScanResult)
+     * @see #scan()
+     * @see #toScanTable(List)
      * @see WiseFyConfiguration#isLoggingEnabled()
-     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#selectMatching(WiseFySSIDMatcher, boolean)
      *
      * @return List<ScanResult>|null - The list of networks that have an SSID that matches the given regex
      */
     List<ScanResult> findAccessPointsMatchingRegex(String regexForSSID, boolean takeHighest) {
-        mWiseFyPrerequisites.getWifiManager().startScan();
-        List<ScanResult> matchingAccessPoints = new ArrayList<>();
-        List<ScanResult> accessPoints = mWiseFyPrerequisites.getWifiManager().getScanResults();
-        if (accessPoints != null && accessPoints.size() > 0) {
-            for (ScanResult accessPoint : accessPoints) {
-                if (accessPoint != null && accessPoint.SSID != null && accessPoint.SSID.matches(regexForSSID)) {
-                    if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                        Log.d(TAG, String.format("accessPoint.SSID: %s, regex for SSID: %s", accessPoint.SSID, regexForSSID));
-                    }
-                    if (takeHighest) {
-                        if (hasHighestSignalStrength(accessPoints, accessPoint)) {
-                            matchingAccessPoints.add(accessPoint);
-                        }
-                    } else {
-                        matchingAccessPoints.add(accessPoint);
-                    }
-                }
-            }
+        List<ScanResult> accessPoints = scan();
+        if (accessPoints == null || accessPoints.size() == 0) {
+            return null;
+        }
+
+        WiseFyScanTable matchingAccessPoints = toScanTable(accessPoints).selectMatching(WiseFySSIDMatcher.compile(regexForSSID), takeHighest);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("%d access points match regex for SSID: %s", matchingAccessPoints.getAccessPointCount(), regexForSSID));
         }
-        if (matchingAccessPoints.size() > 0) {
-            return matchingAccessPoints;
+        if (matchingAccessPoints.getAccessPointCount() > 0) {
+            return toAccessPoints(matchingAccessPoints, accessPoints);
         } else {
             return null;
         }
@@ -157,8 +271,14 @@ class WiseFySearch {
     /**
      * Used internally to return the first configuration of s saved networks matching a given regex
      *
+     * *NOTE* An SSID that is equal to the regex is looked up in the saved networks indexed by the last read
+     * so connecting to or removing a network by SSID does not read the configured network list each time.
+     * The list is read again (and the index updated) when the SSID is not in the index, and the index is
+     * dropped whenever the saved networks are invalidated.
+     *
      * @param regexForSSID The regex for the SSID to find in the configured network list
      *
+     * @see #invalidateSavedSSIDs()
      * @see WiseFyConfiguration#isLoggingEnabled()
      * @see WiseFyPrerequisites#getWifiManager()
      *
@@ -166,15 +286,45 @@ class WiseFySearch {
      * or null if no matching network found
      */
     WifiConfiguration findSavedNetworkByRegex(String regexForSSID) {
+        synchronized (this) {
+            if (mSavedNetworksBySSID != null && mSavedNetworksBySSID.containsKey(regexForSSID)) {
+                return mSavedNetworksBySSID.get(regexForSSID);
+            }
+        }
         List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+        if (savedNetworks != null) {
+            Map<String, WifiConfiguration> savedNetworksBySSID = indexSavedNetworksBySSID(savedNetworks);
+            synchronized (this) {
+                mSavedNetworksBySSID = savedNetworksBySSID;
+                mSSIDIndex.update(WiseFySSIDIndex.SOURCE_SAVED, savedNetworksBySSID.keySet());
+            }
+        }
+        return findSavedNetworkByRegex(regexForSSID, savedNetworks);
+    }
+
+    /**
+     * Used internally to return the first configuration in a snapshot of saved networks matching a given regex
+     *
+     * @param regexForSSID The regex for the SSID to find in the snapshot
+     * @param savedNetworks The snapshot of saved networks to search
+     *
+     * @see #getSavedNetworksSnapshot()
+     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFySSIDMatcher#compile(String)
+     *
+     * @return WiFiConfiguration|null - The first saved configuration matching the given regex
+     * or null if no matching network found
+     */
+    WifiConfiguration findSavedNetworkByRegex(String regexForSSID, List<WifiConfiguration> savedNetworks) {
         if (savedNetworks != null && savedNetworks.size() > 0) {
+            WiseFySSIDMatcher matcher = compileForSavedNetworks(regexForSSID, savedNetworks);
             for (WifiConfiguration savedNetwork : savedNetworks) {
                 if (savedNetwork != null && savedNetwork.SSID != null) {
-                    String ssidInList = savedNetwork.SSID.replaceAll("\"", "");
+                    String ssidInList = stripQuotes(savedNetwork.SSID);
                     if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
                         Log.d(TAG, String.format("SSID in list: %s, SSID: %s", ssidInList, regexForSSID));
                     }
-                    if (ssidInList.matches(regexForSSID)) {
+                    if (matcher.matches(ssidInList)) {
                         return savedNetwork;
                     }
                 }
@@ -190,6 +340,7 @@ class WiseFySearch {
      *
      * @see WiseFyConfiguration#isLoggingEnabled()
      * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFySSIDMatcher#compile(String)
      *
      * @return List<WifiConfiguration>|null - The list of saved network configurations matching
      * the given regex or null if no matching networks found
@@ -198,13 +349,14 @@ class WiseFySearch {
         List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
         List<WifiConfiguration> matchingSavedNetworks = new ArrayList<>();
         if (savedNetworks != null && savedNetworks.size() > 0) {
+            WiseFySSIDMatcher matcher = compileForSavedNetworks(regexForSSID, savedNetworks);
             for (WifiConfiguration savedNetwork : savedNetworks) {
                 if (savedNetwork != null && savedNetwork.SSID != null) {
-                    String ssidInList = savedNetwork.SSID.replaceAll("\"", "");
+                    String ssidInList = stripQuotes(savedNetwork.SSID);
                     if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
                         Log.d(TAG, String.format("SSID in list: %s, SSID: %s", ssidInList, regexForSSID));
                     }
-                    if (ssidInList.matches(regexForSSID)) {
+                    if (matcher.matches(ssidInList)) {
                         matchingSavedNetworks.add(savedNetwork);
                     }
                 }
@@ -222,33 +374,88 @@ class WiseFySearch {
      *
      * @param regexForSSID The regex for the SSIDs to find in the configured network list
      *
+     * @see #scan()
+     * @see #toScanTable(List)
      * @see WiseFyConfiguration#isLoggingEnabled()
-     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#selectMatching(WiseFySSIDMatcher, boolean)
      *
      * @return List<String>|null - The list of SSIDs of saved network configurations matching
      * the given regex or null if no matching networks found
      */
     List<String> findSSIDsMatchingRegex(String regexForSSID) {
-        mWiseFyPrerequisites.getWifiManager().startScan();
-        List<String> matchingSSIDs = new ArrayList<>();
-        List<ScanResult> accessPoints = mWiseFyPrerequisites.getWifiManager().getScanResults();
-        if (accessPoints != null && accessPoints.size() > 0) {
-            for (ScanResult accessPoint : accessPoints) {
-                if (accessPoint != null && accessPoint.SSID != null) {
-                    if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                        Log.d(TAG, String.format("accessPoint.SSID: %s, regex for SSID: %s", accessPoint.SSID, regexForSSID));
-                    }
-                    if (accessPoint.SSID.matches(regexForSSID)) {
-                        matchingSSIDs.add(accessPoint.SSID);
-                    }
-                }
-            }
+        List<ScanResult> accessPoints = scan();
+        if (accessPoints == null || accessPoints.size() == 0) {
+            return null;
         }
-        if (matchingSSIDs.size() > 0) {
-            return matchingSSIDs;
-        } else {
+
+        WiseFyScanTable matchingAccessPoints = toScanTable(accessPoints).selectMatching(WiseFySSIDMatcher.compile(regexForSSID), false);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("%d access points match regex for SSID: %s", matchingAccessPoints.getAccessPointCount(), regexForSSID));
+        }
+        if (matchingAccessPoints.getAccessPointCount() == 0) {
             return null;
         }
+        List<String> matchingSSIDs = new ArrayList<>(matchingAccessPoints.getAccessPointCount());
+        for (int i = 0; i < matchingAccessPoints.getAccessPointCount(); i++) {
+            matchingSSIDs.add(matchingAccessPoints.getSSID(i));
+        }
+        return matchingSSIDs;
+    }
+
+    /**
+     * Used internally to pass each nearby access point whose SSID matches a given regex to a visitor
+     * until the visitor asks to stop
+     *
+     * *NOTE* Matches are found one at a time so nothing is done for the access points after the visitor stops
+     *
+     * @param regexForSSID The regex to check the SSID of the network against
+     * @param takeHighest If only the access points with the highest RSSI for their SSID should be visited
+     * @param visitor The visitor to pass the matching access points to
+     *
+     * @see #scan()
+     * @see #toScanTable(List)
+     * @see AccessPointVisitor
+     * @see WiseFySSIDMatcher#compile(String)
+     * @see WiseFyScanTable#indexOfMatching(WiseFySSIDMatcher, boolean, int, byte[])
+     *
+     * @return int - The number of access points passed to the visitor
+     */
+    int forEachAccessPointMatchingRegex(String regexForSSID, boolean takeHighest, AccessPointVisitor visitor) {
+        List<ScanResult> accessPoints = scan();
+        if (accessPoints == null || accessPoints.size() == 0) {
+            return 0;
+        }
+
+        WiseFyScanTable scanTable = toScanTable(accessPoints);
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile(regexForSSID);
+        byte[] matches = scanTable.newMatchCache(matcher);
+        int visited = 0;
+        int index = scanTable.indexOfMatching(matcher, takeHighest, 0, matches);
+        while (index != -1) {
+            visited++;
+            if (!visitor.visitAccessPoint(accessPoints.get(scanTable.getSourceIndex(index)))) {
+                break;
+            }
+            index = scanTable.indexOfMatching(matcher, takeHighest, index + 1, matches);
+        }
+        return visited;
+    }
+
+    /**
+     * Used internally to pass each saved network whose SSID matches a given regex to a visitor until
+     * the visitor asks to stop
+     *
+     * @param regexForSSID The regex for the SSIDs to find in the configured network list
+     * @param visitor The visitor to pass the matching saved networks to
+     *
+     * @see #visitSavedNetworksMatchingRegex(String, SavedNetworkVisitor)
+     * @see SavedNetworkVisitor
+     *
+     * @return int - The number of saved networks passed to the visitor
+     */
+    int forEachSavedNetworkMatchingRegex(String regexForSSID, SavedNetworkVisitor visitor) {
+        return visitSavedNetworksMatchingRegex(regexForSSID, visitor);
     }
 
     /**
@@ -265,6 +472,390 @@ class WiseFySearch {
         return wifiConfiguration != null;
     }
 
+    /**
+     * Used internally to determine if a network exists in a snapshot of saved network configurations
+     *
+     * @param ssid The ssid to check for in the snapshot
+     * @param savedNetworks The snapshot of saved networks to search
+     *
+     * @see WiseFySearch#findSavedNetworkByRegex(String, List)
+     *
+     * @return boolean - True if the ssid was found in the snapshot
+     */
+    boolean isNetworkASavedConfiguration(String ssid, List<WifiConfiguration> savedNetworks) {
+        WifiConfiguration wifiConfiguration = findSavedNetworkByRegex(ssid, savedNetworks);
+        return wifiConfiguration != null;
+    }
+
+    /**
+     * Used internally to start a scan and return the latest scan results
+     *
+     * *NOTE* If passive scans are enabled, a scan is only started when no fresh results were delivered by
+     * a scan that the system or another app started.
+     *
+     * *NOTE* A snapshot of the results is kept as the last known scan.  If scan logging, signal history, or
+     * warm start is enabled, the measured level of each result is recorded before any smoothing.
+     * If signal smoothing is enabled, each result's level is replaced with the smoothed signal strength of
+     * its access point so every search compares and returns the smoothed values.
+     *
+     * *NOTE* If scan accumulation is enabled, the results are merged with the recent scans and every
+     * access point that has not aged out is returned, so searches see access points this scan missed
+     *
+     * @see #readScanResults()
+     * @see WiseFyPassiveScanner#shouldStartScan(long)
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFyScanAccumulator
+     * @see WiseFyScanLog
+     * @see WiseFySignalHistory
+     * @see WiseFySignalSmoother
+     * @see WiseFyWarmStartStore
+     *
+     * @return List<ScanResult>|null - The scan results from the WifiManager
+     */
+    List<ScanResult> scan() {
+        WifiManager wifiManager = mWiseFyPrerequisites.getWifiManager();
+        WiseFyPassiveScanner wiseFyPassiveScanner = mWiseFyPassiveScanner;
+        if (wiseFyPassiveScanner == null || wiseFyPassiveScanner.shouldStartScan(SystemClock.elapsedRealtime())) {
+            wifiManager.startScan();
+        }
+        return readScanResults();
+    }
+
+    /**
+     * Used internally to return the latest scan results without starting a scan
+     *
+     * *NOTE* The results are recorded and returned the same as {@link #scan()}
+     *
+     * @see #scan()
+     * @see WiseFyPrerequisites#getWifiManager()
+     *
+     * @return List<ScanResult>|null - The scan results from the WifiManager
+     */
+    List<ScanResult> readScanResults() {
+        List<ScanResult> accessPoints = mWiseFyPrerequisites.getWifiManager().getScanResults();
+        long scanTimestamp = accessPoints != null ? getNewestTimestamp(accessPoints) : 0;
+        WiseFyScanLog wiseFyScanLog = mWiseFyScanLog;
+        if (accessPoints != null && wiseFyScanLog != null) {
+            logScan(accessPoints, scanTimestamp, wiseFyScanLog);
+        }
+        WiseFySignalHistory wiseFySignalHistory = mWiseFySignalHistory;
+        if (accessPoints != null && wiseFySignalHistory != null) {
+            recordSignalLevels(accessPoints, wiseFySignalHistory);
+        }
+        if (accessPoints != null) {
+            WiseFyScanSnapshot lastScan = snapshot(accessPoints);
+            mLastScan = lastScan;
+            WiseFyWarmStartStore wiseFyWarmStartStore = mWiseFyWarmStartStore;
+            if (wiseFyWarmStartStore != null) {
+                wiseFyWarmStartStore.updateScan(lastScan);
+            }
+        }
+        WiseFySignalSmoother wiseFySignalSmoother = mWiseFySignalSmoother;
+        if (accessPoints != null && wiseFySignalSmoother != null) {
+            smoothSignalLevels(accessPoints, wiseFySignalSmoother);
+        }
+        WiseFyScanAccumulator<ScanResult> wiseFyScanAccumulator = mWiseFyScanAccumulator;
+        if (accessPoints != null && wiseFyScanAccumulator != null) {
+            return accumulate(accessPoints, scanTimestamp, wiseFyScanAccumulator);
+        }
+        return accessPoints;
+    }
+
+    /**
+     * Used internally to stop logging scans and release the current log file
+     *
+     * @see WiseFyScanLog#close()
+     */
+    void closeScanLog() {
+        WiseFyScanLog wiseFyScanLog = mWiseFyScanLog;
+        mWiseFyScanLog = null;
+        if (wiseFyScanLog == null) {
+            return;
+        }
+        try {
+            wiseFyScanLog.close();
+        } catch (IOException ioe) {
+            if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.e(TAG, "Unable to close scan log", ioe);
+            }
+        }
+    }
+
+    /**
+     * Used internally to retrieve every access point that is kept by scan accumulation
+     *
+     * @see WiseFyScanAccumulator
+     *
+     * @return WiseFyAccumulatedScan|null - The accumulated access points or null if scan accumulation is disabled
+     */
+    WiseFyAccumulatedScan getAccumulatedScan() {
+        WiseFyScanAccumulator<ScanResult> wiseFyScanAccumulator = mWiseFyScanAccumulator;
+        if (wiseFyScanAccumulator == null) {
+            return null;
+        }
+        synchronized (wiseFyScanAccumulator) {
+            int size = wiseFyScanAccumulator.size();
+            ScanResult[] accessPoints = new ScanResult[size];
+            long[] lastSeen = new long[size];
+            int[] missCounts = new int[size];
+            float[] confidences = new float[size];
+            for (int i = 0; i < size; i++) {
+                accessPoints[i] = wiseFyScanAccumulator.getItem(i);
+                lastSeen[i] = wiseFyScanAccumulator.getLastSeenInMillis(i);
+                missCounts[i] = wiseFyScanAccumulator.getMissCount(i);
+                confidences[i] = wiseFyScanAccumulator.getConfidence(i);
+            }
+            return new WiseFyAccumulatedScan(accessPoints, lastSeen, missCounts, confidences);
+        }
+    }
+
+    /**
+     * Used internally to retrieve the most recent scan without starting a new one
+     *
+     * *NOTE* Falls back to the scan restored by warm start if this process has not scanned yet
+     *
+     * @see WiseFyWarmStartStore#getScan()
+     *
+     * @return WiseFyScanSnapshot|null - The most recent scan or null if none is known
+     */
+    WiseFyScanSnapshot getLastKnownScan() {
+        WiseFyScanSnapshot lastScan = mLastScan;
+        if (lastScan != null) {
+            return lastScan;
+        }
+        WiseFyWarmStartStore wiseFyWarmStartStore = mWiseFyWarmStartStore;
+        return wiseFyWarmStartStore != null ? wiseFyWarmStartStore.getScan() : null;
+    }
+
+    /**
+     * Used internally to retrieve the most recent scan as a scan table without starting a new scan
+     *
+     * *NOTE* The table is only built once for each scan and reused until there is a newer one
+     *
+     * @see #getLastKnownScan()
+     * @see #toScanTable(WiseFyScanSnapshot)
+     *
+     * @return WiseFyScanTable|null - The most recent scan or null if none is known
+     */
+    synchronized WiseFyScanTable getLastKnownScanTable() {
+        WiseFyScanSnapshot lastScan = getLastKnownScan();
+        if (lastScan == null) {
+            return null;
+        }
+        if (lastScan != mLastScanTableSource) {
+            mLastScanTable = toScanTable(lastScan);
+            mLastScanTableSource = lastScan;
+        }
+        return mLastScanTable;
+    }
+
+    /**
+     * Used internally to bring the SSID index up to date with the most recent scan without starting a scan
+     * or reading the saved networks
+     *
+     * *NOTE* Only the SSIDs that changed are added to or removed from the index.  The saved networks are
+     * marked out of date for each new scan so changes made outside of WiseFy are picked up too, but they
+     * are only read by {@link #refreshSavedSSIDs()}.
+     *
+     * @see #getLastKnownScanTable()
+     * @see #requestSavedSSIDsRefresh()
+     * @see WiseFySSIDIndex#update(int, java.util.Collection)
+     *
+     * @return WiseFySSIDIndex - The index of the SSIDs in the most recent scan and the saved networks
+     */
+    synchronized WiseFySSIDIndex getSSIDIndex() {
+        WiseFyScanTable lastKnownScan = getLastKnownScanTable();
+        if (lastKnownScan != mSSIDIndexScanSource) {
+            List<String> ssids = new ArrayList<>(lastKnownScan != null ? lastKnownScan.getSSIDPoolSize() : 0);
+            if (lastKnownScan != null) {
+                for (int i = 0; i < lastKnownScan.getSSIDPoolSize(); i++) {
+                    ssids.add(lastKnownScan.getPooledSSID(i));
+                }
+            }
+            mSSIDIndex.update(WiseFySSIDIndex.SOURCE_SCAN, ssids);
+            mSSIDIndexScanSource = lastKnownScan;
+            mSSIDIndexSavedNetworksStale = true;
+        }
+        return mSSIDIndex;
+    }
+
+    /**
+     * Used internally to check if the saved networks in the SSID index should be read again
+     *
+     * *NOTE* Only returns true once until the refresh runs so a refresh is never queued twice
+     *
+     * @see #refreshSavedSSIDs()
+     *
+     * @return boolean - True if the caller should call refreshSavedSSIDs() off of the calling thread
+     */
+    synchronized boolean requestSavedSSIDsRefresh() {
+        if (!mSSIDIndexSavedNetworksStale || mSSIDIndexRefreshPending) {
+            return false;
+        }
+        mSSIDIndexRefreshPending = true;
+        return true;
+    }
+
+    /**
+     * Used internally to read the saved networks into the SSID index
+     *
+     * *NOTE* The index is marked up to date before the saved networks are read so a change made during the
+     * read marks it out of date again instead of being lost.  The index is not locked during the read.
+     * The saved networks read are also used for exact lookups by findSavedNetworkByRegex(String).
+     *
+     * @see #getSSIDIndex()
+     * @see #invalidateSavedSSIDs()
+     * @see WiseFyPrerequisites#getWifiManager()
+     */
+    void refreshSavedSSIDs() {
+        synchronized (this) {
+            mSSIDIndexSavedNetworksStale = false;
+            mSSIDIndexRefreshPending = false;
+        }
+        List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+        synchronized (this) {
+            if (savedNetworks == null) {
+                mSSIDIndexSavedNetworksStale = true;
+                return;
+            }
+            mSavedNetworksBySSID = indexSavedNetworksBySSID(savedNetworks);
+            mSSIDIndex.update(WiseFySSIDIndex.SOURCE_SAVED, mSavedNetworksBySSID.keySet());
+        }
+    }
+
+    /**
+     * Used internally to retrieve how many scans were started and avoided
+     *
+     * @see WiseFyPassiveScanner#getStats()
+     *
+     * @return WiseFyScanStats|null - The totals so far or null if passive scans are disabled
+     */
+    WiseFyScanStats getScanStats() {
+        WiseFyPassiveScanner wiseFyPassiveScanner = mWiseFyPassiveScanner;
+        return wiseFyPassiveScanner != null ? wiseFyPassiveScanner.getStats() : null;
+    }
+
+    /**
+     * Used internally to retrieve the recorded signal strength of an access point over a window of time
+     *
+     * @param bssid The BSSID of the access point
+     * @param windowInMillis How far back to include samples
+     *
+     * @see BSSIDUtil#toLong(String)
+     * @see WiseFySignalHistory#getHistogram(long, long, long)
+     *
+     * @return WiseFySignalHistogram|null - The samples in the window or null if signal history is disabled
+     * or the access point has not been seen in the window
+     */
+    WiseFySignalHistogram getSignalHistogram(String bssid, int windowInMillis) {
+        WiseFySignalHistory wiseFySignalHistory = mWiseFySignalHistory;
+        long packedBSSID = BSSIDUtil.getInstance().toLong(bssid);
+        if (wiseFySignalHistory == null || packedBSSID == BSSIDUtil.INVALID_BSSID) {
+            return null;
+        }
+        return wiseFySignalHistory.getHistogram(packedBSSID, SystemClock.elapsedRealtime(), windowInMillis);
+    }
+
+    /**
+     * Used internally to retrieve the recorded signal strength of every access point for an SSID over a
+     * window of time
+     *
+     * @param ssid The SSID of the access points
+     * @param windowInMillis How far back to include samples
+     *
+     * @see WiseFySignalHistory#getHistogramForSSID(String, long, long)
+     *
+     * @return WiseFySignalHistogram|null - The samples in the window or null if signal history is disabled
+     * or no access point for the SSID has been seen in the window
+     */
+    WiseFySignalHistogram getSignalHistogramForSSID(String ssid, int windowInMillis) {
+        WiseFySignalHistory wiseFySignalHistory = mWiseFySignalHistory;
+        if (wiseFySignalHistory == null || ssid == null) {
+            return null;
+        }
+        return wiseFySignalHistory.getHistogramForSSID(ssid, SystemClock.elapsedRealtime(), windowInMillis);
+    }
+
+    /**
+     * Used internally to retrieve the smoothed signal strength of an access point
+     *
+     * @param bssid The BSSID of the access point
+     *
+     * @see BSSIDUtil#toLong(String)
+     * @see WiseFySignalSmoother#get(long)
+     *
+     * @return Integer|null - The smoothed signal strength or null if smoothing is disabled or the access
+     * point has not been seen in a scan
+     */
+    Integer getSmoothedSignalLevel(String bssid) {
+        WiseFySignalSmoother wiseFySignalSmoother = mWiseFySignalSmoother;
+        long packedBSSID = BSSIDUtil.getInstance().toLong(bssid);
+        if (wiseFySignalSmoother == null || packedBSSID == BSSIDUtil.INVALID_BSSID) {
+            return null;
+        }
+        int level = wiseFySignalSmoother.get(packedBSSID);
+        return level != WiseFySignalSmoother.NO_ESTIMATE ? level : null;
+    }
+
+    /**
+     * Used internally to take a single snapshot of the saved networks that can be shared across several
+     * operations instead of querying the configured network list for each one
+     *
+     * *NOTE* The snapshot is a copy and can be updated as networks are added or removed
+     *
+     * @see WiseFyPrerequisites#getWifiManager()
+     *
+     * @return List<WifiConfiguration> - A copy of the saved networks (empty if there are none)
+     */
+    List<WifiConfiguration> getSavedNetworksSnapshot() {
+        List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+        if (savedNetworks != null) {
+            return new ArrayList<>(savedNetworks);
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Used internally to index a snapshot of saved networks by SSID so that exact lookups do not need
+     * to iterate through the list
+     *
+     * *NOTE* Keys are the SSIDs with any surrounding quotes removed.  When more than one saved network has
+     * the same SSID the first one in the snapshot is kept, like findSavedNetworkByRegex(String, List).
+     *
+     * @param savedNetworks The snapshot of saved networks to index
+     *
+     * @see #getSavedNetworksSnapshot()
+     *
+     * @return Map<String, WifiConfiguration> - The saved networks keyed by SSID
+     */
+    Map<String, WifiConfiguration> indexSavedNetworksBySSID(List<WifiConfiguration> savedNetworks) {
+        Map<String, WifiConfiguration> savedNetworksBySSID = new HashMap<>();
+        if (savedNetworks != null) {
+            for (WifiConfiguration savedNetwork : savedNetworks) {
+                if (savedNetwork != null && savedNetwork.SSID != null) {
+                    String ssid = stripQuotes(savedNetwork.SSID);
+                    if (!savedNetworksBySSID.containsKey(ssid)) {
+                        savedNetworksBySSID.put(ssid, savedNetwork);
+                    }
+                }
+            }
+        }
+        return savedNetworksBySSID;
+    }
+
+    /**
+     * Used internally to have the SSID index read the saved networks again the next time it is used
+     *
+     * *NOTE* Also drops the saved networks used for exact lookups so the next one reads them again
+     *
+     * @see #findSavedNetworkByRegex(String)
+     * @see #requestSavedSSIDsRefresh()
+     */
+    synchronized void invalidateSavedSSIDs() {
+        mSSIDIndexSavedNetworksStale = true;
+        mSavedNetworksBySSID = null;
+    }
+
     /**
      * Used internally to build a list of ScanResults (removes duplicates by taking access point with higher RSSI)
      *
@@ -272,77 +863,334 @@ class WiseFySearch {
      *
      * @param accessPoints The list of access points to remove entries with lower signal strength from
      *
+     * @see #toScanTable(List)
      * @see WiseFyConfiguration#isLoggingEnabled()
+     * @see WiseFyScanTable#selectStrongestPerSSID()
      *
      * @return List<ScanResult> - The filtered list of networks
      */
     List<ScanResult> removeEntriesWithLowerSignalStrength(List<ScanResult> accessPoints) {
-        List<ScanResult> accessPointsToReturn = new ArrayList<>();
+        WiseFyScanTable strongestAccessPoints = toScanTable(accessPoints).selectStrongestPerSSID();
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Kept %d of %d access points", strongestAccessPoints.getAccessPointCount(), accessPoints.size()));
+        }
+        return toAccessPoints(strongestAccessPoints, accessPoints);
+    }
 
-        for (ScanResult accessPoint : accessPoints) {
-            boolean found = false;
-            for (int i = 0; i < accessPointsToReturn.size(); i++) {
-                ScanResult scanResult = accessPointsToReturn.get(i);
-                if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                    Log.d(TAG, String.format("SSID 1: %s, SSID 2: %s", accessPoint.SSID, scanResult.SSID));
-                }
-                if (accessPoint.SSID.equalsIgnoreCase(scanResult.SSID)) {
-                    found = true;
-                    if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                        Log.d(TAG, String.format("RSSI level of access point 1: %d", scanResult.level));
-                        Log.d(TAG, String.format("RSSI level of access point 2: %d", accessPoint.level));
-                        Log.d(TAG, String.format("comparison result: %d", WifiManager.compareSignalLevel(accessPoint.level, scanResult.level)));
-                    }
-                    if (WifiManager.compareSignalLevel(accessPoint.level, scanResult.level) > 0) {
-                        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                            Log.d(TAG, "New result has a higher or same signal strength, swapping");
-                        }
-                        accessPointsToReturn.set(i, accessPoint);
-                    }
-                }
+    /**
+     * Used internally to copy the scan results into a scan table so they can be searched without
+     * iterating through the list of ScanResults
+     *
+     * *NOTE* Null results are skipped.  Each row remembers its position in the list of scan results.  The last
+     * seen time of each row comes from ScanResult.timestamp when it is available.
+     *
+     * @param accessPoints The scan results to copy
+     *
+     * @see BSSIDUtil#toLong(String)
+     * @see CapabilitiesUtil#toFlags(String)
+     * @see WiseFyScanTable.Builder
+     *
+     * @return WiseFyScanTable - The table tagged with the current time
+     */
+    WiseFyScanTable toScanTable(List<ScanResult> accessPoints) {
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        CapabilitiesUtil capabilitiesUtil = CapabilitiesUtil.getInstance();
+        long now = System.currentTimeMillis();
+        long bootTime = now - SystemClock.elapsedRealtime();
+        WiseFyScanTable.Builder builder = new WiseFyScanTable.Builder(accessPoints.size());
+        for (int i = 0; i < accessPoints.size(); i++) {
+            ScanResult accessPoint = accessPoints.get(i);
+            if (accessPoint != null) {
+                long lastSeen = accessPoint.timestamp > 0 ? Math.min(bootTime + accessPoint.timestamp / 1000, now) : now;
+                builder.add(bssidUtil.toLong(accessPoint.BSSID), accessPoint.SSID, accessPoint.level, accessPoint.frequency,
+                        capabilitiesUtil.toFlags(accessPoint.capabilities), lastSeen, i);
             }
+        }
+        return builder.build(now);
+    }
 
-            if (!found) {
-                if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                    Log.d(TAG, "Found new wifi network");
-                }
-                accessPointsToReturn.add(accessPoint);
-            }
+    /**
+     * Used internally to copy a scan snapshot into a scan table so it can be searched
+     *
+     * *NOTE* Every row is last seen at the time of the snapshot
+     *
+     * @param scan The snapshot to copy
+     *
+     * @see BSSIDUtil#toLong(String)
+     * @see WiseFyScanTable.Builder
+     *
+     * @return WiseFyScanTable - The table tagged with the time of the snapshot
+     */
+    WiseFyScanTable toScanTable(WiseFyScanSnapshot scan) {
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        WiseFyScanTable.Builder builder = new WiseFyScanTable.Builder(scan.getAccessPointCount());
+        for (int i = 0; i < scan.getAccessPointCount(); i++) {
+            builder.add(bssidUtil.toLong(scan.getBSSID(i)), scan.getSSID(i), scan.getLevel(i), scan.getFrequency(i),
+                    scan.getCapabilityFlags(i), scan.getTimestamp(), i);
         }
-        return accessPointsToReturn;
+        return builder.build(scan.getTimestamp());
     }
 
     /*
      * Helpers
      */
 
+    private List<ScanResult> accumulate(List<ScanResult> accessPoints, long scanTimestamp,
+                                        WiseFyScanAccumulator<ScanResult> wiseFyScanAccumulator) {
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        long[] bssids = new long[accessPoints.size()];
+        List<ScanResult> unmerged = new ArrayList<>();
+        for (int i = 0; i < accessPoints.size(); i++) {
+            ScanResult accessPoint = accessPoints.get(i);
+            bssids[i] = accessPoint != null ? bssidUtil.toLong(accessPoint.BSSID) : BSSIDUtil.INVALID_BSSID;
+            if (accessPoint != null && bssids[i] == BSSIDUtil.INVALID_BSSID) {
+                unmerged.add(accessPoint);
+            }
+        }
+        wiseFyScanAccumulator.merge(bssids, accessPoints, scanTimestamp, System.currentTimeMillis());
+
+        List<ScanResult> accumulated = wiseFyScanAccumulator.getItems();
+        accumulated.addAll(unmerged);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Scan with %d access points accumulated to %d", accessPoints.size(), accumulated.size()));
+        }
+        return accumulated;
+    }
+
+    /**
+     * Used internally to find when the newest of the scan results was seen
+     *
+     * *NOTE* Reading the same scan results again returns the same value, so a new scan can be told apart
+     * from a re-read of the cached results
+     *
+     * @param accessPoints The scan results to check
+     *
+     * @return long - The newest ScanResult.timestamp (microseconds since boot) or 0 if the results have none
+     */
+    private static WiseFySSIDMatcher compileForSavedNetworks(String regexForSSID, List<WifiConfiguration> savedNetworks) {
+        if (!WiseFySSIDMatcher.isLiteral(regexForSSID)) {
+            for (WifiConfiguration savedNetwork : savedNetworks) {
+                if (savedNetwork != null && savedNetwork.SSID != null
+                        && regexForSSID.equals(stripQuotes(savedNetwork.SSID))) {
+                    return WiseFySSIDMatcher.literal(regexForSSID);
+                }
+            }
+        }
+        return WiseFySSIDMatcher.compile(regexForSSID);
+    }
+
+    private static long getNewestTimestamp(List<ScanResult> accessPoints) {
+        long newest = 0;
+        for (ScanResult accessPoint : accessPoints) {
+            if (accessPoint != null && accessPoint.timestamp > newest) {
+                newest = accessPoint.timestamp;
+            }
+        }
+        return newest;
+    }
+
     /**
-     * Used internally to determine if the current access point has the highest signal strength
-     * compared to others that have the same SSID
+     * Used internally to append the scan results to the scan log
      *
-     * @param accessPoints A list of access points to compare the current access point to
-     * @param currentAccessPoint The access point to see if it has the highest signal strength
+     * *NOTE* Results without a valid BSSID are not logged.  Results that are not newer than the last
+     * logged scan are skipped so polling the same cached results does not log them again.
      *
-     * @see WiseFyConfiguration#isLoggingEnabled()
+     * @param accessPoints The scan results to log
+     * @param scanTimestamp The newest timestamp of the scan results or 0 if they have none
+     * @param wiseFyScanLog The log to append to
+     *
+     * @see #getNewestTimestamp(List)
+     * @see BSSIDUtil#toLong(String)
+     * @see WiseFyScanLog#append(long, long[], String[], int[], int[], int)
+     */
+    private void logScan(List<ScanResult> accessPoints, long scanTimestamp, WiseFyScanLog wiseFyScanLog) {
+        synchronized (wiseFyScanLog) {
+            if (scanTimestamp > 0 && scanTimestamp <= mLastLoggedScanTimestamp) {
+                return;
+            }
+            mLastLoggedScanTimestamp = scanTimestamp;
+        }
+
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        int size = accessPoints.size();
+        long[] bssids = new long[size];
+        String[] ssids = new String[size];
+        int[] levels = new int[size];
+        int[] frequencies = new int[size];
+        int count = 0;
+        for (ScanResult accessPoint : accessPoints) {
+            if (accessPoint == null) {
+                continue;
+            }
+            long packedBSSID = bssidUtil.toLong(accessPoint.BSSID);
+            if (packedBSSID != BSSIDUtil.INVALID_BSSID) {
+                bssids[count] = packedBSSID;
+                ssids[count] = accessPoint.SSID;
+                levels[count] = accessPoint.level;
+                frequencies[count] = accessPoint.frequency;
+                count++;
+            }
+        }
+
+        try {
+            if (!wiseFyScanLog.append(System.currentTimeMillis(), bssids, ssids, levels, frequencies, count)
+                    && LogUtil.isLoggable(TAG, Log.WARN, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.w(TAG, String.format("Scan with %d access points is too large for the scan log", count));
+            }
+        } catch (IOException ioe) {
+            if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.e(TAG, "Unable to append to scan log", ioe);
+            }
+        }
+    }
+
+    /**
+     * Used internally to add the measured signal strength of each access point to the signal history
      *
-     * @return boolean - True if the current access point has the highest signal strength
+     * *NOTE* Uses the time the access point was last seen (ScanResult.timestamp) when it is available
+     *
+     * @param accessPoints The scan results to record
+     * @param wiseFySignalHistory The history to record to
+     *
+     * @see BSSIDUtil#toLong(String)
+     * @see WiseFySignalHistory#record(long, String, int, long)
      */
-    private boolean hasHighestSignalStrength(List<ScanResult> accessPoints, ScanResult currentAccessPoint) {
+    private void recordSignalLevels(List<ScanResult> accessPoints, WiseFySignalHistory wiseFySignalHistory) {
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        long now = SystemClock.elapsedRealtime();
         for (ScanResult accessPoint : accessPoints) {
-            if (accessPoint.SSID.equalsIgnoreCase(currentAccessPoint.SSID)) {
-                if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                    Log.d(TAG, String.format("RSSI level of current access point: %d", currentAccessPoint.level));
-                    Log.d(TAG, String.format("RSSI level of access point in list: %d", accessPoint.level));
-                    Log.d(TAG, String.format("comparison result: %d", WifiManager.compareSignalLevel(accessPoint.level, currentAccessPoint.level)));
-                }
-                if (WifiManager.compareSignalLevel(accessPoint.level, currentAccessPoint.level) > 0) {
-                    if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
-                        Log.d(TAG, "Stronger signal strength found");
-                    }
-                    return false;
-                }
+            if (accessPoint == null) {
+                continue;
+            }
+            long packedBSSID = bssidUtil.toLong(accessPoint.BSSID);
+            if (packedBSSID != BSSIDUtil.INVALID_BSSID) {
+                long seenAt = accessPoint.timestamp > 0 ? accessPoint.timestamp / 1000 : now;
+                wiseFySignalHistory.record(packedBSSID, accessPoint.SSID, accessPoint.level, seenAt);
             }
         }
-        return true;
+    }
+
+    /**
+     * Used internally to copy the values of the scan results that are kept between processes
+     *
+     * @param accessPoints The scan results to copy
+     *
+     * @return WiseFyScanSnapshot - The copy tagged with the current time
+     */
+    private WiseFyScanSnapshot snapshot(List<ScanResult> accessPoints) {
+        List<ScanResult> nonNullAccessPoints = new ArrayList<>(accessPoints.size());
+        for (ScanResult accessPoint : accessPoints) {
+            if (accessPoint != null) {
+                nonNullAccessPoints.add(accessPoint);
+            }
+        }
+
+        int count = nonNullAccessPoints.size();
+        String[] bssids = new String[count];
+        String[] ssids = new String[count];
+        int[] levels = new int[count];
+        int[] frequencies = new int[count];
+        String[] capabilities = new String[count];
+        for (int i = 0; i < count; i++) {
+            ScanResult accessPoint = nonNullAccessPoints.get(i);
+            bssids[i] = accessPoint.BSSID;
+            ssids[i] = accessPoint.SSID;
+            levels[i] = accessPoint.level;
+            frequencies[i] = accessPoint.frequency;
+            capabilities[i] = accessPoint.capabilities;
+        }
+        return new WiseFyScanSnapshot(System.currentTimeMillis(), false, bssids, ssids, levels, frequencies, capabilities);
+    }
+
+    /**
+     * Used internally to update the smoothed signal strength of each access point and replace each
+     * result's level with it
+     *
+     * @param accessPoints The scan results to smooth
+     * @param wiseFySignalSmoother The smoother to update
+     *
+     * @see BSSIDUtil#toLong(String)
+     * @see WiseFySignalSmoother#update(long, int, long)
+     */
+    private void smoothSignalLevels(List<ScanResult> accessPoints, WiseFySignalSmoother wiseFySignalSmoother) {
+        BSSIDUtil bssidUtil = BSSIDUtil.getInstance();
+        for (ScanResult accessPoint : accessPoints) {
+            if (accessPoint == null) {
+                continue;
+            }
+            long packedBSSID = bssidUtil.toLong(accessPoint.BSSID);
+            if (packedBSSID != BSSIDUtil.INVALID_BSSID) {
+                accessPoint.level = wiseFySignalSmoother.update(packedBSSID, accessPoint.level, accessPoint.timestamp);
+            }
+        }
+    }
+
+    /**
+     * Used internally to remove the quotes from the SSID of a saved network
+     *
+     * *NOTE* Only allocates a new string if the SSID has quotes
+     *
+     * @param ssid The SSID of the saved network
+     *
+     * @return String - The SSID without any quotes
+     */
+    private static String stripQuotes(String ssid) {
+        return ssid.indexOf('"') != -1 ? ssid.replace("\"", "") : ssid;
+    }
+
+    /**
+     * Used internally to return the scan results for the rows of a scan table
+     *
+     * @param scanTable The rows to return
+     * @param accessPoints The scan results the table was built from
+     *
+     * @see #toScanTable(List)
+     *
+     * @return List<ScanResult> - The scan results in the order of the rows
+     */
+    private List<ScanResult> toAccessPoints(WiseFyScanTable scanTable, List<ScanResult> accessPoints) {
+        List<ScanResult> accessPointsToReturn = new ArrayList<>(scanTable.getAccessPointCount());
+        for (int i = 0; i < scanTable.getAccessPointCount(); i++) {
+            accessPointsToReturn.add(accessPoints.get(scanTable.getSourceIndex(i)));
+        }
+        return accessPointsToReturn;
+    }
+
+    /**
+     * Used internally to find the saved networks whose SSID matches a given regex
+     *
+     * *NOTE* The regex is compiled once (not at all for a literal SSID) and the quotes are only stripped
+     * from SSIDs that have them
+     *
+     * @param regexForSSID The regex for the SSIDs to find in the configured network list
+     * @param visitor The visitor to pass the matching saved networks to or null to only count them
+     *
+     * @see WiseFyPrerequisites#getWifiManager()
+     * @see WiseFySSIDMatcher#compile(String)
+     *
+     * @return int - The number of matching saved networks (passed to the visitor if there is one)
+     */
+    private int visitSavedNetworksMatchingRegex(String regexForSSID, SavedNetworkVisitor visitor) {
+        List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks();
+        if (savedNetworks == null || savedNetworks.size() == 0) {
+            return 0;
+        }
+
+        WiseFySSIDMatcher matcher = compileForSavedNetworks(regexForSSID, savedNetworks);
+        int matched = 0;
+        for (int i = 0; i < savedNetworks.size(); i++) {
+            WifiConfiguration savedNetwork = savedNetworks.get(i);
+            if (savedNetwork == null || savedNetwork.SSID == null) {
+                continue;
+            }
+            if (!matcher.matches(stripQuotes(savedNetwork.SSID))) {
+                continue;
+            }
+            matched++;
+            if (visitor != null && !visitor.visitSavedNetwork(savedNetwork)) {
+                break;
+            }
+        }
+        return matched;
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The distribution of the signal strength samples of an access point (or every access point for an SSID)
+ * over a window of time.
+ *
+ * Signal strength is reported in whole dBm so the distribution is kept as one count per dBm value and
+ * percentiles are exact.
+ *
+ * @see WiseFy#getSignalHistory(String, int)
+ * @see WiseFy#getSignalHistoryForSSID(String, int)
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFySignalHistogram {
+
+    static final int MIN_LEVEL = Byte.MIN_VALUE;
+
+    static final int MAX_LEVEL = Byte.MAX_VALUE;
+
+    private final int[] mCounts;
+
+    private final int mSampleCount;
+
+    /**
+     * Constructor with the number of samples for each dBm value
+     *
+     * @param counts The number of samples for each level from MIN_LEVEL to MAX_LEVEL
+     * @param sampleCount The total number of samples
+     */
+    WiseFySignalHistogram(int[] counts, int sampleCount) {
+        mCounts = counts;
+        mSampleCount = sampleCount;
+    }
+
+    /**
+     * @return int - The number of samples in the window
+     */
+    public int getSampleCount() {
+        return mSampleCount;
+    }
+
+    /**
+     * @return int - The weakest signal strength in the window (dBm)
+     */
+    public int getMin() {
+        return getPercentile(0);
+    }
+
+    /**
+     * @return int - The strongest signal strength in the window (dBm)
+     */
+    public int getMax() {
+        return getPercentile(100);
+    }
+
+    /**
+     * To retrieve a percentile of the signal strength (i.e. 50 for the median or 95 for p95)
+     *
+     * *NOTE* Uses the nearest rank so the value is always one of the samples
+     *
+     * @param percentile The percentile from 0 to 100
+     *
+     * @return int - The signal strength at the percentile (dBm)
+     */
+    public int getPercentile(double percentile) {
+        double clamped = Math.max(0, Math.min(100, percentile));
+        int rank = Math.max(1, (int) Math.ceil(clamped / 100 * mSampleCount));
+        int seen = 0;
+        for (int i = 0; i < mCounts.length; i++) {
+            seen += mCounts[i];
+            if (seen >= rank) {
+                return i + MIN_LEVEL;
+            }
+        }
+        return MAX_LEVEL;
+    }
+}
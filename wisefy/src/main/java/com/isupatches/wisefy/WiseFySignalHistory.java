@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+
+
+/**
+ * A class used internally to keep the recent signal strength samples of each access point within a hard
+ * memory cap.
+ *
+ * Every access point gets a fixed size ring of samples (one byte for the level and one int for the time
+ * in seconds) inside two shared primitive arrays, so the memory used is fixed when the history is created
+ * and never grows.  When every ring is in use the access point that was recorded or queried the longest
+ * time ago is evicted.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see WiseFyBSSIDIndex
+ * @see WiseFySignalHistogram
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFySignalHistory {
+
+    static final int DEFAULT_MEMORY_CAP_IN_BYTES = 256 * 1024;
+
+    static final int DEFAULT_SAMPLES_PER_BSSID = 120;
+
+    /*
+     * One byte for the level and four for the time
+     */
+    private static final int BYTES_PER_SAMPLE = 5;
+
+    /*
+     * The index entry, ring position, count, last use, and SSID reference for each access point
+     */
+    private static final int BYTES_PER_BSSID = 64;
+
+    private final int mSamplesPerBSSID;
+
+    private final WiseFyBSSIDIndex mIndex;
+
+    private final byte[] mLevels;
+
+    private final int[] mTimes;
+
+    private final int[] mNext;
+
+    private final int[] mCounts;
+
+    private final long[] mLastUsed;
+
+    private final String[] mSSIDs;
+
+    private long mUseCount;
+
+    /**
+     * Constructor that sizes the history to fit in a memory cap
+     *
+     * @param memoryCapInBytes The maximum number of bytes for the samples and bookkeeping
+     * @param samplesPerBSSID The number of most recent samples to keep for each access point
+     */
+    WiseFySignalHistory(int memoryCapInBytes, int samplesPerBSSID) {
+        mSamplesPerBSSID = Math.max(samplesPerBSSID, 1);
+        int maxBSSIDs = Math.max(memoryCapInBytes / (mSamplesPerBSSID * BYTES_PER_SAMPLE + BYTES_PER_BSSID), 1);
+        mIndex = new WiseFyBSSIDIndex(maxBSSIDs);
+        mLevels = new byte[maxBSSIDs * mSamplesPerBSSID];
+        mTimes = new int[maxBSSIDs * mSamplesPerBSSID];
+        mNext = new int[maxBSSIDs];
+        mCounts = new int[maxBSSIDs];
+        mLastUsed = new long[maxBSSIDs];
+        mSSIDs = new String[maxBSSIDs];
+    }
+
+    /**
+     * @return int - The maximum number of access points that fit in the memory cap
+     */
+    int getMaxBSSIDs() {
+        return mIndex.getCapacity();
+    }
+
+    /**
+     * @return int - The number of access points with samples
+     */
+    synchronized int size() {
+        return mIndex.size();
+    }
+
+    /**
+     * Used internally to add a signal strength sample for an access point
+     *
+     * *NOTE* A sample that is not newer than the latest sample for the access point is ignored so reading
+     * the same scan results twice does not count twice
+     *
+     * @param bssid The packed BSSID of the access point
+     * @param ssid The SSID of the access point
+     * @param level The signal strength (dBm)
+     * @param timeInMillis The time the access point was seen in milliseconds since boot
+     */
+    synchronized void record(long bssid, String ssid, int level, long timeInMillis) {
+        int index = mIndex.indexOf(bssid);
+        if (index == WiseFyBSSIDIndex.NOT_FOUND) {
+            if (mIndex.size() == mIndex.getCapacity()) {
+                evictLeastRecentlyUsed();
+            }
+            index = mIndex.add(bssid);
+            mNext[index] = 0;
+            mCounts[index] = 0;
+        }
+
+        int time = toSeconds(timeInMillis);
+        int base = index * mSamplesPerBSSID;
+        if (mCounts[index] > 0) {
+            int latest = base + (mNext[index] - 1 + mSamplesPerBSSID) % mSamplesPerBSSID;
+            if (time <= mTimes[latest] && level == mLevels[latest]) {
+                return;
+            }
+        }
+        mLevels[base + mNext[index]] = (byte) Math.max(WiseFySignalHistogram.MIN_LEVEL, Math.min(WiseFySignalHistogram.MAX_LEVEL, level));
+        mTimes[base + mNext[index]] = time;
+        mNext[index] = (mNext[index] + 1) % mSamplesPerBSSID;
+        if (mCounts[index] < mSamplesPerBSSID) {
+            mCounts[index]++;
+        }
+        mSSIDs[index] = ssid;
+        mLastUsed[index] = ++mUseCount;
+    }
+
+    /**
+     * @param bssid The packed BSSID of the access point
+     * @param nowInMillis The current time in milliseconds since boot
+     * @param windowInMillis How far back to include samples
+     *
+     * @return WiseFySignalHistogram|null - The samples in the window or null if there are none
+     */
+    synchronized WiseFySignalHistogram getHistogram(long bssid, long nowInMillis, long windowInMillis) {
+        int index = mIndex.indexOf(bssid);
+        if (index == WiseFyBSSIDIndex.NOT_FOUND) {
+            return null;
+        }
+        mLastUsed[index] = ++mUseCount;
+        int[] counts = new int[WiseFySignalHistogram.MAX_LEVEL - WiseFySignalHistogram.MIN_LEVEL + 1];
+        int sampleCount = addToHistogram(index, toSeconds(nowInMillis - windowInMillis), counts);
+        return sampleCount > 0 ? new WiseFySignalHistogram(counts, sampleCount) : null;
+    }
+
+    /**
+     * @param ssid The SSID of the access points
+     * @param nowInMillis The current time in milliseconds since boot
+     * @param windowInMillis How far back to include samples
+     *
+     * @return WiseFySignalHistogram|null - The samples of every access point for the SSID in the window or
+     * null if there are none
+     */
+    synchronized WiseFySignalHistogram getHistogramForSSID(String ssid, long nowInMillis, long windowInMillis) {
+        int[] counts = new int[WiseFySignalHistogram.MAX_LEVEL - WiseFySignalHistogram.MIN_LEVEL + 1];
+        int since = toSeconds(nowInMillis - windowInMillis);
+        int sampleCount = 0;
+        for (int i = 0; i < mIndex.size(); i++) {
+            if (ssid.equals(mSSIDs[i])) {
+                sampleCount += addToHistogram(i, since, counts);
+            }
+        }
+        return sampleCount > 0 ? new WiseFySignalHistogram(counts, sampleCount) : null;
+    }
+
+    /**
+     * Used internally to drop every sample
+     */
+    synchronized void clear() {
+        for (int i = 0; i < mIndex.size(); i++) {
+            mSSIDs[i] = null;
+        }
+        mIndex.clear();
+    }
+
+    /*
+     * Helpers
+     */
+
+    private int addToHistogram(int index, int since, int[] counts) {
+        int base = index * mSamplesPerBSSID;
+        int sampleCount = 0;
+        for (int i = 0; i < mCounts[index]; i++) {
+            if (mTimes[base + i] >= since) {
+                counts[mLevels[base + i] - WiseFySignalHistogram.MIN_LEVEL]++;
+                sampleCount++;
+            }
+        }
+        return sampleCount;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        int coldest = 0;
+        for (int i = 1; i < mIndex.size(); i++) {
+            if (mLastUsed[i] < mLastUsed[coldest]) {
+                coldest = i;
+            }
+        }
+        int moved = mIndex.removeAt(coldest);
+        if (moved != WiseFyBSSIDIndex.NOT_FOUND) {
+            System.arraycopy(mLevels, moved * mSamplesPerBSSID, mLevels, coldest * mSamplesPerBSSID, mSamplesPerBSSID);
+            System.arraycopy(mTimes, moved * mSamplesPerBSSID, mTimes, coldest * mSamplesPerBSSID, mSamplesPerBSSID);
+            mNext[coldest] = mNext[moved];
+            mCounts[coldest] = mCounts[moved];
+            mLastUsed[coldest] = mLastUsed[moved];
+            mSSIDs[coldest] = mSSIDs[moved];
+            mSSIDs[moved] = null;
+        } else {
+            mSSIDs[coldest] = null;
+        }
+    }
+
+    private static int toSeconds(long timeInMillis) {
+        return (int) (timeInMillis / 1000);
+    }
+}
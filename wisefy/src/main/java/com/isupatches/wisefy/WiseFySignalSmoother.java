@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.constants.SignalFilters;
+
+
+/**
+ * A class used internally to keep a smoothed signal strength estimate for each access point.
+ *
+ * Estimates are updated once per new sighting of an access point (by the scan timestamp) so reading the
+ * same scan results twice does not count twice.  All state is kept in parallel primitive arrays indexed
+ * by a packed BSSID.  When the capacity is reached the access point that was seen the longest time ago
+ * is dropped.
+ *
+ * Supported filters:
+ *   EMA - An exponential moving average that weights the newest level by EMA_ALPHA
+ *   KALMAN - A one dimensional Kalman filter that assumes a slowly drifting level (KALMAN_PROCESS_NOISE)
+ *   measured with noise (KALMAN_MEASUREMENT_NOISE)
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see SignalFilters
+ * @see WiseFyBSSIDIndex
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFySignalSmoother {
+
+    static final int DEFAULT_CAPACITY = 256;
+
+    static final int NO_ESTIMATE = Integer.MIN_VALUE;
+
+    static final double EMA_ALPHA = 0.3;
+
+    static final double KALMAN_PROCESS_NOISE = 1.0;
+
+    static final double KALMAN_MEASUREMENT_NOISE = 16.0;
+
+    private final int mFilter;
+
+    private final WiseFyBSSIDIndex mIndex;
+
+    private final double[] mEstimates;
+
+    private final double[] mErrors;
+
+    private final long[] mTimestamps;
+
+    private final long[] mLastSeen;
+
+    private long mUpdateCount;
+
+    /**
+     * Constructor for a smoother with no estimates
+     *
+     * @param filter The filter to use from SignalFilters
+     * @param capacity The maximum number of access points to keep estimates for
+     */
+    WiseFySignalSmoother(int filter, int capacity) {
+        mFilter = filter;
+        mIndex = new WiseFyBSSIDIndex(capacity);
+        int size = mIndex.getCapacity();
+        mEstimates = new double[size];
+        mErrors = new double[size];
+        mTimestamps = new long[size];
+        mLastSeen = new long[size];
+    }
+
+    /**
+     * @return int - The filter in use from SignalFilters
+     */
+    int getFilter() {
+        return mFilter;
+    }
+
+    /**
+     * Used internally to add a sighting of an access point to its estimate
+     *
+     * *NOTE* A sighting with the same or an older timestamp than the last one is ignored unless the
+     * timestamp is 0 (unknown)
+     *
+     * @param bssid The packed BSSID of the access point
+     * @param level The signal strength that was measured (dBm)
+     * @param timestamp The time the access point was seen (i.e. ScanResult#timestamp)
+     *
+     * @return int - The smoothed signal strength after the sighting (dBm)
+     */
+    synchronized int update(long bssid, int level, long timestamp) {
+        int index = mIndex.indexOf(bssid);
+        if (index == WiseFyBSSIDIndex.NOT_FOUND) {
+            if (mIndex.size() == mIndex.getCapacity()) {
+                evictStalest();
+            }
+            index = mIndex.add(bssid);
+            mEstimates[index] = level;
+            mErrors[index] = KALMAN_MEASUREMENT_NOISE;
+        } else if (timestamp != 0 && timestamp <= mTimestamps[index]) {
+            return round(mEstimates[index]);
+        } else if (mFilter == SignalFilters.KALMAN) {
+            double predictedError = mErrors[index] + KALMAN_PROCESS_NOISE;
+            double gain = predictedError / (predictedError + KALMAN_MEASUREMENT_NOISE);
+            mEstimates[index] += gain * (level - mEstimates[index]);
+            mErrors[index] = (1 - gain) * predictedError;
+        } else if (mFilter == SignalFilters.EMA) {
+            mEstimates[index] += EMA_ALPHA * (level - mEstimates[index]);
+        } else {
+            mEstimates[index] = level;
+        }
+        mTimestamps[index] = timestamp;
+        mLastSeen[index] = ++mUpdateCount;
+        return round(mEstimates[index]);
+    }
+
+    /**
+     * @param bssid The packed BSSID of the access point
+     *
+     * @return int - The smoothed signal strength (dBm) or NO_ESTIMATE if the access point has not been seen
+     */
+    synchronized int get(long bssid) {
+        int index = mIndex.indexOf(bssid);
+        return index == WiseFyBSSIDIndex.NOT_FOUND ? NO_ESTIMATE : round(mEstimates[index]);
+    }
+
+    /**
+     * @return int - The number of access points with an estimate
+     */
+    synchronized int size() {
+        return mIndex.size();
+    }
+
+    /**
+     * Used internally to drop every estimate
+     */
+    synchronized void clear() {
+        mIndex.clear();
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void evictStalest() {
+        int stalest = 0;
+        for (int i = 1; i < mIndex.size(); i++) {
+            if (mLastSeen[i] < mLastSeen[stalest]) {
+                stalest = i;
+            }
+        }
+        int moved = mIndex.removeAt(stalest);
+        if (moved != WiseFyBSSIDIndex.NOT_FOUND) {
+            mEstimates[stalest] = mEstimates[moved];
+            mErrors[stalest] = mErrors[moved];
+            mTimestamps[stalest] = mTimestamps[moved];
+            mLastSeen[stalest] = mLastSeen[moved];
+        }
+    }
+
+    private static int round(double value) {
+        return (int) Math.round(value);
+    }
+}
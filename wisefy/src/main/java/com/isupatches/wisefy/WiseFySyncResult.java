@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.PublicAPI;
+
+
+/**
+ * The changes made to the saved networks to match a desired set of networks.
+ *
+ * @see WiseFy#syncSavedNetworks(java.util.List)
+ * @see WiseFyBatchResult
+ *
+ * @author Patches
+ */
+@PublicAPI
+public class WiseFySyncResult {
+
+    private final WiseFyBatchResult mAdded;
+
+    private final WiseFyBatchResult mUpdated;
+
+    private final WiseFyBatchResult mRemoved;
+
+    private final int mUnchangedCount;
+
+    /**
+     * Constructor with the results of each part of the sync
+     *
+     * @param added The results for the networks that were added
+     * @param updated The results for the networks that were updated
+     * @param removed The results for the networks that were removed
+     * @param unchangedCount The number of desired networks that were already saved as is
+     */
+    WiseFySyncResult(WiseFyBatchResult added, WiseFyBatchResult updated, WiseFyBatchResult removed, int unchangedCount) {
+        mAdded = added;
+        mUpdated = updated;
+        mRemoved = removed;
+        mUnchangedCount = unchangedCount;
+    }
+
+    /**
+     * @return WiseFyBatchResult - The results for the desired networks that were not saved yet
+     */
+    public WiseFyBatchResult getAdded() {
+        return mAdded;
+    }
+
+    /**
+     * @return WiseFyBatchResult - The results for the saved networks that differed from the desired networks
+     */
+    public WiseFyBatchResult getUpdated() {
+        return mUpdated;
+    }
+
+    /**
+     * @return WiseFyBatchResult - The results for the saved networks that were not in the desired networks
+     */
+    public WiseFyBatchResult getRemoved() {
+        return mRemoved;
+    }
+
+    /**
+     * @return int - The number of desired networks that were already saved as is
+     */
+    public int getUnchangedCount() {
+        return mUnchangedCount;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.net.wifi.WifiConfiguration;
+import android.os.Handler;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.LogUtil;
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * A class used internally to persist the last scan and the saved network index on a fixed interval and
+ * when WiseFy is dumped.
+ *
+ * The SSIDs of the saved networks are read right before each write.  The file is not read until the first
+ * query so creating a WiseFy instance never waits on disk.
+ *
+ * *NOTE* One instance per WiseFy instance.  Must be stopped!! {@link WiseFy#dump()}
+ *
+ * @see WiseFyBroadcastHub
+ * @see WiseFyWarmStartStore
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyWarmStart {
+
+    private static final String TAG = WiseFyWarmStart.class.getSimpleName();
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final Handler mWiseFyHandler;
+
+    private final Object mWiseFyLock;
+
+    private final WiseFyPrerequisites mWiseFyPrerequisites;
+
+    private final WiseFySearch mWiseFySearch;
+
+    private final WiseFyWarmStartStore mStore;
+
+    private final int mSaveIntervalInMillis;
+
+    private boolean mRefreshRequested;
+
+    private volatile Handler mHandler;
+
+    private final Runnable mScheduleSave = new Runnable() {
+        @Override
+        public void run() {
+            Handler handler = mHandler;
+            if (handler != null) {
+                mWiseFyHandler.post(mSave);
+                handler.postDelayed(this, mSaveIntervalInMillis);
+            }
+        }
+    };
+
+    private final Runnable mSave = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (mWiseFyLock) {
+                if (mHandler != null) {
+                    save();
+                }
+            }
+        }
+    };
+
+    /**
+     * Constructor for a warm start that has not started saving yet
+     *
+     * @param wiseFyBroadcastHub The hub to schedule saves through
+     * @param wiseFyHandler The handler for the WiseFy thread to save on (may be null if the save interval is 0)
+     * @param wiseFyLock The lock that is held while saving
+     * @param wiseFyPrerequisites The prerequisites instance with the WifiManager to read saved networks from
+     * @param wiseFySearch The search instance to read saved networks through
+     * @param store The store to persist with
+     * @param saveIntervalInMillis The amount of time between saves (0 to only save on dump)
+     */
+    WiseFyWarmStart(WiseFyBroadcastHub wiseFyBroadcastHub, Handler wiseFyHandler, Object wiseFyLock,
+                    WiseFyPrerequisites wiseFyPrerequisites, WiseFySearch wiseFySearch, WiseFyWarmStartStore store,
+                    int saveIntervalInMillis) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWiseFyHandler = wiseFyHandler;
+        mWiseFyLock = wiseFyLock;
+        mWiseFyPrerequisites = wiseFyPrerequisites;
+        mWiseFySearch = wiseFySearch;
+        mStore = store;
+        mSaveIntervalInMillis = saveIntervalInMillis;
+    }
+
+    /**
+     * Used internally to start saving at the save interval
+     *
+     * *NOTE* Only the timer runs on the event thread.  Each save is posted to the WiseFy thread and holds
+     * the WiseFy lock so reading the saved networks and writing the file never run alongside an operation.
+     */
+    void start() {
+        if (mSaveIntervalInMillis > 0) {
+            mHandler = mWiseFyBroadcastHub.getEventHandler();
+            mHandler.postDelayed(mScheduleSave, mSaveIntervalInMillis);
+        }
+    }
+
+    /**
+     * Used internally to stop saving at the save interval
+     *
+     * *NOTE* Does not save one last time so the caller can do that off of the main thread
+     *
+     * @see #save()
+     */
+    void stop() {
+        Handler handler = mHandler;
+        mHandler = null;
+        if (handler != null) {
+            handler.removeCallbacks(mScheduleSave);
+            mWiseFyHandler.removeCallbacks(mSave);
+        }
+    }
+
+    /**
+     * @return WiseFyWarmStartStore - The store the warm start persists with
+     */
+    WiseFyWarmStartStore getStore() {
+        return mStore;
+    }
+
+    /**
+     * Used internally to check if a fresh scan should be started to replace the warm state
+     *
+     * *NOTE* Only returns true once per instance and only if no scan has been seen by this process
+     *
+     * @return boolean - True if the caller should start a fresh scan
+     */
+    synchronized boolean requestRefresh() {
+        if (mRefreshRequested) {
+            return false;
+        }
+        WiseFyScanSnapshot scan = mStore.getScan();
+        mRefreshRequested = scan == null || scan.isRestored();
+        return mRefreshRequested;
+    }
+
+    /**
+     * Used internally to read the saved networks and write the store if anything changed
+     *
+     * *NOTE* The saved networks are left as they were if the system does not return them (i.e. Wifi is
+     * disabled)
+     */
+    void save() {
+        List<WifiConfiguration> savedNetworks = mWiseFyPrerequisites.hasPrerequisites()
+                ? mWiseFyPrerequisites.getWifiManager().getConfiguredNetworks()
+                : null;
+        if (savedNetworks != null) {
+            mStore.updateSavedSSIDs(mWiseFySearch.indexSavedNetworksBySSID(savedNetworks).keySet());
+        }
+        try {
+            if (mStore.save() && LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.d(TAG, "Saved warm start state");
+            }
+        } catch (IOException ioe) {
+            if (LogUtil.isLoggable(TAG, Log.ERROR, mWiseFyConfiguration.isLoggingEnabled())) {
+                Log.e(TAG, "Unable to save warm start state", ioe);
+            }
+        }
+    }
+}
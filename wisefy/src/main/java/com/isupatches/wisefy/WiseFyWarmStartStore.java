@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A class used internally to keep the last scan and the SSIDs of the saved networks in a file so a new
+ * process can answer queries before its first scan completes.
+ *
+ * The file is only read the first time a value is needed, and a value that was updated by this process is
+ * never replaced by the one on disk.  Writes go to a temporary file that is renamed over the old one so a
+ * crash never leaves a partly written file behind.
+ *
+ * File - magic, version, scan time, access point count, each access point (packed BSSID, SSID, level,
+ * frequency, capabilities), saved network count, each saved SSID
+ *
+ * A file that cannot be read or has a count outside of its bounds is treated the same as a cold start.
+ *
+ * *NOTE* Has no Android dependencies of its own so it can be run on the JVM
+ *
+ * @see WiseFyScanSnapshot
+ * @see WiseFyWarmStart
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyWarmStartStore {
+
+    private static final int MAGIC = 0x57465753;
+
+    private static final byte VERSION = 1;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    static final int MAX_ACCESS_POINTS = 4096;
+
+    static final int MAX_SAVED_NETWORKS = 4096;
+
+    private final File mFile;
+
+    private boolean mLoaded;
+
+    private boolean mDirty;
+
+    private WiseFyScanSnapshot mScan;
+
+    private List<String> mSavedSSIDs;
+
+    /**
+     * Constructor for a store that has not read its file yet
+     *
+     * @param file The file to persist to
+     */
+    WiseFyWarmStartStore(File file) {
+        mFile = file;
+    }
+
+    /**
+     * @return WiseFyScanSnapshot|null - The last scan or null if no scan is known
+     */
+    synchronized WiseFyScanSnapshot getScan() {
+        load();
+        return mScan;
+    }
+
+    /**
+     * @return List<String>|null - The sorted SSIDs of the saved networks or null if they are not known
+     */
+    synchronized List<String> getSavedSSIDs() {
+        load();
+        return mSavedSSIDs;
+    }
+
+    /**
+     * Used internally to replace the last scan
+     *
+     * @param scan The latest scan
+     */
+    synchronized void updateScan(WiseFyScanSnapshot scan) {
+        mScan = scan;
+        mDirty = true;
+    }
+
+    /**
+     * Used internally to replace the SSIDs of the saved networks
+     *
+     * @param savedSSIDs The SSIDs (without quotes) of the saved networks
+     */
+    synchronized void updateSavedSSIDs(Collection<String> savedSSIDs) {
+        List<String> sorted = new ArrayList<>(savedSSIDs);
+        Collections.sort(sorted);
+        if (!sorted.equals(mSavedSSIDs)) {
+            mSavedSSIDs = Collections.unmodifiableList(sorted);
+            mDirty = true;
+        }
+    }
+
+    /**
+     * Used internally to write the store to its file if anything changed since it was last written
+     *
+     * @return boolean - True if the file was written
+     *
+     * @throws IOException If the file could not be written
+     */
+    synchronized boolean save() throws IOException {
+        load();
+        if (!mDirty) {
+            return false;
+        }
+
+        File parent = mFile.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException(String.format("Unable to create directory: %s", parent));
+        }
+        File temp = new File(mFile.getPath() + TEMP_SUFFIX);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+        try {
+            write(out);
+        } finally {
+            out.close();
+        }
+        if (!temp.renameTo(mFile)) {
+            temp.delete();
+            throw new IOException(String.format("Unable to replace: %s", mFile.getName()));
+        }
+        mDirty = false;
+        return true;
+    }
+
+    /*
+     * Helpers
+     */
+
+    private void load() {
+        if (mLoaded) {
+            return;
+        }
+        mLoaded = true;
+        if (!mFile.isFile()) {
+            return;
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+            try {
+                read(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException ioe) {
+            // A missing or unreadable file is the same as a cold start
+        }
+    }
+
+    private void read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            return;
+        }
+
+        long timestamp = in.readLong();
+        int count = in.readInt();
+        if (count < 0 || count > MAX_ACCESS_POINTS) {
+            return;
+        }
+        String[] bssids = new String[count];
+        String[] ssids = new String[count];
+        int[] levels = new int[count];
+        int[] frequencies = new int[count];
+        String[] capabilities = new String[count];
+        for (int i = 0; i < count; i++) {
+            bssids[i] = BSSIDUtil.getInstance().toString(in.readLong());
+            ssids[i] = readNullableUTF(in);
+            levels[i] = in.readShort();
+            frequencies[i] = in.readInt();
+            capabilities[i] = readNullableUTF(in);
+        }
+        int savedCount = in.readInt();
+        if (savedCount < -1 || savedCount > MAX_SAVED_NETWORKS) {
+            return;
+        }
+        List<String> savedSSIDs = new ArrayList<>(Math.max(savedCount, 0));
+        for (int i = 0; i < savedCount; i++) {
+            savedSSIDs.add(in.readUTF());
+        }
+
+        if (mScan == null && timestamp > 0) {
+            mScan = new WiseFyScanSnapshot(timestamp, true, bssids, ssids, levels, frequencies, capabilities);
+        }
+        if (mSavedSSIDs == null && savedCount >= 0) {
+            mSavedSSIDs = Collections.unmodifiableList(savedSSIDs);
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        WiseFyScanSnapshot scan = mScan;
+        if (scan != null) {
+            out.writeLong(scan.mTimestamp);
+            out.writeInt(scan.mBSSIDs.length);
+            for (int i = 0; i < scan.mBSSIDs.length; i++) {
+                out.writeLong(BSSIDUtil.getInstance().toLong(scan.mBSSIDs[i]));
+                writeNullableUTF(out, scan.mSSIDs[i]);
+                out.writeShort(scan.mLevels[i]);
+                out.writeInt(scan.mFrequencies[i]);
+                writeNullableUTF(out, scan.mCapabilities[i]);
+            }
+        } else {
+            out.writeLong(0);
+            out.writeInt(0);
+        }
+        if (mSavedSSIDs != null) {
+            out.writeInt(mSavedSSIDs.size());
+            for (String ssid : mSavedSSIDs) {
+                out.writeUTF(ssid);
+            }
+        } else {
+            out.writeInt(-1);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy;
+
+
+import android.content.Intent;
+import android.net.wifi.WifiManager;
+import android.os.Handler;
+import android.util.Log;
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.util.LogUtil;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A class used internally to enable or disable Wifi and complete when WIFI_STATE_CHANGED_ACTION reports
+ * that the device actually reached the requested state.
+ *
+ * *NOTE* One instance per request
+ *
+ * @see WiseFyBroadcastHub
+ *
+ * @author Patches
+ */
+@Internal
+class WiseFyWifiStateWaiter implements WiseFyBroadcastHub.Listener {
+
+    private static final String TAG = WiseFyWifiStateWaiter.class.getSimpleName();
+
+    static final int OUTCOME_PENDING = 0;
+
+    static final int OUTCOME_REACHED = 1;
+
+    static final int OUTCOME_REJECTED = 2;
+
+    static final int OUTCOME_TIMED_OUT = 3;
+
+    private final WiseFyBroadcastHub mWiseFyBroadcastHub;
+
+    private final WiseFyConfiguration mWiseFyConfiguration;
+
+    private final WifiManager mWifiManager;
+
+    private final boolean mEnable;
+
+    private final int mTargetState;
+
+    private final boolean mPrefetchScan;
+
+    private final CountDownLatch mLatch = new CountDownLatch(1);
+
+    private int mOutcome = OUTCOME_PENDING;
+
+    private Handler mHandler;
+
+    private Runnable mOnComplete;
+
+    private final Runnable mTimeout = new Runnable() {
+        @Override
+        public void run() {
+            complete(OUTCOME_TIMED_OUT);
+        }
+    };
+
+    /**
+     * Constructor for a single request
+     *
+     * @param wiseFyBroadcastHub The hub to listen for Wifi state changes through
+     * @param wiseFyPrerequisites The prerequisites instance with the WifiManager to use
+     * @param enable True to enable Wifi, false to disable it
+     * @param prefetchScan If a scan should be started as soon as Wifi is enabled
+     */
+    WiseFyWifiStateWaiter(WiseFyBroadcastHub wiseFyBroadcastHub, WiseFyPrerequisites wiseFyPrerequisites,
+                          boolean enable, boolean prefetchScan) {
+        mWiseFyBroadcastHub = wiseFyBroadcastHub;
+        mWiseFyConfiguration = WiseFyConfiguration.getInstance();
+        mWifiManager = wiseFyPrerequisites.getWifiManager();
+        mEnable = enable;
+        mTargetState = enable ? WifiManager.WIFI_STATE_ENABLED : WifiManager.WIFI_STATE_DISABLED;
+        mPrefetchScan = enable && prefetchScan;
+    }
+
+    /**
+     * Used internally to make the request without blocking
+     *
+     * *NOTE* The listener is posted to the handler once the request completes, which may be right away
+     *
+     * @param handler The handler to schedule the timeout on and post the listener to
+     * @param timeoutInMillis The amount of time to wait for the state change
+     * @param onComplete The listener to run once the request completes
+     *
+     * @see #getOutcome()
+     */
+    void start(Handler handler, int timeoutInMillis, Runnable onComplete) {
+        synchronized (this) {
+            mHandler = handler;
+            mOnComplete = onComplete;
+        }
+        if (request()) {
+            handler.postDelayed(mTimeout, timeoutInMillis);
+        }
+    }
+
+    /**
+     * Used internally to make the request and block the calling thread until it completes
+     *
+     * @param timeoutInMillis The amount of time to wait for the state change
+     *
+     * @return int - The outcome of the request
+     */
+    int startAndAwait(int timeoutInMillis) {
+        if (request()) {
+            try {
+                if (!mLatch.await(timeoutInMillis, TimeUnit.MILLISECONDS)) {
+                    complete(OUTCOME_TIMED_OUT);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                complete(OUTCOME_TIMED_OUT);
+            }
+        }
+        return getOutcome();
+    }
+
+    /**
+     * @return int - The outcome of the request or OUTCOME_PENDING if it has not completed
+     */
+    synchronized int getOutcome() {
+        return mOutcome;
+    }
+
+    /**
+     * Used internally to complete the request when the requested state is broadcast
+     *
+     * @param intent The WIFI_STATE_CHANGED_ACTION broadcast
+     */
+    @Override
+    public void onReceive(Intent intent) {
+        if (intent.getIntExtra(WifiManager.EXTRA_WIFI_STATE, WifiManager.WIFI_STATE_UNKNOWN) == mTargetState) {
+            complete(OUTCOME_REACHED);
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    /**
+     * @return boolean - True if the request is still waiting for the state change
+     */
+    private boolean request() {
+        mWiseFyBroadcastHub.register(WifiManager.WIFI_STATE_CHANGED_ACTION, this);
+        if (mWifiManager.getWifiState() == mTargetState) {
+            complete(OUTCOME_REACHED);
+        } else if (!mWifiManager.setWifiEnabled(mEnable)) {
+            complete(OUTCOME_REJECTED);
+        }
+        return getOutcome() == OUTCOME_PENDING;
+    }
+
+    private void complete(int outcome) {
+        Handler handler;
+        Runnable onComplete;
+        synchronized (this) {
+            if (mOutcome != OUTCOME_PENDING) {
+                return;
+            }
+            mOutcome = outcome;
+            handler = mHandler;
+            onComplete = mOnComplete;
+        }
+
+        mWiseFyBroadcastHub.unregister(WifiManager.WIFI_STATE_CHANGED_ACTION, this);
+        if (LogUtil.isLoggable(TAG, Log.DEBUG, mWiseFyConfiguration.isLoggingEnabled())) {
+            Log.d(TAG, String.format("Request to set Wifi enabled: %b completed with outcome: %d", mEnable, outcome));
+        }
+        if (outcome == OUTCOME_REACHED && mPrefetchScan) {
+            mWifiManager.startScan();
+        }
+        mLatch.countDown();
+        if (handler != null) {
+            handler.removeCallbacks(mTimeout);
+            if (onComplete != null) {
+                handler.post(onComplete);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy.callbacks;
+
+
+import com.isupatches.wisefy.WiseFyScanSnapshot;
+
+
+public interface SearchForSSIDWithRevalidationCallbacks {
+    void cachedSSIDFound(String ssid, WiseFyScanSnapshot scan);
+    void cachedSSIDNotFound(WiseFyScanSnapshot scan);
+    void searchForSSIDWithRevalidationWiseFyFailure(Integer wisefyReturnCode);
+    void ssidFound(String ssid);
+    void ssidNotFound();
+}
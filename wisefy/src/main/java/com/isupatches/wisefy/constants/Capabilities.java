@@ -18,8 +18,25 @@ package com.isupatches.wisefy.constants;
 
 public class Capabilities {
     public static final String EAP = "EAP";
+    public static final String EAP_SUITE_B_192 = "EAP_SUITE_B_192";
+    public static final String OWE = "OWE";
     public static final String PSK = "PSK";
+    public static final String RSN = "RSN";
+    public static final String SAE = "SAE";
     public static final String WEP = "WEP";
     public static final String WPA = "WPA";
     public static final String WPA2 = "WPA2";
+    public static final String WPA3 = "WPA3";
+
+    public static final int FLAG_NONE = 0;
+    public static final int FLAG_EAP = 1;
+    public static final int FLAG_PSK = 1 << 1;
+    public static final int FLAG_WEP = 1 << 2;
+    public static final int FLAG_WPA = 1 << 3;
+    public static final int FLAG_WPA2 = 1 << 4;
+    public static final int FLAG_WPA3 = 1 << 5;
+    public static final int FLAG_SAE = 1 << 6;
+    public static final int FLAG_OWE = 1 << 7;
+
+    public static final int FLAGS_SECURE = FLAG_EAP | FLAG_PSK | FLAG_WEP | FLAG_WPA | FLAG_WPA2 | FLAG_WPA3 | FLAG_SAE | FLAG_OWE;
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy.constants;
+
+
+public class EventTypes {
+    public static final int SCAN_RESULTS_AVAILABLE = 1;
+    public static final int CONNECTIVITY_CHANGED = 2;
+    public static final int WIFI_STATE_CHANGED = 4;
+    public static final int RSSI_CHANGED = 8;
+    public static final int SAVED_NETWORKS_CHANGED = 16;
+    public static final int ALL = 31;
+}
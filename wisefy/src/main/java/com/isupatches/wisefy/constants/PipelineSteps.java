@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy.constants;
+
+
+public class PipelineSteps {
+    public static final int ENABLE_WIFI = 0;
+    public static final int ADD_OPEN_NETWORK = 1;
+    public static final int ADD_WEP_NETWORK = 2;
+    public static final int ADD_WPA2_NETWORK = 3;
+    public static final int CONNECT_TO_NETWORK = 4;
+    public static final int IS_DEVICE_CONNECTED_TO_SSID = 5;
+    public static final int REMOVE_NETWORK = 6;
+    public static final int DISCONNECT_FROM_CURRENT_NETWORK = 7;
+}
@@ -20,4 +20,8 @@ public class WiseFyCodes {
     public static final int MISSING_PARAMETER = -1000;
     public static final int MISSING_PREREQUISITE = -1001;
     public static final int NETWORK_ALREADY_CONFIGURED = -1002;
+    public static final int NETWORK_NOT_FOUND = -1003;
+    public static final int NETWORK_NOT_CONNECTED = -1004;
+    public static final int TIMEOUT_EXCEEDED = -1005;
+    public static final int REGEX_NOT_SUPPORTED = -1006;
 }
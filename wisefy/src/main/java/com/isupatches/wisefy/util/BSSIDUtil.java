@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy.util;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+
+
+/**
+ * A helper class to convert BSSIDs between their string and packed forms
+ *
+ * A BSSID is a 48 bit MAC address so it fits in the low bits of a long, which lets it be used as a key
+ * in primitive arrays without allocating.
+ *
+ * @author Patches
+ */
+@Internal
+public class BSSIDUtil {
+
+    public static final long INVALID_BSSID = -1L;
+
+    private static final BSSIDUtil BSSID_UTIL = new BSSIDUtil();
+
+    private static final int BSSID_LENGTH = 17;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Private constructor with no setup
+     */
+    private BSSIDUtil() {
+    }
+
+    /**
+     * @return instance of BSSIDUtil
+     */
+    public static BSSIDUtil getInstance() {
+        return BSSID_UTIL;
+    }
+
+    /**
+     * To pack a BSSID (i.e. "00:11:22:aa:bb:cc") into a long
+     *
+     * *NOTE* Case insensitive
+     *
+     * @param bssid The BSSID to pack
+     *
+     * @return long - The packed BSSID or INVALID_BSSID if it is not six colon separated hex octets
+     */
+    public long toLong(String bssid) {
+        if (bssid == null || bssid.length() != BSSID_LENGTH) {
+            return INVALID_BSSID;
+        }
+
+        long packed = 0;
+        for (int i = 0; i < BSSID_LENGTH; i++) {
+            char c = bssid.charAt(i);
+            if (i % 3 == 2) {
+                if (c != ':') {
+                    return INVALID_BSSID;
+                }
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0) {
+                return INVALID_BSSID;
+            }
+            packed = (packed << 4) | digit;
+        }
+        return packed;
+    }
+
+    /**
+     * To unpack a BSSID that was packed with toLong
+     *
+     * @param packedBSSID The packed BSSID
+     *
+     * @see #toLong(String)
+     *
+     * @return String|null - The BSSID in lower case or null if the value is INVALID_BSSID
+     */
+    public String toString(long packedBSSID) {
+        if (packedBSSID == INVALID_BSSID) {
+            return null;
+        }
+
+        char[] bssid = new char[BSSID_LENGTH];
+        for (int octet = 0; octet < 6; octet++) {
+            int value = (int) (packedBSSID >>> (8 * (5 - octet))) & 0xff;
+            bssid[octet * 3] = HEX_DIGITS[value >>> 4];
+            bssid[octet * 3 + 1] = HEX_DIGITS[value & 0xf];
+            if (octet < 5) {
+                bssid[octet * 3 + 2] = ':';
+            }
+        }
+        return new String(bssid);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Patches Klinefelter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.isupatches.wisefy.util;
+
+
+import com.isupatches.wisefy.annotations.Internal;
+import com.isupatches.wisefy.constants.Capabilities;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A helper class to parse the capabilities of an access point (i.e. [WPA2-PSK-CCMP][ESS]) into
+ * capability bits
+ *
+ * Each bracketed group is split into its tokens and every token has to match exactly, so WPA is not
+ * mistaken for WPA2.  A key management token is matched without its FT/ prefix or its /SHA1 style
+ * suffix (i.e. FT/EAP or EAP/SHA256 on Android 11+).  An RSN group counts as WPA2 when it has a PSK or
+ * EAP key management and as WPA3 when it has SAE or EAP_SUITE_B_192.  A device only reports a handful
+ * of distinct capability strings so the bits for each one are cached.
+ *
+ * @see Capabilities
+ *
+ * @author Patches
+ */
+@Internal
+public class CapabilitiesUtil {
+
+    private static final CapabilitiesUtil CAPABILITIES_UTIL = new CapabilitiesUtil();
+
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private static final String FAST_TRANSITION_PREFIX = "FT/";
+
+    private static final char KEY_MANAGEMENT_SUFFIX_SEPARATOR = '/';
+
+    private final ConcurrentHashMap<String, Integer> mCache = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor with no setup
+     */
+    private CapabilitiesUtil() {
+    }
+
+    /**
+     * @return instance of CapabilitiesUtil
+     */
+    public static CapabilitiesUtil getInstance() {
+        return CAPABILITIES_UTIL;
+    }
+
+    /**
+     * To convert the capabilities of an access point into capability bits
+     *
+     * @param capabilities The capabilities of the access point (i.e. [WPA2-PSK-CCMP][ESS])
+     *
+     * @see Capabilities
+     *
+     * @return int - The capability bits or Capabilities.FLAG_NONE if there are no capabilities
+     */
+    public int toFlags(String capabilities) {
+        if (capabilities == null || capabilities.isEmpty()) {
+            return Capabilities.FLAG_NONE;
+        }
+
+        Integer cachedFlags = mCache.get(capabilities);
+        if (cachedFlags != null) {
+            return cachedFlags;
+        }
+        int flags = parse(capabilities);
+        if (mCache.size() >= MAX_CACHE_SIZE) {
+            mCache.clear();
+        }
+        mCache.put(capabilities, flags);
+        return flags;
+    }
+
+    /*
+     * Helpers
+     */
+
+    private int parse(String capabilities) {
+        int flags = Capabilities.FLAG_NONE;
+        int length = capabilities.length();
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && capabilities.charAt(end) != '[' && capabilities.charAt(end) != ']') {
+                end++;
+            }
+            if (end > start) {
+                flags |= parseGroup(capabilities.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return flags;
+    }
+
+    private int parseGroup(String group) {
+        int flags = Capabilities.FLAG_NONE;
+        boolean rsn = false;
+        boolean suiteB = false;
+        for (String token : group.split("[-+ ]")) {
+            if (token.startsWith(FAST_TRANSITION_PREFIX)) {
+                token = token.substring(FAST_TRANSITION_PREFIX.length());
+            }
+            int suffixIndex = token.indexOf(KEY_MANAGEMENT_SUFFIX_SEPARATOR);
+            if (suffixIndex >= 0) {
+                token = token.substring(0, suffixIndex);
+            }
+            if (Capabilities.EAP.equals(token)) {
+                flags |= Capabilities.FLAG_EAP;
+            } else if (Capabilities.EAP_SUITE_B_192.equals(token)) {
+                flags |= Capabilities.FLAG_EAP;
+                suiteB = true;
+            } else if (Capabilities.OWE.equals(token)) {
+                flags |= Capabilities.FLAG_OWE;
+            } else if (Capabilities.PSK.equals(token)) {
+                flags |= Capabilities.FLAG_PSK;
+            } else if (Capabilities.RSN.equals(token)) {
+                rsn = true;
+            } else if (Capabilities.SAE.equals(token)) {
+                flags |= Capabilities.FLAG_SAE;
+            } else if (Capabilities.WEP.equals(token)) {
+                flags |= Capabilities.FLAG_WEP;
+            } else if (Capabilities.WPA.equals(token)) {
+                flags |= Capabilities.FLAG_WPA;
+            } else if (Capabilities.WPA2.equals(token)) {
+                flags |= Capabilities.FLAG_WPA2;
+            } else if (Capabilities.WPA3.equals(token)) {
+                flags |= Capabilities.FLAG_WPA3;
+            }
+        }
+
+        if ((flags & Capabilities.FLAG_SAE) != 0 || suiteB) {
+            flags |= Capabilities.FLAG_WPA3;
+        }
+        if (rsn && ((flags & Capabilities.FLAG_PSK) != 0 || ((flags & Capabilities.FLAG_EAP) != 0 && !suiteB))) {
+            flags |= Capabilities.FLAG_WPA2;
+        }
+        return flags;
+    }
+}
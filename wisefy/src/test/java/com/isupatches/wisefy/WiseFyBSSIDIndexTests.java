@@ -0,0 +1,69 @@
+package com.isupatches.wisefy;
+
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+
+public class WiseFyBSSIDIndexTests {
+
+    @Test
+    public void addAndIndexOf() {
+        WiseFyBSSIDIndex index = new WiseFyBSSIDIndex(4);
+        assertEquals(0, index.add(10L));
+        assertEquals(1, index.add(20L));
+        assertEquals(0, index.indexOf(10L));
+        assertEquals(1, index.indexOf(20L));
+        assertEquals(WiseFyBSSIDIndex.NOT_FOUND, index.indexOf(30L));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void removeAt_movesLastKey() {
+        WiseFyBSSIDIndex index = new WiseFyBSSIDIndex(4);
+        index.add(10L);
+        index.add(20L);
+        index.add(30L);
+        assertEquals(2, index.removeAt(0));
+        assertEquals(30L, index.keyAt(0));
+        assertEquals(0, index.indexOf(30L));
+        assertEquals(WiseFyBSSIDIndex.NOT_FOUND, index.indexOf(10L));
+        assertEquals(WiseFyBSSIDIndex.NOT_FOUND, index.removeAt(1));
+        assertEquals(1, index.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void add_full() {
+        WiseFyBSSIDIndex index = new WiseFyBSSIDIndex(1);
+        index.add(10L);
+        index.add(20L);
+    }
+
+    @Test
+    public void matchesMapUnderChurn() {
+        int capacity = 64;
+        WiseFyBSSIDIndex index = new WiseFyBSSIDIndex(capacity);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(200);
+            if (expected.containsKey(key)) {
+                int removed = expected.remove(key);
+                int moved = index.removeAt(removed);
+                if (moved != WiseFyBSSIDIndex.NOT_FOUND) {
+                    expected.put(index.keyAt(removed), removed);
+                }
+            } else if (expected.size() < capacity) {
+                expected.put(key, index.add(key));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        for (long key = 0; key < 200; key++) {
+            Integer position = expected.get(key);
+            assertEquals(position == null ? WiseFyBSSIDIndex.NOT_FOUND : position.intValue(), index.indexOf(key));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.callbacks.ImportManifestCallbacks;
+import com.isupatches.wisefy.constants.ManifestFormats;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyManifestImporterTests {
+
+    private FakeBackend mBackend;
+
+    private RecordingCallbacks mCallbacks;
+
+    @Before
+    public void setUp() {
+        mBackend = new FakeBackend();
+        mCallbacks = new RecordingCallbacks();
+    }
+
+    @Test
+    public void importManifest_addsInChunks() throws IOException {
+        WiseFyImportResult result = importManifest(manifest(7), 3);
+        assertEquals(7, result.getProcessedCount());
+        assertEquals(7, result.getAddedCount());
+        assertEquals(0, result.getSkippedCount());
+        assertEquals(0, result.getFailedCount());
+        assertEquals(Arrays.asList(3, 3, 1), mBackend.chunkSizes);
+        assertEquals(1, mBackend.savedSSIDReads);
+    }
+
+    @Test
+    public void importManifest_reportsProgressAfterEachChunk() throws IOException {
+        importManifest(manifest(5), 2);
+        assertEquals(3, mCallbacks.progress.size());
+        assertEquals(2, mCallbacks.progress.get(0).getAddedCount());
+        assertEquals(4, mCallbacks.progress.get(1).getAddedCount());
+        assertEquals(5, mCallbacks.progress.get(2).getProcessedCount());
+    }
+
+    @Test
+    public void importManifest_skipsSavedAndDuplicateNetworks() throws IOException {
+        mBackend.saved.add("Network 1");
+        WiseFyImportResult result = importManifest(manifest(3) + "Network 2,OPEN,\n", 10);
+        assertEquals(4, result.getProcessedCount());
+        assertEquals(2, result.getAddedCount());
+        assertEquals(2, result.getSkippedCount());
+        assertEquals(Arrays.asList("Network 0", "Network 2"), mBackend.added);
+    }
+
+    @Test
+    public void importManifest_countsInvalidAndFailedEntries() throws IOException {
+        mBackend.failing.add("Network 1");
+        WiseFyImportResult result = importManifest(manifest(3) + "Secure Network,WPA2,\n,OPEN,\n", 10);
+        assertEquals(5, result.getProcessedCount());
+        assertEquals(2, result.getAddedCount());
+        assertEquals(3, result.getFailedCount());
+    }
+
+    @Test
+    public void importManifest_retriesDuplicateOfFailedEntry() throws IOException {
+        mBackend.failing.add("Network 0");
+        WiseFyImportResult result = importManifest("Network 0,OPEN,\nNetwork 0,OPEN,\n", 1);
+        assertEquals(2, result.getFailedCount());
+        assertEquals(0, result.getSkippedCount());
+        assertEquals(2, mBackend.chunkSizes.size());
+    }
+
+    @Test
+    public void importManifest_emptyManifest() throws IOException {
+        WiseFyImportResult result = importManifest("ssid,security,password\n", 10);
+        assertEquals(0, result.getProcessedCount());
+        assertTrue(mBackend.chunkSizes.isEmpty());
+        assertTrue(mCallbacks.progress.isEmpty());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyImportResult importManifest(String manifest, int chunkSize) throws IOException {
+        WiseFyManifestImporter importer = new WiseFyManifestImporter(mBackend, chunkSize);
+        return importer.importManifest(new WiseFyManifestReader(new StringReader(manifest), ManifestFormats.CSV), mCallbacks);
+    }
+
+    private String manifest(int count) {
+        StringBuilder manifest = new StringBuilder("ssid,security,password\n");
+        for (int i = 0; i < count; i++) {
+            manifest.append("Network ").append(i).append(",WPA2,12345678\n");
+        }
+        return manifest.toString();
+    }
+
+    private static class FakeBackend implements WiseFyManifestImporter.Backend {
+
+        final Set<String> saved = new HashSet<>();
+
+        final Set<String> failing = new HashSet<>();
+
+        final List<String> added = new ArrayList<>();
+
+        final List<Integer> chunkSizes = new ArrayList<>();
+
+        int savedSSIDReads;
+
+        @Override
+        public Collection<String> getSavedSSIDs() {
+            savedSSIDReads++;
+            return saved;
+        }
+
+        @Override
+        public void addNetworks(String[] ssids, int[] securityTypes, String[] passwords, int count, int[] results) {
+            chunkSizes.add(count);
+            for (int i = 0; i < count; i++) {
+                if (failing.contains(ssids[i])) {
+                    results[i] = WiseFy.WIFI_MANAGER_FAILURE;
+                } else {
+                    added.add(ssids[i]);
+                    saved.add(ssids[i]);
+                    results[i] = added.size();
+                }
+            }
+        }
+    }
+
+    private static class RecordingCallbacks implements ImportManifestCallbacks {
+
+        final List<WiseFyImportResult> progress = new ArrayList<>();
+
+        @Override
+        public void failureReadingManifest() {
+
+        }
+
+        @Override
+        public void importManifestWiseFyFailure(Integer wisefyReturnCode) {
+
+        }
+
+        @Override
+        public void manifestImportProgress(WiseFyImportResult progress) {
+            this.progress.add(progress);
+        }
+
+        @Override
+        public void manifestImported(WiseFyImportResult result) {
+
+        }
+    }
+}
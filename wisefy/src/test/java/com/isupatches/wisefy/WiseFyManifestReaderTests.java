@@ -0,0 +1,135 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.constants.ManifestFormats;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyManifestReaderTests {
+
+    @Test
+    public void csv_skipsHeaderBlankLinesAndComments() throws IOException {
+        WiseFyManifestReader reader = csv("ssid,security,password\n\n# comment\nOpen Network,OPEN,\n");
+        assertTrue(reader.next());
+        assertEquals("Open Network", reader.getSSID());
+        assertEquals(WiseFyManifestReader.SECURITY_OPEN, reader.getSecurityType());
+        assertEquals(4, reader.getLineNumber());
+        assertTrue(reader.isValid());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void csv_securityTypes() throws IOException {
+        WiseFyManifestReader reader = csv("A,wep,12345\nB,WPA2,12345678\nC,psk,12345678\nD,NONE\nE\nF,EAP,secret\n");
+        assertTrue(reader.next());
+        assertEquals(WiseFyManifestReader.SECURITY_WEP, reader.getSecurityType());
+        assertTrue(reader.next());
+        assertEquals(WiseFyManifestReader.SECURITY_WPA2, reader.getSecurityType());
+        assertTrue(reader.next());
+        assertEquals(WiseFyManifestReader.SECURITY_WPA2, reader.getSecurityType());
+        assertTrue(reader.next());
+        assertEquals(WiseFyManifestReader.SECURITY_OPEN, reader.getSecurityType());
+        assertTrue(reader.next());
+        assertEquals(WiseFyManifestReader.SECURITY_OPEN, reader.getSecurityType());
+        assertTrue(reader.isValid());
+        assertTrue(reader.next());
+        assertEquals(WiseFyManifestReader.SECURITY_INVALID, reader.getSecurityType());
+        assertFalse(reader.isValid());
+    }
+
+    @Test
+    public void csv_quotedFields() throws IOException {
+        WiseFyManifestReader reader = csv("\"Cafe, \"\"Downstairs\"\"\", WPA2 , \"pass,word\"\n");
+        assertTrue(reader.next());
+        assertEquals("Cafe, \"Downstairs\"", reader.getSSID());
+        assertEquals(WiseFyManifestReader.SECURITY_WPA2, reader.getSecurityType());
+        assertEquals("pass,word", reader.getPassword());
+        assertTrue(reader.isValid());
+    }
+
+    @Test
+    public void csv_keepsSpacesInSSID() throws IOException {
+        WiseFyManifestReader reader = csv("  Lobby Network ,WPA2,12345678\r\n  # comment\r\n \"  Quoted \" , OPEN ,\r\n");
+        assertTrue(reader.next());
+        assertEquals("  Lobby Network ", reader.getSSID());
+        assertEquals(WiseFyManifestReader.SECURITY_WPA2, reader.getSecurityType());
+        assertEquals("12345678", reader.getPassword());
+        assertTrue(reader.isValid());
+        assertTrue(reader.next());
+        assertEquals("  Quoted ", reader.getSSID());
+        assertEquals(WiseFyManifestReader.SECURITY_OPEN, reader.getSecurityType());
+        assertEquals(3, reader.getLineNumber());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void csv_invalid_unterminatedQuote() throws IOException {
+        WiseFyManifestReader reader = csv("\"Network,WPA2,12345678\nNext,OPEN,\n");
+        assertTrue(reader.next());
+        assertFalse(reader.isValid());
+        assertTrue(reader.next());
+        assertEquals("Next", reader.getSSID());
+        assertTrue(reader.isValid());
+    }
+
+    @Test
+    public void csv_invalid_missingPassword() throws IOException {
+        WiseFyManifestReader reader = csv("WPA2 Network,WPA2,\n");
+        assertTrue(reader.next());
+        assertFalse(reader.isValid());
+    }
+
+    @Test
+    public void jsonLines_fields() throws IOException {
+        WiseFyManifestReader reader = jsonLines("{\"ssid\": \"WPA2 Network\", \"security\": \"WPA2\", \"password\": \"12345678\", \"priority\": 3}\n"
+                + "{\"password\":null,\"ssid\":\"Open \\\"Network\\\" \\u00e9\"}\n");
+        assertTrue(reader.next());
+        assertEquals("WPA2 Network", reader.getSSID());
+        assertEquals(WiseFyManifestReader.SECURITY_WPA2, reader.getSecurityType());
+        assertEquals("12345678", reader.getPassword());
+        assertTrue(reader.isValid());
+        assertTrue(reader.next());
+        assertEquals("Open \"Network\" \u00e9", reader.getSSID());
+        assertEquals(WiseFyManifestReader.SECURITY_OPEN, reader.getSecurityType());
+        assertNull(reader.getPassword());
+        assertTrue(reader.isValid());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    public void jsonLines_invalid_malformed() throws IOException {
+        WiseFyManifestReader reader = jsonLines("{\"ssid\":\"Network\",\"security\":\"WEP\"\n[]\n{\"ssid\":\"Network 2\",\"security\":\"WEP\",\"password\":\"12345\"}\n");
+        assertTrue(reader.next());
+        assertFalse(reader.isValid());
+        assertTrue(reader.next());
+        assertFalse(reader.isValid());
+        assertTrue(reader.next());
+        assertEquals("Network 2", reader.getSSID());
+        assertTrue(reader.isValid());
+    }
+
+    @Test
+    public void isSupportedFormat() {
+        assertTrue(WiseFyManifestReader.isSupportedFormat(ManifestFormats.CSV));
+        assertTrue(WiseFyManifestReader.isSupportedFormat(ManifestFormats.JSON_LINES));
+        assertFalse(WiseFyManifestReader.isSupportedFormat(-1));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyManifestReader csv(String manifest) {
+        return new WiseFyManifestReader(new StringReader(manifest), ManifestFormats.CSV);
+    }
+
+    private WiseFyManifestReader jsonLines(String manifest) {
+        return new WiseFyManifestReader(new StringReader(manifest), ManifestFormats.JSON_LINES);
+    }
+}
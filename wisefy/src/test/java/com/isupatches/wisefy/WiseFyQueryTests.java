@@ -0,0 +1,183 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.constants.Bands;
+import com.isupatches.wisefy.constants.Capabilities;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyQueryTests {
+
+    private static final long BSSID = 0x001122aabbccL;
+
+    private static final long NOW = 100000L;
+
+    @Test
+    public void run_noCriteria_matchesEveryAccessPointInScanOrder() {
+        WiseFyScanTable matches = new WiseFyQuery.Builder().build().run(createScanTable(), NOW);
+
+        assertEquals(5, matches.getAccessPointCount());
+        for (int i = 0; i < matches.getAccessPointCount(); i++) {
+            assertEquals(BSSID + i, matches.getPackedBSSID(i));
+        }
+    }
+
+    @Test
+    public void run_ssidAndMinRSSI() {
+        WiseFyScanTable matches = new WiseFyQuery.Builder()
+                .ssid("Home.*")
+                .minRSSI(-65)
+                .build()
+                .run(createScanTable(), NOW);
+
+        assertEquals(2, matches.getAccessPointCount());
+        assertEquals("Home", matches.getSSID(0));
+        assertEquals("Home 5G", matches.getSSID(1));
+    }
+
+    @Test
+    public void run_band() {
+        WiseFyScanTable matches = new WiseFyQuery.Builder()
+                .band(Bands.GHZ_5)
+                .band(Bands.GHZ_6)
+                .build()
+                .run(createScanTable(), NOW);
+
+        assertEquals(2, matches.getAccessPointCount());
+        assertEquals(BSSID + 1, matches.getPackedBSSID(0));
+        assertEquals(BSSID + 3, matches.getPackedBSSID(1));
+    }
+
+    @Test
+    public void run_capabilityFlags() {
+        WiseFyScanTable open = new WiseFyQuery.Builder()
+                .excludeCapabilityFlags(Capabilities.FLAGS_SECURE)
+                .build()
+                .run(createScanTable(), NOW);
+        assertEquals(1, open.getAccessPointCount());
+        assertEquals("Cafe", open.getSSID(0));
+
+        WiseFyScanTable wpa2PSK = new WiseFyQuery.Builder()
+                .requireCapabilityFlags(Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK)
+                .build()
+                .run(createScanTable(), NOW);
+        assertEquals(2, wpa2PSK.getAccessPointCount());
+
+        WiseFyScanTable enterpriseOrWPA3 = new WiseFyQuery.Builder()
+                .anyCapabilityFlags(Capabilities.FLAG_EAP | Capabilities.FLAG_WPA3)
+                .build()
+                .run(createScanTable(), NOW);
+        assertEquals(2, enterpriseOrWPA3.getAccessPointCount());
+        assertEquals("Work", enterpriseOrWPA3.getSSID(0));
+        assertEquals("Lab", enterpriseOrWPA3.getSSID(1));
+    }
+
+    @Test
+    public void run_bssidPrefix() {
+        WiseFyScanTable matches = new WiseFyQuery.Builder()
+                .bssidPrefix("00:11:22:AA:BB")
+                .build()
+                .run(createScanTable(), NOW);
+        assertEquals(5, matches.getAccessPointCount());
+
+        matches = new WiseFyQuery.Builder()
+                .bssidPrefix("00:11:22:aa:bb:ce")
+                .build()
+                .run(createScanTable(), NOW);
+        assertEquals(1, matches.getAccessPointCount());
+        assertEquals(BSSID + 2, matches.getPackedBSSID(0));
+
+        matches = new WiseFyQuery.Builder()
+                .bssidPrefix("00:11:23")
+                .build()
+                .run(createScanTable(), NOW);
+        assertEquals(0, matches.getAccessPointCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bssidPrefix_invalid() {
+        new WiseFyQuery.Builder().bssidPrefix("00:1");
+    }
+
+    @Test
+    public void run_seenWithin() {
+        WiseFyScanTable matches = new WiseFyQuery.Builder()
+                .seenWithin(30000L)
+                .build()
+                .run(createScanTable(), NOW);
+
+        assertEquals(4, matches.getAccessPointCount());
+        for (int i = 0; i < matches.getAccessPointCount(); i++) {
+            assertTrue(matches.getPackedBSSID(i) != BSSID + 4);
+        }
+    }
+
+    @Test
+    public void run_limit_strongestFirst() {
+        WiseFyQuery query = new WiseFyQuery.Builder()
+                .limit(3)
+                .build();
+        WiseFyScanTable matches = query.run(createScanTable(), NOW);
+
+        assertEquals(3, query.getLimit());
+        assertEquals(3, matches.getAccessPointCount());
+        assertEquals(-40, matches.getLevel(0));
+        assertEquals(-50, matches.getLevel(1));
+        assertEquals(-60, matches.getLevel(2));
+    }
+
+    @Test
+    public void run_limit_tiesKeepScanOrder() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "A", -70, 2412, 0, NOW, 0)
+                .add(BSSID + 1, "B", -50, 2412, 0, NOW, 1)
+                .add(BSSID + 2, "C", -50, 2412, 0, NOW, 2)
+                .add(BSSID + 3, "D", -50, 2412, 0, NOW, 3)
+                .build(NOW);
+
+        WiseFyScanTable matches = new WiseFyQuery.Builder().limit(2).build().run(table, NOW);
+
+        assertEquals(2, matches.getAccessPointCount());
+        assertEquals("B", matches.getSSID(0));
+        assertEquals("C", matches.getSSID(1));
+    }
+
+    @Test
+    public void run_limitLargerThanMatches() {
+        WiseFyScanTable matches = new WiseFyQuery.Builder()
+                .ssid("Home.*")
+                .limit(10)
+                .build()
+                .run(createScanTable(), NOW);
+
+        assertEquals(2, matches.getAccessPointCount());
+        assertEquals("Home 5G", matches.getSSID(0));
+        assertEquals("Home", matches.getSSID(1));
+    }
+
+    @Test
+    public void run_onView() {
+        WiseFyScanTable table = createScanTable();
+        WiseFyScanTable view = new WiseFyQuery.Builder().band(Bands.GHZ_2_4).build().run(table, NOW);
+        WiseFyScanTable matches = new WiseFyQuery.Builder().limit(1).build().run(view, NOW);
+
+        assertEquals(1, matches.getAccessPointCount());
+        assertEquals(BSSID, matches.getPackedBSSID(0));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private WiseFyScanTable createScanTable() {
+        return new WiseFyScanTable.Builder(5)
+                .add(BSSID, "Home", -60, 2412, Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK, NOW, 0)
+                .add(BSSID + 1, "Home 5G", -50, 5180, Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK, NOW - 1000L, 1)
+                .add(BSSID + 2, "Work", -70, 2437, Capabilities.FLAG_WPA2 | Capabilities.FLAG_EAP, NOW, 2)
+                .add(BSSID + 3, "Lab", -40, 5955, Capabilities.FLAG_WPA3 | Capabilities.FLAG_SAE, NOW - 20000L, 3)
+                .add(BSSID + 4, "Cafe", -80, 2462, Capabilities.FLAG_NONE, NOW - 60000L, 4)
+                .build(NOW);
+    }
+}
@@ -0,0 +1,81 @@
+package com.isupatches.wisefy;
+
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+public class WiseFyRingBufferTests {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void getStats_empty() {
+        assertNull(new WiseFyRingBuffer(4).getStats());
+    }
+
+    @Test
+    public void getStats_partiallyFilled() {
+        WiseFyRingBuffer buffer = new WiseFyRingBuffer(4);
+        buffer.add(-60);
+        buffer.add(-40);
+        buffer.add(-50);
+
+        WiseFySampleStats stats = buffer.getStats();
+        assertEquals(3, stats.getCount());
+        assertEquals(-50, stats.getLatest());
+        assertEquals(-60, stats.getMin());
+        assertEquals(-40, stats.getMax());
+        assertEquals(-50.0, stats.getMean(), DELTA);
+    }
+
+    @Test
+    public void add_overwritesOldest() {
+        WiseFyRingBuffer buffer = new WiseFyRingBuffer(3);
+        for (int value = 1; value <= 5; value++) {
+            buffer.add(value);
+        }
+
+        assertEquals(3, buffer.getCount());
+        assertEquals(5, buffer.get(0));
+        assertEquals(4, buffer.get(1));
+        assertEquals(3, buffer.get(2));
+        WiseFySampleStats stats = buffer.getStats();
+        assertEquals(3, stats.getMin());
+        assertEquals(5, stats.getMax());
+        assertEquals(4.0, stats.getMean(), DELTA);
+    }
+
+    @Test
+    public void clear() {
+        WiseFyRingBuffer buffer = new WiseFyRingBuffer(2);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        buffer.clear();
+        assertEquals(0, buffer.getCount());
+        assertNull(buffer.getStats());
+
+        buffer.add(7);
+        assertEquals(7, buffer.get(0));
+        assertEquals(7, buffer.getStats().getMin());
+    }
+
+    @Test
+    public void constructor_invalidCapacity() {
+        WiseFyRingBuffer buffer = new WiseFyRingBuffer(0);
+        assertEquals(1, buffer.getCapacity());
+        buffer.add(1);
+        buffer.add(2);
+        assertEquals(1, buffer.getCount());
+        assertEquals(2, buffer.get(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfRange() {
+        WiseFyRingBuffer buffer = new WiseFyRingBuffer(2);
+        buffer.add(1);
+        buffer.get(1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.isupatches.wisefy;
+
+
+import java.util.regex.Pattern;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFySSIDAutomatonTests {
+
+    private static final String[] SSIDS = {
+        "", "a", "A", "ab", "aab", "abc", "Home", "home", "HOME", "Home 5G", "Home-5G", "Home_2.4",
+        "Store-1234", "Store-", "store-12", "Cafe Guest", "Cafe\tGuest", "xyz", "a.b", "a+b", "[x]",
+        "Line\nBreak", "\u00e9cole", "\ud83d\ude00 Guest"
+    };
+
+    private static final String[] REGEXES = {
+        "a", "a*", "a+b", "a?b", "a*b*c?", "(ab)+", "(?:a|b)+c?", "a|ab|abc", "Home.*", "^Home$", "(?i)home",
+        "(?i)[a-h]ome", "Home[ _-]?\\d*G?", "Store-\\d{2,4}", "Store-\\d{2,}", "Store-\\d{4}", "\\w+", "\\W+",
+        "\\S+ \\S+", "[^a-z]+", "[\\d\\s]+.*", "[\\D]+", "a\\.b", "a\\+b", "\\[x\\]", ".*", "..", "\\p", "Cafe\\sGuest",
+        "(a|b)*abc", "x{0}y?z?", "(a*)*", "[a-]+", "[-a]+", ".+ Guest", "Line.Break", "(?i)CAFE.*", "a*?b", ""
+    };
+
+    @Test
+    public void match_sameAsPattern() {
+        for (String regex : REGEXES) {
+            WiseFySSIDAutomaton automaton = WiseFySSIDAutomaton.compile(regex);
+            if (regex.equals("\\p")) {
+                assertNull(automaton);
+                continue;
+            }
+            assertNotNull(regex, automaton);
+            Pattern pattern = Pattern.compile(regex);
+            for (String ssid : SSIDS) {
+                int expected = pattern.matcher(ssid).matches() ? WiseFySSIDAutomaton.RESULT_MATCH : WiseFySSIDAutomaton.RESULT_NO_MATCH;
+                assertEquals(regex + " against " + ssid, expected, automaton.match(ssid, WiseFySSIDAutomaton.STEP_BUDGET));
+            }
+        }
+    }
+
+    @Test
+    public void match_catastrophicRegex_linear() {
+        WiseFySSIDAutomaton automaton = WiseFySSIDAutomaton.compile("(a+)+b");
+        assertNotNull(automaton);
+        String ssid = repeat('a', 32);
+        long start = System.nanoTime();
+        assertEquals(WiseFySSIDAutomaton.RESULT_NO_MATCH, automaton.match(ssid, WiseFySSIDAutomaton.STEP_BUDGET));
+        assertEquals(WiseFySSIDAutomaton.RESULT_MATCH, automaton.match(ssid + "b", WiseFySSIDAutomaton.STEP_BUDGET));
+        assertTrue(System.nanoTime() - start < 1000000000L);
+    }
+
+    @Test
+    public void match_budgetExceeded() {
+        WiseFySSIDAutomaton automaton = WiseFySSIDAutomaton.compile("(a|aa)*b");
+        assertNotNull(automaton);
+        assertEquals(WiseFySSIDAutomaton.RESULT_BUDGET_EXCEEDED, automaton.match(repeat('a', 32), 10));
+        assertEquals(WiseFySSIDAutomaton.RESULT_NO_MATCH, automaton.match(repeat('a', 32), WiseFySSIDAutomaton.STEP_BUDGET));
+    }
+
+    @Test
+    public void compile_unsupported() {
+        assertNull(WiseFySSIDAutomaton.compile("(a)\\1"));
+        assertNull(WiseFySSIDAutomaton.compile("(?=Home)Home.*"));
+        assertNull(WiseFySSIDAutomaton.compile("a++b"));
+        assertNull(WiseFySSIDAutomaton.compile("[a-z&&[^e]]"));
+        assertNull(WiseFySSIDAutomaton.compile("\\bHome"));
+        assertNull(WiseFySSIDAutomaton.compile("Home|^Cafe"));
+        assertNull(WiseFySSIDAutomaton.compile("Cafe (Guest"));
+        assertNull(WiseFySSIDAutomaton.compile("[z-a]"));
+    }
+
+    @Test
+    public void compile_tooManyInstructions() {
+        assertNotNull(WiseFySSIDAutomaton.compile("\\w{1,32}"));
+        assertNull(WiseFySSIDAutomaton.compile("(\\w{1,32}){1,32}"));
+        assertNull(WiseFySSIDAutomaton.compile("a{1000}"));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package com.isupatches.wisefy;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFySSIDIndexTests {
+
+    @Test
+    public void findByPrefix() {
+        WiseFySSIDIndex index = newIndex();
+        assertEquals(Arrays.asList("Home", "Home Guest", "HOME-5G"), index.findByPrefix("ho"));
+        assertEquals(Arrays.asList("Home Guest"), index.findByPrefix("Home G"));
+        assertEquals(Collections.<String>emptyList(), index.findByPrefix("Homes"));
+        assertEquals(6, index.findByPrefix("").size());
+    }
+
+    @Test
+    public void findContaining() {
+        WiseFySSIDIndex index = newIndex();
+        assertEquals(Arrays.asList("Cafe Guest", "Home Guest"), index.findContaining("guest"));
+        assertEquals(Arrays.asList("Cafe Guest", "Home Guest"), index.findContaining("e g"));
+        assertEquals(Arrays.asList("HOME-5G"), index.findContaining("5g"));
+        assertEquals(Collections.<String>emptyList(), index.findContaining("xyz"));
+        assertEquals(Collections.<String>emptyList(), index.findContaining("Guests"));
+    }
+
+    @Test
+    public void findSimilar() {
+        WiseFySSIDIndex index = newIndex();
+        assertEquals(Arrays.asList("Home"), index.findSimilar("hmoe", 2));
+        assertEquals(Collections.<String>emptyList(), index.findSimilar("hmoe", 1));
+        assertEquals(Arrays.asList("Office-2", "Office-1"), index.findSimilar("office-2", 1));
+        assertEquals(Arrays.asList("Cafe Guest"), index.findSimilar("Cafe Gest", 2));
+        assertEquals(Arrays.asList("Home Guest"), index.findSimilar("hom gest", 2));
+        assertEquals(Arrays.asList("Cafe Guest"), index.findSimilar("Cafe Guest", 0));
+    }
+
+    @Test
+    public void findSimilar_sameAsBruteForce() {
+        WiseFySSIDIndex index = new WiseFySSIDIndex();
+        List<String> ssids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ssids.add("Store-" + i + (i % 3 == 0 ? " Guest" : ""));
+        }
+        index.update(WiseFySSIDIndex.SOURCE_SCAN, ssids);
+        for (String text : Arrays.asList("Store-1", "stor-12", "Store-99 Gest", "Store-150", "Stroe-7")) {
+            for (int maxEdits = 0; maxEdits <= WiseFySSIDIndex.MAX_EDITS; maxEdits++) {
+                List<String> expected = new ArrayList<>();
+                for (String ssid : ssids) {
+                    if (levenshtein(ssid.toLowerCase(), text.toLowerCase()) <= maxEdits) {
+                        expected.add(ssid);
+                    }
+                }
+                List<String> actual = index.findSimilar(text, maxEdits);
+                Collections.sort(expected);
+                Collections.sort(actual);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void update_onlyRemovesSSIDsWithoutAnySource() {
+        WiseFySSIDIndex index = newIndex();
+        index.update(WiseFySSIDIndex.SOURCE_SCAN, Arrays.asList("Home", "Office-3"));
+        assertEquals(4, index.size());
+        assertEquals(Arrays.asList("Home", "Home Guest"), index.findByPrefix("ho"));
+        assertEquals(Arrays.asList("Home Guest"), index.findContaining("guest"));
+        assertEquals(Arrays.asList("Office-2", "Office-3"), index.findByPrefix("office"));
+
+        index.update(WiseFySSIDIndex.SOURCE_SAVED, Collections.<String>emptyList());
+        assertEquals(2, index.size());
+        assertEquals(Arrays.asList("Home", "Office-3"), index.findByPrefix(""));
+        assertEquals(Collections.<String>emptyList(), index.findContaining("guest"));
+    }
+
+    @Test
+    public void update_ignoresEmptySSIDs() {
+        WiseFySSIDIndex index = new WiseFySSIDIndex();
+        index.update(WiseFySSIDIndex.SOURCE_SCAN, Arrays.asList("", null, "Home"));
+        assertEquals(1, index.size());
+        assertTrue(index.findContaining("ho").contains("Home"));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private static WiseFySSIDIndex newIndex() {
+        WiseFySSIDIndex index = new WiseFySSIDIndex();
+        index.update(WiseFySSIDIndex.SOURCE_SCAN, Arrays.asList("Home", "HOME-5G", "Cafe Guest", "Office-1"));
+        index.update(WiseFySSIDIndex.SOURCE_SAVED, Arrays.asList("Home", "Home Guest", "Office-2"));
+        return index;
+    }
+
+    private static int levenshtein(String s1, String s2) {
+        int[][] distances = new int[s1.length() + 1][s2.length() + 1];
+        for (int i = 0; i <= s1.length(); i++) {
+            for (int j = 0; j <= s2.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distances[i][j] = i + j;
+                } else {
+                    int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                    distances[i][j] = Math.min(Math.min(distances[i - 1][j] + 1, distances[i][j - 1] + 1), distances[i - 1][j - 1] + cost);
+                }
+            }
+        }
+        return distances[s1.length()][s2.length()];
+    }
+}
@@ -0,0 +1,86 @@
+package com.isupatches.wisefy;
+
+
+import org.junit.Test;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFySSIDMatcherTests {
+
+    @Test
+    public void isLiteral() {
+        assertTrue(WiseFySSIDMatcher.isLiteral("Store-1234"));
+        assertTrue(WiseFySSIDMatcher.isLiteral("My Network 5G"));
+        assertTrue(WiseFySSIDMatcher.isLiteral(""));
+        assertFalse(WiseFySSIDMatcher.isLiteral("Store.*"));
+        assertFalse(WiseFySSIDMatcher.isLiteral("Store+1"));
+        assertFalse(WiseFySSIDMatcher.isLiteral("Store(1)"));
+        assertFalse(WiseFySSIDMatcher.isLiteral("[A-Z]"));
+        assertFalse(WiseFySSIDMatcher.isLiteral("a|b"));
+        assertFalse(WiseFySSIDMatcher.isLiteral("\\d"));
+    }
+
+    @Test
+    public void matches_literal() {
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile("Store-1234");
+        assertTrue(matcher.isLiteral());
+        assertTrue(matcher.matches("Store-1234"));
+        assertFalse(matcher.matches("store-1234"));
+        assertFalse(matcher.matches("Store-12345"));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    public void matches_regex() {
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile("Store-\\d+");
+        assertFalse(matcher.isLiteral());
+        assertTrue(matcher.matches("Store-1234"));
+        assertFalse(matcher.matches("Store-"));
+        assertFalse(matcher.matches("My Store-1"));
+    }
+
+    @Test
+    public void matches_ssidWithMetacharacters() {
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile("Store+1");
+        assertFalse(matcher.matches("Store+1"));
+        assertTrue(matcher.matches("Storee1"));
+        assertFalse(matcher.matches("Store1x"));
+
+        WiseFySSIDMatcher literal = WiseFySSIDMatcher.literal("Store+1");
+        assertTrue(literal.isLiteral());
+        assertTrue(literal.matches("Store+1"));
+        assertFalse(literal.matches("Storee1"));
+    }
+
+    @Test
+    public void matches_invalidRegex_literalOnly() {
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile("Cafe (Guest");
+        assertTrue(matcher.isLiteral());
+        assertTrue(matcher.matches("Cafe (Guest"));
+        assertFalse(matcher.matches("Cafe Guest"));
+    }
+
+    @Test
+    public void isSupported() {
+        assertTrue(WiseFySSIDMatcher.isSupported("Store-1234"));
+        assertTrue(WiseFySSIDMatcher.isSupported("(?i)store-\\d+"));
+        assertTrue(WiseFySSIDMatcher.isSupported("Cafe (Guest"));
+        assertFalse(WiseFySSIDMatcher.isSupported("(Store)\\1"));
+        assertFalse(WiseFySSIDMatcher.isSupported("(\\w{1,32}){1,32}"));
+    }
+
+    @Test
+    public void matches_unsupportedRegex_literalOnly() {
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile("(?=Store)Store.*");
+        assertTrue(matcher.isLiteral());
+        assertTrue(matcher.matches("(?=Store)Store.*"));
+        assertFalse(matcher.matches("Store-1234"));
+    }
+
+    @Test
+    public void compile_cached() {
+        assertSame(WiseFySSIDMatcher.compile("Store-\\d+"), WiseFySSIDMatcher.compile("Store-\\d+"));
+    }
+}
@@ -0,0 +1,142 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.util.BSSIDUtil;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyScanAccumulatorTests {
+
+    private static final long BSSID = 0x001122aabbccL;
+
+    private static final long OTHER_BSSID = 0x001122aabbcdL;
+
+    private static final long THIRD_BSSID = 0x001122aabbceL;
+
+    @Test
+    public void merge_keepsMissedAccessPoints() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(2, 8);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a1", "b1"), 1000L, 1000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a2"), 2000L, 2000L);
+
+        List<String> items = accumulator.getItems();
+        assertEquals(2, items.size());
+        assertTrue(items.contains("a2"));
+        assertTrue(items.contains("b1"));
+    }
+
+    @Test
+    public void merge_agesOutAfterMaxMisses() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(2, 8);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a", "b"), 1000L, 1000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 2000L, 2000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 3000L, 3000L);
+        assertEquals(2, accumulator.size());
+
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 4000L, 4000L);
+        assertEquals(Collections.singletonList("a"), accumulator.getItems());
+    }
+
+    @Test
+    public void merge_seenAgainResetsMisses() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(1, 8);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a", "b1"), 1000L, 1000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 2000L, 2000L);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a", "b2"), 3000L, 3000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 4000L, 4000L);
+
+        assertEquals(2, accumulator.size());
+        int index = indexOf(accumulator, OTHER_BSSID);
+        assertEquals("b2", accumulator.getItem(index));
+        assertEquals(1, accumulator.getMissCount(index));
+        assertEquals(3000L, accumulator.getLastSeenInMillis(index));
+    }
+
+    @Test
+    public void getConfidence() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(4, 8);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 1000L, 1000L);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a", "b"), 2000L, 2000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 3000L, 3000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 4000L, 4000L);
+
+        assertEquals(1f, accumulator.getConfidence(indexOf(accumulator, BSSID)), 0f);
+        assertEquals(1f / 3f, accumulator.getConfidence(indexOf(accumulator, OTHER_BSSID)), 0.0001f);
+    }
+
+    @Test
+    public void merge_ignoresInvalidAndDuplicateBSSIDs() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(2, 8);
+        accumulator.merge(new long[] {BSSID, BSSIDUtil.INVALID_BSSID, BSSID}, Arrays.asList("a1", "x", "a2"), 1000L, 1000L);
+
+        assertEquals(Collections.singletonList("a2"), accumulator.getItems());
+        assertEquals(1f, accumulator.getConfidence(0), 0f);
+    }
+
+    @Test
+    public void merge_fullDropsMostMissed() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(4, 2);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a", "b"), 1000L, 1000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 2000L, 2000L);
+        accumulator.merge(new long[] {BSSID, THIRD_BSSID}, Arrays.asList("a", "c"), 3000L, 3000L);
+
+        List<String> items = accumulator.getItems();
+        assertEquals(2, items.size());
+        assertTrue(items.contains("a"));
+        assertTrue(items.contains("c"));
+    }
+
+    @Test
+    public void merge_unchangedTimestampNotCountedAsScan() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(1, 8);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a1", "b"), 1000L, 1000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a1"), 2000L, 2000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a2"), 2000L, 3000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a3"), 2000L, 4000L);
+
+        assertEquals(2, accumulator.size());
+        int index = indexOf(accumulator, BSSID);
+        assertEquals("a3", accumulator.getItem(index));
+        assertEquals(2000L, accumulator.getLastSeenInMillis(index));
+        assertEquals(1.0f, accumulator.getConfidence(index), 0.001f);
+        int otherIndex = indexOf(accumulator, OTHER_BSSID);
+        assertEquals(1, accumulator.getMissCount(otherIndex));
+        assertEquals(0.5f, accumulator.getConfidence(otherIndex), 0.001f);
+    }
+
+    @Test
+    public void merge_noTimestampCountedAsScan() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(1, 8);
+        accumulator.merge(new long[] {BSSID, OTHER_BSSID}, Arrays.asList("a", "b"), 0L, 1000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 0L, 2000L);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 0L, 3000L);
+        assertEquals(Collections.singletonList("a"), accumulator.getItems());
+    }
+
+    @Test
+    public void clear() {
+        WiseFyScanAccumulator<String> accumulator = new WiseFyScanAccumulator<>(2, 8);
+        accumulator.merge(new long[] {BSSID}, Collections.singletonList("a"), 1000L, 1000L);
+        accumulator.clear();
+        assertEquals(0, accumulator.size());
+        assertTrue(accumulator.getItems().isEmpty());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private int indexOf(WiseFyScanAccumulator<String> accumulator, long bssid) {
+        for (int i = 0; i < accumulator.size(); i++) {
+            if (accumulator.getBSSID(i) == bssid) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.constants.Bands;
+import com.isupatches.wisefy.constants.Capabilities;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyScanClassifierTests {
+
+    @Test
+    public void getBand() {
+        assertEquals(Bands.GHZ_2_4, WiseFyScanClassifier.getBand(2412));
+        assertEquals(Bands.GHZ_2_4, WiseFyScanClassifier.getBand(2484));
+        assertEquals(Bands.GHZ_5, WiseFyScanClassifier.getBand(5180));
+        assertEquals(Bands.GHZ_5, WiseFyScanClassifier.getBand(5825));
+        assertEquals(Bands.GHZ_6, WiseFyScanClassifier.getBand(5955));
+        assertEquals(Bands.GHZ_6, WiseFyScanClassifier.getBand(7115));
+        assertEquals(Bands.UNKNOWN, WiseFyScanClassifier.getBand(0));
+        assertEquals(Bands.UNKNOWN, WiseFyScanClassifier.getBand(60480));
+    }
+
+    @Test
+    public void getChannel() {
+        assertEquals(1, WiseFyScanClassifier.getChannel(2412));
+        assertEquals(6, WiseFyScanClassifier.getChannel(2437));
+        assertEquals(14, WiseFyScanClassifier.getChannel(2484));
+        assertEquals(36, WiseFyScanClassifier.getChannel(5180));
+        assertEquals(165, WiseFyScanClassifier.getChannel(5825));
+        assertEquals(184, WiseFyScanClassifier.getChannel(4920));
+        assertEquals(1, WiseFyScanClassifier.getChannel(5955));
+        assertEquals(2, WiseFyScanClassifier.getChannel(5935));
+        assertEquals(233, WiseFyScanClassifier.getChannel(7115));
+        assertEquals(WiseFyScanClassifier.NO_CHANNEL, WiseFyScanClassifier.getChannel(2400));
+        assertEquals(WiseFyScanClassifier.NO_CHANNEL, WiseFyScanClassifier.getChannel(0));
+    }
+
+    @Test
+    public void classify_barsMatchCalculateSignalLevel() {
+        int[] targetNumbersOfBars = {1, 4, 5, 64};
+        for (int targetNumberOfBars : targetNumbersOfBars) {
+            WiseFyScanClassifier classifier = new WiseFyScanClassifier(targetNumberOfBars);
+            for (int level = -120; level <= 0; level++) {
+                WiseFyScanClassification classification = new WiseFyScanClassification(
+                        new int[] {classifier.classify(Capabilities.FLAG_NONE, 2412, level)}, targetNumberOfBars);
+                assertEquals(calculateSignalLevel(level, targetNumberOfBars), classification.getBars(0));
+            }
+        }
+    }
+
+    @Test
+    public void classify_packsEveryField() {
+        WiseFyScanClassifier classifier = new WiseFyScanClassifier(5);
+        int flags = Capabilities.FLAG_WPA3 | Capabilities.FLAG_SAE | Capabilities.FLAG_OWE;
+        WiseFyScanClassification classification = new WiseFyScanClassification(new int[] {
+                classifier.classify(flags, 7115, -40),
+                classifier.classify(Capabilities.FLAG_NONE, 0, -100)
+        }, 5);
+
+        assertEquals(flags, classification.getCapabilityFlags(0));
+        assertTrue(classification.isSecure(0));
+        assertEquals(Bands.GHZ_6, classification.getBand(0));
+        assertEquals(233, classification.getChannel(0));
+        assertEquals(4, classification.getBars(0));
+
+        assertFalse(classification.isSecure(1));
+        assertEquals(Bands.UNKNOWN, classification.getBand(1));
+        assertEquals(WiseFyScanClassifier.NO_CHANNEL, classification.getChannel(1));
+        assertEquals(0, classification.getBars(1));
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private int calculateSignalLevel(int rssi, int numLevels) {
+        if (rssi <= -100) {
+            return 0;
+        } else if (rssi >= -55) {
+            return numLevels - 1;
+        } else {
+            float inputRange = (-55 - -100);
+            float outputRange = (numLevels - 1);
+            return (int) ((float) (rssi - -100) * outputRange / inputRange);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.isupatches.wisefy;
+
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyScanLogTests {
+
+    private static final long BSSID = 0x001122aabbccL;
+
+    private static final long OTHER_BSSID = 0x001122aabbcdL;
+
+    private File mDirectory;
+
+    @Before
+    public void setUp() throws IOException {
+        mDirectory = File.createTempFile("wisefy", "scans");
+        assertTrue(mDirectory.delete());
+        assertTrue(mDirectory.mkdirs());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = mDirectory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        mDirectory.delete();
+    }
+
+    @Test
+    public void append_readBack() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 4096, 2);
+        assertTrue(log.append(1000L, new long[] {BSSID, OTHER_BSSID}, new String[] {"Home", "Caf\u00e9"},
+                new int[] {-70, -40}, new int[] {2412, 5180}, 2));
+        assertTrue(log.append(900L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-65}, new int[] {2412}, 1));
+        log.close();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        assertTrue(reader.next());
+        assertEquals(1000L, reader.getTimestamp());
+        assertEquals(2, reader.getAccessPointCount());
+        assertEquals("00:11:22:aa:bb:cd", reader.getBSSID(0));
+        assertEquals("Caf\u00e9", reader.getSSID(0));
+        assertEquals(-40, reader.getLevel(0));
+        assertEquals(5180, reader.getFrequency(0));
+        assertEquals(BSSID, reader.getPackedBSSID(1));
+        assertEquals("Home", reader.getSSID(1));
+        assertEquals(-70, reader.getLevel(1));
+
+        assertTrue(reader.next());
+        assertEquals(900L, reader.getTimestamp());
+        assertEquals(1, reader.getAccessPointCount());
+        assertEquals("Home", reader.getSSID(0));
+        assertEquals(-65, reader.getLevel(0));
+        assertFalse(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void append_nullSSID() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 4096, 2);
+        log.append(1000L, new long[] {BSSID}, new String[] {null}, new int[] {-70}, new int[] {2412}, 1);
+        log.close();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        assertTrue(reader.next());
+        assertEquals("", reader.getSSID(0));
+        reader.close();
+    }
+
+    @Test
+    public void append_readWhileOpen() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 4096, 2);
+        log.append(1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-70}, new int[] {2412}, 1);
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        assertTrue(reader.next());
+        assertFalse(reader.next());
+        reader.close();
+        log.close();
+    }
+
+    @Test
+    public void append_tooLarge() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, WiseFyScanLog.HEADER_SIZE + 8, 2);
+        assertFalse(log.append(1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-70}, new int[] {2412}, 1));
+        log.close();
+        assertEquals(1, WiseFyScanLogReader.listLogFiles(mDirectory).length);
+    }
+
+    @Test
+    public void close_truncates() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 4096, 2);
+        log.append(1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-70}, new int[] {2412}, 1);
+        log.close();
+        File[] files = WiseFyScanLogReader.listLogFiles(mDirectory);
+        assertEquals(1, files.length);
+        assertTrue(files[0].length() < 64);
+    }
+
+    @Test
+    public void rotate_keepsNewestFiles() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 64, 2);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(log.append(i * 1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-60 - i}, new int[] {2412}, 1));
+        }
+        log.close();
+        assertEquals(2, WiseFyScanLogReader.listLogFiles(mDirectory).length);
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        long previous = -1;
+        int count = 0;
+        while (reader.next()) {
+            assertTrue(reader.getTimestamp() > previous);
+            assertEquals("Home", reader.getSSID(0));
+            assertEquals(-60 - reader.getTimestamp() / 1000, reader.getLevel(0));
+            previous = reader.getTimestamp();
+            count++;
+        }
+        reader.close();
+        assertEquals(19000L, previous);
+        assertTrue(count > 0 && count < 20);
+    }
+
+    @Test
+    public void rotate_continuesAfterReopen() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 4096, 4);
+        log.append(1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-70}, new int[] {2412}, 1);
+        log.close();
+        log = new WiseFyScanLog(mDirectory, 4096, 4);
+        log.append(2000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-60}, new int[] {2412}, 1);
+        log.close();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        assertTrue(reader.next());
+        assertEquals(1000L, reader.getTimestamp());
+        assertTrue(reader.next());
+        assertEquals(2000L, reader.getTimestamp());
+        assertFalse(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void timeRange() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 64, 10);
+        for (int i = 0; i < 20; i++) {
+            log.append(i * 1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-60}, new int[] {2412}, 1);
+        }
+        log.close();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory, 5000L, 7000L);
+        assertTrue(reader.next());
+        assertEquals(5000L, reader.getTimestamp());
+        assertTrue(reader.next());
+        assertEquals(6000L, reader.getTimestamp());
+        assertTrue(reader.next());
+        assertEquals(7000L, reader.getTimestamp());
+        assertFalse(reader.next());
+        reader.close();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getLevel_outOfBounds() throws IOException {
+        WiseFyScanLog log = new WiseFyScanLog(mDirectory, 4096, 2);
+        log.append(1000L, new long[] {BSSID}, new String[] {"Home"}, new int[] {-70}, new int[] {2412}, 1);
+        log.close();
+
+        WiseFyScanLogReader reader = new WiseFyScanLogReader(mDirectory);
+        reader.next();
+        reader.getLevel(1);
+    }
+}
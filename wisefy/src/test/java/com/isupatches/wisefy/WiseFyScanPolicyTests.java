@@ -0,0 +1,101 @@
+package com.isupatches.wisefy;
+
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+
+public class WiseFyScanPolicyTests {
+
+    private static final long MIN_INTERVAL = 10000L;
+
+    private static final long MAX_INTERVAL = 300000L;
+
+    private static final long BUDGET_WINDOW = 120000L;
+
+    @Test
+    public void getNextScanTime_noScans() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 4, BUDGET_WINDOW);
+        assertEquals(0L, policy.getNextScanTimeInMillis());
+        assertEquals(MIN_INTERVAL, policy.getIntervalInMillis());
+    }
+
+    @Test
+    public void onScan_backsOffWhenStationary() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 100, BUDGET_WINDOW);
+        policy.onScan(0L, 0f);
+        assertEquals(2 * MIN_INTERVAL, policy.getIntervalInMillis());
+        policy.onScan(20000L, 0f);
+        assertEquals(4 * MIN_INTERVAL, policy.getIntervalInMillis());
+        assertEquals(20000L + 4 * MIN_INTERVAL, policy.getNextScanTimeInMillis());
+    }
+
+    @Test
+    public void onScan_backoffCappedAtMaxInterval() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 100, BUDGET_WINDOW);
+        for (int i = 0; i < 20; i++) {
+            policy.onScan(i * MAX_INTERVAL, 0f);
+        }
+        assertEquals(WiseFyScanPolicy.MAX_BACKOFF, policy.getBackoff());
+        assertEquals(MAX_INTERVAL, policy.getIntervalInMillis());
+    }
+
+    @Test
+    public void onScan_resetsWhenMoving() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 100, BUDGET_WINDOW);
+        policy.onScan(0L, 0f);
+        policy.onScan(20000L, 0f);
+        policy.onScan(60000L, WiseFyScanPolicy.MOVING_CHANGE_RATE);
+        assertEquals(0, policy.getBackoff());
+        assertEquals(MIN_INTERVAL, policy.getIntervalInMillis());
+    }
+
+    @Test
+    public void onScan_keepsBackoffForModerateChange() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 100, BUDGET_WINDOW);
+        policy.onScan(0L, 0f);
+        policy.onScan(20000L, 0.2f);
+        assertEquals(1, policy.getBackoff());
+    }
+
+    @Test
+    public void onScanStarted_backoffWaitsForResults() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 100, BUDGET_WINDOW);
+        policy.onScanStarted(0L);
+        assertEquals(0, policy.getBackoff());
+        assertEquals(MIN_INTERVAL, policy.getNextScanTimeInMillis());
+
+        policy.onScanResults(0f);
+        assertEquals(1, policy.getBackoff());
+        assertEquals(2 * MIN_INTERVAL, policy.getNextScanTimeInMillis());
+    }
+
+    @Test
+    public void getInterval_screenOff() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 4, BUDGET_WINDOW);
+        policy.setScreenOn(false);
+        assertEquals(WiseFyScanPolicy.SCREEN_OFF_MULTIPLIER * MIN_INTERVAL, policy.getIntervalInMillis());
+        policy.setCharging(true);
+        assertEquals(MIN_INTERVAL, policy.getIntervalInMillis());
+    }
+
+    @Test
+    public void getNextScanTime_budgetExhausted() {
+        WiseFyScanPolicy policy = new WiseFyScanPolicy(MIN_INTERVAL, MAX_INTERVAL, 2, BUDGET_WINDOW);
+        policy.onScan(0L, 1f);
+        assertEquals(1, policy.getRemainingBudget(0L));
+        policy.onScan(MIN_INTERVAL, 1f);
+        assertEquals(0, policy.getRemainingBudget(MIN_INTERVAL));
+        assertEquals(BUDGET_WINDOW, policy.getNextScanTimeInMillis());
+        assertEquals(1, policy.getRemainingBudget(BUDGET_WINDOW));
+    }
+
+    @Test
+    public void getChangeRate() {
+        assertEquals(1f, WiseFyScanPolicy.getChangeRate(null, 0, new long[] {1L}, 1), 0f);
+        assertEquals(0f, WiseFyScanPolicy.getChangeRate(new long[0], 0, new long[0], 0), 0f);
+        assertEquals(0f, WiseFyScanPolicy.getChangeRate(new long[] {3L, 1L, 2L}, 3, new long[] {1L, 2L, 3L}, 3), 0f);
+        assertEquals(0.5f, WiseFyScanPolicy.getChangeRate(new long[] {1L, 2L, 3L}, 3, new long[] {2L, 3L, 4L}, 3), 0f);
+        assertEquals(1f, WiseFyScanPolicy.getChangeRate(new long[] {1L, 2L}, 2, new long[] {3L, 4L, 0L}, 2), 0f);
+    }
+}
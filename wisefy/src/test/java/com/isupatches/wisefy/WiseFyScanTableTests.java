@@ -0,0 +1,203 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.constants.Capabilities;
+import com.isupatches.wisefy.util.BSSIDUtil;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyScanTableTests {
+
+    private static final long BSSID = 0x001122aabbccL;
+
+    @Test
+    public void build_internsSSIDs() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(1)
+                .add(BSSID, "Home", -60, 2412, Capabilities.FLAG_WPA2, 1000L, 0)
+                .add(BSSID + 1, new String("Home"), -70, 5180, Capabilities.FLAG_WPA2, 1000L, 1)
+                .add(BSSID + 2, null, -80, 2437, Capabilities.FLAG_NONE, 1000L, 2)
+                .build(1000L);
+
+        assertEquals(3, table.getAccessPointCount());
+        assertEquals(1, table.getSSIDPoolSize());
+        assertEquals(table.getSSIDId(0), table.getSSIDId(1));
+        assertSame(table.getSSID(0), table.getSSID(1));
+        assertEquals(WiseFyScanTable.NO_SSID, table.getSSIDId(2));
+        assertNull(table.getSSID(2));
+        assertEquals("00:11:22:aa:bb:cd", table.getBSSID(1));
+        assertEquals(5180, table.getFrequency(1));
+        assertEquals(1000L, table.getTimestamp());
+    }
+
+    @Test
+    public void hasCapability() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(1)
+                .add(BSSID, "Home", -60, 2412, Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK, 1000L, 0)
+                .build(1000L);
+
+        assertTrue(table.hasCapability(0, Capabilities.FLAG_PSK));
+        assertTrue(table.hasCapability(0, Capabilities.FLAG_EAP | Capabilities.FLAG_WPA2));
+        assertFalse(table.hasCapability(0, Capabilities.FLAG_WEP));
+    }
+
+    @Test
+    public void isStrongestForSSID_caseInsensitiveWithTies() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, "HOME", -50, 2412, 0, 1000L, 1)
+                .add(BSSID + 2, "home", -50, 2412, 0, 1000L, 2)
+                .add(BSSID + 3, "Work", -90, 2412, 0, 1000L, 3)
+                .build(1000L);
+
+        assertFalse(table.isStrongestForSSID(0));
+        assertTrue(table.isStrongestForSSID(1));
+        assertTrue(table.isStrongestForSSID(2));
+        assertTrue(table.isStrongestForSSID(3));
+    }
+
+    @Test
+    public void indexOfMatching() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, null, -40, 2412, 0, 1000L, 1)
+                .add(BSSID + 2, "Home", -50, 2412, 0, 1000L, 2)
+                .build(1000L);
+
+        assertEquals(0, table.indexOfMatching(WiseFySSIDMatcher.compile("Ho.*"), false));
+        assertEquals(2, table.indexOfMatching(WiseFySSIDMatcher.compile("Ho.*"), true));
+        assertEquals(-1, table.indexOfMatching(WiseFySSIDMatcher.compile("Ho"), false));
+    }
+
+    @Test
+    public void indexOfMatching_fromIndex_sharesCache() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, "Work", -40, 2412, 0, 1000L, 1)
+                .add(BSSID + 2, "Home", -50, 2412, 0, 1000L, 2)
+                .add(BSSID + 3, "Home2", -60, 2412, 0, 1000L, 3)
+                .build(1000L);
+
+        WiseFySSIDMatcher matcher = WiseFySSIDMatcher.compile("Home.*");
+        byte[] matches = table.newMatchCache(matcher);
+        assertEquals(0, table.indexOfMatching(matcher, false, 0, matches));
+        assertEquals(2, table.indexOfMatching(matcher, false, 1, matches));
+        assertEquals(3, table.indexOfMatching(matcher, false, 3, matches));
+        assertEquals(-1, table.indexOfMatching(matcher, false, 4, matches));
+        assertEquals(2, table.indexOfMatching(matcher, true, 0, matches));
+    }
+
+    @Test
+    public void literalMatching_usesHashLookup() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Store+1", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, "Storee1", -40, 2412, 0, 1000L, 1)
+                .add(BSSID + 2, "Home", -50, 2412, 0, 1000L, 2)
+                .add(BSSID + 3, "HOME", -60, 2412, 0, 1000L, 3)
+                .build(1000L);
+
+        assertEquals(2, table.findSSIDId("Home"));
+        assertEquals(WiseFyScanTable.NO_SSID, table.findSSIDId("home"));
+        assertEquals(2, table.indexOfMatching(WiseFySSIDMatcher.compile("Home"), false));
+        assertEquals(-1, table.indexOfMatching(WiseFySSIDMatcher.compile("Cafe"), false));
+        assertEquals(1, table.countMatching(WiseFySSIDMatcher.compile("HOME"), false));
+        assertEquals(0, table.countMatching(WiseFySSIDMatcher.compile("HOME"), true));
+
+        byte[] matches = table.newMatchCache(WiseFySSIDMatcher.compile("Home"));
+        assertEquals(WiseFyScanTable.MATCH, matches[2]);
+        assertEquals(WiseFyScanTable.NO_MATCH, matches[3]);
+
+        WiseFyScanTable view = table.selectMatching(WiseFySSIDMatcher.compile("Store+1"), false);
+        assertEquals(1, view.getAccessPointCount());
+        assertEquals("Store+1", view.getSSID(0));
+
+        WiseFyScanTable withoutLiteral = new WiseFyScanTable.Builder(2)
+                .add(BSSID, "Storee1", -40, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, "Home", -50, 2412, 0, 1000L, 1)
+                .build(1000L);
+        assertEquals(0, withoutLiteral.indexOfMatching(WiseFySSIDMatcher.compile("Store+1"), false));
+    }
+
+    @Test
+    public void countMatching() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, null, -40, 2412, 0, 1000L, 1)
+                .add(BSSID + 2, "HOME", -50, 2412, 0, 1000L, 2)
+                .add(BSSID + 3, "Work", -60, 2412, 0, 1000L, 3)
+                .build(1000L);
+
+        assertEquals(2, table.countMatching(WiseFySSIDMatcher.compile("(?i)home"), false));
+        assertEquals(1, table.countMatching(WiseFySSIDMatcher.compile("(?i)home"), true));
+        assertEquals(0, table.countMatching(WiseFySSIDMatcher.compile("Cafe"), false));
+    }
+
+    @Test
+    public void selectMatching_isAView() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 5)
+                .add(BSSID + 1, "Work", -40, 2412, 0, 1000L, 6)
+                .add(BSSID + 2, "Home2", -50, 5180, 0, 1000L, 7)
+                .build(1000L);
+
+        WiseFyScanTable view = table.selectMatching(WiseFySSIDMatcher.compile("Home.*"), false);
+        assertEquals(2, view.getAccessPointCount());
+        assertEquals("Home2", view.getSSID(1));
+        assertEquals(5180, view.getFrequency(1));
+        assertEquals(7, view.getSourceIndex(1));
+        assertSame(table.mLevels, view.mLevels);
+    }
+
+    @Test
+    public void selectStrongestPerSSID() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(4)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, "Work", -60, 2412, 0, 1000L, 1)
+                .add(BSSID + 2, "HOME", -50, 2412, 0, 1000L, 2)
+                .add(BSSID + 3, "home", -50, 2412, 0, 1000L, 3)
+                .add(BSSID + 4, null, -90, 2412, 0, 1000L, 4)
+                .build(1000L);
+
+        WiseFyScanTable strongest = table.selectStrongestPerSSID();
+        assertEquals(3, strongest.getAccessPointCount());
+        assertEquals(2, strongest.getSourceIndex(0));
+        assertEquals(1, strongest.getSourceIndex(1));
+        assertEquals(4, strongest.getSourceIndex(2));
+    }
+
+    @Test
+    public void cursor() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(2)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSIDUtil.INVALID_BSSID, "Work", -60, 5180, 0, 1000L, 1)
+                .build(1000L);
+
+        WiseFyScanTable.Cursor cursor = table.cursor();
+        assertEquals(-1, cursor.getPosition());
+        assertTrue(cursor.moveToNext());
+        assertEquals("Home", cursor.getSSID());
+        assertEquals(BSSID, cursor.getPackedBSSID());
+        assertTrue(cursor.moveToNext());
+        assertEquals(-60, cursor.getLevel());
+        assertNull(cursor.getBSSID());
+        assertFalse(cursor.moveToNext());
+        assertFalse(cursor.moveToNext());
+        assertTrue(cursor.moveToPosition(0));
+        assertEquals(2412, cursor.getFrequency());
+        assertFalse(cursor.moveToPosition(2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void view_rejectsIndexOutsideView() {
+        WiseFyScanTable table = new WiseFyScanTable.Builder(2)
+                .add(BSSID, "Home", -70, 2412, 0, 1000L, 0)
+                .add(BSSID + 1, "Work", -60, 2412, 0, 1000L, 1)
+                .build(1000L);
+
+        table.selectMatching(WiseFySSIDMatcher.compile("Home"), false).getLevel(1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.isupatches.wisefy;
+
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+
+public class WiseFySignalHistoryTests {
+
+    private static final long BSSID = 0x001122aabbccL;
+
+    private static final long OTHER_BSSID = 0x001122aabbcdL;
+
+    private static final String SSID = "WiseFy";
+
+    private static final int TWO_BSSIDS = 2 * (4 * 5 + 64);
+
+    @Test
+    public void getMaxBSSIDs_fitsMemoryCap() {
+        assertEquals(2, new WiseFySignalHistory(TWO_BSSIDS, 4).getMaxBSSIDs());
+        assertEquals(1, new WiseFySignalHistory(0, 4).getMaxBSSIDs());
+    }
+
+    @Test
+    public void getHistogram_percentiles() {
+        WiseFySignalHistory history = new WiseFySignalHistory(WiseFySignalHistory.DEFAULT_MEMORY_CAP_IN_BYTES, 100);
+        for (int i = 1; i <= 100; i++) {
+            history.record(BSSID, SSID, -100 + i, i * 1000L);
+        }
+        WiseFySignalHistogram histogram = history.getHistogram(BSSID, 100000L, 100000L);
+        assertNotNull(histogram);
+        assertEquals(100, histogram.getSampleCount());
+        assertEquals(-99, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(-50, histogram.getPercentile(50));
+        assertEquals(-5, histogram.getPercentile(95));
+    }
+
+    @Test
+    public void getHistogram_window() {
+        WiseFySignalHistory history = new WiseFySignalHistory(WiseFySignalHistory.DEFAULT_MEMORY_CAP_IN_BYTES, 8);
+        history.record(BSSID, SSID, -80, 1000L);
+        history.record(BSSID, SSID, -60, 60000L);
+        history.record(BSSID, SSID, -50, 90000L);
+        WiseFySignalHistogram histogram = history.getHistogram(BSSID, 90000L, 30000L);
+        assertEquals(2, histogram.getSampleCount());
+        assertEquals(-60, histogram.getMin());
+        assertNull(history.getHistogram(BSSID, 500000L, 30000L));
+    }
+
+    @Test
+    public void getHistogram_notSeen() {
+        WiseFySignalHistory history = new WiseFySignalHistory(WiseFySignalHistory.DEFAULT_MEMORY_CAP_IN_BYTES, 8);
+        assertNull(history.getHistogram(BSSID, 1000L, 1000L));
+    }
+
+    @Test
+    public void getHistogramForSSID_mergesAccessPoints() {
+        WiseFySignalHistory history = new WiseFySignalHistory(WiseFySignalHistory.DEFAULT_MEMORY_CAP_IN_BYTES, 8);
+        history.record(BSSID, SSID, -70, 1000L);
+        history.record(OTHER_BSSID, SSID, -40, 1000L);
+        history.record(3L, "Other", -30, 1000L);
+        WiseFySignalHistogram histogram = history.getHistogramForSSID(SSID, 1000L, 1000L);
+        assertEquals(2, histogram.getSampleCount());
+        assertEquals(-70, histogram.getMin());
+        assertEquals(-40, histogram.getMax());
+        assertNull(history.getHistogramForSSID("Missing", 1000L, 1000L));
+    }
+
+    @Test
+    public void record_keepsMostRecentSamples() {
+        WiseFySignalHistory history = new WiseFySignalHistory(TWO_BSSIDS, 4);
+        for (int i = 1; i <= 6; i++) {
+            history.record(BSSID, SSID, -60 - i, i * 1000L);
+        }
+        WiseFySignalHistogram histogram = history.getHistogram(BSSID, 6000L, 6000L);
+        assertEquals(4, histogram.getSampleCount());
+        assertEquals(-63, histogram.getMax());
+    }
+
+    @Test
+    public void record_ignoresSameSighting() {
+        WiseFySignalHistory history = new WiseFySignalHistory(TWO_BSSIDS, 4);
+        history.record(BSSID, SSID, -60, 5000L);
+        history.record(BSSID, SSID, -60, 5000L);
+        assertEquals(1, history.getHistogram(BSSID, 5000L, 5000L).getSampleCount());
+    }
+
+    @Test
+    public void record_evictsLeastRecentlyUsed() {
+        WiseFySignalHistory history = new WiseFySignalHistory(TWO_BSSIDS, 4);
+        history.record(BSSID, SSID, -60, 1000L);
+        history.record(OTHER_BSSID, SSID, -50, 1000L);
+        history.record(BSSID, SSID, -61, 2000L);
+        history.record(3L, SSID, -40, 2000L);
+        assertEquals(2, history.size());
+        assertNull(history.getHistogram(OTHER_BSSID, 2000L, 2000L));
+        assertEquals(2, history.getHistogram(BSSID, 2000L, 2000L).getSampleCount());
+        assertEquals(-40, history.getHistogram(3L, 2000L, 2000L).getMin());
+    }
+
+    @Test
+    public void record_clampsLevel() {
+        WiseFySignalHistory history = new WiseFySignalHistory(TWO_BSSIDS, 4);
+        history.record(BSSID, SSID, -500, 1000L);
+        assertEquals(WiseFySignalHistogram.MIN_LEVEL, history.getHistogram(BSSID, 1000L, 1000L).getMin());
+    }
+
+    @Test
+    public void clear() {
+        WiseFySignalHistory history = new WiseFySignalHistory(TWO_BSSIDS, 4);
+        history.record(BSSID, SSID, -60, 1000L);
+        history.clear();
+        assertEquals(0, history.size());
+        assertNull(history.getHistogram(BSSID, 1000L, 1000L));
+    }
+}
@@ -0,0 +1,79 @@
+package com.isupatches.wisefy;
+
+
+import com.isupatches.wisefy.constants.SignalFilters;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFySignalSmootherTests {
+
+    private static final long BSSID = 0x001122aabbccL;
+
+    private static final long OTHER_BSSID = 0x001122aabbcdL;
+
+    @Test
+    public void update_firstSightingIsMeasurement() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.EMA, 4);
+        assertEquals(WiseFySignalSmoother.NO_ESTIMATE, smoother.get(BSSID));
+        assertEquals(-60, smoother.update(BSSID, -60, 1));
+        assertEquals(-60, smoother.get(BSSID));
+    }
+
+    @Test
+    public void update_ema() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.EMA, 4);
+        smoother.update(BSSID, -60, 1);
+        assertEquals(-63, smoother.update(BSSID, -70, 2));
+    }
+
+    @Test
+    public void update_kalmanDampsSpikes() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.KALMAN, 4);
+        for (int i = 1; i <= 10; i++) {
+            smoother.update(BSSID, -60, i);
+        }
+        int smoothed = smoother.update(BSSID, -80, 11);
+        assertTrue(smoothed > -65);
+        assertTrue(smoothed < -60);
+    }
+
+    @Test
+    public void update_none() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.NONE, 4);
+        smoother.update(BSSID, -60, 1);
+        assertEquals(-80, smoother.update(BSSID, -80, 2));
+    }
+
+    @Test
+    public void update_ignoresSameSighting() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.EMA, 4);
+        smoother.update(BSSID, -60, 5);
+        assertEquals(-60, smoother.update(BSSID, -70, 5));
+        assertEquals(-60, smoother.update(BSSID, -70, 4));
+        assertEquals(-63, smoother.update(BSSID, -70, 0));
+    }
+
+    @Test
+    public void update_evictsStalest() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.EMA, 2);
+        smoother.update(BSSID, -60, 1);
+        smoother.update(OTHER_BSSID, -50, 1);
+        smoother.update(BSSID, -60, 2);
+        smoother.update(3L, -40, 1);
+        assertEquals(2, smoother.size());
+        assertEquals(WiseFySignalSmoother.NO_ESTIMATE, smoother.get(OTHER_BSSID));
+        assertEquals(-60, smoother.get(BSSID));
+        assertEquals(-40, smoother.get(3L));
+    }
+
+    @Test
+    public void clear() {
+        WiseFySignalSmoother smoother = new WiseFySignalSmoother(SignalFilters.EMA, 2);
+        smoother.update(BSSID, -60, 1);
+        smoother.clear();
+        assertEquals(0, smoother.size());
+        assertEquals(WiseFySignalSmoother.NO_ESTIMATE, smoother.get(BSSID));
+    }
+}
@@ -0,0 +1,153 @@
+package com.isupatches.wisefy;
+
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class WiseFyWarmStartStoreTests {
+
+    private File mFile;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = File.createTempFile("wisefy", "warm");
+        assertTrue(mFile.delete());
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Test
+    public void coldStart() {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        assertNull(store.getScan());
+        assertNull(store.getSavedSSIDs());
+    }
+
+    @Test
+    public void save_nothingChanged() throws IOException {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        assertFalse(store.save());
+        assertFalse(mFile.exists());
+    }
+
+    @Test
+    public void save_restore() throws IOException {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        store.updateScan(scan(1000L));
+        store.updateSavedSSIDs(Arrays.asList("Work", "Home"));
+        assertTrue(store.save());
+        assertFalse(store.save());
+
+        WiseFyWarmStartStore restored = new WiseFyWarmStartStore(mFile);
+        WiseFyScanSnapshot scan = restored.getScan();
+        assertTrue(scan.isRestored());
+        assertEquals(1000L, scan.getTimestamp());
+        assertEquals(2, scan.getAccessPointCount());
+        assertEquals("00:11:22:aa:bb:cc", scan.getBSSID(0));
+        assertEquals("Home", scan.getSSID(0));
+        assertEquals(-60, scan.getLevel(0));
+        assertEquals(2412, scan.getFrequency(0));
+        assertEquals("[WPA2-PSK-CCMP][ESS]", scan.getCapabilities(0));
+        assertNull(scan.getBSSID(1));
+        assertNull(scan.getSSID(1));
+        assertNull(scan.getCapabilities(1));
+        assertEquals(Arrays.asList("Home", "Work"), restored.getSavedSSIDs());
+    }
+
+    @Test
+    public void updateScan_notReplacedByDisk() throws IOException {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        store.updateScan(scan(1000L));
+        store.updateSavedSSIDs(Collections.singletonList("Home"));
+        store.save();
+
+        WiseFyWarmStartStore restored = new WiseFyWarmStartStore(mFile);
+        restored.updateScan(scan(2000L));
+        assertFalse(restored.getScan().isRestored());
+        assertEquals(2000L, restored.getScan().getTimestamp());
+        assertEquals(Collections.singletonList("Home"), restored.getSavedSSIDs());
+    }
+
+    @Test
+    public void save_keepsSavedSSIDsFromDisk() throws IOException {
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        store.updateSavedSSIDs(Collections.singletonList("Home"));
+        store.save();
+
+        WiseFyWarmStartStore restored = new WiseFyWarmStartStore(mFile);
+        restored.updateScan(scan(2000L));
+        restored.save();
+        assertEquals(Collections.singletonList("Home"), new WiseFyWarmStartStore(mFile).getSavedSSIDs());
+    }
+
+    @Test
+    public void corruptFile() throws IOException {
+        FileOutputStream out = new FileOutputStream(mFile);
+        out.write(new byte[] {1, 2, 3});
+        out.close();
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        assertNull(store.getScan());
+        assertNull(store.getSavedSSIDs());
+    }
+
+    @Test
+    public void countOutOfBounds_negativeAccessPoints() throws IOException {
+        writeCounts(-1, 0);
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        assertNull(store.getScan());
+        assertNull(store.getSavedSSIDs());
+    }
+
+    @Test
+    public void countOutOfBounds_tooManyAccessPoints() throws IOException {
+        writeCounts(Integer.MAX_VALUE, 0);
+        WiseFyWarmStartStore store = new WiseFyWarmStartStore(mFile);
+        assertNull(store.getScan());
+        assertNull(store.getSavedSSIDs());
+    }
+
+    @Test
+    public void countOutOfBounds_savedNetworks() throws IOException {
+        writeCounts(0, -2);
+        assertNull(new WiseFyWarmStartStore(mFile).getSavedSSIDs());
+        writeCounts(0, WiseFyWarmStartStore.MAX_SAVED_NETWORKS + 1);
+        assertNull(new WiseFyWarmStartStore(mFile).getSavedSSIDs());
+    }
+
+    /**
+     * HELPERS
+     */
+
+    private void writeCounts(int accessPointCount, int savedNetworkCount) throws IOException {
+        DataOutputStream out = new DataOutputStream(new FileOutputStream(mFile));
+        try {
+            out.writeInt(0x57465753);
+            out.writeByte(1);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(accessPointCount);
+            out.writeInt(savedNetworkCount);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static WiseFyScanSnapshot scan(long timestamp) {
+        return new WiseFyScanSnapshot(timestamp, false, new String[] {"00:11:22:AA:BB:CC", null}, new String[] {"Home", null},
+                new int[] {-60, -80}, new int[] {2412, 5180}, new String[] {"[WPA2-PSK-CCMP][ESS]", null});
+    }
+}
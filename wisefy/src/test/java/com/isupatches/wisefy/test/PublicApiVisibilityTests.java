@@ -5,6 +5,16 @@ import android.net.wifi.ScanResult;
 import android.net.wifi.WifiConfiguration;
 import android.net.wifi.WifiInfo;
 import com.isupatches.wisefy.WiseFy;
+import com.isupatches.wisefy.WiseFyBatchResult;
+import com.isupatches.wisefy.WiseFyEvent;
+import com.isupatches.wisefy.WiseFyImportResult;
+import com.isupatches.wisefy.WiseFyQuery;
+import com.isupatches.wisefy.WiseFyScanSnapshot;
+import com.isupatches.wisefy.WiseFyScanTable;
+import com.isupatches.wisefy.WiseFySyncResult;
+import com.isupatches.wisefy.WiseFyPipeline;
+import com.isupatches.wisefy.callbacks.AccessPointVisitor;
+import com.isupatches.wisefy.callbacks.AddNetworksCallbacks;
 import com.isupatches.wisefy.callbacks.AddOpenNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.AddWEPNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.AddWPA2NetworkCallbacks;
@@ -12,24 +22,39 @@ import com.isupatches.wisefy.callbacks.ConnectToNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.DisableWifiCallbacks;
 import com.isupatches.wisefy.callbacks.DisconnectFromCurrentNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.EnableWifiCallbacks;
+import com.isupatches.wisefy.callbacks.ExecutePipelineCallbacks;
 import com.isupatches.wisefy.callbacks.GetCurrentNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.GetFrequencyCallbacks;
+import com.isupatches.wisefy.callbacks.GetNearbyAccessPointTableCallbacks;
 import com.isupatches.wisefy.callbacks.GetNearbyAccessPointsCallbacks;
 import com.isupatches.wisefy.callbacks.GetRSSICallbacks;
 import com.isupatches.wisefy.callbacks.GetSavedNetworkCallbacks;
 import com.isupatches.wisefy.callbacks.GetSavedNetworksCallbacks;
+import com.isupatches.wisefy.callbacks.ImportManifestCallbacks;
+import com.isupatches.wisefy.callbacks.QueryNearbyAccessPointsCallbacks;
 import com.isupatches.wisefy.callbacks.RemoveNetworkCallbacks;
+import com.isupatches.wisefy.callbacks.RemoveNetworksCallbacks;
+import com.isupatches.wisefy.callbacks.SavedNetworkVisitor;
 import com.isupatches.wisefy.callbacks.SearchForAccessPointCallbacks;
+import com.isupatches.wisefy.callbacks.SearchForAccessPointWithRevalidationCallbacks;
 import com.isupatches.wisefy.callbacks.SearchForAccessPointsCallbacks;
 import com.isupatches.wisefy.callbacks.SearchForSSIDCallbacks;
+import com.isupatches.wisefy.callbacks.SearchForSSIDWithRevalidationCallbacks;
 import com.isupatches.wisefy.callbacks.SearchForSSIDsCallbacks;
+import com.isupatches.wisefy.callbacks.SubscribeToEventsCallbacks;
+import com.isupatches.wisefy.callbacks.SyncSavedNetworksCallbacks;
+import com.isupatches.wisefy.constants.EventTypes;
+import com.isupatches.wisefy.constants.ManifestFormats;
 import org.junit.Before;
 import org.junit.Test;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import static junit.framework.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyListOf;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -44,6 +69,24 @@ public class PublicApiVisibilityTests {
         mWiseFy = mock(WiseFy.class);
     }
 
+    @Test
+    public void addNetworks_apis() {
+        mWiseFy.addNetworks(new ArrayList<WifiConfiguration>());
+        verify(mWiseFy).addNetworks(anyListOf(WifiConfiguration.class));
+        mWiseFy.addNetworks(new ArrayList<WifiConfiguration>(), new AddNetworksCallbacks() {
+            @Override
+            public void addNetworksWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void networksAdded(WiseFyBatchResult results) {
+
+            }
+        });
+        verify(mWiseFy).addNetworks(anyListOf(WifiConfiguration.class), any(AddNetworksCallbacks.class));
+    }
+
     @Test
     public void addOpenNetwork_apis() {
         mWiseFy.addOpenNetwork("TEST");
@@ -123,6 +166,28 @@ public class PublicApiVisibilityTests {
     public void calculateBars_api() {
         mWiseFy.calculateBars(-50, 5);
         verify(mWiseFy).calculateBars(anyInt(), anyInt());
+        mWiseFy.calculateBars(mock(ScanResult.class), 5);
+        verify(mWiseFy).calculateBars(any(ScanResult.class), anyInt());
+    }
+
+    @Test
+    public void classifyAccessPoints_apis() {
+        mWiseFy.classifyAccessPoints(new ArrayList<ScanResult>(), 5);
+        verify(mWiseFy).classifyAccessPoints(anyListOf(ScanResult.class), anyInt());
+        mWiseFy.classifyAccessPoints(mock(WiseFyScanTable.class), 5);
+        verify(mWiseFy).classifyAccessPoints(any(WiseFyScanTable.class), anyInt());
+    }
+
+    @Test
+    public void countMatchingAccessPoints_api() {
+        mWiseFy.countMatchingAccessPoints("SSID", true);
+        verify(mWiseFy).countMatchingAccessPoints(anyString(), anyBoolean());
+    }
+
+    @Test
+    public void countMatchingSavedNetworks_api() {
+        mWiseFy.countMatchingSavedNetworks("SSID");
+        verify(mWiseFy).countMatchingSavedNetworks(anyString());
     }
 
     @Test
@@ -176,6 +241,29 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).disableWifi(any(DisableWifiCallbacks.class));
     }
 
+    @Test
+    public void disableWifiAndWait_apis() {
+        mWiseFy.disableWifiAndWait(1000);
+        verify(mWiseFy).disableWifiAndWait(anyInt());
+        mWiseFy.disableWifiAndWait(1000, new DisableWifiCallbacks() {
+            @Override
+            public void disableWifiWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void failureDisablingWifi() {
+
+            }
+
+            @Override
+            public void wifiDisabled() {
+
+            }
+        });
+        verify(mWiseFy).disableWifiAndWait(anyInt(), any(DisableWifiCallbacks.class));
+    }
+
     @Test
     public void disconnectFromCurrentNetwork_apis() {
         mWiseFy.disconnectFromCurrentNetwork();
@@ -222,6 +310,102 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).enableWifi(any(EnableWifiCallbacks.class));
     }
 
+    @Test
+    public void enableWifiAndWait_apis() {
+        mWiseFy.enableWifiAndWait(1000, true);
+        verify(mWiseFy).enableWifiAndWait(anyInt(), anyBoolean());
+        mWiseFy.enableWifiAndWait(1000, true, new EnableWifiCallbacks() {
+            @Override
+            public void enableWifiWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void failureEnablingWifi() {
+
+            }
+
+            @Override
+            public void wifiEnabled() {
+
+            }
+        });
+        verify(mWiseFy).enableWifiAndWait(anyInt(), anyBoolean(), any(EnableWifiCallbacks.class));
+    }
+
+    @Test
+    public void executePipeline_api() {
+        mWiseFy.executePipeline(new WiseFyPipeline.Builder().enableWifi().build(), new ExecutePipelineCallbacks() {
+            @Override
+            public void executePipelineWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void failureExecutingPipelineStep(Integer stepIndex, Integer pipelineStep, Integer returnCode) {
+
+            }
+
+            @Override
+            public void pipelineExecuted() {
+
+            }
+        });
+        verify(mWiseFy).executePipeline(any(WiseFyPipeline.class), any(ExecutePipelineCallbacks.class));
+    }
+
+    @Test
+    public void getAccumulatedScan_api() {
+        mWiseFy.getAccumulatedScan();
+        verify(mWiseFy).getAccumulatedScan();
+    }
+
+    @Test
+    public void findSSIDsByPrefix_api() {
+        mWiseFy.findSSIDsByPrefix("SSID");
+        verify(mWiseFy).findSSIDsByPrefix(anyString());
+    }
+
+    @Test
+    public void findSSIDsContaining_api() {
+        mWiseFy.findSSIDsContaining("SSID");
+        verify(mWiseFy).findSSIDsContaining(anyString());
+    }
+
+    @Test
+    public void findSimilarSSIDs_api() {
+        mWiseFy.findSimilarSSIDs("SSID", 1);
+        verify(mWiseFy).findSimilarSSIDs(anyString(), anyInt());
+    }
+
+    @Test
+    public void forEachMatchingAccessPoint_api() {
+        mWiseFy.forEachMatchingAccessPoint("SSID", true, new AccessPointVisitor() {
+            @Override
+            public boolean visitAccessPoint(ScanResult accessPoint) {
+                return true;
+            }
+        });
+        verify(mWiseFy).forEachMatchingAccessPoint(anyString(), anyBoolean(), any(AccessPointVisitor.class));
+    }
+
+    @Test
+    public void forEachMatchingSavedNetwork_api() {
+        mWiseFy.forEachMatchingSavedNetwork("SSID", new SavedNetworkVisitor() {
+            @Override
+            public boolean visitSavedNetwork(WifiConfiguration savedNetwork) {
+                return true;
+            }
+        });
+        verify(mWiseFy).forEachMatchingSavedNetwork(anyString(), any(SavedNetworkVisitor.class));
+    }
+
+    @Test
+    public void getCapabilityFlags_api() {
+        mWiseFy.getCapabilityFlags(mock(ScanResult.class));
+        verify(mWiseFy).getCapabilityFlags(any(ScanResult.class));
+    }
+
     @Test
     public void getCurrentNetwork_apis() {
         mWiseFy.getCurrentNetwork();
@@ -240,6 +424,12 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).getCurrentNetwork(any(GetCurrentNetworkCallbacks.class));
     }
 
+    @Test
+    public void getCurrentNetworkStats_api() {
+        mWiseFy.getCurrentNetworkStats();
+        verify(mWiseFy).getCurrentNetworkStats();
+    }
+
     @Test
     public void getFrequency_apis() {
         mWiseFy.getFrequency();
@@ -283,6 +473,18 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).getFrequency(any(WifiInfo.class), any(GetFrequencyCallbacks.class));
     }
 
+    @Test
+    public void getLastKnownSavedSSIDs_api() {
+        mWiseFy.getLastKnownSavedSSIDs();
+        verify(mWiseFy).getLastKnownSavedSSIDs();
+    }
+
+    @Test
+    public void getLastKnownScan_api() {
+        mWiseFy.getLastKnownScan();
+        verify(mWiseFy).getLastKnownScan();
+    }
+
     @Test
     public void getNearbyAccessPoints_apis() {
         mWiseFy.getNearbyAccessPoints(true);
@@ -301,6 +503,24 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).getNearbyAccessPoints(anyBoolean(), any(GetNearbyAccessPointsCallbacks.class));
     }
 
+    @Test
+    public void getNearbyAccessPointTable_apis() {
+        mWiseFy.getNearbyAccessPointTable(true);
+        verify(mWiseFy).getNearbyAccessPointTable(anyBoolean());
+        mWiseFy.getNearbyAccessPointTable(true, new GetNearbyAccessPointTableCallbacks() {
+            @Override
+            public void getNearbyAccessPointTableWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void retrievedNearbyAccessPointTable(WiseFyScanTable nearbyAccessPoints) {
+
+            }
+        });
+        verify(mWiseFy).getNearbyAccessPointTable(anyBoolean(), any(GetNearbyAccessPointTableCallbacks.class));
+    }
+
     @Test
     public void getRSSI_apis() {
         mWiseFy.getRSSI("SSID", true, 1000);
@@ -390,12 +610,67 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).getSavedNetworks(anyString(), any(GetSavedNetworksCallbacks.class));
     }
 
+    @Test
+    public void getScanSchedulerStats_api() {
+        mWiseFy.getScanSchedulerStats();
+        verify(mWiseFy).getScanSchedulerStats();
+    }
+
+    @Test
+    public void getScanStats_api() {
+        mWiseFy.getScanStats();
+        verify(mWiseFy).getScanStats();
+    }
+
+    @Test
+    public void getSignalHistory_apis() {
+        mWiseFy.getSignalHistory("00:11:22:aa:bb:cc", 60000);
+        verify(mWiseFy).getSignalHistory(anyString(), anyInt());
+        mWiseFy.getSignalHistoryForSSID("SSID", 60000);
+        verify(mWiseFy).getSignalHistoryForSSID(anyString(), anyInt());
+    }
+
+    @Test
+    public void getSmoothedRSSI_api() {
+        mWiseFy.getSmoothedRSSI("00:11:22:aa:bb:cc");
+        verify(mWiseFy).getSmoothedRSSI(anyString());
+    }
+
     @Test
     public void getWiseFyLock_api() {
         mWiseFy.getWiseFyLock();
         verify(mWiseFy).getWiseFyLock();
     }
 
+    @Test
+    public void importManifest_apis() {
+        mWiseFy.importManifest(new File("manifest.csv"), ManifestFormats.CSV);
+        verify(mWiseFy).importManifest(any(File.class), anyInt());
+
+        mWiseFy.importManifest(new File("manifest.csv"), ManifestFormats.CSV, new ImportManifestCallbacks() {
+            @Override
+            public void failureReadingManifest() {
+
+            }
+
+            @Override
+            public void importManifestWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void manifestImportProgress(WiseFyImportResult progress) {
+
+            }
+
+            @Override
+            public void manifestImported(WiseFyImportResult result) {
+
+            }
+        });
+        verify(mWiseFy).importManifest(any(File.class), anyInt(), any(ImportManifestCallbacks.class));
+    }
+
     @Test
     public void isDeviceConnectedToMobileNetwork_apis() {
         mWiseFy.isDeviceConnectedToMobileNetwork();
@@ -447,6 +722,12 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).isNetworkEAP(any(ScanResult.class));
     }
 
+    @Test
+    public void isNetworkOWE_api() {
+        mWiseFy.isNetworkOWE(mock(ScanResult.class));
+        verify(mWiseFy).isNetworkOWE(any(ScanResult.class));
+    }
+
     @Test
     public void isNetworkPSK_api() {
         mWiseFy.isNetworkPSK(mock(ScanResult.class));
@@ -477,12 +758,53 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).isNetworkWPA2(any(ScanResult.class));
     }
 
+    @Test
+    public void isNetworkWPA3_api() {
+        mWiseFy.isNetworkWPA3(mock(ScanResult.class));
+        verify(mWiseFy).isNetworkWPA3(any(ScanResult.class));
+    }
+
     @Test
     public void isWifiEnabled_api() {
         mWiseFy.isWifiEnabled();
         verify(mWiseFy).isWifiEnabled();
     }
 
+    @Test
+    public void queryLastKnownScan_api() {
+        mWiseFy.queryLastKnownScan(new WiseFyQuery.Builder().build());
+        verify(mWiseFy).queryLastKnownScan(any(WiseFyQuery.class));
+    }
+
+    @Test
+    public void queryNearbyAccessPoints_apis() {
+        mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().build());
+        verify(mWiseFy).queryNearbyAccessPoints(any(WiseFyQuery.class));
+        mWiseFy.queryNearbyAccessPoints(new WiseFyQuery.Builder().build(), new QueryNearbyAccessPointsCallbacks() {
+            @Override
+            public void queryNearbyAccessPointsWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void foundAccessPoints(WiseFyScanTable accessPoints) {
+
+            }
+
+            @Override
+            public void noAccessPointsFound() {
+
+            }
+        });
+        verify(mWiseFy).queryNearbyAccessPoints(any(WiseFyQuery.class), any(QueryNearbyAccessPointsCallbacks.class));
+    }
+
+    @Test
+    public void refreshDeviceState_api() {
+        mWiseFy.refreshDeviceState();
+        verify(mWiseFy).refreshDeviceState();
+    }
+
     @Test
     public void removeNetwork_api() {
         mWiseFy.removeNetwork("SSID");
@@ -513,6 +835,25 @@ public class PublicApiVisibilityTests {
     }
 
 
+    @Test
+    public void removeNetworks_apis() {
+        mWiseFy.removeNetworks(new ArrayList<String>());
+        verify(mWiseFy).removeNetworks(anyListOf(String.class));
+
+        mWiseFy.removeNetworks(new ArrayList<String>(), new RemoveNetworksCallbacks() {
+            @Override
+            public void networksRemoved(WiseFyBatchResult results) {
+
+            }
+
+            @Override
+            public void removeNetworksWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+        });
+        verify(mWiseFy).removeNetworks(anyListOf(String.class), any(RemoveNetworksCallbacks.class));
+    }
+
     @Test
     public void searchForAccessPoint_api() {
         mWiseFy.searchForAccessPoint("SSID", 1000, true);
@@ -537,6 +878,38 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).searchForAccessPoint(anyString(), anyInt(), anyBoolean(), any(SearchForAccessPointCallbacks.class));
     }
 
+    @Test
+    public void searchForAccessPointWithRevalidation_api() {
+        mWiseFy.searchForAccessPointWithRevalidation("SSID", 1000, true, new SearchForAccessPointWithRevalidationCallbacks() {
+            @Override
+            public void accessPointFound(ScanResult accessPoint) {
+
+            }
+
+            @Override
+            public void accessPointNotFound() {
+
+            }
+
+            @Override
+            public void cachedAccessPointFound(WiseFyScanSnapshot scan, int index) {
+
+            }
+
+            @Override
+            public void cachedAccessPointNotFound(WiseFyScanSnapshot scan) {
+
+            }
+
+            @Override
+            public void searchForAccessPointWithRevalidationWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+        });
+        verify(mWiseFy).searchForAccessPointWithRevalidation(anyString(), anyInt(), anyBoolean(),
+                any(SearchForAccessPointWithRevalidationCallbacks.class));
+    }
+
     @Test
     public void searchForAccessPoints_api() {
         mWiseFy.searchForAccessPoints("SSID", true);
@@ -585,6 +958,37 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).searchForSSID(anyString(), anyInt(), any(SearchForSSIDCallbacks.class));
     }
 
+    @Test
+    public void searchForSSIDWithRevalidation_api() {
+        mWiseFy.searchForSSIDWithRevalidation("SSID", 1000, new SearchForSSIDWithRevalidationCallbacks() {
+            @Override
+            public void cachedSSIDFound(String ssid, WiseFyScanSnapshot scan) {
+
+            }
+
+            @Override
+            public void cachedSSIDNotFound(WiseFyScanSnapshot scan) {
+
+            }
+
+            @Override
+            public void searchForSSIDWithRevalidationWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void ssidFound(String ssid) {
+
+            }
+
+            @Override
+            public void ssidNotFound() {
+
+            }
+        });
+        verify(mWiseFy).searchForSSIDWithRevalidation(anyString(), anyInt(), any(SearchForSSIDWithRevalidationCallbacks.class));
+    }
+
     @Test
     public void searchForSSIDs_api() {
         mWiseFy.searchForSSIDs("SSID");
@@ -609,6 +1013,76 @@ public class PublicApiVisibilityTests {
         verify(mWiseFy).searchForSSIDs(anyString(), any(SearchForSSIDsCallbacks.class));
     }
 
+    @Test
+    public void startSamplingCurrentNetwork_api() {
+        mWiseFy.startSamplingCurrentNetwork(1000, 60);
+        verify(mWiseFy).startSamplingCurrentNetwork(anyInt(), anyInt());
+    }
+
+    @Test
+    public void startScanScheduler_api() {
+        mWiseFy.startScanScheduler(10000, 300000);
+        verify(mWiseFy).startScanScheduler(anyInt(), anyInt());
+    }
+
+    @Test
+    public void stopSamplingCurrentNetwork_api() {
+        mWiseFy.stopSamplingCurrentNetwork();
+        verify(mWiseFy).stopSamplingCurrentNetwork();
+    }
+
+    @Test
+    public void stopScanScheduler_api() {
+        mWiseFy.stopScanScheduler();
+        verify(mWiseFy).stopScanScheduler();
+    }
+
+    @Test
+    public void subscribeToEvents_api() {
+        mWiseFy.subscribeToEvents(EventTypes.ALL, new SubscribeToEventsCallbacks() {
+            @Override
+            public void eventReceived(WiseFyEvent event) {
+
+            }
+
+            @Override
+            public void subscribeToEventsWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+
+            @Override
+            public void subscribedToEvents() {
+
+            }
+        });
+        verify(mWiseFy).subscribeToEvents(anyInt(), any(SubscribeToEventsCallbacks.class));
+    }
+
+    @Test
+    public void syncSavedNetworks_apis() {
+        mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>());
+        verify(mWiseFy).syncSavedNetworks(anyListOf(WifiConfiguration.class));
+
+        mWiseFy.syncSavedNetworks(new ArrayList<WifiConfiguration>(), new SyncSavedNetworksCallbacks() {
+            @Override
+            public void savedNetworksSynced(WiseFySyncResult result) {
+
+            }
+
+            @Override
+            public void syncSavedNetworksWiseFyFailure(Integer wisefyReturnCode) {
+
+            }
+        });
+        verify(mWiseFy).syncSavedNetworks(anyListOf(WifiConfiguration.class), any(SyncSavedNetworksCallbacks.class));
+    }
+
+    @Test
+    public void unsubscribeFromEvents_api() {
+        mWiseFy.unsubscribeFromEvents(mock(SubscribeToEventsCallbacks.class));
+        verify(mWiseFy).unsubscribeFromEvents(any(SubscribeToEventsCallbacks.class));
+    }
+
     @Test
     public void wifiManagerFailure_value() {
         assertEquals(WiseFy.WIFI_MANAGER_FAILURE, -1);
@@ -0,0 +1,33 @@
+package com.isupatches.wisefy.util;
+
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+public class BSSIDUtilTests {
+
+    @Test
+    public void toLong() {
+        assertEquals(0x001122aabbccL, BSSIDUtil.getInstance().toLong("00:11:22:aa:bb:cc"));
+        assertEquals(0x001122aabbccL, BSSIDUtil.getInstance().toLong("00:11:22:AA:BB:CC"));
+        assertEquals(0xffffffffffffL, BSSIDUtil.getInstance().toLong("ff:ff:ff:ff:ff:ff"));
+    }
+
+    @Test
+    public void toLong_invalid() {
+        assertEquals(BSSIDUtil.INVALID_BSSID, BSSIDUtil.getInstance().toLong(null));
+        assertEquals(BSSIDUtil.INVALID_BSSID, BSSIDUtil.getInstance().toLong(""));
+        assertEquals(BSSIDUtil.INVALID_BSSID, BSSIDUtil.getInstance().toLong("00:11:22:aa:bb"));
+        assertEquals(BSSIDUtil.INVALID_BSSID, BSSIDUtil.getInstance().toLong("00-11-22-aa-bb-cc"));
+        assertEquals(BSSIDUtil.INVALID_BSSID, BSSIDUtil.getInstance().toLong("00:11:22:aa:bb:cg"));
+    }
+
+    @Test
+    public void toString_roundTrip() {
+        String bssid = "0a:1b:2c:3d:4e:5f";
+        assertEquals(bssid, BSSIDUtil.getInstance().toString(BSSIDUtil.getInstance().toLong(bssid)));
+        assertNull(BSSIDUtil.getInstance().toString(BSSIDUtil.INVALID_BSSID));
+    }
+}
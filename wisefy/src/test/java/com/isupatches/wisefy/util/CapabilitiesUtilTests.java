@@ -0,0 +1,83 @@
+package com.isupatches.wisefy.util;
+
+
+import com.isupatches.wisefy.constants.Capabilities;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+
+public class CapabilitiesUtilTests {
+
+    @Test
+    public void toFlags_none() {
+        assertEquals(Capabilities.FLAG_NONE, CapabilitiesUtil.getInstance().toFlags(null));
+        assertEquals(Capabilities.FLAG_NONE, CapabilitiesUtil.getInstance().toFlags(""));
+        assertEquals(Capabilities.FLAG_NONE, CapabilitiesUtil.getInstance().toFlags("[ESS][WPS]"));
+        assertEquals(Capabilities.FLAG_NONE, CapabilitiesUtil.getInstance().toFlags("Other"));
+    }
+
+    @Test
+    public void toFlags_wpaIsNotWPA2() {
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK,
+                CapabilitiesUtil.getInstance().toFlags("[WPA2-PSK-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA | Capabilities.FLAG_PSK,
+                CapabilitiesUtil.getInstance().toFlags("[WPA-PSK-TKIP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA | Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK,
+                CapabilitiesUtil.getInstance().toFlags("[WPA-PSK-CCMP+TKIP][WPA2-PSK-CCMP+TKIP][ESS]"));
+    }
+
+    @Test
+    public void toFlags_rsn() {
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-PSK-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_EAP,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-FT/EAP-CCMP][ESS]"));
+    }
+
+    @Test
+    public void toFlags_keyManagementSuffix() {
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_EAP,
+                CapabilitiesUtil.getInstance().toFlags("[WPA2-EAP/SHA1-CCMP][RSN-EAP/SHA1-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_EAP,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-EAP/SHA1+EAP/SHA256-CCMP][ESS][PMF]"));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_EAP,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-EAP/SHA1+FT/EAP-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-PSK/SHA256-CCMP][ESS][MFPR]"));
+        assertEquals(Capabilities.FLAG_WPA | Capabilities.FLAG_WPA2 | Capabilities.FLAG_PSK,
+                CapabilitiesUtil.getInstance().toFlags("[WPA-PSK-CCMP+TKIP][RSN-PSK+PSK/SHA256-CCMP+TKIP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_WPA3 | Capabilities.FLAG_PSK | Capabilities.FLAG_SAE,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-PSK/SHA256+SAE+FT/SAE-CCMP][ESS][MFPC]"));
+    }
+
+    @Test
+    public void toFlags_wpa3() {
+        assertEquals(Capabilities.FLAG_WPA3 | Capabilities.FLAG_SAE,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-SAE-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_WPA3 | Capabilities.FLAG_PSK | Capabilities.FLAG_SAE,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-PSK+SAE-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_WPA3 | Capabilities.FLAG_EAP,
+                CapabilitiesUtil.getInstance().toFlags("[RSN-EAP_SUITE_B_192-GCMP-256][ESS]"));
+    }
+
+    @Test
+    public void toFlags_owe() {
+        assertEquals(Capabilities.FLAG_OWE, CapabilitiesUtil.getInstance().toFlags("[RSN-OWE-CCMP][ESS]"));
+        assertEquals(Capabilities.FLAG_NONE, CapabilitiesUtil.getInstance().toFlags("[OWE_TRANSITION][ESS]"));
+    }
+
+    @Test
+    public void toFlags_bareCapabilities() {
+        assertEquals(Capabilities.FLAG_WEP, CapabilitiesUtil.getInstance().toFlags(Capabilities.WEP));
+        assertEquals(Capabilities.FLAG_WPA, CapabilitiesUtil.getInstance().toFlags(Capabilities.WPA));
+        assertEquals(Capabilities.FLAG_EAP, CapabilitiesUtil.getInstance().toFlags(Capabilities.EAP));
+    }
+
+    @Test
+    public void toFlags_cached() {
+        String capabilities = "[WPA2-EAP-CCMP][ESS]";
+        int flags = CapabilitiesUtil.getInstance().toFlags(capabilities);
+        assertEquals(flags, CapabilitiesUtil.getInstance().toFlags(new String(capabilities)));
+        assertEquals(Capabilities.FLAG_WPA2 | Capabilities.FLAG_EAP, flags);
+    }
+}